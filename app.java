@@ -1,20 +1,32 @@
 import java.io.PrintStream;
 import java.io.UnsupportedEncodingException;
 
-import javax.swing.SwingUtilities;
-import javax.swing.UIManager;
-
+import context.AppContext;
+import context.StartupPipeline;
 import forms.LoginForm;
+import monitor.EdtWatchdog;
 
 public class app {
     public static void main(String[] args) {
-        SwingUtilities.invokeLater(() -> {
-            try {
-                UIManager.setLookAndFeel(UIManager.getSystemLookAndFeelClassName());
-            } catch (Exception e) {
-                e.printStackTrace();
-            }
-            new LoginForm().setVisible(true);
-        });
+        // 🧰 Contexto único da aplicação: banco, Services e caches compartilhados
+        AppContext contexto = AppContext.getInstance();
+        Runtime.getRuntime().addShutdownHook(new Thread(contexto::shutdown, "app-shutdown"));
+
+        // 🐕 Vigia da EDT: registra eventos que travam a tela e o que os causou
+        EdtWatchdog vigia = EdtWatchdog.fromSystemProperties();
+        if (vigia != null) {
+            vigia.instalar();
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                vigia.parar();
+                if (vigia.getRegistro().getTotal() > 0) {
+                    System.out.println(vigia.getRegistro().relatorio());
+                }
+            }, "edt-watchdog-relatorio"));
+        }
+
+        // 🚀 Tema, driver, conexão e cargos em paralelo; o login aparece assim
+        // que o tema estiver pronto (--startup-profile imprime os tempos)
+        new StartupPipeline(contexto, StartupPipeline.perfilSolicitado(args))
+                .iniciar(() -> new LoginForm(contexto).setVisible(true));
     }
 }
@@ -9,6 +9,7 @@ USE `gestao_rh`;
 -- Remove tabelas caso existam (ordem importa por causa da FK)
 DROP TABLE IF EXISTS `Funcionario`;
 DROP TABLE IF EXISTS `Cargo`;
+DROP TABLE IF EXISTS `VersaoTabela`;
 
 -- Criação da tabela Cargo
 CREATE TABLE IF NOT EXISTS `Cargo` (
@@ -38,6 +39,21 @@ CREATE TABLE IF NOT EXISTS `Funcionario` (
     ON UPDATE NO ACTION
 ) ENGINE = InnoDB;
 
+-- Contadores de alteração (marcador barato para a cópia local do sistema):
+-- o sistema soma 1 à versão da tabela a cada comando que altera Funcionario
+-- ou Cargo (um lote importado soma 1 só). Não há triggers: um trigger FOR
+-- EACH ROW faria cada linha gravada disputar a linha do contador.
+-- Em um banco já existente, rode só este bloco (sem ele, o sistema usa
+-- CHECKSUM TABLE, que percorre as tabelas inteiras).
+CREATE TABLE IF NOT EXISTS `VersaoTabela` (
+  `tabela` VARCHAR(64) NOT NULL,
+  `versao` BIGINT UNSIGNED NOT NULL DEFAULT 0,
+  `criadoEm` TIMESTAMP(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6),
+  PRIMARY KEY (`tabela`)
+) ENGINE = InnoDB;
+
+INSERT INTO `VersaoTabela` (`tabela`) VALUES ('Funcionario'), ('Cargo');
+
 -- Inserção de cargos
 INSERT INTO `Cargo` (`idCargo`, `nomeCargo`) VALUES (1, 'Administrador');
 INSERT INTO `Cargo` (`idCargo`, `nomeCargo`) VALUES (2, 'Técnico em Informática Jr');
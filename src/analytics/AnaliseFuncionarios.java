@@ -0,0 +1,203 @@
+package analytics;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import dao.FuncionarioDAO;
+import event.EventoAlteracao.Operacao;
+import event.FuncionarioAlterado;
+import event.FuncionariosImportados;
+import model.Funcionario;
+
+/**
+ * 📈 Classe: AnaliseFuncionarios
+ *
+ * 📘 Mantém o {@link SnapshotFuncionarios} (visão colunar para relatórios)
+ * atualizado: uma varredura completa na primeira vez e depois só as
+ * alterações recebidas pelo barramento de eventos.
+ *
+ * 🎯 Objetivos:
+ * <ul>
+ * <li>Relatórios sobre milhões de funcionários sem ir ao banco a cada consulta</li>
+ * <li>Refletir cadastros, alterações e exclusões sem recarregar tudo</li>
+ * </ul>
+ *
+ * 🧠 Notas de Aula:
+ * <ul>
+ * <li>Quem lê pega o snapshot atual ({@link #getSnapshot()}) e trabalha
+ * nele sem lock; cada alteração publica um snapshot novo (referência
+ * {@code volatile})</li>
+ * <li>Só um escritor por vez (lock "this"): a varredura e os eventos</li>
+ * <li>A varredura roda <b>fora</b> do lock; eventos que chegam durante ela
+ * são guardados e reaplicados no fim, para não serem perdidos</li>
+ * <li>Cadastrar/atualizar é "upsert" e excluir é idempotente: reaplicar um
+ * evento já refletido pela varredura não causa problema</li>
+ * <li>A importação em lote avisa com um {@link FuncionariosImportados} por
+ * lote: um snapshot novo por lote, não por linha</li>
+ * </ul>
+ */
+public class AnaliseFuncionarios {
+
+    /**
+     * 🔁 Origem da varredura (normalmente {@code FuncionarioDAO::forEachLinha}).
+     */
+    @FunctionalInterface
+    public interface Fonte {
+        void varrer(FuncionarioDAO.VisitanteLinha visitante) throws SQLException;
+    }
+
+    private final Fonte fonte;
+
+    private volatile SnapshotFuncionarios snapshot = SnapshotFuncionarios.VAZIO;
+
+    // 🔒 Protegidos pelo lock "this"
+    private ColunasFuncionarios colunas;
+    private boolean carregando;
+    private final List<FuncionarioAlterado> adiados = new ArrayList<>();
+    private long versao;
+
+    // 🔒 Uma varredura por vez
+    private final Object lockCarga = new Object();
+
+    /**
+     * 🏗️ Construtor
+     *
+     * @param fonte origem das linhas
+     */
+    public AnaliseFuncionarios(Fonte fonte) {
+        System.out.println(">> AnaliseFuncionarios.constructor()");
+        this.fonte = fonte;
+    }
+
+    /**
+     * 📸 Snapshot atual (carrega do banco na primeira chamada).
+     */
+    public SnapshotFuncionarios getSnapshot() throws SQLException {
+        if (colunasAtuais() == null) {
+            synchronized (lockCarga) {
+                // 🔁 Outra thread pode ter carregado enquanto esperávamos
+                if (colunasAtuais() == null) {
+                    recarregar();
+                }
+            }
+        }
+        return snapshot;
+    }
+
+    /**
+     * 🔄 Refaz o snapshot com uma varredura completa da tabela.
+     */
+    public void recarregar() throws SQLException {
+        synchronized (lockCarga) {
+            System.out.println(">> AnaliseFuncionarios.recarregar()");
+            synchronized (this) {
+                carregando = true;
+            }
+
+            int capacidade = colunasAtuais() != null ? snapshot.getQuantidade() + 1024 : 1024;
+            ColunasFuncionarios novas = new ColunasFuncionarios(capacidade);
+            long inicio = System.nanoTime();
+            try {
+                fonte.varrer(novas::acrescentar);
+            } catch (SQLException | RuntimeException e) {
+                // ❌ Mantém as colunas antigas (com os eventos recebidos nesse meio-tempo)
+                synchronized (this) {
+                    carregando = false;
+                    if (colunas != null) {
+                        reaplicarAdiados();
+                        publicar();
+                    }
+                    adiados.clear();
+                }
+                throw e;
+            }
+
+            synchronized (this) {
+                colunas = novas;
+                carregando = false;
+                reaplicarAdiados();
+                publicar();
+            }
+            System.out.printf("📈 Snapshot de funcionários: %d linhas em %.1f ms%n",
+                    snapshot.getQuantidade(), (System.nanoTime() - inicio) / 1_000_000.0);
+        }
+    }
+
+    /**
+     * 📣 Aplica uma alteração (assinante do EventBus).
+     */
+    public synchronized void aplicar(FuncionarioAlterado e) {
+        if (carregando) {
+            adiados.add(e); // ⏳ será aplicado depois da varredura
+            return;
+        }
+        if (colunas == null) {
+            return; // ainda não carregado: a primeira varredura já trará a alteração
+        }
+        if (aplicarNasColunas(e)) {
+            publicar();
+        }
+    }
+
+    /**
+     * 📥 Aplica um lote da importação em lote (assinante do EventBus): as
+     * linhas entram todas e o resultado é publicado uma vez por lote.
+     */
+    public synchronized void aplicarLote(FuncionariosImportados lote) {
+        boolean mudou = false;
+        for (Funcionario f : lote.getFuncionarios()) {
+            FuncionarioAlterado e = new FuncionarioAlterado(Operacao.CRIADO, f.getIdFuncionario(), f);
+            if (carregando) {
+                adiados.add(e); // ⏳ será aplicado depois da varredura
+            } else if (colunas != null) {
+                mudou |= aplicarNasColunas(e);
+            }
+        }
+        if (mudou) {
+            publicar();
+        }
+    }
+
+    // =====================================================
+    // 🔧 Auxiliares (chamados com o lock "this")
+    // =====================================================
+
+    private synchronized ColunasFuncionarios colunasAtuais() {
+        return colunas;
+    }
+
+    private void reaplicarAdiados() {
+        for (FuncionarioAlterado e : adiados) {
+            aplicarNasColunas(e);
+        }
+        adiados.clear();
+    }
+
+    private boolean aplicarNasColunas(FuncionarioAlterado e) {
+        switch (e.getOperacao()) {
+            case CRIADO:
+            case ATUALIZADO:
+                Funcionario f = e.getFuncionario();
+                if (f == null) {
+                    return false;
+                }
+                int idCargo = f.getCargo() != null ? f.getCargo().getIdCargo() : 0;
+                colunas.salvar(e.getId(), f.getNomeFuncionario(), f.getEmail(),
+                        f.isRecebeValeTransporte(), idCargo);
+                return true;
+            case EXCLUIDO:
+                boolean removeu = colunas.remover(e.getId());
+                if (colunas.precisaCompactar()) {
+                    colunas.compactar();
+                }
+                return removeu;
+            default:
+                return false;
+        }
+    }
+
+    private void publicar() {
+        snapshot = colunas.publicar(++versao);
+    }
+}
@@ -0,0 +1,217 @@
+package analytics;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * 🧱 Classe: ColunasFuncionarios
+ *
+ * 📘 Lado de <b>escrita</b> do snapshot: as colunas (arrays) que o
+ * {@link AnaliseFuncionarios} preenche na varredura e altera a cada evento.
+ *
+ * 🧠 Notas de Aula:
+ * <ul>
+ * <li>Uma linha = uma posição em cada array; as linhas ficam ordenadas
+ * pelo ID (busca binária)</li>
+ * <li>Excluir só marca a linha em {@code removidos}; quando as removidas
+ * passam de 1/4 o {@link #compactar()} refaz os arrays</li>
+ * <li>Os arrays {@code int[]} são <b>compartilhados</b> com o último snapshot
+ * publicado. Acrescentar no fim é seguro (o snapshot não lê além do seu
+ * tamanho); alterar uma posição existente copia o array antes
+ * (copy-on-write)</li>
+ * <li>Os {@link BitSet} não são compartilhados: o snapshot recebe uma cópia</li>
+ * </ul>
+ */
+final class ColunasFuncionarios {
+
+    int linhas;
+    int removidas;
+    int[] ids;
+    int[] cargos;
+    int[] nomes;
+    int[] emails;
+    final BitSet vale;
+    final BitSet removidos;
+    final DicionarioStrings dicNomes;
+    final DicionarioStrings dicEmails;
+
+    // 🔗 true = o array está em uso por um snapshot publicado
+    private boolean compartilhado;
+
+    ColunasFuncionarios(int capacidade) {
+        int c = Math.max(16, capacidade);
+        this.ids = new int[c];
+        this.cargos = new int[c];
+        this.nomes = new int[c];
+        this.emails = new int[c];
+        this.vale = new BitSet(c);
+        this.removidos = new BitSet(c);
+        this.dicNomes = new DicionarioStrings(c);
+        this.dicEmails = new DicionarioStrings(c);
+    }
+
+    /**
+     * ➕ Acrescenta uma linha no fim (o ID deve ser maior que o último).
+     */
+    void acrescentar(int id, String nome, String email, boolean recebeVale, int idCargo) {
+        if (linhas == ids.length) {
+            crescer();
+        }
+        int l = linhas;
+        ids[l] = id;
+        preencher(l, nome, email, recebeVale, idCargo);
+        linhas++;
+    }
+
+    /**
+     * ✏️ Insere ou atualiza a linha do funcionário (mantendo a ordem por ID).
+     */
+    void salvar(int id, String nome, String email, boolean recebeVale, int idCargo) {
+        int pos = Arrays.binarySearch(ids, 0, linhas, id);
+        if (pos >= 0) {
+            separar();
+            removerMarca(pos, false);
+            preencher(pos, nome, email, recebeVale, idCargo);
+            return;
+        }
+        int insercao = -pos - 1;
+        if (insercao == linhas) {
+            acrescentar(id, nome, email, recebeVale, idCargo);
+            return;
+        }
+        // ↔️ ID no meio (raro: IDs são sequenciais): desloca as linhas seguintes
+        inserirNoMeio(insercao, id, nome, email, recebeVale, idCargo);
+    }
+
+    /**
+     * 🗑️ Marca a linha do funcionário como removida.
+     *
+     * @return true se existia uma linha ativa com o ID
+     */
+    boolean remover(int id) {
+        int pos = Arrays.binarySearch(ids, 0, linhas, id);
+        if (pos < 0 || removidos.get(pos)) {
+            return false;
+        }
+        removerMarca(pos, true);
+        return true;
+    }
+
+    /**
+     * 🧹 Indica se vale a pena refazer os arrays sem as linhas removidas.
+     */
+    boolean precisaCompactar() {
+        return removidas > 1024 && removidas > linhas / 4;
+    }
+
+    /**
+     * 🧹 Refaz os arrays sem as linhas removidas (os dicionários são mantidos).
+     */
+    void compactar() {
+        int ativas = linhas - removidas;
+        int c = Math.max(16, ativas + ativas / 4);
+        int[] novosIds = new int[c];
+        int[] novosCargos = new int[c];
+        int[] novosNomes = new int[c];
+        int[] novosEmails = new int[c];
+        BitSet novoVale = new BitSet(c);
+        int j = 0;
+        for (int i = 0; i < linhas; i++) {
+            if (removidos.get(i)) {
+                continue;
+            }
+            novosIds[j] = ids[i];
+            novosCargos[j] = cargos[i];
+            novosNomes[j] = nomes[i];
+            novosEmails[j] = emails[i];
+            if (vale.get(i)) {
+                novoVale.set(j);
+            }
+            j++;
+        }
+        ids = novosIds;
+        cargos = novosCargos;
+        nomes = novosNomes;
+        emails = novosEmails;
+        vale.clear();
+        vale.or(novoVale);
+        removidos.clear();
+        linhas = j;
+        removidas = 0;
+        compartilhado = false;
+    }
+
+    /**
+     * 📸 Cria o snapshot imutável com o estado atual.
+     */
+    SnapshotFuncionarios publicar(long versao) {
+        compartilhado = true;
+        return new SnapshotFuncionarios(versao, linhas, removidas, ids, cargos, nomes, emails,
+                (BitSet) vale.clone(), (BitSet) removidos.clone(),
+                dicNomes.valores(), dicNomes.tamanho(), dicEmails.valores(), dicEmails.tamanho());
+    }
+
+    // =====================================================
+    // 🔧 Auxiliares
+    // =====================================================
+
+    private void preencher(int l, String nome, String email, boolean recebeVale, int idCargo) {
+        cargos[l] = idCargo;
+        nomes[l] = dicNomes.codificar(nome);
+        emails[l] = dicEmails.codificar(email);
+        vale.set(l, recebeVale);
+    }
+
+    private void removerMarca(int l, boolean remover) {
+        if (removidos.get(l) != remover) {
+            removidos.set(l, remover);
+            removidas += remover ? 1 : -1;
+        }
+    }
+
+    /** Copia os arrays em uso por um snapshot antes de alterar uma posição. */
+    private void separar() {
+        if (compartilhado) {
+            ids = ids.clone();
+            cargos = cargos.clone();
+            nomes = nomes.clone();
+            emails = emails.clone();
+            compartilhado = false;
+        }
+    }
+
+    private void crescer() {
+        int c = ids.length + (ids.length >> 1);
+        ids = Arrays.copyOf(ids, c);
+        cargos = Arrays.copyOf(cargos, c);
+        nomes = Arrays.copyOf(nomes, c);
+        emails = Arrays.copyOf(emails, c);
+        compartilhado = false;
+    }
+
+    private void inserirNoMeio(int pos, int id, String nome, String email, boolean recebeVale, int idCargo) {
+        if (linhas == ids.length) {
+            crescer();
+        } else {
+            separar();
+        }
+        int mover = linhas - pos;
+        System.arraycopy(ids, pos, ids, pos + 1, mover);
+        System.arraycopy(cargos, pos, cargos, pos + 1, mover);
+        System.arraycopy(nomes, pos, nomes, pos + 1, mover);
+        System.arraycopy(emails, pos, emails, pos + 1, mover);
+        deslocarBits(vale, pos);
+        deslocarBits(removidos, pos);
+        ids[pos] = id;
+        preencher(pos, nome, email, recebeVale, idCargo);
+        linhas++;
+    }
+
+    /** Desloca uma posição para a direita os bits a partir de {@code pos}. */
+    private void deslocarBits(BitSet bits, int pos) {
+        for (int i = linhas; i > pos; i--) {
+            bits.set(i, bits.get(i - 1));
+        }
+        bits.clear(pos);
+    }
+}
@@ -0,0 +1,60 @@
+package analytics;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 📖 Classe: DicionarioStrings
+ *
+ * 📘 Codificação por <b>dicionário</b>: cada texto distinto recebe um código
+ * inteiro e a coluna guarda só o código ({@code int}).
+ *
+ * 🧠 Notas de Aula:
+ * <ul>
+ * <li>Textos repetidos ocupam memória uma vez só</li>
+ * <li>Um filtro de texto é avaliado <b>uma vez por valor distinto</b> e não
+ * uma vez por linha (ver {@link SnapshotFuncionarios#nomeContem})</li>
+ * <li>Só cresce (append-only): um snapshot antigo guarda o array e o
+ * tamanho da época e nunca enxerga os valores acrescentados depois</li>
+ * <li>⚠️ Não é thread-safe para escrita: só o {@link AnaliseFuncionarios}
+ * (com lock) acrescenta valores</li>
+ * </ul>
+ */
+final class DicionarioStrings {
+
+    private final Map<String, Integer> codigos;
+    private String[] valores;
+    private int tamanho;
+
+    DicionarioStrings(int capacidade) {
+        this.codigos = new HashMap<>(Math.max(16, capacidade * 4 / 3 + 1));
+        this.valores = new String[Math.max(16, capacidade)];
+    }
+
+    /**
+     * 🔢 Código do texto (cria um novo se ainda não existir).
+     */
+    int codificar(String valor) {
+        String chave = valor == null ? "" : valor;
+        Integer codigo = codigos.get(chave);
+        if (codigo != null) {
+            return codigo;
+        }
+        if (tamanho == valores.length) {
+            valores = Arrays.copyOf(valores, valores.length * 2);
+        }
+        valores[tamanho] = chave;
+        codigos.put(chave, tamanho);
+        return tamanho++;
+    }
+
+    /** Array de valores atual (compartilhado com os snapshots; só cresce). */
+    String[] valores() {
+        return valores;
+    }
+
+    int tamanho() {
+        return tamanho;
+    }
+}
@@ -0,0 +1,274 @@
+package analytics;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Locale;
+import java.util.function.IntPredicate;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+
+import collections.IntIntMap;
+
+/**
+ * 📊 Classe: SnapshotFuncionarios
+ *
+ * 📘 Fotografia <b>somente leitura</b> da tabela Funcionario em formato
+ * <b>colunar</b>, para relatórios: cada coluna é um array e uma linha é uma
+ * posição ({@code 0..getLinhas()-1}).
+ *
+ * 🎯 Colunas:
+ * <ul>
+ * <li>{@code int[]} para idFuncionario e idCargo</li>
+ * <li>{@link BitSet} para recebeValeTransporte</li>
+ * <li>Códigos de dicionário ({@code int[]}) para nome e email</li>
+ * </ul>
+ *
+ * 🧠 Notas de Aula:
+ * <ul>
+ * <li>Filtros são {@link IntPredicate} sobre a <b>posição</b> da linha:
+ * nenhum objeto é criado por linha</li>
+ * <li>Contagens, filtros e agrupamentos rodam em paralelo
+ * ({@code IntStream.parallel()}) sobre os arrays</li>
+ * <li>Filtros de texto avaliam o termo uma vez por valor do dicionário e
+ * depois só consultam um bit por linha</li>
+ * <li>Linhas excluídas depois da carga ficam marcadas em {@code removidos}
+ * e são ignoradas por todas as consultas</li>
+ * <li>Imutável: pode ser lido por várias threads sem lock</li>
+ * </ul>
+ */
+public final class SnapshotFuncionarios {
+
+    /** Snapshot sem linhas (antes da primeira carga). */
+    public static final SnapshotFuncionarios VAZIO = new ColunasFuncionarios(0).publicar(0);
+
+    /** Linhas por bloco nos agrupamentos paralelos. */
+    private static final int BLOCO = 64 * 1024;
+
+    private final long versao;
+    private final int linhas;
+    private final int removidas;
+    private final int[] ids;
+    private final int[] cargos;
+    private final int[] nomes;
+    private final int[] emails;
+    private final BitSet vale;
+    private final BitSet removidos;
+    private final String[] dicNomes;
+    private final int tamDicNomes;
+    private final String[] dicEmails;
+    private final int tamDicEmails;
+    private final long criadoEm = System.currentTimeMillis();
+
+    SnapshotFuncionarios(long versao, int linhas, int removidas, int[] ids, int[] cargos, int[] nomes,
+            int[] emails, BitSet vale, BitSet removidos, String[] dicNomes, int tamDicNomes,
+            String[] dicEmails, int tamDicEmails) {
+        this.versao = versao;
+        this.linhas = linhas;
+        this.removidas = removidas;
+        this.ids = ids;
+        this.cargos = cargos;
+        this.nomes = nomes;
+        this.emails = emails;
+        this.vale = vale;
+        this.removidos = removidos;
+        this.dicNomes = dicNomes;
+        this.tamDicNomes = tamDicNomes;
+        this.dicEmails = dicEmails;
+        this.tamDicEmails = tamDicEmails;
+    }
+
+    // =====================================================
+    // ℹ️ Metadados
+    // =====================================================
+
+    /** Muda a cada carga ou alteração aplicada. */
+    public long getVersao() {
+        return versao;
+    }
+
+    public long getCriadoEm() {
+        return criadoEm;
+    }
+
+    /** Quantidade de funcionários (sem as linhas removidas). */
+    public int getQuantidade() {
+        return linhas - removidas;
+    }
+
+    /** Quantidade de posições (inclui as removidas): limite para {@link #isAtiva}. */
+    public int getLinhas() {
+        return linhas;
+    }
+
+    // =====================================================
+    // 🔎 Acesso por linha
+    // =====================================================
+
+    public boolean isAtiva(int linha) {
+        return !removidos.get(linha);
+    }
+
+    public int getIdFuncionario(int linha) {
+        return ids[linha];
+    }
+
+    public int getIdCargo(int linha) {
+        return cargos[linha];
+    }
+
+    public boolean recebeValeTransporte(int linha) {
+        return vale.get(linha);
+    }
+
+    public String getNome(int linha) {
+        return dicNomes[nomes[linha]];
+    }
+
+    public String getEmail(int linha) {
+        return dicEmails[emails[linha]];
+    }
+
+    /**
+     * 🔍 Posição do funcionário (busca binária pelo ID), ou -1.
+     */
+    public int localizar(int idFuncionario) {
+        int pos = Arrays.binarySearch(ids, 0, linhas, idFuncionario);
+        return pos >= 0 && isAtiva(pos) ? pos : -1;
+    }
+
+    // =====================================================
+    // 🧪 Filtros (combine com and/or/negate)
+    // =====================================================
+
+    /** Todas as linhas. */
+    public IntPredicate todos() {
+        return l -> true;
+    }
+
+    public IntPredicate porCargo(int idCargo) {
+        return l -> cargos[l] == idCargo;
+    }
+
+    public IntPredicate comValeTransporte(boolean recebe) {
+        return l -> vale.get(l) == recebe;
+    }
+
+    /** Nome contém o termo (sem diferenciar maiúsculas). */
+    public IntPredicate nomeContem(String termo) {
+        return porDicionario(nomes, dicNomes, tamDicNomes, contem(termo));
+    }
+
+    /** Email contém o termo (sem diferenciar maiúsculas). */
+    public IntPredicate emailContem(String termo) {
+        return porDicionario(emails, dicEmails, tamDicEmails, contem(termo));
+    }
+
+    /** Email termina com o domínio (ex: "@empresa.com"). */
+    public IntPredicate emailDoDominio(String dominio) {
+        String d = dominio.toLowerCase(Locale.ROOT);
+        return porDicionario(emails, dicEmails, tamDicEmails, e -> e.toLowerCase(Locale.ROOT).endsWith(d));
+    }
+
+    // =====================================================
+    // 📈 Consultas (paralelas)
+    // =====================================================
+
+    /**
+     * 🔢 Quantos funcionários atendem ao filtro.
+     */
+    public long contar(IntPredicate filtro) {
+        return ativas().filter(filtro).count();
+    }
+
+    /**
+     * 📋 IDs dos funcionários que atendem ao filtro (em ordem de ID).
+     */
+    public int[] filtrarIds(IntPredicate filtro) {
+        return ativas().filter(filtro).map(l -> ids[l]).toArray();
+    }
+
+    /**
+     * 💼 Quantidade de funcionários por cargo (idCargo → quantidade).
+     *
+     * 🧠 Cada bloco de linhas conta num {@code int[]} próprio (indexado pelo
+     * idCargo) e no fim os arrays são somados: nenhum lock, nenhum boxing.
+     * O resultado é um {@link IntIntMap} novo a cada chamada (use
+     * {@code chaves()} para percorrer em ordem de idCargo).
+     */
+    public IntIntMap contarPorCargo(IntPredicate filtro) {
+        int maxCargo = 0;
+        for (int i = 0; i < linhas; i++) {
+            maxCargo = Math.max(maxCargo, cargos[i]);
+        }
+        int tamanho = maxCargo + 1;
+        int blocos = (linhas + BLOCO - 1) / BLOCO;
+
+        int[] total = IntStream.range(0, blocos).parallel()
+                .mapToObj(b -> {
+                    int[] parcial = new int[tamanho];
+                    int fim = Math.min(linhas, (b + 1) * BLOCO);
+                    for (int l = b * BLOCO; l < fim; l++) {
+                        if (isAtiva(l) && filtro.test(l)) {
+                            parcial[cargos[l]]++;
+                        }
+                    }
+                    return parcial;
+                })
+                .reduce(SnapshotFuncionarios::somar)
+                .orElse(new int[0]);
+
+        IntIntMap porCargo = new IntIntMap();
+        for (int idCargo = 0; idCargo < total.length; idCargo++) {
+            if (total[idCargo] > 0) {
+                porCargo.put(idCargo, total[idCargo]);
+            }
+        }
+        return porCargo;
+    }
+
+    /**
+     * 🚌 Quantos funcionários recebem vale-transporte, por cargo.
+     */
+    public IntIntMap contarValePorCargo() {
+        return contarPorCargo(comValeTransporte(true));
+    }
+
+    @Override
+    public String toString() {
+        return "SnapshotFuncionarios{versao=" + versao + ", funcionarios=" + getQuantidade()
+                + ", nomesDistintos=" + tamDicNomes + "}";
+    }
+
+    // =====================================================
+    // 🔧 Auxiliares
+    // =====================================================
+
+    private IntStream ativas() {
+        return IntStream.range(0, linhas).parallel().filter(this::isAtiva);
+    }
+
+    private static Predicate<String> contem(String termo) {
+        String t = termo == null ? "" : termo.trim().toLowerCase(Locale.ROOT);
+        return v -> v.toLowerCase(Locale.ROOT).contains(t);
+    }
+
+    /** Avalia o teste uma vez por valor do dicionário e devolve um filtro por bit. */
+    private static IntPredicate porDicionario(int[] coluna, String[] dicionario, int tamanho,
+            Predicate<String> teste) {
+        int[] aceitos = IntStream.range(0, tamanho).parallel()
+                .filter(c -> teste.test(dicionario[c]))
+                .toArray();
+        BitSet codigos = new BitSet(tamanho);
+        for (int c : aceitos) {
+            codigos.set(c);
+        }
+        return l -> codigos.get(coluna[l]);
+    }
+
+    private static int[] somar(int[] a, int[] b) {
+        for (int i = 0; i < a.length; i++) {
+            a[i] += b[i];
+        }
+        return a;
+    }
+}
@@ -0,0 +1,118 @@
+package benchmark;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import cache.RegistroCargos;
+import model.Cargo;
+import model.Funcionario;
+
+/**
+ * 📏 Classe: CargoFlyweightBenchmark
+ *
+ * 📘 Mede quanto de memória cada funcionário carregado ocupa com e sem o
+ * {@link RegistroCargos} (cargos canônicos).
+ *
+ * 🧠 Notas de Aula:
+ * <ul>
+ * <li>Não usa banco: simula o que o {@code FuncionarioDAO} faz por linha,
+ * inclusive a <b>String nova</b> que o driver JDBC cria a cada
+ * {@code rs.getString("nomeCargo")}</li>
+ * <li>Mede a memória <b>retida</b> (heap usado depois do GC com a lista
+ * ainda viva), não o total alocado</li>
+ * <li>Os números variam com a JVM (compressed oops, alinhamento); o que
+ * importa é a diferença entre os dois cenários</li>
+ * </ul>
+ *
+ * ▶️ Uso: {@code java -cp ... benchmark.CargoFlyweightBenchmark [linhas] [cargos]}
+ * (padrão: 200000 linhas, 8 cargos). Para 1 milhão de linhas use um heap maior
+ * (ex: {@code -Xmx2g}).
+ */
+public class CargoFlyweightBenchmark {
+
+    private static final String[] NOMES = {
+            "Analista de Sistemas", "Desenvolvedor Java", "Gerente de Projetos", "Assistente Administrativo",
+            "Coordenador de RH", "Técnico de Suporte", "Contador", "Diretor Financeiro"
+    };
+
+    public static void main(String[] args) {
+        int linhas = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+        int cargos = args.length > 1 ? Integer.parseInt(args[1]) : NOMES.length;
+
+        System.out.println("📏 CargoFlyweightBenchmark — " + linhas + " linhas, " + cargos + " cargos");
+
+        // 🔥 Aquecimento (carrega classes e estabiliza o JIT)
+        materializar(10_000, cargos, null);
+        materializar(10_000, cargos, new RegistroCargos());
+
+        long semRegistro = medir(linhas, cargos, false);
+        long comRegistro = medir(linhas, cargos, true);
+
+        double porLinhaSem = (double) semRegistro / linhas;
+        double porLinhaCom = (double) comRegistro / linhas;
+        System.out.println(String.format(Locale.ROOT, "  %-26s %14s %12s", "cenário", "heap retido", "bytes/linha"));
+        System.out.println(String.format(Locale.ROOT, "  %-26s %11.1f MB %12.1f",
+                "new Cargo() por linha", semRegistro / 1048576.0, porLinhaSem));
+        System.out.println(String.format(Locale.ROOT, "  %-26s %11.1f MB %12.1f",
+                "RegistroCargos", comRegistro / 1048576.0, porLinhaCom));
+        System.out.println(String.format(Locale.ROOT, "  💾 Economia: %.1f bytes por linha (%.1f MB no total)",
+                porLinhaSem - porLinhaCom, (semRegistro - comRegistro) / 1048576.0));
+    }
+
+    /** Heap retido pela lista materializada (bytes). */
+    private static long medir(int linhas, int cargos, boolean comRegistro) {
+        long antes = heapUsadoAposGc();
+        List<Funcionario> lista = materializar(linhas, cargos, comRegistro ? new RegistroCargos() : null);
+        long depois = heapUsadoAposGc();
+        if (lista.size() != linhas) {
+            throw new IllegalStateException("lista incompleta");
+        }
+        return depois - antes;
+    }
+
+    /**
+     * 🏭 Monta os funcionários como o DAO (registro null = um Cargo por linha).
+     */
+    private static List<Funcionario> materializar(int linhas, int cargos, RegistroCargos registro) {
+        List<Funcionario> lista = new ArrayList<>(linhas);
+        for (int i = 1; i <= linhas; i++) {
+            int idCargo = 1 + i % cargos;
+            // 🧵 O driver devolve uma String nova a cada getString
+            String nomeCargo = new String(NOMES[(idCargo - 1) % NOMES.length].toCharArray());
+
+            Cargo c;
+            if (registro != null) {
+                c = registro.canonico(idCargo, nomeCargo);
+            } else {
+                c = new Cargo();
+                c.setIdCargo(idCargo);
+                c.setNomeCargo(nomeCargo);
+            }
+
+            Funcionario f = new Funcionario();
+            f.setIdFuncionario(i);
+            f.setNomeFuncionario("Funcionario " + i);
+            f.setEmail("func" + i + "@empresa.com");
+            f.setSenha("$2a$12$abcdefghijklmnopqrstuv");
+            f.setCargo(c);
+            lista.add(f);
+        }
+        return lista;
+    }
+
+    private static long heapUsadoAposGc() {
+        MemoryMXBean memoria = ManagementFactory.getMemoryMXBean();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return memoria.getHeapMemoryUsage().getUsed();
+    }
+}
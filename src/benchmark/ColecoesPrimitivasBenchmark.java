@@ -0,0 +1,211 @@
+package benchmark;
+
+import java.lang.management.ManagementFactory;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Random;
+
+import collections.IntIntMap;
+import collections.IntObjectMap;
+import collections.IntSet;
+
+/**
+ * ⏱️ Classe: ColecoesPrimitivasBenchmark
+ *
+ * 📘 Compara as coleções de chave {@code int} do pacote {@code collections}
+ * com as versões "boxed" do JDK ({@code HashMap<Integer, ...>} e
+ * {@code HashSet<Integer>}).
+ *
+ * 🧠 Notas de Aula:
+ * <ul>
+ * <li>Chaves = IDs sequenciais (como os do banco), consultados em ordem
+ * aleatória</li>
+ * <li>Mede a montagem (put/add) e a consulta (get/contains): tempo por
+ * operação e bytes alocados por operação
+ * ({@code com.sun.management.ThreadMXBean})</li>
+ * <li>IDs acima de 127 não vêm do cache de {@code Integer}: cada put e cada
+ * get da versão boxed cria um objeto</li>
+ * <li>Várias rodadas de aquecimento antes de medir (JIT); vale a melhor
+ * rodada</li>
+ * </ul>
+ *
+ * ▶️ Uso: {@code java -cp ... benchmark.ColecoesPrimitivasBenchmark [ids] [rodadas]}
+ * (padrão: 1000000 IDs, 5 rodadas).
+ */
+public class ColecoesPrimitivasBenchmark {
+
+    private static int[] ids;
+    private static int[] consultas;
+    private static final Object VALOR = new Object();
+
+    private static long sumidouro;
+
+    @FunctionalInterface
+    private interface Caso {
+        long executar();
+    }
+
+    public static void main(String[] args) {
+        int quantidade = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int rodadas = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+
+        System.out.println("⏱️ ColecoesPrimitivasBenchmark — " + quantidade + " IDs, " + rodadas + " rodadas");
+        gerarIds(quantidade);
+
+        Caso[] casos = {
+                ColecoesPrimitivasBenchmark::hashMapIntInt, ColecoesPrimitivasBenchmark::intIntMap,
+                ColecoesPrimitivasBenchmark::hashMapIntObj, ColecoesPrimitivasBenchmark::intObjectMap,
+                ColecoesPrimitivasBenchmark::hashSet, ColecoesPrimitivasBenchmark::intSet};
+        String[] nomes = {
+                "HashMap<Integer,Integer>", "IntIntMap",
+                "HashMap<Integer,Object>", "IntObjectMap",
+                "HashSet<Integer>", "IntSet"};
+
+        // 🔥 Aquecimento
+        for (int i = 0; i < 3; i++) {
+            for (Caso c : casos) {
+                sumidouro += c.executar();
+            }
+        }
+
+        System.out.println(String.format(Locale.ROOT, "  %-26s %10s %14s", "coleção", "ns/op", "bytes/op"));
+        for (int i = 0; i < casos.length; i++) {
+            imprimir(nomes[i], medir(casos[i], rodadas));
+            if (i % 2 == 1) {
+                System.out.println();
+            }
+        }
+        if (sumidouro == 42) {
+            System.out.println(); // 🧠 impede que o JIT descarte o trabalho
+        }
+    }
+
+    /** @return {ns por operação (melhor rodada), bytes por operação} */
+    private static double[] medir(Caso caso, int rodadas) {
+        long operacoes = (long) ids.length + consultas.length;
+        double melhor = Double.MAX_VALUE;
+        long bytesAntes = bytesAlocados();
+        for (int r = 0; r < rodadas; r++) {
+            long inicio = System.nanoTime();
+            sumidouro += caso.executar();
+            melhor = Math.min(melhor, (double) (System.nanoTime() - inicio) / operacoes);
+        }
+        long bytes = bytesAlocados() - bytesAntes;
+        return new double[]{melhor, bytesAntes < 0 ? -1 : (double) bytes / (operacoes * rodadas)};
+    }
+
+    // =====================================================
+    // 🧪 Casos (montagem + consultas)
+    // =====================================================
+
+    private static long hashMapIntInt() {
+        HashMap<Integer, Integer> m = new HashMap<>();
+        for (int i = 0; i < ids.length; i++) {
+            m.put(ids[i], i);
+        }
+        long soma = 0;
+        for (int id : consultas) {
+            Integer v = m.get(id);
+            soma += v != null ? v : -1;
+        }
+        return soma;
+    }
+
+    private static long intIntMap() {
+        IntIntMap m = new IntIntMap();
+        for (int i = 0; i < ids.length; i++) {
+            m.put(ids[i], i);
+        }
+        long soma = 0;
+        for (int id : consultas) {
+            soma += m.get(id, -1);
+        }
+        return soma;
+    }
+
+    private static long hashMapIntObj() {
+        HashMap<Integer, Object> m = new HashMap<>();
+        for (int id : ids) {
+            m.put(id, VALOR);
+        }
+        long soma = 0;
+        for (int id : consultas) {
+            if (m.get(id) != null) {
+                soma++;
+            }
+        }
+        return soma;
+    }
+
+    private static long intObjectMap() {
+        IntObjectMap<Object> m = new IntObjectMap<>();
+        for (int id : ids) {
+            m.put(id, VALOR);
+        }
+        long soma = 0;
+        for (int id : consultas) {
+            if (m.get(id) != null) {
+                soma++;
+            }
+        }
+        return soma;
+    }
+
+    private static long hashSet() {
+        HashSet<Integer> s = new HashSet<>();
+        for (int id : ids) {
+            s.add(id);
+        }
+        long soma = 0;
+        for (int id : consultas) {
+            if (s.contains(id)) {
+                soma++;
+            }
+        }
+        return soma;
+    }
+
+    private static long intSet() {
+        IntSet s = new IntSet();
+        for (int id : ids) {
+            s.add(id);
+        }
+        long soma = 0;
+        for (int id : consultas) {
+            if (s.contains(id)) {
+                soma++;
+            }
+        }
+        return soma;
+    }
+
+    // =====================================================
+    // 🔧 Auxiliares
+    // =====================================================
+
+    /** IDs 1..n e consultas em ordem aleatória (metade inexistente). */
+    private static void gerarIds(int quantidade) {
+        ids = new int[quantidade];
+        consultas = new int[quantidade];
+        Random random = new Random(42);
+        for (int i = 0; i < quantidade; i++) {
+            ids[i] = i + 1;
+            consultas[i] = 1 + random.nextInt(quantidade * 2);
+        }
+    }
+
+    private static void imprimir(String nome, double[] r) {
+        System.out.println(String.format(Locale.ROOT, "  %-26s %10.1f %14s", nome, r[0],
+                r[1] < 0 ? "n/d" : String.format(Locale.ROOT, "%.1f", r[1])));
+    }
+
+    /** Bytes alocados pela thread atual (-1 se a JVM não informar). */
+    private static long bytesAlocados() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) bean).getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return -1;
+    }
+}
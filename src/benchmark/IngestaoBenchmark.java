@@ -0,0 +1,127 @@
+package benchmark;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+
+import bulk.IngestaoMapeada;
+import bulk.LeitorCsv;
+
+/**
+ * ⏱️ Classe: IngestaoBenchmark
+ *
+ * 📘 Compara a leitura de um arquivo grande (CSV de funcionários) linha a
+ * linha com {@code BufferedReader} — como o {@code teste.processarArquivo}
+ * — com o motor {@link IngestaoMapeada} (arquivo mapeado, trechos em
+ * paralelo).
+ *
+ * 🧠 Notas de Aula:
+ * <ul>
+ * <li>O arquivo é gerado antes (em uma pasta temporária) e apagado no fim</li>
+ * <li>Cada caso percorre o arquivo inteiro e soma a quantidade de campos,
+ * para o JIT não eliminar o trabalho</li>
+ * <li>A primeira rodada também aquece o cache de disco do sistema: vale a
+ * melhor rodada, e todos os casos leem o arquivo já em memória</li>
+ * <li>Com um trecho só (arquivos pequenos) o motor não ganha nada: o ganho
+ * vem de interpretar vários trechos ao mesmo tempo</li>
+ * </ul>
+ *
+ * ▶️ Uso: {@code java -cp ... benchmark.IngestaoBenchmark [linhas] [rodadas]}
+ * (padrão: 2000000 linhas, 5 rodadas).
+ */
+public class IngestaoBenchmark {
+
+    private static long sumidouro;
+
+    @FunctionalInterface
+    private interface Caso {
+        long executar(Path arquivo) throws Exception;
+    }
+
+    public static void main(String[] args) throws Exception {
+        int linhas = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+        int rodadas = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+
+        Path arquivo = Files.createTempFile("ingestao-benchmark", ".csv");
+        try {
+            gerarArquivo(arquivo, linhas);
+            long bytes = Files.size(arquivo);
+            System.out.println("⏱️ IngestaoBenchmark — " + linhas + " linhas (" + (bytes >> 20) + " MB), "
+                    + rodadas + " rodadas, " + Runtime.getRuntime().availableProcessors() + " núcleos");
+
+            IngestaoMapeada motor = IngestaoMapeada.fromSystemProperties();
+            Caso[] casos = {
+                    IngestaoBenchmark::bufferedReaderSplit,
+                    IngestaoBenchmark::bufferedReaderCsv,
+                    a -> motor.processar(a, IngestaoMapeada.linhas(), (l, n) -> sumidouro += l.length(), true),
+                    a -> motor.processar(a, IngestaoMapeada.csv(';'), (r, n) -> sumidouro += r.length, true),
+                    a -> motor.processar(a, IngestaoMapeada.csv(';'), (r, n) -> sumidouro += r.length, false)};
+            String[] nomes = {
+                    "BufferedReader + split", "BufferedReader + LeitorCsv",
+                    "mapeado: linhas", "mapeado: CSV em ordem", "mapeado: CSV fora de ordem"};
+
+            System.out.println(String.format(Locale.ROOT, "  %-28s %10s %10s %12s", "caso", "ms", "MB/s", "registros"));
+            double base = 0;
+            for (int c = 0; c < casos.length; c++) {
+                double melhor = Double.MAX_VALUE;
+                long registros = 0;
+                for (int r = 0; r < rodadas; r++) {
+                    long inicio = System.nanoTime();
+                    registros = casos[c].executar(arquivo);
+                    melhor = Math.min(melhor, (System.nanoTime() - inicio) / 1e6);
+                }
+                if (c == 0) {
+                    base = melhor;
+                }
+                System.out.println(String.format(Locale.ROOT, "  %-28s %10.1f %10.1f %12d   %.1fx", nomes[c], melhor,
+                        (bytes / 1048576.0) / (melhor / 1000), registros, base / melhor));
+            }
+        } finally {
+            Files.deleteIfExists(arquivo);
+        }
+        if (sumidouro == 42) {
+            System.out.println(); // 🧠 impede que o JIT descarte o trabalho
+        }
+    }
+
+    /** Como o {@code teste.processarArquivo}: {@code readLine()} (aqui sem imprimir) + {@code split}. */
+    private static long bufferedReaderSplit(Path arquivo) throws IOException {
+        long registros = 0;
+        try (BufferedReader leitor = Files.newBufferedReader(arquivo, StandardCharsets.UTF_8)) {
+            String linha;
+            while ((linha = leitor.readLine()) != null) {
+                sumidouro += linha.split(";", -1).length;
+                registros++;
+            }
+        }
+        return registros;
+    }
+
+    /** Leitura sequencial com o mesmo interpretador de CSV do motor. */
+    private static long bufferedReaderCsv(Path arquivo) throws IOException {
+        long registros = 0;
+        try (LeitorCsv leitor = new LeitorCsv(Files.newBufferedReader(arquivo, StandardCharsets.UTF_8), ';')) {
+            String[] registro;
+            while ((registro = leitor.proximo()) != null) {
+                sumidouro += registro.length;
+                registros++;
+            }
+        }
+        return registros;
+    }
+
+    private static void gerarArquivo(Path arquivo, int linhas) throws IOException {
+        try (BufferedWriter saida = Files.newBufferedWriter(arquivo, StandardCharsets.UTF_8)) {
+            saida.write("nomeFuncionario;email;senha;cargo;recebeValeTransporte\n");
+            for (int i = 0; i < linhas; i++) {
+                saida.write("Funcionário Número " + i + ";funcionario" + i + "@empresa.com.br;"
+                        + "$2a$12$R9h/cIPz0gi.URNNX3kh2OPST9/PgBkqquzi.Ss7KIUgO2t0jWMUW;Cargo " + (i % 8) + ";"
+                        + ((i & 1) == 0 ? "sim" : "não") + "\n");
+            }
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package benchmark;
+
+import java.lang.management.ManagementFactory;
+import java.util.Locale;
+
+import model.Cargo;
+import model.Funcionario;
+
+/**
+ * ⏱️ Classe: ModeloConfiavelBenchmark
+ *
+ * 📘 Compara o custo de montar funcionários lidos do banco pelos
+ * <b>setters</b> (com validação e {@code trim}) e pela fábrica
+ * <b>confiável</b> {@link Funcionario#doBanco}.
+ *
+ * 🧠 Notas de Aula:
+ * <ul>
+ * <li>Sem banco: as linhas são geradas antes, para medir só a montagem dos
+ * objetos (o que o {@code FuncionarioDAO} faz por linha)</li>
+ * <li>Várias rodadas de aquecimento antes de medir (JIT)</li>
+ * <li>Mede tempo por linha e, quando a JVM permite, bytes alocados por linha
+ * ({@code com.sun.management.ThreadMXBean})</li>
+ * <li>O resultado de cada rodada é "consumido" para o JIT não eliminar o
+ * trabalho</li>
+ * </ul>
+ *
+ * ▶️ Uso: {@code java -cp ... benchmark.ModeloConfiavelBenchmark [linhas] [rodadas]}
+ * (padrão: 1000000 linhas, 5 rodadas).
+ */
+public class ModeloConfiavelBenchmark {
+
+    private static int[] ids;
+    private static String[] nomes;
+    private static String[] emails;
+    private static String[] senhas;
+    private static Cargo[] cargos;
+
+    private static long sumidouro;
+
+    public static void main(String[] args) {
+        int linhas = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int rodadas = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+
+        System.out.println("⏱️ ModeloConfiavelBenchmark — " + linhas + " linhas, " + rodadas + " rodadas");
+        gerarLinhas(linhas);
+
+        // 🔥 Aquecimento
+        for (int i = 0; i < 3; i++) {
+            comValidacao();
+            confiavel();
+        }
+
+        double[] validacao = medir(rodadas, true);
+        double[] rapido = medir(rodadas, false);
+
+        System.out.println(String.format(Locale.ROOT, "  %-24s %10s %14s", "caminho", "ns/linha", "bytes/linha"));
+        imprimir("setters (validação)", validacao);
+        imprimir("Funcionario.doBanco", rapido);
+        System.out.println(String.format(Locale.ROOT, "  ⚡ %.1fx mais rápido (%.1f ns a menos por linha)",
+                validacao[0] / rapido[0], validacao[0] - rapido[0]));
+        if (sumidouro == 42) {
+            System.out.println(); // 🧠 impede que o JIT descarte o trabalho
+        }
+    }
+
+    /** @return {ns por linha (melhor rodada), bytes por linha} */
+    private static double[] medir(int rodadas, boolean comValidacao) {
+        double melhor = Double.MAX_VALUE;
+        long bytesAntes = bytesAlocados();
+        for (int r = 0; r < rodadas; r++) {
+            long inicio = System.nanoTime();
+            if (comValidacao) {
+                comValidacao();
+            } else {
+                confiavel();
+            }
+            melhor = Math.min(melhor, (double) (System.nanoTime() - inicio) / ids.length);
+        }
+        long bytes = bytesAlocados() - bytesAntes;
+        return new double[]{melhor, bytesAntes < 0 ? -1 : (double) bytes / ((long) ids.length * rodadas)};
+    }
+
+    /** Como o DAO fazia: construtor padrão + setters (cada um valida e apara). */
+    private static void comValidacao() {
+        long soma = 0;
+        for (int i = 0; i < ids.length; i++) {
+            Funcionario f = new Funcionario();
+            f.setIdFuncionario(ids[i]);
+            f.setNomeFuncionario(nomes[i]);
+            f.setEmail(emails[i]);
+            f.setSenha(senhas[i]);
+            f.setRecebeValeTransporte((i & 1) == 0);
+            f.setCargo(cargos[i & 7]);
+            soma += f.getEmail().length();
+        }
+        sumidouro += soma;
+    }
+
+    /** Caminho confiável usado agora pelo DAO. */
+    private static void confiavel() {
+        long soma = 0;
+        for (int i = 0; i < ids.length; i++) {
+            Funcionario f = Funcionario.doBanco(ids[i], nomes[i], emails[i], senhas[i], (i & 1) == 0, cargos[i & 7]);
+            soma += f.getEmail().length();
+        }
+        sumidouro += soma;
+    }
+
+    private static void gerarLinhas(int linhas) {
+        ids = new int[linhas];
+        nomes = new String[linhas];
+        emails = new String[linhas];
+        senhas = new String[linhas];
+        cargos = new Cargo[8];
+        for (int c = 0; c < cargos.length; c++) {
+            cargos[c] = Cargo.doBanco(c + 1, "Cargo " + (c + 1));
+        }
+        for (int i = 0; i < linhas; i++) {
+            ids[i] = i + 1;
+            nomes[i] = "Funcionario Numero " + i;
+            emails[i] = "funcionario" + i + "@empresa.com.br";
+            senhas[i] = "$2a$12$R9h/cIPz0gi.URNNX3kh2OPST9/PgBkqquzi.Ss7KIUgO2t0jWMUW";
+        }
+    }
+
+    private static void imprimir(String nome, double[] r) {
+        System.out.println(String.format(Locale.ROOT, "  %-24s %10.1f %14s", nome, r[0],
+                r[1] < 0 ? "n/d" : String.format(Locale.ROOT, "%.1f", r[1])));
+    }
+
+    /** Bytes alocados pela thread atual (-1 se a JVM não informar). */
+    private static long bytesAlocados() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) bean).getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,374 @@
+package bulk;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.ClosedByInterruptException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.SQLException;
+import java.util.Locale;
+import java.util.zip.GZIPOutputStream;
+
+import dao.FuncionarioDAO;
+
+/**
+ * 📤 Classe: ExportacaoFuncionarios
+ *
+ * 📘 Exporta {@code Funcionario JOIN Cargo} (para auditoria) em CSV ou JSON,
+ * opcionalmente compactado com gzip, com <b>memória constante</b>.
+ *
+ * 🎯 Fluxo: cursor do banco ({@code setFetchSize}) → linha formatada →
+ * buffer → arquivo. Nenhuma lista de funcionários é montada: 10 milhões de
+ * linhas usam a mesma memória que 10.
+ *
+ * 🧠 Notas de Aula:
+ * <ul>
+ * <li>O arquivo é escrito em um temporário ao lado do destino e só então
+ * trocado (movimento atômico): cancelar ou falhar nunca deixa um arquivo
+ * pela metade com o nome final</li>
+ * <li>Cancelamento: a thread é interrompida ({@code cancelar} do
+ * {@link forms.BackgroundTaskRunner}); a varredura para na próxima linha</li>
+ * <li>A senha (hash) não é exportada</li>
+ * <li>CSV com ';' (o Excel em português abre direto), UTF-8 com BOM;
+ * JSON é um array de objetos, um por linha do arquivo</li>
+ * </ul>
+ */
+public class ExportacaoFuncionarios {
+
+    /** 📄 Formato do arquivo. */
+    public enum Formato {
+        CSV, JSON
+    }
+
+    /**
+     * 📈 Acompanha a exportação (chamado na thread da exportação).
+     */
+    @FunctionalInterface
+    public interface Progresso {
+        /**
+         * @param exportadas linhas escritas até agora
+         * @param total      linhas esperadas (contagem feita no início)
+         */
+        void atualizar(long exportadas, long total);
+    }
+
+    /**
+     * 🗄️ Origem das linhas (normalmente o {@code FuncionarioDAO}).
+     */
+    public interface Origem {
+        int contar() throws SQLException;
+
+        void varrer(FuncionarioDAO.VisitanteExportacao visitante) throws SQLException;
+    }
+
+    /** Linhas entre dois avisos de progresso. */
+    private static final int INTERVALO_PROGRESSO = 10_000;
+
+    private static final int TAMANHO_BUFFER = 64 * 1024;
+
+    private static final String[] COLUNAS = {
+            "idFuncionario", "nomeFuncionario", "email", "recebeValeTransporte", "idCargo", "nomeCargo"
+    };
+
+    private final Origem origem;
+
+    /**
+     * 🏗️ Construtor
+     *
+     * @param origem origem das linhas
+     */
+    public ExportacaoFuncionarios(Origem origem) {
+        System.out.println(">> ExportacaoFuncionarios.constructor()");
+        this.origem = origem;
+    }
+
+    /**
+     * 📄 Formato pela extensão do arquivo ({@code .json} ou
+     * {@code .json.gz} = JSON; qualquer outra = CSV).
+     */
+    public static Formato formatoPeloNome(Path arquivo) {
+        String nome = semGzip(arquivo.getFileName().toString().toLowerCase(Locale.ROOT));
+        return nome.endsWith(".json") ? Formato.JSON : Formato.CSV;
+    }
+
+    /**
+     * 🗜️ Indica se o nome do arquivo pede compactação ({@code .gz}).
+     */
+    public static boolean isGzip(Path arquivo) {
+        return arquivo.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(".gz");
+    }
+
+    /**
+     * 📤 Exporta para o arquivo, com formato e compactação pela extensão.
+     *
+     * @see #exportar(Path, Formato, boolean, Progresso)
+     */
+    public long exportar(Path destino, Progresso progresso)
+            throws IOException, SQLException, InterruptedException {
+        return exportar(destino, formatoPeloNome(destino), isGzip(destino), progresso);
+    }
+
+    /**
+     * 📤 Exporta todos os funcionários (bloqueia até terminar; chame fora
+     * da EDT).
+     *
+     * @param destino   arquivo final (substituído se existir)
+     * @param formato   CSV ou JSON
+     * @param gzip      true para compactar
+     * @param progresso avisado a cada {@value #INTERVALO_PROGRESSO} linhas
+     *                  (pode ser null)
+     * @return quantidade de linhas exportadas
+     * @throws IOException          erro ao gravar o arquivo
+     * @throws SQLException         erro na consulta
+     * @throws InterruptedException exportação cancelada (o destino não é alterado)
+     */
+    public long exportar(Path destino, Formato formato, boolean gzip, Progresso progresso)
+            throws IOException, SQLException, InterruptedException {
+        System.out.println(">> ExportacaoFuncionarios.exportar() - " + destino + " (" + formato
+                + (gzip ? ", gzip" : "") + ")");
+        long inicio = System.nanoTime();
+        long total = origem.contar();
+
+        Path pasta = destino.toAbsolutePath().getParent();
+        if (pasta != null) {
+            Files.createDirectories(pasta);
+        }
+        Path temporario = (pasta != null ? pasta : destino.toAbsolutePath())
+                .resolve(destino.getFileName() + ".tmp");
+
+        long[] exportadas = {0};
+        boolean concluiu = false;
+        try {
+            try (FileChannel canal = FileChannel.open(temporario, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+                 Writer saida = abrirSaida(canal, gzip)) {
+
+                Escritor escritor = formato == Formato.JSON ? new EscritorJson(saida) : new EscritorCsv(saida);
+                escritor.inicio();
+                try {
+                    origem.varrer((id, nome, email, vale, idCargo, nomeCargo) -> {
+                        if (Thread.currentThread().isInterrupted()) {
+                            return false; // 🛑 cancelada
+                        }
+                        try {
+                            escritor.linha(id, nome, email, vale, idCargo, nomeCargo);
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                        long n = ++exportadas[0];
+                        if (progresso != null && n % INTERVALO_PROGRESSO == 0) {
+                            progresso.atualizar(n, Math.max(n, total));
+                        }
+                        return true;
+                    });
+                } catch (UncheckedIOException e) {
+                    throw e.getCause();
+                }
+                if (Thread.interrupted()) {
+                    throw new InterruptedException("Exportação cancelada.");
+                }
+                escritor.fim();
+            }
+
+            Files.move(temporario, destino, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            concluiu = true;
+        } catch (ClosedByInterruptException e) {
+            // 🛑 Interrompida durante uma escrita: o canal é fechado pela JVM
+            Thread.interrupted();
+            throw new InterruptedException("Exportação cancelada.");
+        } finally {
+            if (!concluiu) {
+                Files.deleteIfExists(temporario);
+            }
+        }
+
+        if (progresso != null) {
+            progresso.atualizar(exportadas[0], exportadas[0]);
+        }
+        System.out.printf("📤 Exportação concluída: %d linhas em %.1f s (%s)%n", exportadas[0],
+                (System.nanoTime() - inicio) / 1e9, destino);
+        return exportadas[0];
+    }
+
+    // =====================================================
+    // 🔧 Saída
+    // =====================================================
+
+    /** Canal → (gzip) → buffer de bytes → texto UTF-8 com buffer. */
+    private static Writer abrirSaida(FileChannel canal, boolean gzip) throws IOException {
+        OutputStream bytes = Channels.newOutputStream(canal);
+        bytes = gzip ? new GZIPOutputStream(bytes, TAMANHO_BUFFER) : new BufferedOutputStream(bytes, TAMANHO_BUFFER);
+        return new BufferedWriter(new OutputStreamWriter(bytes, StandardCharsets.UTF_8), TAMANHO_BUFFER);
+    }
+
+    private static String semGzip(String nome) {
+        return nome.endsWith(".gz") ? nome.substring(0, nome.length() - 3) : nome;
+    }
+
+    /** Formata as linhas no arquivo. */
+    private interface Escritor {
+        void inicio() throws IOException;
+
+        void linha(int id, String nome, String email, boolean vale, int idCargo, String nomeCargo)
+                throws IOException;
+
+        void fim() throws IOException;
+    }
+
+    /** 📄 CSV (RFC 4180) com ';', lido de volta pelo {@link LeitorCsv}. */
+    private static final class EscritorCsv implements Escritor {
+        private static final char SEPARADOR = ';';
+        private final Writer saida;
+
+        EscritorCsv(Writer saida) {
+            this.saida = saida;
+        }
+
+        @Override
+        public void inicio() throws IOException {
+            saida.write('\uFEFF'); // BOM: o Excel reconhece o UTF-8
+            for (int i = 0; i < COLUNAS.length; i++) {
+                if (i > 0) {
+                    saida.write(SEPARADOR);
+                }
+                saida.write(COLUNAS[i]);
+            }
+            saida.write("\r\n");
+        }
+
+        @Override
+        public void linha(int id, String nome, String email, boolean vale, int idCargo, String nomeCargo)
+                throws IOException {
+            saida.write(Integer.toString(id));
+            saida.write(SEPARADOR);
+            campo(nome);
+            saida.write(SEPARADOR);
+            campo(email);
+            saida.write(SEPARADOR);
+            saida.write(vale ? "true" : "false");
+            saida.write(SEPARADOR);
+            saida.write(Integer.toString(idCargo));
+            saida.write(SEPARADOR);
+            campo(nomeCargo);
+            saida.write("\r\n");
+        }
+
+        @Override
+        public void fim() {
+        }
+
+        /** Aspas só quando necessário; aspas internas viram "". */
+        private void campo(String valor) throws IOException {
+            if (valor == null) {
+                return;
+            }
+            boolean aspas = false;
+            for (int i = 0; i < valor.length() && !aspas; i++) {
+                char c = valor.charAt(i);
+                aspas = c == SEPARADOR || c == '"' || c == '\n' || c == '\r';
+            }
+            if (!aspas) {
+                saida.write(valor);
+                return;
+            }
+            saida.write('"');
+            for (int i = 0; i < valor.length(); i++) {
+                char c = valor.charAt(i);
+                if (c == '"') {
+                    saida.write('"');
+                }
+                saida.write(c);
+            }
+            saida.write('"');
+        }
+    }
+
+    /** 🧾 JSON: array de objetos, um por linha. */
+    private static final class EscritorJson implements Escritor {
+        private final Writer saida;
+        private boolean primeira = true;
+
+        EscritorJson(Writer saida) {
+            this.saida = saida;
+        }
+
+        @Override
+        public void inicio() throws IOException {
+            saida.write('[');
+        }
+
+        @Override
+        public void linha(int id, String nome, String email, boolean vale, int idCargo, String nomeCargo)
+                throws IOException {
+            saida.write(primeira ? "\n{\"" : ",\n{\"");
+            primeira = false;
+            saida.write(COLUNAS[0]);
+            saida.write("\":");
+            saida.write(Integer.toString(id));
+            texto(1, nome);
+            texto(2, email);
+            saida.write(",\"");
+            saida.write(COLUNAS[3]);
+            saida.write(vale ? "\":true" : "\":false");
+            saida.write(",\"");
+            saida.write(COLUNAS[4]);
+            saida.write("\":");
+            saida.write(Integer.toString(idCargo));
+            texto(5, nomeCargo);
+            saida.write('}');
+        }
+
+        @Override
+        public void fim() throws IOException {
+            saida.write("\n]\n");
+        }
+
+        private void texto(int coluna, String valor) throws IOException {
+            saida.write(",\"");
+            saida.write(COLUNAS[coluna]);
+            saida.write("\":");
+            if (valor == null) {
+                saida.write("null");
+                return;
+            }
+            saida.write('"');
+            for (int i = 0; i < valor.length(); i++) {
+                char c = valor.charAt(i);
+                switch (c) {
+                    case '"':
+                        saida.write("\\\"");
+                        break;
+                    case '\\':
+                        saida.write("\\\\");
+                        break;
+                    case '\n':
+                        saida.write("\\n");
+                        break;
+                    case '\r':
+                        saida.write("\\r");
+                        break;
+                    case '\t':
+                        saida.write("\\t");
+                        break;
+                    default:
+                        if (c < 0x20) {
+                            saida.write(String.format("\\u%04x", (int) c));
+                        } else {
+                            saida.write(c);
+                        }
+                }
+            }
+            saida.write('"');
+        }
+    }
+}
@@ -0,0 +1,614 @@
+package bulk;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import org.mindrot.jbcrypt.BCrypt;
+
+import database.MysqlDatabase;
+import model.Cargo;
+import model.Funcionario;
+
+/**
+ * 📥 Classe: ImportacaoFuncionarios
+ *
+ * 📘 Importa funcionários de um CSV (cadastro de empresas inteiras) em um
+ * <b>pipeline</b> com memória limitada.
+ *
+ * 🎯 Etapas:
+ * <ol>
+ * <li><b>Leitura</b>: {@link IngestaoMapeada} (arquivo mapeado, trechos
+ * interpretados em paralelo) entrega os registros na ordem do arquivo, e a
+ * thread de quem chamou os agrupa em lotes</li>
+ * <li><b>Processamento</b> (várias threads): valida cada linha com as regras
+ * do {@link Funcionario}, resolve o cargo pelo nome e criptografa a senha
+ * com BCrypt</li>
+ * <li><b>Gravação</b> (uma thread): descarta emails repetidos ou já
+ * cadastrados e insere o lote em um único batch JDBC</li>
+ * </ol>
+ *
+ * 🧠 Notas de Aula:
+ * <ul>
+ * <li><b>Contrapressão</b>: os lotes passam por uma fila limitada; se a
+ * gravação atrasar, a leitura espera — o arquivo nunca é carregado
+ * inteiro</li>
+ * <li>A fila guarda os lotes <b>na ordem do arquivo</b> (um
+ * {@link Future} por lote): os IDs seguem a ordem das linhas</li>
+ * <li>A validação vem antes do BCrypt: linha inválida não paga o hash</li>
+ * <li>O BCrypt é o gargalo (dezenas de ms por senha e por núcleo). Senhas
+ * que já chegam criptografadas ({@code $2a$...}, ex: exportadas de outro
+ * sistema) são gravadas como estão, e aí a importação passa de dezenas
+ * de milhares de linhas por segundo</li>
+ * <li>Cada lote é gravado por um comando só: se a importação parar no
+ * meio, os lotes já gravados permanecem (o progresso informa quantos)</li>
+ * <li>Erros de linha não param a importação; erros de banco e de leitura
+ * do arquivo param</li>
+ * </ul>
+ *
+ * 📄 Colunas (cabeçalho obrigatório, em qualquer ordem, separador ',' ou
+ * ';'): {@code nomeFuncionario}, {@code email}, {@code senha},
+ * {@code cargo} e, opcional, {@code recebeValeTransporte}
+ * (sim/não, s/n, true/false, 1/0).
+ *
+ * ⚙️ Configuração: {@code rh.importacao.threads} (núcleos do processador) e
+ * {@code rh.importacao.lote} (1000 linhas).
+ */
+public class ImportacaoFuncionarios {
+
+    /** Máximo de erros de linha guardados no resumo (o total é sempre contado). */
+    public static final int MAX_ERROS_GUARDADOS = 1000;
+
+    /**
+     * 🗄️ Gravação no banco (normalmente o {@code FuncionarioDAO}).
+     */
+    public interface Gravador {
+        /** Emails (em minúsculas) da lista que já estão cadastrados. */
+        Set<String> emailsExistentes(List<String> emails) throws SQLException;
+
+        /** Insere funcionários com a senha já criptografada; devolve os IDs na mesma ordem. */
+        int[] inserir(List<Funcionario> funcionarios) throws SQLException;
+    }
+
+    /**
+     * 💼 Busca o cargo pelo nome (normalmente {@code CargoService::findByNome},
+     * que usa o cache de cargos).
+     */
+    @FunctionalInterface
+    public interface ResolvedorCargo {
+        Cargo porNome(String nomeCargo) throws SQLException;
+    }
+
+    private static final Cargo SEM_CARGO = new Cargo();
+    private static final Lote FIM = new Lote(0);
+
+    private final Gravador gravador;
+    private final ResolvedorCargo resolvedorCargo;
+    private final Consumer<List<Funcionario>> aoGravarLote;
+    private final IngestaoMapeada ingestao;
+    private final int threads;
+    private final int tamanhoLote;
+
+    /**
+     * 🏗️ Construtor
+     *
+     * @param gravador        gravação no banco
+     * @param resolvedorCargo busca do cargo pelo nome
+     * @param aoGravarLote    avisado a cada lote gravado, com os IDs já
+     *                        preenchidos (pode ser null)
+     * @param ingestao        leitura do arquivo
+     * @param threads         threads de processamento (validação + BCrypt)
+     * @param tamanhoLote     linhas por lote (e por batch JDBC)
+     */
+    public ImportacaoFuncionarios(Gravador gravador, ResolvedorCargo resolvedorCargo,
+            Consumer<List<Funcionario>> aoGravarLote, IngestaoMapeada ingestao, int threads, int tamanhoLote) {
+        System.out.println(">> ImportacaoFuncionarios.constructor()");
+        if (threads <= 0 || tamanhoLote <= 0) {
+            throw new IllegalArgumentException("⚠️ Threads e tamanho do lote devem ser maiores que zero.");
+        }
+        this.gravador = gravador;
+        this.resolvedorCargo = resolvedorCargo;
+        this.aoGravarLote = aoGravarLote;
+        this.ingestao = ingestao;
+        this.threads = threads;
+        this.tamanhoLote = tamanhoLote;
+    }
+
+    /**
+     * 🏭 Cria a importação a partir das propriedades de sistema.
+     */
+    public static ImportacaoFuncionarios fromSystemProperties(Gravador gravador, ResolvedorCargo resolvedorCargo,
+            Consumer<List<Funcionario>> aoGravarLote) {
+        return new ImportacaoFuncionarios(gravador, resolvedorCargo, aoGravarLote,
+                IngestaoMapeada.fromSystemProperties(),
+                Math.max(1, Integer.getInteger("rh.importacao.threads", Runtime.getRuntime().availableProcessors())),
+                Math.max(1, Integer.getInteger("rh.importacao.lote", 1000)));
+    }
+
+    /**
+     * 📥 Importa o arquivo (bloqueia até terminar; chame fora da EDT).
+     *
+     * @param arquivo   CSV em UTF-8
+     * @param progresso avisado a cada lote gravado, na thread de gravação
+     *                  (pode ser null)
+     * @return resumo final, com os erros por linha
+     * @throws IOException          erro de leitura ou arquivo mal formado
+     * @throws SQLException         erro de banco (lotes anteriores ficam gravados)
+     * @throws InterruptedException importação cancelada
+     */
+    public ResumoImportacao importar(Path arquivo, Consumer<ResumoImportacao> progresso)
+            throws IOException, SQLException, InterruptedException {
+        System.out.println(">> ImportacaoFuncionarios.importar() - " + arquivo);
+        return new Execucao(Files.size(arquivo), progresso).executar(arquivo);
+    }
+
+    // =====================================================
+    // ⚙️ Uma execução do pipeline
+    // =====================================================
+
+    private final class Execucao {
+
+        private final long bytesTotal;
+        private volatile long bytesLidos;
+        private final Consumer<ResumoImportacao> progresso;
+        private final long inicio = System.nanoTime();
+
+        private final AtomicLong lidas = new AtomicLong();
+        private final AtomicLong importadas = new AtomicLong();
+        private final AtomicLong rejeitadas = new AtomicLong();
+        private final List<ResumoImportacao.ErroLinha> erros = new ArrayList<>();
+
+        // 💼 Cargos já resolvidos nesta importação (nome normalizado → cargo)
+        private final Map<String, Cargo> cargos = new ConcurrentHashMap<>();
+
+        private Colunas colunas;
+        private Lote atual;
+
+        Execucao(long bytesTotal, Consumer<ResumoImportacao> progresso) {
+            this.bytesTotal = bytesTotal;
+            this.progresso = progresso;
+        }
+
+        ResumoImportacao executar(Path arquivo) throws IOException, SQLException, InterruptedException {
+            char separador = LeitorCsv.detectarSeparador(primeiraLinha(arquivo));
+
+            // ⚙️ Processamento em paralelo e gravação em uma thread
+            AtomicInteger numero = new AtomicInteger();
+            ExecutorService processamento = Executors.newFixedThreadPool(threads, r -> {
+                Thread t = new Thread(r, "importacao-processo-" + numero.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            });
+            ExecutorService gravacao = Executors.newSingleThreadExecutor(r -> {
+                Thread t = new Thread(r, "importacao-gravacao");
+                t.setDaemon(true);
+                return t;
+            });
+
+            // 🚦 Contrapressão: no máximo 2 lotes por thread esperando a gravação
+            BlockingQueue<Future<Lote>> fila = new ArrayBlockingQueue<>(threads * 2);
+            Future<?> escritor = gravacao.submit(() -> {
+                gravarLotes(fila);
+                return null;
+            });
+
+            try {
+                atual = new Lote(tamanhoLote);
+                try {
+                    ingestao.processar(arquivo, IngestaoMapeada.csv(separador), (registro, linha) -> {
+                        if (colunas == null) {
+                            colunas = new Colunas(registro); // 1️⃣ cabeçalho
+                            return;
+                        }
+                        if (Thread.interrupted()) {
+                            throw new InterruptedException("Importação cancelada.");
+                        }
+                        if (vazio(registro)) {
+                            return;
+                        }
+                        lidas.incrementAndGet();
+                        atual.adicionar((int) linha, registro);
+                        if (atual.tamanho == tamanhoLote) {
+                            enviar(fila, processamento.submit(processador(atual)), escritor);
+                            atual = new Lote(tamanhoLote);
+                        }
+                    }, true, lidos -> bytesLidos = lidos);
+                } catch (IOException e) {
+                    if (escritor.isDone()) {
+                        esperar(escritor); // ❌ o erro real é o da gravação
+                    }
+                    throw e;
+                }
+                if (colunas == null) {
+                    throw new IOException("⚠️ Arquivo vazio.");
+                }
+                if (atual.tamanho > 0) {
+                    enviar(fila, processamento.submit(processador(atual)), escritor);
+                }
+                enviar(fila, CompletableFuture.completedFuture(FIM), escritor);
+
+                esperar(escritor);
+                ResumoImportacao resumo = resumo(true);
+                System.out.println(resumo);
+                return resumo;
+            } finally {
+                escritor.cancel(true);
+                processamento.shutdownNow();
+                gravacao.shutdownNow();
+            }
+        }
+
+        // =====================================================
+        // 1️⃣ Leitura
+        // =====================================================
+
+        /** Primeira linha (cabeçalho), só para escolher o separador. */
+        private String primeiraLinha(Path arquivo) throws IOException {
+            try (BufferedReader leitor = Files.newBufferedReader(arquivo, StandardCharsets.UTF_8)) {
+                return leitor.readLine();
+            }
+        }
+
+        /**
+         * 🚦 Coloca o lote na fila, esperando se ela estiver cheia.
+         *
+         * @throws IOException se a gravação já terminou (com erro)
+         */
+        private void enviar(BlockingQueue<Future<Lote>> fila, Future<Lote> lote, Future<?> escritor)
+                throws IOException, InterruptedException {
+            while (!fila.offer(lote, 100, TimeUnit.MILLISECONDS)) {
+                if (escritor.isDone()) {
+                    lote.cancel(true);
+                    throw new IOException("⚠️ Gravação interrompida.");
+                }
+            }
+        }
+
+        // =====================================================
+        // 2️⃣ Processamento (validação, cargo, BCrypt)
+        // =====================================================
+
+        private java.util.concurrent.Callable<Lote> processador(Lote lote) {
+            return () -> {
+                for (int i = 0; i < lote.tamanho; i++) {
+                    try {
+                        lote.funcionarios[i] = montar(lote.registros[i]);
+                    } catch (IllegalArgumentException e) {
+                        lote.erros[i] = e.getMessage();
+                    }
+                    lote.registros[i] = null; // 🧹 o texto bruto não é mais necessário
+                }
+                return lote;
+            };
+        }
+
+        private Funcionario montar(String[] registro) throws SQLException {
+            // 🧩 Regras de domínio do Model (mesmas do cadastro pela tela)
+            Funcionario f = new Funcionario();
+            f.setNomeFuncionario(colunas.valor(registro, colunas.nome));
+            f.setEmail(colunas.valor(registro, colunas.email));
+
+            String senha = colunas.valor(registro, colunas.senha).trim();
+            boolean criptografada = isHashBCrypt(senha);
+            if (!criptografada) {
+                f.setSenha(senha);
+            }
+            f.setRecebeValeTransporte(lerBooleano(colunas.valor(registro, colunas.vale)));
+
+            String nomeCargo = colunas.valor(registro, colunas.cargo).trim();
+            Cargo cargo = cargo(nomeCargo);
+            if (cargo == null) {
+                throw new IllegalArgumentException("⚠️ cargo não encontrado: " + nomeCargo);
+            }
+            f.setCargo(cargo);
+
+            // 🔒 Por último: linhas inválidas não chegam ao BCrypt
+            f.setSenha(criptografada ? senha : BCrypt.hashpw(f.getSenha(), BCrypt.gensalt()));
+            return f;
+        }
+
+        private Cargo cargo(String nomeCargo) throws SQLException {
+            if (nomeCargo.isEmpty()) {
+                return null;
+            }
+            String chave = nomeCargo.toLowerCase(Locale.ROOT);
+            Cargo cargo = cargos.get(chave);
+            if (cargo == null) {
+                Cargo encontrado = resolvedorCargo.porNome(nomeCargo);
+                cargo = encontrado != null ? encontrado : SEM_CARGO;
+                cargos.putIfAbsent(chave, cargo);
+            }
+            return cargo == SEM_CARGO ? null : cargo;
+        }
+
+        // =====================================================
+        // 3️⃣ Gravação
+        // =====================================================
+
+        private void gravarLotes(BlockingQueue<Future<Lote>> fila) throws Exception {
+            while (true) {
+                Lote lote;
+                try {
+                    lote = fila.take().get();
+                } catch (ExecutionException e) {
+                    throw causa(e);
+                }
+                if (lote == FIM) {
+                    return;
+                }
+                gravar(lote);
+                if (progresso != null) {
+                    progresso.accept(resumo(false));
+                }
+            }
+        }
+
+        private void gravar(Lote lote) throws SQLException {
+            List<Funcionario> candidatos = new ArrayList<>(lote.tamanho);
+            List<Integer> linhas = new ArrayList<>(lote.tamanho);
+            List<String> emails = new ArrayList<>(lote.tamanho);
+            Map<String, Integer> noLote = new HashMap<>();
+
+            for (int i = 0; i < lote.tamanho; i++) {
+                if (lote.erros[i] != null) {
+                    rejeitar(lote.linhas[i], lote.erros[i]);
+                    continue;
+                }
+                Funcionario f = lote.funcionarios[i];
+                String email = f.getEmail().toLowerCase(Locale.ROOT);
+                Integer anterior = noLote.putIfAbsent(email, lote.linhas[i]);
+                if (anterior != null) {
+                    rejeitar(lote.linhas[i], "⚠️ email repetido no arquivo (linha " + anterior + "): " + f.getEmail());
+                    continue;
+                }
+                candidatos.add(f);
+                linhas.add(lote.linhas[i]);
+                emails.add(email);
+            }
+            if (candidatos.isEmpty()) {
+                return;
+            }
+
+            // 🔎 Uma consulta por lote (emails de lotes anteriores já estão gravados)
+            Set<String> existentes = gravador.emailsExistentes(emails);
+            List<Funcionario> novos = new ArrayList<>(candidatos.size());
+            List<Integer> linhasNovos = new ArrayList<>(candidatos.size());
+            for (int i = 0; i < candidatos.size(); i++) {
+                if (existentes.contains(emails.get(i))) {
+                    rejeitar(linhas.get(i), "⚠️ Já existe um funcionário com este email: "
+                            + candidatos.get(i).getEmail());
+                } else {
+                    novos.add(candidatos.get(i));
+                    linhasNovos.add(linhas.get(i));
+                }
+            }
+            if (novos.isEmpty()) {
+                return;
+            }
+
+            List<Funcionario> gravados;
+            try {
+                preencherIds(novos, gravador.inserir(novos));
+                gravados = novos;
+            } catch (SQLException e) {
+                if (!MysqlDatabase.isDuplicateKey(e)) {
+                    throw e;
+                }
+                // 🔁 Alguém cadastrou um dos emails entre a consulta e o batch:
+                // o comando inteiro foi recusado, então grava linha a linha
+                gravados = inserirUmAUm(novos, linhasNovos);
+            }
+
+            importadas.addAndGet(gravados.size());
+            if (aoGravarLote != null && !gravados.isEmpty()) {
+                aoGravarLote.accept(gravados);
+            }
+        }
+
+        private List<Funcionario> inserirUmAUm(List<Funcionario> novos, List<Integer> linhas) throws SQLException {
+            List<Funcionario> gravados = new ArrayList<>(novos.size());
+            for (int i = 0; i < novos.size(); i++) {
+                Funcionario f = novos.get(i);
+                try {
+                    preencherIds(List.of(f), gravador.inserir(List.of(f)));
+                    gravados.add(f);
+                } catch (SQLException e) {
+                    if (!MysqlDatabase.isDuplicateKey(e)) {
+                        throw e;
+                    }
+                    rejeitar(linhas.get(i), "⚠️ Já existe um funcionário com este email: " + f.getEmail());
+                }
+            }
+            return gravados;
+        }
+
+        // =====================================================
+        // 🔧 Auxiliares
+        // =====================================================
+
+        private void rejeitar(int linha, String mensagem) {
+            rejeitadas.incrementAndGet();
+            synchronized (erros) {
+                if (erros.size() < MAX_ERROS_GUARDADOS) {
+                    erros.add(new ResumoImportacao.ErroLinha(linha, mensagem));
+                }
+            }
+        }
+
+        private ResumoImportacao resumo(boolean concluida) {
+            List<ResumoImportacao.ErroLinha> copia;
+            synchronized (erros) {
+                copia = new ArrayList<>(erros);
+            }
+            return new ResumoImportacao(lidas.get(), importadas.get(), rejeitadas.get(),
+                    concluida ? bytesTotal : bytesLidos, bytesTotal,
+                    (System.nanoTime() - inicio) / 1_000_000L, concluida, copia);
+        }
+
+        private void esperar(Future<?> escritor) throws SQLException, InterruptedException, IOException {
+            try {
+                escritor.get();
+            } catch (ExecutionException e) {
+                Exception causa = causa(e);
+                if (causa instanceof SQLException) {
+                    throw (SQLException) causa;
+                }
+                if (causa instanceof IOException) {
+                    throw (IOException) causa;
+                }
+                if (causa instanceof InterruptedException) {
+                    throw (InterruptedException) causa;
+                }
+                throw new IllegalStateException("❌ Falha na importação: " + causa.getMessage(), causa);
+            }
+        }
+    }
+
+    // =====================================================
+    // 🧱 Estruturas internas
+    // =====================================================
+
+    /** Lote de registros: texto bruto na entrada, funcionários (ou erros) na saída. */
+    private static final class Lote {
+        final int[] linhas;
+        final String[][] registros;
+        final Funcionario[] funcionarios;
+        final String[] erros;
+        int tamanho;
+
+        Lote(int capacidade) {
+            this.linhas = new int[capacidade];
+            this.registros = new String[capacidade][];
+            this.funcionarios = new Funcionario[capacidade];
+            this.erros = new String[capacidade];
+        }
+
+        void adicionar(int linha, String[] registro) {
+            linhas[tamanho] = linha;
+            registros[tamanho] = registro;
+            tamanho++;
+        }
+    }
+
+    /** Posição de cada coluna, pelo cabeçalho. */
+    private static final class Colunas {
+        final int nome;
+        final int email;
+        final int senha;
+        final int vale;
+        final int cargo;
+
+        Colunas(String[] cabecalho) throws IOException {
+            Map<String, Integer> posicoes = new HashMap<>();
+            for (int i = 0; i < cabecalho.length; i++) {
+                posicoes.putIfAbsent(normalizar(cabecalho[i]), i);
+            }
+            nome = coluna(posicoes, true, "nomefuncionario", "nome");
+            email = coluna(posicoes, true, "email", "e-mail");
+            senha = coluna(posicoes, true, "senha");
+            cargo = coluna(posicoes, true, "cargo", "nomecargo");
+            vale = coluna(posicoes, false, "recebevaletransporte", "valetransporte", "vale");
+        }
+
+        /** Valor da coluna no registro ("" se a coluna não existe ou a linha é curta). */
+        String valor(String[] registro, int coluna) {
+            return coluna >= 0 && coluna < registro.length ? registro[coluna] : "";
+        }
+
+        private static int coluna(Map<String, Integer> posicoes, boolean obrigatoria, String... nomes)
+                throws IOException {
+            for (String nome : nomes) {
+                Integer pos = posicoes.get(nome);
+                if (pos != null) {
+                    return pos;
+                }
+            }
+            if (obrigatoria) {
+                throw new IOException("⚠️ Cabeçalho sem a coluna obrigatória: " + nomes[0]);
+            }
+            return -1;
+        }
+
+        private static String normalizar(String nome) {
+            return nome.trim().toLowerCase(Locale.ROOT).replace(" ", "").replace("_", "");
+        }
+    }
+
+    private static void preencherIds(List<Funcionario> funcionarios, int[] ids) throws SQLException {
+        if (ids == null || ids.length != funcionarios.size()) {
+            throw new SQLException("❌ O banco não devolveu os IDs gerados do lote.");
+        }
+        for (int i = 0; i < ids.length; i++) {
+            funcionarios.get(i).setIdFuncionario(ids[i]);
+        }
+    }
+
+    private static boolean vazio(String[] registro) {
+        for (String campo : registro) {
+            if (!campo.trim().isEmpty()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Senha já criptografada pelo BCrypt ({@code $2a$NN$} + 53 caracteres). */
+    private static boolean isHashBCrypt(String senha) {
+        return senha.length() == 60 && senha.startsWith("$2a$")
+                && Character.isDigit(senha.charAt(4)) && Character.isDigit(senha.charAt(5))
+                && senha.charAt(6) == '$';
+    }
+
+    private static boolean lerBooleano(String valor) {
+        switch (valor.trim().toLowerCase(Locale.ROOT)) {
+            case "":
+            case "0":
+            case "n":
+            case "nao":
+            case "não":
+            case "false":
+            case "no":
+                return false;
+            case "1":
+            case "s":
+            case "sim":
+            case "true":
+            case "yes":
+                return true;
+            default:
+                throw new IllegalArgumentException("⚠️ recebeValeTransporte inválido: " + valor);
+        }
+    }
+
+    private static Exception causa(ExecutionException e) {
+        Throwable c = e.getCause();
+        if (c instanceof Exception) {
+            return (Exception) c;
+        }
+        if (c instanceof Error) {
+            throw (Error) c;
+        }
+        return e;
+    }
+}
@@ -0,0 +1,541 @@
+package bulk;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.LongConsumer;
+
+/**
+ * 🗺️ Classe: IngestaoMapeada
+ *
+ * 📘 Motor de leitura de arquivos grandes (extrações de RH com vários GB):
+ * o arquivo é <b>mapeado em memória</b>, dividido em trechos que terminam
+ * em uma quebra de linha e os trechos são interpretados <b>em paralelo</b>
+ * em um {@link ForkJoinPool}.
+ *
+ * 🎯 Etapas de {@link #processar}:
+ * <ol>
+ * <li><b>Divisão</b>: cortes a cada {@code tamanhoTrecho} bytes, avançados
+ * até o próximo {@code '\n'}</li>
+ * <li><b>Contagem</b> (paralela): quebras de linha e aspas de cada trecho.
+ * Com elas, cada trecho sabe o número da sua primeira linha, e um corte
+ * que caiu dentro de um campo entre aspas (CSV com quebra de linha no
+ * campo) é empurrado para a primeira quebra fora das aspas</li>
+ * <li><b>Interpretação</b> (paralela): cada trecho vira uma lista de
+ * registros</li>
+ * <li><b>Entrega</b> (thread de quem chamou): os registros vão para o
+ * consumidor <b>na ordem do arquivo</b> ou na ordem em que os trechos
+ * ficam prontos</li>
+ * </ol>
+ *
+ * 🧠 Notas de Aula:
+ * <ul>
+ * <li>O consumidor roda sempre na thread de quem chamou: não precisa ser
+ * thread-safe, e se ele atrasar, os trechos seguintes esperam
+ * (no máximo 2 por thread em andamento — memória limitada)</li>
+ * <li>Mapear evita copiar o arquivo para um buffer do Java: o sistema
+ * operacional traz as páginas sob demanda</li>
+ * <li>Cortar em {@code '\n'} é seguro em UTF-8: o byte 0x0A nunca aparece
+ * no meio de um caractere</li>
+ * <li>A correção por aspas supõe CSV bem formado (aspas só em volta de
+ * campos); o {@link LeitorCsv} de cada trecho acusa o que não estiver</li>
+ * <li>Os registros de um trecho ficam na memória até serem entregues:
+ * trechos menores (poucos MB) geram menos lixo de vida longa para o GC</li>
+ * <li>O ganho vem de interpretar vários trechos ao mesmo tempo: com um
+ * núcleo só (ou um trecho só) o custo é maior que o de um
+ * {@code BufferedReader} (veja {@code benchmark.IngestaoBenchmark})</li>
+ * </ul>
+ *
+ * ⚙️ Configuração: {@code rh.ingestao.threads} (pool comum do Java) e
+ * {@code rh.ingestao.trechoMB} (4).
+ */
+public class IngestaoMapeada {
+
+    /** Tamanho padrão de um trecho (bytes). */
+    public static final int TAMANHO_TRECHO_PADRAO = 4 * 1024 * 1024;
+
+    /** Trechos em andamento por thread do pool. */
+    private static final int TRECHOS_POR_THREAD = 2;
+
+    private static final long BYTES_QUEBRA = 0x0A0A0A0A0A0A0A0AL;
+    private static final long BYTES_ASPAS = 0x2222222222222222L;
+
+    /**
+     * 🧩 Interpreta o texto de um trecho (que sempre começa no início de
+     * um registro e termina no fim de um).
+     */
+    @FunctionalInterface
+    public interface Interpretador<T> {
+        void interpretar(CharBuffer texto, Saida<T> saida) throws IOException;
+    }
+
+    /**
+     * 📤 Recebe os registros de um trecho.
+     */
+    @FunctionalInterface
+    public interface Saida<T> {
+        /**
+         * @param registro     registro interpretado
+         * @param linhaNoTrecho linha física onde o registro começa, contada a
+         *                     partir de 0 dentro do trecho
+         */
+        void emitir(T registro, int linhaNoTrecho);
+    }
+
+    /**
+     * 📥 Consome os registros (na thread de quem chamou {@link #processar}).
+     */
+    @FunctionalInterface
+    public interface Consumidor<T> {
+        /**
+         * @param registro registro interpretado
+         * @param linha    linha do arquivo onde o registro começa (a partir de 1)
+         */
+        void aceitar(T registro, long linha) throws IOException, InterruptedException;
+    }
+
+    private final ForkJoinPool pool;
+    private final int tamanhoTrecho;
+
+    /**
+     * 🏗️ Construtor
+     *
+     * @param pool          threads da contagem e da interpretação
+     * @param tamanhoTrecho bytes por trecho (aprox.; o corte vai até a
+     *                      próxima quebra de linha)
+     */
+    public IngestaoMapeada(ForkJoinPool pool, int tamanhoTrecho) {
+        System.out.println(">> IngestaoMapeada.constructor()");
+        if (tamanhoTrecho <= 0 || tamanhoTrecho > (1 << 30)) {
+            throw new IllegalArgumentException("⚠️ Tamanho do trecho deve estar entre 1 byte e 1 GB.");
+        }
+        this.pool = pool;
+        this.tamanhoTrecho = tamanhoTrecho;
+    }
+
+    /**
+     * 🏭 Cria o motor a partir das propriedades de sistema.
+     */
+    public static IngestaoMapeada fromSystemProperties() {
+        Integer threads = Integer.getInteger("rh.ingestao.threads");
+        ForkJoinPool pool = threads != null && threads > 0 ? new ForkJoinPool(threads) : ForkJoinPool.commonPool();
+        int megas = Math.max(1, Integer.getInteger("rh.ingestao.trechoMB", TAMANHO_TRECHO_PADRAO >> 20));
+        return new IngestaoMapeada(pool, Math.min(megas, 1024) << 20);
+    }
+
+    /**
+     * @see #processar(Path, Interpretador, Consumidor, boolean, LongConsumer)
+     */
+    public <T> long processar(Path arquivo, Interpretador<T> interpretador, Consumidor<? super T> consumidor,
+            boolean emOrdem) throws IOException, InterruptedException {
+        return processar(arquivo, interpretador, consumidor, emOrdem, null);
+    }
+
+    /**
+     * 🗺️ Lê o arquivo inteiro (bloqueia até terminar).
+     *
+     * @param arquivo       arquivo de texto em UTF-8 (BOM é ignorado)
+     * @param interpretador transforma o texto de um trecho em registros
+     * @param consumidor    recebe os registros, na thread atual
+     * @param emOrdem       true = ordem do arquivo; false = ordem em que os
+     *                      trechos ficam prontos (registros de um mesmo trecho
+     *                      continuam em ordem)
+     * @param progresso     recebe os bytes já entregues ao consumidor, a cada
+     *                      trecho (pode ser null)
+     * @return quantidade de registros entregues
+     * @throws IOException          erro de leitura, do interpretador ou do consumidor
+     * @throws InterruptedException thread interrompida (leitura cancelada)
+     */
+    public <T> long processar(Path arquivo, Interpretador<T> interpretador, Consumidor<? super T> consumidor,
+            boolean emOrdem, LongConsumer progresso) throws IOException, InterruptedException {
+        System.out.println(">> IngestaoMapeada.processar() - " + arquivo);
+        try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.READ)) {
+            List<Trecho> trechos = dividir(canal);
+
+            BlockingQueue<Future<Resultado<T>>> prontos = new LinkedBlockingQueue<>();
+            ArrayDeque<Future<Resultado<T>>> emAndamento = new ArrayDeque<>();
+            int janela = pool.getParallelism() * TRECHOS_POR_THREAD;
+            int proximo = 0;
+            long registros = 0;
+            long bytes = 0;
+
+            try {
+                while (proximo < trechos.size() || !emAndamento.isEmpty()) {
+                    // ▶️ Mantém a janela cheia
+                    while (proximo < trechos.size() && emAndamento.size() < janela) {
+                        emAndamento.add(enviar(canal, trechos.get(proximo++), interpretador, prontos, !emOrdem));
+                    }
+
+                    // 📥 Próximo trecho: o mais antigo (em ordem) ou o primeiro pronto
+                    Future<Resultado<T>> futuro;
+                    if (emOrdem) {
+                        futuro = emAndamento.poll();
+                    } else {
+                        futuro = prontos.take();
+                        emAndamento.remove(futuro);
+                    }
+                    Resultado<T> resultado = obter(futuro);
+
+                    for (int i = 0; i < resultado.registros.size(); i++) {
+                        consumidor.aceitar(resultado.registros.get(i),
+                                resultado.trecho.primeiraLinha + resultado.linhas[i]);
+                    }
+                    registros += resultado.registros.size();
+                    bytes += resultado.trecho.fim - resultado.trecho.inicio;
+                    if (progresso != null) {
+                        progresso.accept(bytes);
+                    }
+                    if (Thread.interrupted()) {
+                        throw new InterruptedException("Leitura cancelada.");
+                    }
+                }
+            } finally {
+                for (Future<Resultado<T>> f : emAndamento) {
+                    f.cancel(true);
+                }
+            }
+            return registros;
+        }
+    }
+
+    // =====================================================
+    // 1️⃣ e 2️⃣ Divisão e contagem
+    // =====================================================
+
+    /**
+     * ✂️ Divide o arquivo em trechos que começam no início de um registro,
+     * já com o número da primeira linha de cada um.
+     */
+    List<Trecho> dividir(FileChannel canal) throws IOException, InterruptedException {
+        long tamanho = canal.size();
+        long inicio = temBom(canal) ? 3 : 0;
+
+        // ✂️ Cortes brutos: a cada tamanhoTrecho bytes, até o próximo '\n'
+        List<Trecho> brutos = new ArrayList<>();
+        while (inicio < tamanho) {
+            long fim = inicio + tamanhoTrecho >= tamanho ? tamanho : proximaQuebra(canal, inicio + tamanhoTrecho);
+            brutos.add(new Trecho(inicio, fim));
+            inicio = fim;
+        }
+
+        // 🔢 Contagem em paralelo: quebras de linha e aspas de cada trecho
+        List<Future<long[]>> contagens = new ArrayList<>(brutos.size());
+        for (Trecho t : brutos) {
+            contagens.add(pool.submit(() -> contar(mapear(canal, t.inicio, t.fim))));
+        }
+
+        // 🔗 Empurra os cortes que caíram dentro de aspas e numera as linhas
+        List<Trecho> trechos = new ArrayList<>(brutos.size());
+        long aspasAntes = 0;
+        for (int i = 0; i < brutos.size(); i++) {
+            Trecho t = brutos.get(i);
+            long[] c = obter(contagens.get(i));
+            boolean dentroDeAspas = (aspasAntes & 1) == 1;
+            aspasAntes += c[1];
+            t.quebras = c[0];
+
+            if (dentroDeAspas && !trechos.isEmpty()) {
+                // 🔎 Procura a primeira quebra fora das aspas
+                long[] ajuste = procurarCorte(mapear(canal, t.inicio, t.fim));
+                Trecho anterior = trechos.get(trechos.size() - 1);
+                long deslocamento = ajuste[1] < 0 ? t.fim - t.inicio : ajuste[1];
+                anterior.fim = t.inicio + deslocamento;
+                anterior.quebras += ajuste[0];
+                t.inicio = anterior.fim;
+                t.quebras -= ajuste[0];
+                if (anterior.fim - anterior.inicio > Integer.MAX_VALUE) {
+                    throw new IOException("⚠️ Campo entre aspas grande demais (aspas não fechadas?).");
+                }
+                if (t.inicio == t.fim) {
+                    continue; // 🔗 trecho inteiro dentro de um campo: juntou ao anterior
+                }
+            }
+            trechos.add(t);
+        }
+
+        long linha = 1;
+        for (Trecho t : trechos) {
+            t.primeiraLinha = linha;
+            linha += t.quebras;
+        }
+        return trechos;
+    }
+
+    /**
+     * 🔢 Conta quebras de linha e aspas.
+     *
+     * ⚡ Lê 8 bytes por vez ({@code getLong}) e acha os bytes iguais ao
+     * procurado com operações de bits (SWAR), sem um {@code if} por byte.
+     *
+     * @return {quebras, aspas}
+     */
+    private static long[] contar(ByteBuffer bytes) {
+        long quebras = 0;
+        long aspas = 0;
+        int fim = bytes.limit();
+        int i = 0;
+        for (; i + 8 <= fim; i += 8) {
+            long palavra = bytes.getLong(i);
+            quebras += Long.bitCount(iguais(palavra, BYTES_QUEBRA));
+            aspas += Long.bitCount(iguais(palavra, BYTES_ASPAS));
+        }
+        for (; i < fim; i++) {
+            byte b = bytes.get(i);
+            if (b == '\n') {
+                quebras++;
+            } else if (b == '"') {
+                aspas++;
+            }
+        }
+        return new long[]{quebras, aspas};
+    }
+
+    /**
+     * 🧮 Bit mais alto ligado em cada byte de {@code palavra} igual ao byte
+     * repetido em {@code padrao} (exato: sem "vai um" entre os bytes).
+     */
+    private static long iguais(long palavra, long padrao) {
+        long x = palavra ^ padrao;
+        long t = ((x & 0x7F7F7F7F7F7F7F7FL) + 0x7F7F7F7F7F7F7F7FL) | x;
+        return ~(t | 0x7F7F7F7F7F7F7F7FL);
+    }
+
+    /**
+     * 🔎 Começando dentro de aspas, acha a primeira quebra de linha fora
+     * delas.
+     *
+     * @return {quebras até o corte, posição logo após a quebra (-1 se não achou)}
+     */
+    private static long[] procurarCorte(ByteBuffer bytes) {
+        long quebras = 0;
+        boolean dentro = true;
+        for (int i = 0; i < bytes.limit(); i++) {
+            byte b = bytes.get(i);
+            if (b == '\n') {
+                quebras++;
+                if (!dentro) {
+                    return new long[]{quebras, i + 1};
+                }
+            } else if (b == '"') {
+                dentro = !dentro;
+            }
+        }
+        return new long[]{quebras, -1};
+    }
+
+    private static boolean temBom(FileChannel canal) throws IOException {
+        ByteBuffer bom = ByteBuffer.allocate(3);
+        canal.read(bom, 0);
+        return bom.position() == 3 && bom.get(0) == (byte) 0xEF && bom.get(1) == (byte) 0xBB
+                && bom.get(2) == (byte) 0xBF;
+    }
+
+    /** Posição logo após o próximo '\n' a partir de {@code pos} (ou o fim do arquivo). */
+    private static long proximaQuebra(FileChannel canal, long pos) throws IOException {
+        ByteBuffer bloco = ByteBuffer.allocate(8 * 1024);
+        long tamanho = canal.size();
+        while (pos < tamanho) {
+            bloco.clear();
+            int lidos = canal.read(bloco, pos);
+            if (lidos <= 0) {
+                break;
+            }
+            for (int i = 0; i < lidos; i++) {
+                if (bloco.get(i) == '\n') {
+                    return pos + i + 1;
+                }
+            }
+            pos += lidos;
+        }
+        return tamanho;
+    }
+
+    private static MappedByteBuffer mapear(FileChannel canal, long inicio, long fim) throws IOException {
+        return canal.map(FileChannel.MapMode.READ_ONLY, inicio, fim - inicio);
+    }
+
+    // =====================================================
+    // 3️⃣ Interpretação
+    // =====================================================
+
+    private <T> Future<Resultado<T>> enviar(FileChannel canal, Trecho trecho, Interpretador<T> interpretador,
+            BlockingQueue<Future<Resultado<T>>> prontos, boolean avisarPronto) {
+        Callable<Resultado<T>> tarefa = () -> {
+            // 📋 Uma cópia em bloco do trecho mapeado: o decodificador é bem
+            // mais rápido sobre um byte[] do que lendo byte a byte do mapa
+            MappedByteBuffer mapa = mapear(canal, trecho.inicio, trecho.fim);
+            byte[] bytes = new byte[mapa.remaining()];
+            mapa.get(bytes);
+
+            // 🔤 UTF-8 → texto (caracteres inválidos viram '�', sem interromper)
+            CharsetDecoder decodificador = StandardCharsets.UTF_8.newDecoder()
+                    .onMalformedInput(CodingErrorAction.REPLACE)
+                    .onUnmappableCharacter(CodingErrorAction.REPLACE);
+            CharBuffer texto = decodificador.decode(ByteBuffer.wrap(bytes));
+
+            Resultado<T> resultado = new Resultado<>(trecho);
+            interpretador.interpretar(texto, resultado::adicionar);
+            return resultado;
+        };
+        if (!avisarPronto) {
+            return pool.submit(tarefa);
+        }
+        // 📣 Fora de ordem: o trecho se coloca na fila de prontos ao terminar
+        TarefaAvisada<Resultado<T>> avisada = new TarefaAvisada<>(tarefa, prontos);
+        pool.execute(avisada);
+        return avisada;
+    }
+
+    private static <R> R obter(Future<R> futuro) throws IOException, InterruptedException {
+        try {
+            return futuro.get();
+        } catch (ExecutionException e) {
+            Throwable causa = e.getCause();
+            if (causa instanceof IOException) {
+                throw (IOException) causa;
+            }
+            if (causa instanceof RuntimeException) {
+                throw (RuntimeException) causa;
+            }
+            if (causa instanceof Error) {
+                throw (Error) causa;
+            }
+            throw new IOException(causa);
+        }
+    }
+
+    // =====================================================
+    // 🧩 Interpretadores prontos
+    // =====================================================
+
+    /**
+     * 📄 Uma {@code String} por linha (sem o {@code \r} final), como um
+     * laço com {@code readLine()}.
+     */
+    public static Interpretador<String> linhas() {
+        return (texto, saida) -> {
+            // ⚡ O texto decodificado tem um char[] por trás: as linhas saem dele direto
+            char[] c = texto.array();
+            int fim = texto.arrayOffset() + texto.limit();
+            int inicio = texto.arrayOffset() + texto.position();
+            int linha = 0;
+            for (int i = inicio; i < fim; i++) {
+                if (c[i] == '\n') {
+                    int corte = i > inicio && c[i - 1] == '\r' ? i - 1 : i;
+                    saida.emitir(new String(c, inicio, corte - inicio), linha++);
+                    inicio = i + 1;
+                }
+            }
+            if (inicio < fim) {
+                saida.emitir(new String(c, inicio, fim - inicio), linha);
+            }
+        };
+    }
+
+    /**
+     * 📑 Registros CSV (campos entre aspas podem ter quebras de linha),
+     * interpretados pelo {@link LeitorCsv}.
+     */
+    public static Interpretador<String[]> csv(char separador) {
+        return (texto, saida) -> {
+            LeitorCsv leitor = new LeitorCsv(new LeitorTexto(texto), separador);
+            String[] registro;
+            while ((registro = leitor.proximo()) != null) {
+                saida.emitir(registro, leitor.getLinha() - 1);
+            }
+        };
+    }
+
+    // =====================================================
+    // 🧱 Estruturas internas
+    // =====================================================
+
+    /** Faixa de bytes do arquivo. */
+    static final class Trecho {
+        long inicio;
+        long fim;
+        long quebras;
+        long primeiraLinha;
+
+        Trecho(long inicio, long fim) {
+            this.inicio = inicio;
+            this.fim = fim;
+        }
+    }
+
+    /** Registros de um trecho, com a linha (no trecho) de cada um. */
+    private static final class Resultado<T> {
+        final Trecho trecho;
+        final List<T> registros = new ArrayList<>();
+        int[] linhas = new int[16];
+
+        Resultado(Trecho trecho) {
+            this.trecho = trecho;
+        }
+
+        void adicionar(T registro, int linhaNoTrecho) {
+            if (registros.size() == linhas.length) {
+                linhas = Arrays.copyOf(linhas, linhas.length * 2);
+            }
+            linhas[registros.size()] = linhaNoTrecho;
+            registros.add(registro);
+        }
+    }
+
+    /** Tarefa que entra na fila de prontas ao terminar (com sucesso, erro ou cancelada). */
+    private static final class TarefaAvisada<R> extends FutureTask<R> {
+        private final BlockingQueue<Future<R>> prontas;
+
+        TarefaAvisada(Callable<R> tarefa, BlockingQueue<Future<R>> prontas) {
+            super(tarefa);
+            this.prontas = prontas;
+        }
+
+        @Override
+        protected void done() {
+            prontas.add(this);
+        }
+    }
+
+    /** {@link Reader} sobre o texto já decodificado de um trecho. */
+    private static final class LeitorTexto extends Reader {
+        private final CharBuffer texto;
+
+        LeitorTexto(CharBuffer texto) {
+            this.texto = texto;
+        }
+
+        @Override
+        public int read(char[] destino, int deslocamento, int quantidade) {
+            if (!texto.hasRemaining()) {
+                return -1;
+            }
+            int n = Math.min(quantidade, texto.remaining());
+            texto.get(destino, deslocamento, n);
+            return n;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
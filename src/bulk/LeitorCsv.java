@@ -0,0 +1,208 @@
+package bulk;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 📄 Classe: LeitorCsv
+ *
+ * 📘 Lê um CSV registro a registro (streaming), com memória limitada.
+ *
+ * 🎯 Suporta:
+ * <ul>
+ * <li>Campos entre aspas, com separador, quebra de linha e aspas duplas
+ * ({@code ""}) dentro</li>
+ * <li>Fim de linha {@code \n}, {@code \r\n} ou {@code \r}</li>
+ * <li>BOM do UTF-8 no início do arquivo (ignorado)</li>
+ * </ul>
+ *
+ * 🧠 Notas de Aula:
+ * <ul>
+ * <li>Diferente de um laço com {@code readLine()}: um campo entre aspas
+ * pode ocupar várias linhas físicas, e o número da linha informado é o
+ * do <b>início</b> do registro</li>
+ * <li>Lê em blocos de 64 KB direto de um {@code char[]}; nenhuma
+ * {@code String} por linha além dos campos</li>
+ * <li>Um campo maior que {@code tamanhoMaximoCampo} interrompe a leitura
+ * (ex: aspas esquecidas que "engoliriam" o resto do arquivo)</li>
+ * </ul>
+ */
+public final class LeitorCsv implements Closeable {
+
+    /** Tamanho máximo padrão de um campo (caracteres). */
+    public static final int TAMANHO_MAXIMO_CAMPO = 4096;
+
+    private final Reader entrada;
+    private final char separador;
+    private final int tamanhoMaximoCampo;
+
+    private final char[] buffer = new char[64 * 1024];
+    private int posicao;
+    private int limite;
+
+    private final StringBuilder campo = new StringBuilder();
+    private final List<String> campos = new ArrayList<>();
+
+    private int linha = 1;
+    private int linhaRegistro;
+    private boolean inicio = true;
+
+    /**
+     * @param entrada   texto do CSV (será fechado por {@link #close()})
+     * @param separador separador de campos (ex: ',' ou ';')
+     */
+    public LeitorCsv(Reader entrada, char separador) {
+        this(entrada, separador, TAMANHO_MAXIMO_CAMPO);
+    }
+
+    public LeitorCsv(Reader entrada, char separador, int tamanhoMaximoCampo) {
+        if (separador == '"' || separador == '\n' || separador == '\r') {
+            throw new IllegalArgumentException("⚠️ Separador inválido: " + separador);
+        }
+        this.entrada = entrada;
+        this.separador = separador;
+        this.tamanhoMaximoCampo = tamanhoMaximoCampo;
+    }
+
+    /**
+     * 🔍 Escolhe o separador pela primeira linha (cabeçalho): ';' se houver
+     * mais ';' que ',' — comum em planilhas exportadas em português.
+     */
+    public static char detectarSeparador(String primeiraLinha) {
+        if (primeiraLinha == null) {
+            return ',';
+        }
+        int virgulas = 0;
+        int pontoEVirgulas = 0;
+        for (int i = 0; i < primeiraLinha.length(); i++) {
+            char c = primeiraLinha.charAt(i);
+            if (c == ',') {
+                virgulas++;
+            } else if (c == ';') {
+                pontoEVirgulas++;
+            }
+        }
+        return pontoEVirgulas > virgulas ? ';' : ',';
+    }
+
+    /**
+     * 📄 Lê o próximo registro.
+     *
+     * @return campos do registro, ou null no fim do arquivo
+     * @throws IOException erro de leitura, aspas não fechadas ou campo grande demais
+     */
+    public String[] proximo() throws IOException {
+        campos.clear();
+        campo.setLength(0);
+
+        int c = ler();
+        if (inicio) {
+            inicio = false;
+            if (c == '\uFEFF') {
+                c = ler(); // 🧹 BOM
+            }
+        }
+        if (c == -1) {
+            return null;
+        }
+        linhaRegistro = linha;
+
+        boolean entreAspas = false;
+        boolean campoComAspas = false;
+        while (true) {
+            if (entreAspas) {
+                if (c == -1) {
+                    throw new IOException("⚠️ Aspas não fechadas no registro da linha " + linhaRegistro + ".");
+                }
+                if (c == '"') {
+                    if (espiar() == '"') {
+                        ler();
+                        anexar('"');
+                    } else {
+                        entreAspas = false;
+                    }
+                } else {
+                    if (c == '\n') {
+                        linha++;
+                    }
+                    anexar((char) c);
+                }
+            } else if (c == separador) {
+                campos.add(campo.toString());
+                campo.setLength(0);
+                campoComAspas = false;
+            } else if (c == '\n' || c == -1) {
+                if (c == '\n') {
+                    linha++;
+                }
+                break;
+            } else if (c == '\r') {
+                if (espiar() == '\n') {
+                    ler();
+                }
+                linha++;
+                break;
+            } else if (c == '"' && campo.length() == 0 && !campoComAspas) {
+                entreAspas = true;
+                campoComAspas = true;
+            } else {
+                anexar((char) c);
+            }
+            c = ler();
+        }
+        campos.add(campo.toString());
+        return campos.toArray(new String[0]);
+    }
+
+    /** Linha (física) onde começa o último registro lido. */
+    public int getLinha() {
+        return linhaRegistro;
+    }
+
+    @Override
+    public void close() throws IOException {
+        entrada.close();
+    }
+
+    // =====================================================
+    // 🔧 Auxiliares
+    // =====================================================
+
+    private void anexar(char c) throws IOException {
+        if (campo.length() >= tamanhoMaximoCampo) {
+            throw new IOException("⚠️ Campo com mais de " + tamanhoMaximoCampo
+                    + " caracteres no registro da linha " + linhaRegistro + ".");
+        }
+        campo.append(c);
+    }
+
+    private int ler() throws IOException {
+        if (posicao == limite && !encher()) {
+            return -1;
+        }
+        return buffer[posicao++];
+    }
+
+    private int espiar() throws IOException {
+        if (posicao == limite && !encher()) {
+            return -1;
+        }
+        return buffer[posicao];
+    }
+
+    private boolean encher() throws IOException {
+        int lidos;
+        do {
+            lidos = entrada.read(buffer, 0, buffer.length);
+        } while (lidos == 0);
+        if (lidos < 0) {
+            return false;
+        }
+        posicao = 0;
+        limite = lidos;
+        return true;
+    }
+}
@@ -0,0 +1,114 @@
+package bulk;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 📊 Classe: ResumoImportacao
+ *
+ * 📘 Situação de uma importação: usada tanto no <b>progresso</b> (a cada
+ * lote gravado) quanto no <b>resultado final</b>.
+ *
+ * 🧠 Imutável: pode ser repassado para a EDT sem cópia.
+ */
+public final class ResumoImportacao {
+
+    /**
+     * ❌ Erro de uma linha do arquivo.
+     */
+    public static final class ErroLinha {
+        private final int linha;
+        private final String mensagem;
+
+        public ErroLinha(int linha, String mensagem) {
+            this.linha = linha;
+            this.mensagem = mensagem;
+        }
+
+        /** Linha do arquivo onde começa o registro (o cabeçalho é a linha 1). */
+        public int getLinha() {
+            return linha;
+        }
+
+        public String getMensagem() {
+            return mensagem;
+        }
+
+        @Override
+        public String toString() {
+            return "linha " + linha + ": " + mensagem;
+        }
+    }
+
+    private final long lidas;
+    private final long importadas;
+    private final long rejeitadas;
+    private final long bytesLidos;
+    private final long bytesTotal;
+    private final long duracaoMillis;
+    private final boolean concluida;
+    private final List<ErroLinha> erros;
+
+    ResumoImportacao(long lidas, long importadas, long rejeitadas, long bytesLidos, long bytesTotal,
+            long duracaoMillis, boolean concluida, List<ErroLinha> erros) {
+        this.lidas = lidas;
+        this.importadas = importadas;
+        this.rejeitadas = rejeitadas;
+        this.bytesLidos = bytesLidos;
+        this.bytesTotal = bytesTotal;
+        this.duracaoMillis = duracaoMillis;
+        this.concluida = concluida;
+        this.erros = Collections.unmodifiableList(erros);
+    }
+
+    /** Registros lidos do arquivo (sem o cabeçalho). */
+    public long getLidas() {
+        return lidas;
+    }
+
+    /** Funcionários gravados no banco. */
+    public long getImportadas() {
+        return importadas;
+    }
+
+    /** Registros recusados (validação, cargo, email repetido...). */
+    public long getRejeitadas() {
+        return rejeitadas;
+    }
+
+    public long getDuracaoMillis() {
+        return duracaoMillis;
+    }
+
+    public boolean isConcluida() {
+        return concluida;
+    }
+
+    /**
+     * 📋 Erros por linha (no máximo {@link ImportacaoFuncionarios#MAX_ERROS_GUARDADOS};
+     * {@link #getRejeitadas()} tem o total).
+     */
+    public List<ErroLinha> getErros() {
+        return erros;
+    }
+
+    /** Percentual do arquivo já lido (0 a 100; -1 se o tamanho é desconhecido). */
+    public int getPercentual() {
+        if (bytesTotal <= 0) {
+            return -1;
+        }
+        return (int) Math.min(100, bytesLidos * 100 / bytesTotal);
+    }
+
+    /** Registros processados (importados + rejeitados) por segundo. */
+    public double getLinhasPorSegundo() {
+        return duracaoMillis > 0 ? (importadas + rejeitadas) * 1000.0 / duracaoMillis : 0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: %d lidas, %d importadas, %d rejeitadas em %.1f s (%.0f linhas/s)",
+                concluida ? "✅ Importação concluída" : "⏳ Importando (" + getPercentual() + "%)",
+                lidas, importadas, rejeitadas, duracaoMillis / 1000.0, getLinhasPorSegundo());
+    }
+}
@@ -0,0 +1,235 @@
+package cache;
+
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import collections.IntObjectMap;
+import model.Cargo;
+
+/**
+ * 💼 Classe: CargoCache
+ *
+ * 📘 Cache em memória de todos os cargos (dados de referência pequenos e
+ * muito lidos).
+ *
+ * 🎯 Objetivos:
+ * <ul>
+ * <li>Evitar ir ao banco sempre que uma tela precisa da lista de cargos</li>
+ * <li>Permitir buscar um cargo por ID ou nome sem SQL</li>
+ * <li>Servir o cargo do funcionário sem precisar do JOIN</li>
+ * </ul>
+ *
+ * 🧠 Notas de Aula:
+ * <ul>
+ * <li>O conteúdo é um <b>snapshot imutável</b>: leitores nunca veem um estado
+ * pela metade</li>
+ * <li>Recarregar = montar um snapshot novo e trocar a referência
+ * (<b>copy-on-write</b>)</li>
+ * <li>O índice por ID é um {@link IntObjectMap} (sem boxing do idCargo)</li>
+ * <li>Escritas no CargoService chamam {@link #invalidar()}; além disso o
+ * snapshot expira após o TTL</li>
+ * <li>Snapshot e versão ficam juntos em um único {@link AtomicReference}: a
+ * carga só instala o que leu com um <b>compareAndSet</b>, e uma invalidação
+ * no meio da carga nunca se perde</li>
+ * <li>ID não encontrado recarrega no máximo <b>uma vez</b> por snapshot
+ * ({@link #getByIdOuRecarregar(int)}); depois disso a ausência fica em cache
+ * até a próxima invalidação ou o TTL</li>
+ * </ul>
+ *
+ * ⚙️ Configuração: {@code -Drh.cargoCache.enabled=false} desliga o cache e
+ * {@code -Drh.cargoCache.ttlSeconds=300} define o TTL.
+ */
+public class CargoCache {
+
+    /**
+     * 🔁 Origem dos cargos (normalmente {@code CargoDAO::findAll}).
+     */
+    @FunctionalInterface
+    public interface Loader {
+        List<Cargo> load() throws SQLException;
+    }
+
+    /**
+     * 📸 Snapshot imutável com os índices por ID e por nome.
+     */
+    private static final class Snapshot {
+        final List<Cargo> todos;
+        final IntObjectMap<Cargo> porId;
+        final Map<String, Cargo> porNome;
+        final long carregadoEm;
+        // 🚫 true se já foi recarregado por um ID não encontrado
+        final boolean completo;
+
+        Snapshot(List<Cargo> cargos, boolean completo) {
+            IntObjectMap<Cargo> ids = new IntObjectMap<>(cargos.size());
+            Map<String, Cargo> nomes = new HashMap<>();
+            for (Cargo c : cargos) {
+                ids.put(c.getIdCargo(), c);
+                nomes.put(chaveNome(c.getNomeCargo()), c);
+            }
+            this.todos = Collections.unmodifiableList(cargos);
+            this.porId = ids;
+            this.porNome = nomes;
+            this.carregadoEm = System.currentTimeMillis();
+            this.completo = completo;
+        }
+    }
+
+    /**
+     * 🔢 Snapshot atual (ou null) junto com a versão em que foi carregado.
+     */
+    private static final class Estado {
+        final long versao;
+        final Snapshot snapshot;
+
+        Estado(long versao, Snapshot snapshot) {
+            this.versao = versao;
+            this.snapshot = snapshot;
+        }
+    }
+
+    private final Loader loader;
+    private final long ttlMillis;
+
+    // 🔢 A versão sobe a cada invalidação: uma carga iniciada antes de uma
+    // escrita não pode instalar dados antigos
+    private final AtomicReference<Estado> estado = new AtomicReference<>(new Estado(0, null));
+
+    /**
+     * 🏗️ Construtor
+     *
+     * @param loader    origem dos cargos
+     * @param ttlMillis tempo de vida do snapshot (0 = sem expiração)
+     */
+    public CargoCache(Loader loader, long ttlMillis) {
+        this.loader = loader;
+        this.ttlMillis = ttlMillis;
+    }
+
+    /**
+     * 🏭 Cria o cache a partir das propriedades de sistema.
+     *
+     * @param loader origem dos cargos
+     * @return cache configurado, ou null se desabilitado
+     */
+    public static CargoCache fromSystemProperties(Loader loader) {
+        if (!Boolean.parseBoolean(System.getProperty("rh.cargoCache.enabled", "true"))) {
+            System.out.println("💼 CargoCache desabilitado.");
+            return null;
+        }
+        long ttlSeconds = Long.getLong("rh.cargoCache.ttlSeconds", 300L);
+        return new CargoCache(loader, ttlSeconds * 1000L);
+    }
+
+    // =====================================================
+    // 🔎 Consultas
+    // =====================================================
+
+    /**
+     * 📋 Retorna todos os cargos (lista imutável).
+     */
+    public List<Cargo> getAll() throws SQLException {
+        return atual().todos;
+    }
+
+    /**
+     * 🔍 Retorna o cargo com o ID informado, ou null.
+     */
+    public Cargo getById(int idCargo) throws SQLException {
+        return atual().porId.get(idCargo);
+    }
+
+    /**
+     * 🔍 Retorna o cargo com o ID informado; se não estiver no snapshot,
+     * recarrega uma vez (pode ter sido criado por outro cliente).
+     *
+     * 🧠 A recarga por ausência acontece no máximo uma vez por snapshot: IDs
+     * inexistentes consultados em sequência não vão ao banco a cada chamada.
+     *
+     * @return cargo encontrado, ou null
+     */
+    public Cargo getByIdOuRecarregar(int idCargo) throws SQLException {
+        Snapshot s = atual();
+        Cargo cargo = s.porId.get(idCargo);
+        if (cargo != null || s.completo) {
+            return cargo;
+        }
+        synchronized (this) {
+            s = atual();
+            if (!s.completo) {
+                s = carregar(true);
+            }
+            return s.porId.get(idCargo);
+        }
+    }
+
+    /**
+     * 🔍 Retorna o cargo com o nome informado (sem diferenciar maiúsculas), ou null.
+     */
+    public Cargo getByNome(String nomeCargo) throws SQLException {
+        if (nomeCargo == null) {
+            return null;
+        }
+        return atual().porNome.get(chaveNome(nomeCargo));
+    }
+
+    // =====================================================
+    // ♻️ Invalidação / recarga
+    // =====================================================
+
+    /**
+     * 🧹 Descarta o snapshot atual; a próxima leitura recarrega do banco.
+     */
+    public void invalidar() {
+        estado.updateAndGet(e -> new Estado(e.versao + 1, null));
+    }
+
+    /**
+     * 🔄 Recarrega imediatamente do banco.
+     */
+    public synchronized void recarregar() throws SQLException {
+        carregar(false);
+    }
+
+    /**
+     * ⏱️ Indica se o snapshot está ausente ou expirado.
+     */
+    public boolean isExpirado() {
+        return expirado(estado.get().snapshot);
+    }
+
+    private boolean expirado(Snapshot s) {
+        return s == null || (ttlMillis > 0 && System.currentTimeMillis() - s.carregadoEm > ttlMillis);
+    }
+
+    private Snapshot atual() throws SQLException {
+        Snapshot s = estado.get().snapshot;
+        if (!expirado(s)) {
+            return s;
+        }
+
+        synchronized (this) {
+            // 🔁 Outra thread pode ter recarregado enquanto esperávamos
+            s = estado.get().snapshot;
+            return expirado(s) ? carregar(false) : s;
+        }
+    }
+
+    private Snapshot carregar(boolean completo) throws SQLException {
+        Estado antes = estado.get();
+        Snapshot novo = new Snapshot(loader.load(), completo);
+        // ⚛️ Falha se houve invalidação durante a carga: o snapshot lido serve
+        // a quem pediu, mas não fica no cache
+        estado.compareAndSet(antes, new Estado(antes.versao, novo));
+        return novo;
+    }
+
+    private static String chaveNome(String nomeCargo) {
+        return nomeCargo.trim().toLowerCase(Locale.ROOT);
+    }
+}
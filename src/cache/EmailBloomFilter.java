@@ -0,0 +1,366 @@
+package cache;
+
+import java.sql.SQLException;
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+/**
+ * 🌸 Classe: EmailBloomFilter
+ *
+ * 📘 Filtro de Bloom em memória com os emails de funcionários cadastrados.
+ *
+ * 🎯 Objetivo:
+ * <ul>
+ * <li>Responder "com certeza NÃO existe" sem ir ao banco de dados</li>
+ * <li>Responder "talvez exista" quando for preciso confirmar no MySQL</li>
+ * </ul>
+ *
+ * 🧠 Notas de Aula:
+ * <ul>
+ * <li>Um filtro de Bloom nunca gera <b>falso negativo</b>, apenas <b>falso
+ * positivo</b> (com taxa configurável)</li>
+ * <li>Não é possível remover itens: exclusões são contadas e, quando passam
+ * do limite, o filtro deve ser reconstruído a partir do banco</li>
+ * <li>Enquanto não for carregado, o filtro responde sempre "talvez" (seguro)</li>
+ * </ul>
+ *
+ * ⚙️ Configuração (propriedades de sistema, ex: {@code -Drh.emailFilter.fpp=0.01}):
+ * <ul>
+ * <li>{@code rh.emailFilter.enabled} — liga/desliga o filtro (padrão: true)</li>
+ * <li>{@code rh.emailFilter.expectedInsertions} — emails esperados (padrão: 100000)</li>
+ * <li>{@code rh.emailFilter.fpp} — taxa de falso positivo (padrão: 0.01)</li>
+ * <li>{@code rh.emailFilter.maxBytes} — orçamento de memória (padrão: 1 MB)</li>
+ * <li>{@code rh.emailFilter.rebuildMinutes} — idade máxima antes de recarregar
+ * (padrão: 10)</li>
+ * </ul>
+ */
+public class EmailBloomFilter {
+
+    /**
+     * 🔁 Fonte de emails usada na reconstrução (normalmente o DAO).
+     */
+    @FunctionalInterface
+    public interface EmailSource {
+        void forEachEmail(Consumer<String> consumer) throws SQLException;
+    }
+
+    private static final Pattern MARCAS = Pattern.compile("\\p{M}+");
+
+    // ⚙️ Dimensões do filtro (calculadas no construtor)
+    private final int numBits;
+    private final int numHashes;
+    private final long idadeMaximaMillis;
+
+    // 🧱 Bits do filtro (troca atômica na reconstrução)
+    private volatile AtomicLongArray bits;
+    private volatile AtomicLongArray bitsEmConstrucao;
+    private volatile boolean pronto;
+    private volatile long carregadoEm;
+
+    // 📊 Métricas
+    private final AtomicLong consultas = new AtomicLong();
+    private final AtomicLong negativos = new AtomicLong();
+    private final AtomicLong falsosPositivos = new AtomicLong();
+    private final AtomicLong inseridos = new AtomicLong();
+    private final AtomicLong remocoesPendentes = new AtomicLong();
+
+    /**
+     * 🏗️ Construtor
+     *
+     * @param expectedInsertions quantidade esperada de emails
+     * @param fpp                taxa desejada de falso positivo (0 &lt; fpp &lt; 1)
+     * @param maxBytes           limite de memória dos bits do filtro
+     * @param idadeMaximaMillis  idade a partir da qual o filtro pede recarga
+     *                           (0 = nunca)
+     */
+    public EmailBloomFilter(int expectedInsertions, double fpp, int maxBytes, long idadeMaximaMillis) {
+        if (expectedInsertions <= 0) {
+            throw new IllegalArgumentException("⚠️ expectedInsertions deve ser maior que zero.");
+        }
+        if (fpp <= 0 || fpp >= 1) {
+            throw new IllegalArgumentException("⚠️ fpp deve estar entre 0 e 1.");
+        }
+        if (maxBytes < 8) {
+            throw new IllegalArgumentException("⚠️ maxBytes deve ser de pelo menos 8 bytes.");
+        }
+
+        // 📐 m = -n·ln(p) / (ln 2)², limitado pelo orçamento de memória
+        long ideal = (long) Math.ceil(-expectedInsertions * Math.log(fpp) / (Math.log(2) * Math.log(2)));
+        long limite = (long) maxBytes * 8L;
+        long m = Math.max(64, Math.min(ideal, Math.min(limite, Integer.MAX_VALUE - 63L)));
+
+        this.numBits = (int) m;
+        // 📐 k = (m/n)·ln 2
+        this.numHashes = (int) Math.max(1, Math.min(16, Math.round((double) m / expectedInsertions * Math.log(2))));
+        this.idadeMaximaMillis = idadeMaximaMillis;
+        this.bits = novoArray();
+
+        System.out.println("🌸 EmailBloomFilter: " + numBits + " bits (" + (numBits / 8 / 1024) + " KB), "
+                + numHashes + " hashes");
+    }
+
+    /**
+     * 🏭 Cria o filtro a partir das propriedades de sistema.
+     *
+     * @return filtro configurado, ou null se estiver desabilitado
+     */
+    public static EmailBloomFilter fromSystemProperties() {
+        if (!Boolean.parseBoolean(System.getProperty("rh.emailFilter.enabled", "true"))) {
+            System.out.println("🌸 EmailBloomFilter desabilitado.");
+            return null;
+        }
+        int expected = Integer.getInteger("rh.emailFilter.expectedInsertions", 100_000);
+        double fpp = Double.parseDouble(System.getProperty("rh.emailFilter.fpp", "0.01"));
+        int maxBytes = Integer.getInteger("rh.emailFilter.maxBytes", 1024 * 1024);
+        long minutos = Long.getLong("rh.emailFilter.rebuildMinutes", 10L);
+        return new EmailBloomFilter(expected, fpp, maxBytes, minutos * 60_000L);
+    }
+
+    // =====================================================
+    // 🔎 Consulta
+    // =====================================================
+
+    /**
+     * 🔎 Verifica se o email PODE estar cadastrado.
+     *
+     * @param email email a consultar
+     * @return false = com certeza não existe; true = talvez exista
+     */
+    public boolean mightContain(String email) {
+        consultas.incrementAndGet();
+        if (!pronto || email == null) {
+            return true; // 🛡️ Sem dados carregados, nunca nega
+        }
+
+        AtomicLongArray atual = this.bits;
+        long hash = hash64(normalizar(email));
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+
+        for (int i = 1; i <= numHashes; i++) {
+            int combinado = h1 + i * h2;
+            if (combinado < 0) {
+                combinado = ~combinado;
+            }
+            int bit = combinado % numBits;
+            if ((atual.get(bit >>> 6) & (1L << bit)) == 0) {
+                negativos.incrementAndGet();
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // =====================================================
+    // ✏️ Manutenção (create/update/delete)
+    // =====================================================
+
+    /**
+     * ➕ Registra um email cadastrado.
+     */
+    public void add(String email) {
+        if (email == null) {
+            return;
+        }
+        long hash = hash64(normalizar(email));
+
+        // 🔁 Se há reconstrução em andamento, o email também entra no novo array
+        AtomicLongArray emConstrucao = this.bitsEmConstrucao;
+        if (emConstrucao != null) {
+            setBits(emConstrucao, hash);
+        }
+
+        // 🧠 Se a reconstrução trocou os arrays enquanto gravávamos (e já
+        // limpou bitsEmConstrucao), grava de novo no array que ficou valendo
+        AtomicLongArray alvo;
+        do {
+            alvo = this.bits;
+            setBits(alvo, hash);
+        } while (alvo != this.bits);
+        inseridos.incrementAndGet();
+    }
+
+    /**
+     * ➖ Registra que um email deixou de existir.
+     *
+     * 🧠 Bits não podem ser desligados (outros emails podem usá-los); a remoção
+     * apenas conta para decidir quando reconstruir.
+     */
+    public void registrarRemocao() {
+        remocoesPendentes.incrementAndGet();
+    }
+
+    /**
+     * 📉 Registra que o filtro disse "talvez" e o banco não encontrou nada.
+     */
+    public void registrarFalsoPositivo() {
+        falsosPositivos.incrementAndGet();
+    }
+
+    /**
+     * ♻️ Indica se o filtro deve ser recarregado do banco.
+     *
+     * Motivos: nunca carregado, exclusões acima de 10% dos itens ou idade
+     * maior que a configurada.
+     */
+    public boolean precisaReconstruir() {
+        if (!pronto) {
+            return true;
+        }
+        if (remocoesPendentes.get() > Math.max(100, inseridos.get() / 10)) {
+            return true;
+        }
+        return idadeMaximaMillis > 0 && System.currentTimeMillis() - carregadoEm > idadeMaximaMillis;
+    }
+
+    /**
+     * 🔄 Reconstrói o filtro a partir de uma varredura completa dos emails.
+     *
+     * ⚙️ Os bits novos são montados à parte e trocados de uma vez; emails
+     * adicionados durante a varredura entram nos dois arrays. O array novo
+     * passa a valer <b>antes</b> de {@code bitsEmConstrucao} ser limpo, e
+     * {@link #add} confere a troca: nenhum email novo se perde.
+     *
+     * @param fonte origem dos emails (ex: {@code FuncionarioDAO::forEachEmail})
+     * @throws SQLException se a varredura falhar (o filtro antigo continua valendo)
+     */
+    public synchronized void reconstruir(EmailSource fonte) throws SQLException {
+        long inicio = System.nanoTime();
+        AtomicLongArray novo = novoArray();
+        AtomicLong total = new AtomicLong();
+
+        this.bitsEmConstrucao = novo;
+        try {
+            fonte.forEachEmail(email -> {
+                if (email != null) {
+                    setBits(novo, hash64(normalizar(email)));
+                    total.incrementAndGet();
+                }
+            });
+            this.bits = novo;
+        } finally {
+            this.bitsEmConstrucao = null;
+        }
+
+        this.inseridos.set(total.get());
+        this.remocoesPendentes.set(0);
+        this.carregadoEm = System.currentTimeMillis();
+        this.pronto = true;
+
+        System.out.println("🌸 EmailBloomFilter carregado com " + total.get() + " emails em "
+                + (System.nanoTime() - inicio) / 1_000_000 + " ms");
+    }
+
+    // =====================================================
+    // 📊 Métricas
+    // =====================================================
+
+    public boolean isPronto() {
+        return pronto;
+    }
+
+    public long getConsultas() {
+        return consultas.get();
+    }
+
+    /** Consultas respondidas sem ir ao banco (negativo definitivo). */
+    public long getNegativos() {
+        return negativos.get();
+    }
+
+    /** Consultas que precisaram confirmar no banco. */
+    public long getPositivos() {
+        return consultas.get() - negativos.get();
+    }
+
+    public long getFalsosPositivos() {
+        return falsosPositivos.get();
+    }
+
+    public int getTamanhoEmBytes() {
+        return numBits / 8;
+    }
+
+    @Override
+    public String toString() {
+        return "EmailBloomFilter{" +
+                "pronto=" + pronto +
+                ", consultas=" + getConsultas() +
+                ", negativos=" + getNegativos() +
+                ", positivos=" + getPositivos() +
+                ", falsosPositivos=" + getFalsosPositivos() +
+                ", bytes=" + getTamanhoEmBytes() +
+                ", hashes=" + numHashes +
+                '}';
+    }
+
+    // =====================================================
+    // 🔧 Auxiliares
+    // =====================================================
+
+    private AtomicLongArray novoArray() {
+        return new AtomicLongArray((numBits + 63) >>> 6);
+    }
+
+    private void setBits(AtomicLongArray destino, long hash) {
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+
+        for (int i = 1; i <= numHashes; i++) {
+            int combinado = h1 + i * h2;
+            if (combinado < 0) {
+                combinado = ~combinado;
+            }
+            int bit = combinado % numBits;
+            int palavra = bit >>> 6;
+            long mascara = 1L << bit;
+
+            long antigo;
+            do {
+                antigo = destino.get(palavra);
+                if ((antigo & mascara) != 0) {
+                    break;
+                }
+            } while (!destino.compareAndSet(palavra, antigo, antigo | mascara));
+        }
+    }
+
+    /**
+     * 🧼 O MySQL compara emails pela collation da coluna
+     * ({@code utf8_general_ci}): sem diferenciar maiúsculas <b>nem acentos</b>
+     * ("joão@x" = "JOAO@x") e sem os espaços do fim. O filtro compara do
+     * mesmo jeito; juntar textos a mais só gera "talvez", nunca um falso
+     * "não existe".
+     */
+    static String normalizar(String email) {
+        String texto = email.trim();
+        for (int i = 0; i < texto.length(); i++) {
+            if (texto.charAt(i) >= 0x80) {
+                // 🐢 Só textos com caracteres não-ASCII pagam a decomposição
+                texto = MARCAS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("")
+                        .replace("ß", "s");
+                break;
+            }
+        }
+        return texto.toLowerCase(Locale.ROOT);
+    }
+
+    /** FNV-1a de 64 bits seguido de mistura final (avalanche). */
+    private static long hash64(String s) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < s.length(); i++) {
+            h ^= s.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= (h >>> 33);
+        h *= 0xff51afd7ed558ccdL;
+        h ^= (h >>> 33);
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= (h >>> 33);
+        return h;
+    }
+}
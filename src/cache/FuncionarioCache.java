@@ -0,0 +1,313 @@
+package cache;
+
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import model.Funcionario;
+
+/**
+ * 👥 Classe: FuncionarioCache
+ *
+ * 📘 Cache <b>read-through</b> de funcionários, com tamanho máximo, expiração
+ * (TTL) e índice secundário por email.
+ *
+ * 🎯 Objetivos:
+ * <ul>
+ * <li>Evitar ir ao MySQL em buscas repetidas por ID ou email</li>
+ * <li>Limitar a memória usada (despejo do item usado há mais tempo — LRU)</li>
+ * <li>Medir a eficiência (taxa de acerto, despejos, tempo de carga)</li>
+ * </ul>
+ *
+ * 🧠 Notas de Aula:
+ * <ul>
+ * <li><b>Read-through</b>: em caso de falta (miss), o próprio cache chama o
+ * carregador e guarda o resultado</li>
+ * <li>O {@link LinkedHashMap} em <i>access-order</i> mantém a ordem de uso,
+ * o que implementa o LRU</li>
+ * <li>Escritas no Service chamam {@link #invalidar(int)} (write-through)</li>
+ * <li>Resultados vazios não são guardados (o filtro de emails cuida disso)</li>
+ * <li>🔐 O cache guarda uma cópia <b>sem a senha</b> e entrega uma cópia nova
+ * a cada leitura: quem recebe pode alterá-la sem mexer no que está guardado,
+ * e o hash nunca fica em memória compartilhada</li>
+ * </ul>
+ *
+ * ⚙️ Configuração (propriedades de sistema):
+ * <ul>
+ * <li>{@code rh.funcionarioCache.enabled} — liga/desliga (padrão: true)</li>
+ * <li>{@code rh.funcionarioCache.maxSize} — máximo de itens (padrão: 10000)</li>
+ * <li>{@code rh.funcionarioCache.ttlSeconds} — validade (padrão: 60)</li>
+ * </ul>
+ */
+public class FuncionarioCache {
+
+    /**
+     * 🔁 Carregador usado em caso de falta no cache.
+     */
+    @FunctionalInterface
+    public interface Loader<K> {
+        Funcionario load(K chave) throws SQLException;
+    }
+
+    /** 📦 Item guardado com seu instante de expiração. */
+    private static final class Entrada {
+        final Funcionario funcionario;
+        final long expiraEm;
+
+        Entrada(Funcionario funcionario, long expiraEm) {
+            this.funcionario = funcionario;
+            this.expiraEm = expiraEm;
+        }
+    }
+
+    private final int maxSize;
+    private final long ttlMillis;
+
+    // 🔒 Protegidos pelo lock "this"
+    private final LinkedHashMap<Integer, Entrada> porId;
+    private final Map<String, Integer> idPorEmail = new HashMap<>();
+
+    // 🔢 Incrementado a cada invalidação: uma carga feita em paralelo com
+    // uma escrita não guarda o valor antigo
+    private long versao;
+
+    // 📊 Estatísticas
+    private final AtomicLong acertos = new AtomicLong();
+    private final AtomicLong faltas = new AtomicLong();
+    private final AtomicLong despejos = new AtomicLong();
+    private final AtomicLong expirados = new AtomicLong();
+    private final AtomicLong cargas = new AtomicLong();
+    private final AtomicLong tempoCargaNanos = new AtomicLong();
+
+    /**
+     * 🏗️ Construtor
+     *
+     * @param maxSize   quantidade máxima de funcionários em memória
+     * @param ttlMillis validade de cada item (0 = sem expiração)
+     */
+    public FuncionarioCache(int maxSize, long ttlMillis) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("⚠️ maxSize deve ser maior que zero.");
+        }
+        this.maxSize = maxSize;
+        this.ttlMillis = ttlMillis;
+        this.porId = new LinkedHashMap<Integer, Entrada>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, Entrada> eldest) {
+                if (size() > FuncionarioCache.this.maxSize) {
+                    removerEmail(eldest.getValue().funcionario);
+                    despejos.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * 🏭 Cria o cache a partir das propriedades de sistema.
+     *
+     * @return cache configurado, ou null se estiver desabilitado
+     */
+    public static FuncionarioCache fromSystemProperties() {
+        if (!Boolean.parseBoolean(System.getProperty("rh.funcionarioCache.enabled", "true"))) {
+            System.out.println("👥 FuncionarioCache desabilitado.");
+            return null;
+        }
+        int maxSize = Integer.getInteger("rh.funcionarioCache.maxSize", 10_000);
+        long ttlSeconds = Long.getLong("rh.funcionarioCache.ttlSeconds", 60L);
+        return new FuncionarioCache(maxSize, ttlSeconds * 1000L);
+    }
+
+    // =====================================================
+    // 🔎 Leitura (read-through)
+    // =====================================================
+
+    /**
+     * 🔍 Retorna o funcionário pelo ID, carregando do banco em caso de falta.
+     */
+    public Funcionario getById(int idFuncionario, Loader<Integer> loader) throws SQLException {
+        synchronized (this) {
+            Funcionario f = buscar(idFuncionario);
+            if (f != null) {
+                acertos.incrementAndGet();
+                return f.semSenha();
+            }
+        }
+        faltas.incrementAndGet();
+        return carregar(idFuncionario, loader);
+    }
+
+    /**
+     * 📧 Retorna o funcionário pelo email, carregando do banco em caso de falta.
+     */
+    public Funcionario getByEmail(String email, Loader<String> loader) throws SQLException {
+        if (email == null) {
+            return null;
+        }
+        synchronized (this) {
+            Integer id = idPorEmail.get(chaveEmail(email));
+            Funcionario f = id != null ? buscar(id) : null;
+            if (f != null) {
+                acertos.incrementAndGet();
+                return f.semSenha();
+            }
+        }
+        faltas.incrementAndGet();
+        return carregar(email, loader);
+    }
+
+    // =====================================================
+    // ✏️ Escrita / invalidação
+    // =====================================================
+
+    /**
+     * 🧹 Remove o funcionário do cache (após update/delete).
+     */
+    public synchronized void invalidar(int idFuncionario) {
+        versao++;
+        Entrada e = porId.remove(idFuncionario);
+        if (e != null) {
+            removerEmail(e.funcionario);
+        }
+    }
+
+    /**
+     * 🧹 Remove a entrada ligada a um email (após create).
+     */
+    public synchronized void invalidarEmail(String email) {
+        if (email == null) {
+            return;
+        }
+        versao++;
+        Integer id = idPorEmail.remove(chaveEmail(email));
+        if (id != null) {
+            porId.remove(id);
+        }
+    }
+
+    /**
+     * 🧹 Esvazia o cache.
+     */
+    public synchronized void limpar() {
+        versao++;
+        porId.clear();
+        idPorEmail.clear();
+    }
+
+    // =====================================================
+    // 📊 Estatísticas
+    // =====================================================
+
+    public long getAcertos() {
+        return acertos.get();
+    }
+
+    public long getFaltas() {
+        return faltas.get();
+    }
+
+    public long getDespejos() {
+        return despejos.get();
+    }
+
+    public long getExpirados() {
+        return expirados.get();
+    }
+
+    /** Taxa de acerto entre 0 e 1. */
+    public double getTaxaAcerto() {
+        long total = acertos.get() + faltas.get();
+        return total == 0 ? 0.0 : (double) acertos.get() / total;
+    }
+
+    /** Tempo médio de carga do banco, em milissegundos. */
+    public double getTempoMedioCargaMillis() {
+        long n = cargas.get();
+        return n == 0 ? 0.0 : tempoCargaNanos.get() / 1_000_000.0 / n;
+    }
+
+    public synchronized int size() {
+        return porId.size();
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT,
+                "FuncionarioCache{itens=%d/%d, taxaAcerto=%.2f, acertos=%d, faltas=%d, despejos=%d, "
+                        + "expirados=%d, cargaMedia=%.2fms}",
+                size(), maxSize, getTaxaAcerto(), getAcertos(), getFaltas(), getDespejos(),
+                getExpirados(), getTempoMedioCargaMillis());
+    }
+
+    // =====================================================
+    // 🔧 Auxiliares
+    // =====================================================
+
+    /** Busca no mapa, descartando itens vencidos. Chamar com o lock. */
+    private Funcionario buscar(int idFuncionario) {
+        Entrada e = porId.get(idFuncionario);
+        if (e == null) {
+            return null;
+        }
+        if (ttlMillis > 0 && System.currentTimeMillis() > e.expiraEm) {
+            porId.remove(idFuncionario);
+            removerEmail(e.funcionario);
+            expirados.incrementAndGet();
+            return null;
+        }
+        return e.funcionario;
+    }
+
+    /** Chama o carregador fora do lock e guarda o resultado. */
+    private <K> Funcionario carregar(K chave, Loader<K> loader) throws SQLException {
+        long versaoInicial;
+        synchronized (this) {
+            versaoInicial = versao;
+        }
+
+        long inicio = System.nanoTime();
+        Funcionario carregado = loader.load(chave);
+        tempoCargaNanos.addAndGet(System.nanoTime() - inicio);
+        cargas.incrementAndGet();
+
+        if (carregado == null) {
+            return null;
+        }
+        Funcionario f = carregado.semSenha();
+        synchronized (this) {
+            if (versao != versaoInicial) {
+                return f; // ⚠️ Houve escrita durante a carga: não guarda
+            }
+            long expiraEm = ttlMillis > 0 ? System.currentTimeMillis() + ttlMillis : Long.MAX_VALUE;
+            Entrada anterior = porId.put(f.getIdFuncionario(), new Entrada(f, expiraEm));
+            if (anterior != null) {
+                removerEmail(anterior.funcionario);
+            }
+            if (f.getEmail() != null) {
+                idPorEmail.put(chaveEmail(f.getEmail()), f.getIdFuncionario());
+            }
+        }
+        return f.semSenha(); // 📑 A guardada nunca sai do cache
+    }
+
+    /** Remove o índice de email que aponta para este funcionário. */
+    private void removerEmail(Funcionario f) {
+        if (f == null || f.getEmail() == null) {
+            return;
+        }
+        String chave = chaveEmail(f.getEmail());
+        Integer id = idPorEmail.get(chave);
+        if (id != null && id == f.getIdFuncionario()) {
+            idPorEmail.remove(chave);
+        }
+    }
+
+    /** O MySQL compara emails sem diferenciar maiúsculas (collation _ci). */
+    private static String chaveEmail(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,80 @@
+package cache;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+import model.Cargo;
+
+/**
+ * 🪶 Classe: RegistroCargos
+ *
+ * 📘 Registro <b>canônico</b> de cargos por {@code idCargo} (padrão
+ * <b>Flyweight</b>): todos os funcionários de um mesmo cargo apontam para o
+ * mesmo objeto {@link Cargo}.
+ *
+ * 🎯 Objetivos:
+ * <ul>
+ * <li>Carregar 1 milhão de funcionários sem criar 1 milhão de {@code Cargo}
+ * (e de cópias do nome) iguais</li>
+ * <li>Ser compartilhado por todas as consultas (CargoDAO e FuncionarioDAO)</li>
+ * </ul>
+ *
+ * 🧠 Notas de Aula:
+ * <ul>
+ * <li>Existem poucos cargos distintos; o registro guarda um objeto por ID</li>
+ * <li>Se o banco devolver outro nome para o ID (cargo renomeado), um objeto
+ * <b>novo</b> passa a ser o canônico — o antigo nunca é alterado, então
+ * quem já o tinha continua vendo um estado consistente</li>
+ * <li>🔒 Os objetos são compartilhados e <b>somente leitura</b>
+ * ({@link Cargo#doBanco}): os setters lançam {@code IllegalStateException}.
+ * Para mudar o cargo de um funcionário, troque a referência com
+ * {@code setCargo}</li>
+ * <li>{@link ConcurrentHashMap}: as consultas rodam em várias threads</li>
+ * </ul>
+ */
+public class RegistroCargos {
+
+    private final ConcurrentHashMap<Integer, Cargo> porId = new ConcurrentHashMap<>();
+
+    /**
+     * 🪶 Retorna o cargo canônico para o ID e nome lidos do banco.
+     *
+     * @param idCargo   ID do cargo
+     * @param nomeCargo nome lido na mesma linha
+     * @return instância compartilhada (criada pelo caminho confiável
+     *         {@link Cargo#doBanco}, sem revalidar)
+     */
+    public Cargo canonico(int idCargo, String nomeCargo) {
+        // ⚡ Caminho rápido: já existe com o mesmo nome (sem lock)
+        Cargo atual = porId.get(idCargo);
+        if (mesmoNome(atual, nomeCargo)) {
+            return atual;
+        }
+        return porId.compute(idCargo, (id, existente) ->
+                mesmoNome(existente, nomeCargo) ? existente : Cargo.doBanco(id, nomeCargo));
+    }
+
+    /**
+     * 🔍 Retorna o cargo já registrado com o ID, ou null.
+     */
+    public Cargo get(int idCargo) {
+        return porId.get(idCargo);
+    }
+
+    /**
+     * 🧹 Remove um cargo (ex: depois de excluído do banco).
+     */
+    public void esquecer(int idCargo) {
+        porId.remove(idCargo);
+    }
+
+    /**
+     * 🔢 Quantidade de cargos distintos registrados.
+     */
+    public int tamanho() {
+        return porId.size();
+    }
+
+    private static boolean mesmoNome(Cargo cargo, String nomeCargo) {
+        return cargo != null && nomeCargo != null && nomeCargo.equals(cargo.getNomeCargo());
+    }
+}
@@ -0,0 +1,250 @@
+package cache;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import dao.FuncionarioDAO;
+import model.Cargo;
+
+/**
+ * 🔄 Classe: SincronizadorSnapshot
+ *
+ * 📘 Mantém o {@link SnapshotLocal} (cópia em arquivo) em dia com o banco.
+ *
+ * 🎯 Fluxo da tela de funcionários:
+ * <ol>
+ * <li>{@link #getLocal()}: abre a cópia do disco (sem banco) e a tabela já
+ * aparece</li>
+ * <li>{@link #reconciliar()} em segundo plano: compara o marcador de
+ * alteração do banco com o do arquivo e só regrava se mudou</li>
+ * <li>Se o banco não responder, a tela continua com a cópia, somente
+ * leitura</li>
+ * </ol>
+ *
+ * 🧠 Notas de Aula:
+ * <ul>
+ * <li>O marcador (contadores da tabela {@code VersaoTabela}, lidos em
+ * O(1)) é calculado <b>antes</b> da varredura: uma alteração feita durante
+ * a gravação muda o marcador do banco, e a próxima reconciliação grava de
+ * novo</li>
+ * <li>Só uma reconciliação por vez (métodos {@code synchronized})</li>
+ * <li>Cada gravação vai para um arquivo <b>novo</b>
+ * ({@code funcionarios.snapshot.<geração>}): o arquivo mapeado da cópia
+ * anterior nunca é sobrescrito. O Java 17 não desmapeia um
+ * {@link java.nio.MappedByteBuffer}, e no Windows um arquivo mapeado não
+ * pode ser substituído nem apagado</li>
+ * <li>Quem já tem a cópia anterior aberta continua lendo-a normalmente; os
+ * arquivos antigos são apagados assim que possível (no mais tardar na
+ * próxima abertura)</li>
+ * <li>A cópia contém nomes e emails: por padrão fica na pasta do usuário, e
+ * não na pasta do projeto</li>
+ * </ul>
+ *
+ * ⚙️ Configuração: {@code -Drh.snapshotLocal.enabled=false} desliga a cópia
+ * local e {@code -Drh.snapshotLocal.arquivo} define o caminho base
+ * (~/.gestao_rh/funcionarios.snapshot).
+ */
+public class SincronizadorSnapshot {
+
+    /**
+     * 🗄️ Acesso ao banco usado na reconciliação.
+     */
+    public interface Origem {
+        /** Marcador que muda a cada alteração (ex: {@code FuncionarioDAO::marcadorAlteracao}). */
+        String marcador() throws SQLException;
+
+        List<Cargo> cargos() throws SQLException;
+
+        /** Funcionários em ordem de ID (ex: {@code FuncionarioDAO::forEachLinha}). */
+        void varrer(FuncionarioDAO.VisitanteLinha visitante) throws SQLException;
+    }
+
+    private final Path arquivo;
+    private final Origem origem;
+
+    // 🔒 Protegidos pelo lock "this"
+    private SnapshotLocal local;
+    private Path arquivoAtual;
+    private long geracaoAtual = -1;
+    private boolean aberto;
+
+    /**
+     * 🏗️ Construtor
+     *
+     * @param arquivo caminho base da cópia local (cada geração acrescenta
+     *                {@code .<geração>} ao nome)
+     * @param origem  acesso ao banco
+     */
+    public SincronizadorSnapshot(Path arquivo, Origem origem) {
+        System.out.println(">> SincronizadorSnapshot.constructor()");
+        this.arquivo = arquivo;
+        this.origem = origem;
+    }
+
+    /**
+     * 🏭 Cria o sincronizador a partir das propriedades de sistema.
+     *
+     * @param origem acesso ao banco
+     * @return sincronizador configurado, ou null se desabilitado
+     */
+    public static SincronizadorSnapshot fromSystemProperties(Origem origem) {
+        if (!Boolean.parseBoolean(System.getProperty("rh.snapshotLocal.enabled", "true"))) {
+            System.out.println("💾 Cópia local de funcionários desabilitada.");
+            return null;
+        }
+        String caminho = System.getProperty("rh.snapshotLocal.arquivo");
+        Path arquivo = caminho != null && !caminho.isBlank()
+                ? Paths.get(caminho.trim())
+                : Paths.get(System.getProperty("user.home"), ".gestao_rh", "funcionarios.snapshot");
+        return new SincronizadorSnapshot(arquivo, origem);
+    }
+
+    /**
+     * 📖 Cópia local atual (abre o arquivo na primeira chamada; não acessa o
+     * banco).
+     *
+     * 🧹 Na abertura fica só a geração mais nova que abrir sem erro; as
+     * outras (e temporários de gravações interrompidas) são apagadas.
+     *
+     * @return cópia, ou null se ainda não existe (ou está corrompida)
+     */
+    public synchronized SnapshotLocal getLocal() {
+        if (!aberto) {
+            aberto = true;
+            List<Path> arquivos = arquivosExistentes();
+            for (Path candidato : arquivos) {
+                if (local != null || candidato.getFileName().toString().endsWith(".tmp")) {
+                    apagar(candidato);
+                    continue;
+                }
+                try {
+                    local = SnapshotLocal.abrir(candidato);
+                    if (local != null) {
+                        arquivoAtual = candidato;
+                        geracaoAtual = geracao(candidato);
+                        System.out.println("💾 Cópia local aberta: " + candidato + " " + local);
+                    }
+                } catch (IOException e) {
+                    // 🧹 Arquivo inválido: será regravado na próxima reconciliação
+                    System.err.println("❌ " + e.getMessage());
+                    apagar(candidato);
+                }
+            }
+        }
+        return local;
+    }
+
+    /**
+     * 🔄 Compara a cópia com o banco e regrava se estiver desatualizada.
+     *
+     * @return true se a cópia foi regravada
+     * @throws SQLException se o banco não responder
+     * @throws IOException  se o arquivo não puder ser gravado
+     */
+    public synchronized boolean reconciliar() throws SQLException, IOException {
+        System.out.println(">> SincronizadorSnapshot.reconciliar()");
+        String marcador = origem.marcador();
+
+        SnapshotLocal atual = getLocal();
+        if (atual != null && marcador.equals(atual.getMarcador())) {
+            System.out.println("💾 Cópia local em dia.");
+            return false;
+        }
+
+        long inicio = System.nanoTime();
+        long geracao = Math.max(System.currentTimeMillis(), geracaoAtual + 1);
+        Path novo = arquivoDaGeracao(geracao);
+        int linhas = SnapshotLocal.gravar(novo, marcador, origem.cargos(), origem::varrer);
+        SnapshotLocal nova = SnapshotLocal.abrir(novo);
+
+        Path anterior = arquivoAtual;
+        local = nova;
+        arquivoAtual = novo;
+        geracaoAtual = geracao;
+        if (anterior != null) {
+            apagar(anterior); // 🪟 no Windows falha enquanto mapeado: fica para a próxima abertura
+        }
+        System.out.printf("💾 Cópia local regravada: %d funcionários em %.1f ms%n",
+                linhas, (System.nanoTime() - inicio) / 1_000_000.0);
+        return true;
+    }
+
+    /**
+     * Caminho base da cópia local (os arquivos de cada geração ficam ao lado).
+     */
+    public Path getArquivo() {
+        return arquivo;
+    }
+
+    /**
+     * Arquivo da cópia aberta agora (null se ainda não há cópia).
+     */
+    public synchronized Path getArquivoAtual() {
+        return arquivoAtual;
+    }
+
+    // =====================================================
+    // 🗂️ Arquivos de cada geração
+    // =====================================================
+
+    private Path arquivoDaGeracao(long geracao) {
+        return arquivo.resolveSibling(arquivo.getFileName() + "." + geracao);
+    }
+
+    /**
+     * Número da geração pelo nome do arquivo (-1 = arquivo base, sem geração).
+     */
+    private long geracao(Path candidato) {
+        String nome = candidato.getFileName().toString();
+        String prefixo = arquivo.getFileName() + ".";
+        if (!nome.startsWith(prefixo)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(nome.substring(prefixo.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Cópias e temporários na pasta, da geração mais nova para a mais velha.
+     *
+     * 🧠 O arquivo base sem geração (versões anteriores do sistema) entra
+     * por último: é usado só se não houver nenhuma geração.
+     */
+    private List<Path> arquivosExistentes() {
+        List<Path> arquivos = new ArrayList<>();
+        Path pasta = arquivo.toAbsolutePath().getParent();
+        String nome = arquivo.getFileName().toString();
+        try (DirectoryStream<Path> itens = Files.newDirectoryStream(pasta, nome + "*")) {
+            for (Path item : itens) {
+                String n = item.getFileName().toString();
+                if (n.equals(nome) || n.endsWith(".tmp") || geracao(item) >= 0) {
+                    arquivos.add(item);
+                }
+            }
+        } catch (NoSuchFileException e) {
+            return arquivos;
+        } catch (IOException e) {
+            System.err.println("❌ Falha ao listar as cópias locais: " + e.getMessage());
+        }
+        arquivos.sort((a, b) -> Long.compare(geracao(b), geracao(a)));
+        return arquivos;
+    }
+
+    private static void apagar(Path velho) {
+        try {
+            Files.deleteIfExists(velho);
+        } catch (IOException e) {
+            System.err.println("⚠️ Cópia antiga ainda em uso (será apagada depois): " + velho);
+        }
+    }
+}
@@ -0,0 +1,378 @@
+package cache;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+import collections.IntObjectMap;
+import dao.FuncionarioDAO;
+import model.Cargo;
+import model.Funcionario;
+
+/**
+ * 💾 Classe: SnapshotLocal
+ *
+ * 📘 Cópia <b>local</b> (em arquivo) de funcionários e cargos, lida por
+ * {@link MappedByteBuffer}: a tela de funcionários abre na hora, antes de
+ * o banco responder, e continua consultável sem o MySQL.
+ *
+ * 🎯 Formato (binário, big-endian):
+ * <pre>
+ * cabeçalho (40 bytes): MAGIC, versão, geradoEm, posição do índice,
+ *                       quantidade de cargos, quantidade de funcionários
+ * marcador              texto (ver {@link SincronizadorSnapshot})
+ * cargos                idCargo, nomeCargo
+ * funcionários          idFuncionario, idCargo, vale (1 byte), nome, email
+ * índice                int[] com a posição de cada funcionário
+ * </pre>
+ * Textos = tamanho (2 bytes, sem sinal) + bytes UTF-8.
+ *
+ * 🧠 Notas de Aula:
+ * <ul>
+ * <li>O arquivo é <b>mapeado</b> na memória: abrir não lê as linhas; o
+ * sistema operacional traz do disco só as páginas tocadas</li>
+ * <li>O índice dá acesso direto à linha N: uma página da tabela decodifica
+ * só as suas 200 linhas</li>
+ * <li>Só leituras <b>absolutas</b> ({@code getInt(posição)}): o buffer não
+ * muda de estado e pode ser lido por várias threads</li>
+ * <li>A senha <b>não</b> é gravada no arquivo</li>
+ * <li>Gravação em arquivo temporário + troca atômica: ninguém abre um
+ * arquivo pela metade. O destino deve ser um arquivo novo (ver
+ * {@link SincronizadorSnapshot}): um arquivo mapeado não pode ser
+ * substituído no Windows</li>
+ * <li>{@code MemorySegment} ainda é prévia no Java 17; por isso
+ * {@link MappedByteBuffer} (limite de 2 GB por arquivo)</li>
+ * </ul>
+ */
+public final class SnapshotLocal {
+
+    /**
+     * 🔁 Origem das linhas gravadas (normalmente {@code FuncionarioDAO::forEachLinha}).
+     */
+    @FunctionalInterface
+    public interface Fonte {
+        void varrer(FuncionarioDAO.VisitanteLinha visitante) throws SQLException;
+    }
+
+    private static final int MAGIC = 0x52485331; // "RHS1"
+    private static final int VERSAO_FORMATO = 1;
+    private static final int CABECALHO = 40;
+    private static final int TEXTO_NULO = 0xFFFF;
+
+    private final MappedByteBuffer buffer;
+    private final long geradoEm;
+    private final String marcador;
+    private final int indice;
+    private final int quantidade;
+    private final List<Cargo> cargos;
+    private final IntObjectMap<Cargo> cargosPorId;
+
+    private SnapshotLocal(MappedByteBuffer buffer, long geradoEm, String marcador, int indice, int quantidade,
+            List<Cargo> cargos) {
+        this.buffer = buffer;
+        this.geradoEm = geradoEm;
+        this.marcador = marcador;
+        this.indice = indice;
+        this.quantidade = quantidade;
+        this.cargos = Collections.unmodifiableList(cargos);
+        this.cargosPorId = new IntObjectMap<>(cargos.size());
+        for (Cargo c : cargos) {
+            cargosPorId.put(c.getIdCargo(), c);
+        }
+    }
+
+    // =====================================================
+    // 📖 Abertura
+    // =====================================================
+
+    /**
+     * 📖 Mapeia o arquivo.
+     *
+     * @param arquivo caminho da cópia local
+     * @return snapshot, ou null se o arquivo não existir
+     * @throws IOException se o arquivo estiver corrompido ou ilegível
+     */
+    public static SnapshotLocal abrir(Path arquivo) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.READ)) {
+            long tamanho = canal.size();
+            if (tamanho < CABECALHO || tamanho > Integer.MAX_VALUE) {
+                throw invalido(arquivo, "tamanho " + tamanho);
+            }
+            buffer = canal.map(FileChannel.MapMode.READ_ONLY, 0, tamanho);
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSAO_FORMATO) {
+            throw invalido(arquivo, "cabeçalho");
+        }
+        long geradoEm = buffer.getLong(8);
+        long indice = buffer.getLong(16);
+        int qtdCargos = buffer.getInt(24);
+        int qtdFuncionarios = buffer.getInt(28);
+        if (qtdCargos < 0 || qtdFuncionarios < 0 || indice < CABECALHO
+                || indice + 4L * qtdFuncionarios != buffer.capacity()) {
+            throw invalido(arquivo, "índice");
+        }
+
+        try {
+            int pos = CABECALHO;
+            String marcador = lerTexto(buffer, pos);
+            pos = pularTexto(buffer, pos);
+            List<Cargo> cargos = new ArrayList<>(qtdCargos);
+            for (int i = 0; i < qtdCargos; i++) {
+                int idCargo = buffer.getInt(pos);
+                cargos.add(Cargo.doBanco(idCargo, lerTexto(buffer, pos + 4)));
+                pos = pularTexto(buffer, pos + 4);
+            }
+            return new SnapshotLocal(buffer, geradoEm, marcador, (int) indice, qtdFuncionarios, cargos);
+        } catch (IndexOutOfBoundsException e) {
+            throw invalido(arquivo, "cargos");
+        }
+    }
+
+    // =====================================================
+    // ℹ️ Metadados
+    // =====================================================
+
+    /** Marcador de alteração do banco no momento da gravação. */
+    public String getMarcador() {
+        return marcador;
+    }
+
+    public long getGeradoEm() {
+        return geradoEm;
+    }
+
+    /** Quantidade de funcionários. */
+    public int getQuantidade() {
+        return quantidade;
+    }
+
+    /** Cargos (lista imutável). */
+    public List<Cargo> getCargos() {
+        return cargos;
+    }
+
+    // =====================================================
+    // 🔎 Consultas
+    // =====================================================
+
+    /**
+     * 👤 Funcionário da linha (0..getQuantidade()-1), sem a senha.
+     */
+    public Funcionario getFuncionario(int linha) {
+        if (linha < 0 || linha >= quantidade) {
+            throw new IndexOutOfBoundsException("Linha " + linha + " de " + quantidade);
+        }
+        int pos = buffer.getInt(indice + 4 * linha);
+        int idFuncionario = buffer.getInt(pos);
+        int idCargo = buffer.getInt(pos + 4);
+        boolean vale = buffer.get(pos + 8) != 0;
+        int posNome = pos + 9;
+        int posEmail = pularTexto(buffer, posNome);
+        return Funcionario.doBanco(idFuncionario, lerTexto(buffer, posNome), lerTexto(buffer, posEmail),
+                null, vale, cargo(idCargo));
+    }
+
+    /**
+     * 📄 Página de funcionários (mesma assinatura de {@code FuncionarioControl.page}).
+     */
+    public List<Funcionario> pagina(int offset, int limite) {
+        int fim = (int) Math.min(quantidade, (long) Math.max(0, offset) + Math.max(0, limite));
+        List<Funcionario> funcionarios = new ArrayList<>(Math.max(0, fim - offset));
+        for (int linha = Math.max(0, offset); linha < fim; linha++) {
+            funcionarios.add(getFuncionario(linha));
+        }
+        return funcionarios;
+    }
+
+    /**
+     * 📋 Todos os funcionários, ordenados pelo ID.
+     */
+    public List<Funcionario> todos() {
+        return pagina(0, quantidade);
+    }
+
+    /**
+     * 🔍 Funcionários cujo nome ou email contém o termo (sem diferenciar
+     * maiúsculas), limitado a {@code limite} resultados.
+     *
+     * 🧠 Só as linhas encontradas viram {@link Funcionario}.
+     */
+    public List<Funcionario> pesquisar(String termo, int limite) {
+        String t = termo == null ? "" : termo.trim().toLowerCase(Locale.ROOT);
+        List<Funcionario> encontrados = new ArrayList<>();
+        for (int linha = 0; linha < quantidade && encontrados.size() < limite; linha++) {
+            int posNome = buffer.getInt(indice + 4 * linha) + 9;
+            int posEmail = pularTexto(buffer, posNome);
+            if (contem(lerTexto(buffer, posNome), t) || contem(lerTexto(buffer, posEmail), t)) {
+                encontrados.add(getFuncionario(linha));
+            }
+        }
+        return encontrados;
+    }
+
+    @Override
+    public String toString() {
+        return "SnapshotLocal{funcionarios=" + quantidade + ", cargos=" + cargos.size()
+                + ", geradoEm=" + geradoEm + ", marcador='" + marcador + "'}";
+    }
+
+    // =====================================================
+    // 💾 Gravação
+    // =====================================================
+
+    /**
+     * 💾 Grava a cópia local (o arquivo só aparece, por troca atômica,
+     * depois de completo).
+     *
+     * @param arquivo  destino (um arquivo novo, que ninguém tenha mapeado)
+     * @param marcador marcador de alteração calculado <b>antes</b> da varredura
+     * @param cargos   todos os cargos
+     * @param fonte    origem dos funcionários, em ordem de ID
+     * @return quantidade de funcionários gravados
+     */
+    public static int gravar(Path arquivo, String marcador, List<Cargo> cargos, Fonte fonte)
+            throws IOException, SQLException {
+        Path pasta = arquivo.toAbsolutePath().getParent();
+        if (pasta != null) {
+            Files.createDirectories(pasta);
+        }
+        Path temporario = arquivo.resolveSibling(arquivo.getFileName() + ".tmp");
+
+        int quantidade;
+        try (FileChannel canal = FileChannel.open(temporario, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(Channels.newOutputStream(canal), 64 * 1024));
+
+            out.write(new byte[CABECALHO]); // ✏️ preenchido no fim
+            escreverTexto(out, marcador);
+            for (Cargo c : cargos) {
+                out.writeInt(c.getIdCargo());
+                escreverTexto(out, c.getNomeCargo());
+            }
+
+            // 📝 Linhas, guardando a posição de cada uma para o índice
+            int[][] posicoes = {new int[1024]};
+            int[] total = {0};
+            try {
+                fonte.varrer((idFuncionario, nome, email, vale, idCargo) -> {
+                    try {
+                        if (total[0] == posicoes[0].length) {
+                            posicoes[0] = Arrays.copyOf(posicoes[0], total[0] * 2);
+                        }
+                        posicoes[0][total[0]++] = posicao(out);
+                        out.writeInt(idFuncionario);
+                        out.writeInt(idCargo);
+                        out.writeByte(vale ? 1 : 0);
+                        escreverTexto(out, nome);
+                        escreverTexto(out, email);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            quantidade = total[0];
+
+            int indice = posicao(out);
+            for (int i = 0; i < quantidade; i++) {
+                out.writeInt(posicoes[0][i]);
+            }
+            posicao(out);   // 🛡️ confere o limite também depois do índice
+            out.flush();
+
+            ByteBuffer cabecalho = ByteBuffer.allocate(CABECALHO);
+            cabecalho.putInt(MAGIC).putInt(VERSAO_FORMATO).putLong(System.currentTimeMillis())
+                    .putLong(indice).putInt(cargos.size()).putInt(quantidade);
+            cabecalho.flip();
+            canal.write(cabecalho, 0);
+            canal.force(true);
+        } catch (IOException | SQLException | RuntimeException e) {
+            Files.deleteIfExists(temporario);
+            throw e;
+        }
+
+        try {
+            Files.move(temporario, arquivo, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temporario, arquivo, StandardCopyOption.REPLACE_EXISTING);
+        }
+        return quantidade;
+    }
+
+    // =====================================================
+    // 🔧 Auxiliares
+    // =====================================================
+
+    private Cargo cargo(int idCargo) {
+        Cargo c = cargosPorId.get(idCargo);
+        return c != null ? c : Cargo.doBanco(idCargo, null);
+    }
+
+    private static boolean contem(String valor, String termo) {
+        return valor != null && valor.toLowerCase(Locale.ROOT).contains(termo);
+    }
+
+    /** Posição atual da gravação (o arquivo mapeado não passa de 2 GB). */
+    private static int posicao(DataOutputStream out) throws IOException {
+        if (out.size() == Integer.MAX_VALUE) {
+            throw new IOException("⚠️ Cópia local grande demais (limite de 2 GB).");
+        }
+        return out.size();
+    }
+
+    private static void escreverTexto(DataOutputStream out, String texto) throws IOException {
+        if (texto == null) {
+            out.writeShort(TEXTO_NULO);
+            return;
+        }
+        byte[] bytes = texto.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length >= TEXTO_NULO) {
+            throw new IOException("⚠️ Texto grande demais para a cópia local (" + bytes.length + " bytes).");
+        }
+        out.writeShort(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String lerTexto(ByteBuffer buffer, int pos) {
+        int tamanho = Short.toUnsignedInt(buffer.getShort(pos));
+        if (tamanho == TEXTO_NULO) {
+            return null;
+        }
+        byte[] bytes = new byte[tamanho];
+        buffer.get(pos + 2, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static int pularTexto(ByteBuffer buffer, int pos) {
+        int tamanho = Short.toUnsignedInt(buffer.getShort(pos));
+        return pos + 2 + (tamanho == TEXTO_NULO ? 0 : tamanho);
+    }
+
+    private static IOException invalido(Path arquivo, String parte) {
+        return new IOException("⚠️ Cópia local inválida (" + parte + "): " + arquivo);
+    }
+}
@@ -0,0 +1,53 @@
+package collections;
+
+/**
+ * 🔧 Classe: Hashes
+ *
+ * 📘 Funções comuns às coleções de chave {@code int} (endereçamento aberto
+ * com sondagem linear).
+ */
+final class Hashes {
+
+    /** Ocupação máxima antes de dobrar a tabela. */
+    static final float CARGA_MAXIMA = 0.75f;
+
+    private Hashes() {
+    }
+
+    /**
+     * 🔀 Espalha os bits da chave (IDs sequenciais cairiam em posições
+     * vizinhas e formariam longas sequências de colisão).
+     */
+    static int espalhar(int chave) {
+        int h = chave * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /** Menor potência de 2 que comporta {@code elementos} na carga máxima. */
+    static int capacidadePara(int elementos) {
+        if (elementos < 0) {
+            throw new IllegalArgumentException("⚠️ Capacidade não pode ser negativa.");
+        }
+        long necessaria = Math.max(4L, (long) Math.ceil(elementos / (double) CARGA_MAXIMA));
+        long capacidade = Long.highestOneBit(necessaria - 1) << 1;
+        if (capacidade > (1 << 30)) {
+            throw new IllegalArgumentException("⚠️ Capacidade grande demais: " + elementos);
+        }
+        return (int) capacidade;
+    }
+
+    /** Quantidade de elementos que dispara o crescimento da tabela. */
+    static int limite(int capacidade) {
+        return Math.min(capacidade - 1, (int) (capacidade * CARGA_MAXIMA));
+    }
+
+    /**
+     * Indica se a chave que mora em {@code slot} (posição ideal) pode ser
+     * movida para a lacuna em {@code lacuna}, estando hoje em {@code pos}.
+     */
+    static boolean podeOcupar(int lacuna, int pos, int slot) {
+        return lacuna <= pos
+                ? lacuna >= slot || slot > pos
+                : lacuna >= slot && slot > pos;
+    }
+}
@@ -0,0 +1,288 @@
+package collections;
+
+import java.util.Arrays;
+
+/**
+ * 🔢 Classe: IntIntMap
+ *
+ * 📘 Mapa {@code int → int} sem boxing (ex: idFuncionario → linha da
+ * tabela, idCargo → quantidade de funcionários).
+ *
+ * 🧠 Notas de Aula:
+ * <ul>
+ * <li>Endereçamento aberto: chaves e valores ficam em dois {@code int[]}
+ * paralelos; nada de {@code Integer} nem de objeto por entrada</li>
+ * <li>Colisões seguem para a próxima posição (sondagem linear); a remoção
+ * "puxa" as chaves seguintes para não deixar buracos (sem lápides)</li>
+ * <li>A chave 0 marca posição livre na tabela, por isso é guardada à
+ * parte ({@code temZero})</li>
+ * <li>Não é thread-safe: use em uma thread só (ex: EDT) ou publique
+ * pronto e não altere mais</li>
+ * </ul>
+ */
+public final class IntIntMap {
+
+    /**
+     * 🔁 Recebe cada entrada em {@link #forEach}.
+     */
+    @FunctionalInterface
+    public interface Visitante {
+        void visitar(int chave, int valor);
+    }
+
+    private int[] chaves;
+    private int[] valores;
+    private int mascara;
+    private int limite;
+    private int tamanho;
+
+    private boolean temZero;
+    private int valorZero;
+
+    public IntIntMap() {
+        this(16);
+    }
+
+    /**
+     * @param capacidade quantidade de entradas esperada (evita crescer)
+     */
+    public IntIntMap(int capacidade) {
+        alocar(Hashes.capacidadePara(capacidade));
+    }
+
+    // =====================================================
+    // 🔎 Consultas
+    // =====================================================
+
+    /**
+     * 🔍 Valor da chave, ou {@code padrao} se ela não existir.
+     */
+    public int get(int chave, int padrao) {
+        if (chave == 0) {
+            return temZero ? valorZero : padrao;
+        }
+        int pos = Hashes.espalhar(chave) & mascara;
+        int k;
+        while ((k = chaves[pos]) != 0) {
+            if (k == chave) {
+                return valores[pos];
+            }
+            pos = (pos + 1) & mascara;
+        }
+        return padrao;
+    }
+
+    public boolean containsKey(int chave) {
+        return chave == 0 ? temZero : posicao(chave) >= 0;
+    }
+
+    public int size() {
+        return tamanho;
+    }
+
+    public boolean isEmpty() {
+        return tamanho == 0;
+    }
+
+    // =====================================================
+    // ✏️ Alterações
+    // =====================================================
+
+    /**
+     * ✏️ Associa o valor à chave (substitui o anterior).
+     */
+    public void put(int chave, int valor) {
+        if (chave == 0) {
+            if (!temZero) {
+                temZero = true;
+                tamanho++;
+            }
+            valorZero = valor;
+            return;
+        }
+        int pos = Hashes.espalhar(chave) & mascara;
+        int k;
+        while ((k = chaves[pos]) != 0) {
+            if (k == chave) {
+                valores[pos] = valor;
+                return;
+            }
+            pos = (pos + 1) & mascara;
+        }
+        chaves[pos] = chave;
+        valores[pos] = valor;
+        if (++tamanho > limite) {
+            crescer();
+        }
+    }
+
+    /**
+     * ➕ Soma {@code delta} ao valor da chave (0 se ausente), útil para
+     * contagens.
+     *
+     * @return valor após a soma
+     */
+    public int incrementar(int chave, int delta) {
+        if (chave == 0) {
+            if (!temZero) {
+                temZero = true;
+                tamanho++;
+            }
+            return valorZero += delta;
+        }
+        int pos = Hashes.espalhar(chave) & mascara;
+        int k;
+        while ((k = chaves[pos]) != 0) {
+            if (k == chave) {
+                return valores[pos] += delta;
+            }
+            pos = (pos + 1) & mascara;
+        }
+        chaves[pos] = chave;
+        valores[pos] = delta;
+        if (++tamanho > limite) {
+            crescer();
+        }
+        return delta;
+    }
+
+    /**
+     * 🗑️ Remove a chave.
+     *
+     * @return true se ela existia
+     */
+    public boolean remove(int chave) {
+        if (chave == 0) {
+            if (!temZero) {
+                return false;
+            }
+            temZero = false;
+            valorZero = 0;
+            tamanho--;
+            return true;
+        }
+        int pos = posicao(chave);
+        if (pos < 0) {
+            return false;
+        }
+        apagar(pos);
+        tamanho--;
+        return true;
+    }
+
+    public void clear() {
+        Arrays.fill(chaves, 0);
+        temZero = false;
+        valorZero = 0;
+        tamanho = 0;
+    }
+
+    // =====================================================
+    // 🔁 Percurso
+    // =====================================================
+
+    /**
+     * 🔁 Visita todas as entradas (ordem indefinida).
+     */
+    public void forEach(Visitante visitante) {
+        if (temZero) {
+            visitante.visitar(0, valorZero);
+        }
+        for (int i = 0; i < chaves.length; i++) {
+            if (chaves[i] != 0) {
+                visitante.visitar(chaves[i], valores[i]);
+            }
+        }
+    }
+
+    /**
+     * 📋 Chaves em ordem crescente (ex: para relatórios).
+     */
+    public int[] chaves() {
+        int[] r = new int[tamanho];
+        int j = 0;
+        if (temZero) {
+            r[j++] = 0;
+        }
+        for (int k : chaves) {
+            if (k != 0) {
+                r[j++] = k;
+            }
+        }
+        Arrays.sort(r);
+        return r;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("{");
+        for (int k : chaves()) {
+            if (sb.length() > 1) {
+                sb.append(", ");
+            }
+            sb.append(k).append('=').append(get(k, 0));
+        }
+        return sb.append('}').toString();
+    }
+
+    // =====================================================
+    // 🔧 Auxiliares
+    // =====================================================
+
+    private int posicao(int chave) {
+        int pos = Hashes.espalhar(chave) & mascara;
+        int k;
+        while ((k = chaves[pos]) != 0) {
+            if (k == chave) {
+                return pos;
+            }
+            pos = (pos + 1) & mascara;
+        }
+        return -1;
+    }
+
+    /** Libera a posição e puxa as chaves seguintes da mesma sequência. */
+    private void apagar(int pos) {
+        for (;;) {
+            int lacuna = pos;
+            pos = (pos + 1) & mascara;
+            int k;
+            for (;;) {
+                if ((k = chaves[pos]) == 0) {
+                    chaves[lacuna] = 0;
+                    return;
+                }
+                if (Hashes.podeOcupar(lacuna, pos, Hashes.espalhar(k) & mascara)) {
+                    break;
+                }
+                pos = (pos + 1) & mascara;
+            }
+            chaves[lacuna] = k;
+            valores[lacuna] = valores[pos];
+        }
+    }
+
+    private void alocar(int capacidade) {
+        chaves = new int[capacidade];
+        valores = new int[capacidade];
+        mascara = capacidade - 1;
+        limite = Hashes.limite(capacidade);
+    }
+
+    private void crescer() {
+        int[] antigasChaves = chaves;
+        int[] antigosValores = valores;
+        alocar(chaves.length * 2);
+        for (int i = 0; i < antigasChaves.length; i++) {
+            int k = antigasChaves[i];
+            if (k != 0) {
+                int pos = Hashes.espalhar(k) & mascara;
+                while (chaves[pos] != 0) {
+                    pos = (pos + 1) & mascara;
+                }
+                chaves[pos] = k;
+                valores[pos] = antigosValores[i];
+            }
+        }
+    }
+}
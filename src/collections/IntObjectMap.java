@@ -0,0 +1,233 @@
+package collections;
+
+import java.util.Arrays;
+
+/**
+ * 🗂️ Classe: IntObjectMap
+ *
+ * 📘 Mapa {@code int → objeto} sem boxing da chave (ex: idCargo →
+ * {@code Cargo}).
+ *
+ * 🧠 Notas de Aula:
+ * <ul>
+ * <li>Mesmo esquema do {@link IntIntMap}: chaves em um {@code int[]},
+ * valores em um {@code Object[]} paralelo, sondagem linear</li>
+ * <li>Comparado a {@code HashMap<Integer, V>}: nenhum {@code Integer} e
+ * nenhum nó por entrada — só os dois arrays</li>
+ * <li>Valores {@code null} não são aceitos ({@link #get} devolve null para
+ * "ausente")</li>
+ * <li>Não é thread-safe: use em uma thread só ou publique pronto e não
+ * altere mais</li>
+ * </ul>
+ *
+ * @param <V> tipo dos valores
+ */
+public final class IntObjectMap<V> {
+
+    /**
+     * 🔁 Recebe cada entrada em {@link #forEach}.
+     */
+    @FunctionalInterface
+    public interface Visitante<V> {
+        void visitar(int chave, V valor);
+    }
+
+    private int[] chaves;
+    private Object[] valores;
+    private int mascara;
+    private int limite;
+    private int tamanho;
+
+    private V valorZero;
+
+    public IntObjectMap() {
+        this(16);
+    }
+
+    /**
+     * @param capacidade quantidade de entradas esperada (evita crescer)
+     */
+    public IntObjectMap(int capacidade) {
+        alocar(Hashes.capacidadePara(capacidade));
+    }
+
+    // =====================================================
+    // 🔎 Consultas
+    // =====================================================
+
+    /**
+     * 🔍 Valor da chave, ou null.
+     */
+    @SuppressWarnings("unchecked")
+    public V get(int chave) {
+        if (chave == 0) {
+            return valorZero;
+        }
+        int pos = Hashes.espalhar(chave) & mascara;
+        int k;
+        while ((k = chaves[pos]) != 0) {
+            if (k == chave) {
+                return (V) valores[pos];
+            }
+            pos = (pos + 1) & mascara;
+        }
+        return null;
+    }
+
+    public boolean containsKey(int chave) {
+        return get(chave) != null;
+    }
+
+    public int size() {
+        return tamanho;
+    }
+
+    public boolean isEmpty() {
+        return tamanho == 0;
+    }
+
+    // =====================================================
+    // ✏️ Alterações
+    // =====================================================
+
+    /**
+     * ✏️ Associa o valor à chave.
+     *
+     * @return valor anterior, ou null
+     */
+    @SuppressWarnings("unchecked")
+    public V put(int chave, V valor) {
+        if (valor == null) {
+            throw new IllegalArgumentException("⚠️ Valor não pode ser nulo.");
+        }
+        if (chave == 0) {
+            V anterior = valorZero;
+            if (anterior == null) {
+                tamanho++;
+            }
+            valorZero = valor;
+            return anterior;
+        }
+        int pos = Hashes.espalhar(chave) & mascara;
+        int k;
+        while ((k = chaves[pos]) != 0) {
+            if (k == chave) {
+                V anterior = (V) valores[pos];
+                valores[pos] = valor;
+                return anterior;
+            }
+            pos = (pos + 1) & mascara;
+        }
+        chaves[pos] = chave;
+        valores[pos] = valor;
+        if (++tamanho > limite) {
+            crescer();
+        }
+        return null;
+    }
+
+    /**
+     * 🗑️ Remove a chave.
+     *
+     * @return valor removido, ou null
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(int chave) {
+        if (chave == 0) {
+            V anterior = valorZero;
+            if (anterior != null) {
+                valorZero = null;
+                tamanho--;
+            }
+            return anterior;
+        }
+        int pos = Hashes.espalhar(chave) & mascara;
+        int k;
+        while ((k = chaves[pos]) != 0) {
+            if (k == chave) {
+                V anterior = (V) valores[pos];
+                apagar(pos);
+                tamanho--;
+                return anterior;
+            }
+            pos = (pos + 1) & mascara;
+        }
+        return null;
+    }
+
+    public void clear() {
+        Arrays.fill(chaves, 0);
+        Arrays.fill(valores, null);
+        valorZero = null;
+        tamanho = 0;
+    }
+
+    // =====================================================
+    // 🔁 Percurso
+    // =====================================================
+
+    /**
+     * 🔁 Visita todas as entradas (ordem indefinida).
+     */
+    @SuppressWarnings("unchecked")
+    public void forEach(Visitante<? super V> visitante) {
+        if (valorZero != null) {
+            visitante.visitar(0, valorZero);
+        }
+        for (int i = 0; i < chaves.length; i++) {
+            if (chaves[i] != 0) {
+                visitante.visitar(chaves[i], (V) valores[i]);
+            }
+        }
+    }
+
+    // =====================================================
+    // 🔧 Auxiliares
+    // =====================================================
+
+    /** Libera a posição e puxa as chaves seguintes da mesma sequência. */
+    private void apagar(int pos) {
+        for (;;) {
+            int lacuna = pos;
+            pos = (pos + 1) & mascara;
+            int k;
+            for (;;) {
+                if ((k = chaves[pos]) == 0) {
+                    chaves[lacuna] = 0;
+                    valores[lacuna] = null;
+                    return;
+                }
+                if (Hashes.podeOcupar(lacuna, pos, Hashes.espalhar(k) & mascara)) {
+                    break;
+                }
+                pos = (pos + 1) & mascara;
+            }
+            chaves[lacuna] = k;
+            valores[lacuna] = valores[pos];
+        }
+    }
+
+    private void alocar(int capacidade) {
+        chaves = new int[capacidade];
+        valores = new Object[capacidade];
+        mascara = capacidade - 1;
+        limite = Hashes.limite(capacidade);
+    }
+
+    private void crescer() {
+        int[] antigasChaves = chaves;
+        Object[] antigosValores = valores;
+        alocar(chaves.length * 2);
+        for (int i = 0; i < antigasChaves.length; i++) {
+            int k = antigasChaves[i];
+            if (k != 0) {
+                int pos = Hashes.espalhar(k) & mascara;
+                while (chaves[pos] != 0) {
+                    pos = (pos + 1) & mascara;
+                }
+                chaves[pos] = k;
+                valores[pos] = antigosValores[i];
+            }
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package collections;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+import java.util.function.IntPredicate;
+
+/**
+ * 🎯 Classe: IntSet
+ *
+ * 📘 Conjunto de {@code int} sem boxing (ex: IDs selecionados, páginas com
+ * busca em andamento).
+ *
+ * 🧠 Notas de Aula:
+ * <ul>
+ * <li>Mesmo esquema do {@link IntIntMap}, só com o array de chaves</li>
+ * <li>Comparado a {@code HashSet<Integer>} (que é um {@code HashMap} por
+ * dentro): nenhum {@code Integer} e nenhum nó por elemento</li>
+ * <li>Não é thread-safe</li>
+ * </ul>
+ */
+public final class IntSet {
+
+    private int[] chaves;
+    private int mascara;
+    private int limite;
+    private int tamanho;
+
+    private boolean temZero;
+
+    public IntSet() {
+        this(16);
+    }
+
+    /**
+     * @param capacidade quantidade de elementos esperada (evita crescer)
+     */
+    public IntSet(int capacidade) {
+        alocar(Hashes.capacidadePara(capacidade));
+    }
+
+    public boolean contains(int valor) {
+        if (valor == 0) {
+            return temZero;
+        }
+        int pos = Hashes.espalhar(valor) & mascara;
+        int k;
+        while ((k = chaves[pos]) != 0) {
+            if (k == valor) {
+                return true;
+            }
+            pos = (pos + 1) & mascara;
+        }
+        return false;
+    }
+
+    /**
+     * ➕ Adiciona o valor.
+     *
+     * @return true se ele ainda não estava no conjunto
+     */
+    public boolean add(int valor) {
+        if (valor == 0) {
+            if (temZero) {
+                return false;
+            }
+            temZero = true;
+            tamanho++;
+            return true;
+        }
+        int pos = Hashes.espalhar(valor) & mascara;
+        int k;
+        while ((k = chaves[pos]) != 0) {
+            if (k == valor) {
+                return false;
+            }
+            pos = (pos + 1) & mascara;
+        }
+        chaves[pos] = valor;
+        if (++tamanho > limite) {
+            crescer();
+        }
+        return true;
+    }
+
+    /**
+     * 🗑️ Remove o valor.
+     *
+     * @return true se ele estava no conjunto
+     */
+    public boolean remove(int valor) {
+        if (valor == 0) {
+            if (!temZero) {
+                return false;
+            }
+            temZero = false;
+            tamanho--;
+            return true;
+        }
+        int pos = Hashes.espalhar(valor) & mascara;
+        int k;
+        while ((k = chaves[pos]) != 0) {
+            if (k == valor) {
+                apagar(pos);
+                tamanho--;
+                return true;
+            }
+            pos = (pos + 1) & mascara;
+        }
+        return false;
+    }
+
+    /**
+     * 🧹 Remove os valores que atendem ao filtro.
+     *
+     * @return true se algum foi removido
+     */
+    public boolean removeIf(IntPredicate filtro) {
+        boolean removeu = false;
+        for (int v : toArray()) {
+            if (filtro.test(v)) {
+                remove(v);
+                removeu = true;
+            }
+        }
+        return removeu;
+    }
+
+    public int size() {
+        return tamanho;
+    }
+
+    public boolean isEmpty() {
+        return tamanho == 0;
+    }
+
+    public void clear() {
+        Arrays.fill(chaves, 0);
+        temZero = false;
+        tamanho = 0;
+    }
+
+    /**
+     * 🔁 Visita todos os valores (ordem indefinida).
+     */
+    public void forEach(IntConsumer acao) {
+        if (temZero) {
+            acao.accept(0);
+        }
+        for (int k : chaves) {
+            if (k != 0) {
+                acao.accept(k);
+            }
+        }
+    }
+
+    /**
+     * 📋 Valores em ordem crescente.
+     */
+    public int[] toArray() {
+        int[] r = new int[tamanho];
+        int j = 0;
+        if (temZero) {
+            r[j++] = 0;
+        }
+        for (int k : chaves) {
+            if (k != 0) {
+                r[j++] = k;
+            }
+        }
+        Arrays.sort(r);
+        return r;
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(toArray());
+    }
+
+    // =====================================================
+    // 🔧 Auxiliares
+    // =====================================================
+
+    /** Libera a posição e puxa as chaves seguintes da mesma sequência. */
+    private void apagar(int pos) {
+        for (;;) {
+            int lacuna = pos;
+            pos = (pos + 1) & mascara;
+            int k;
+            for (;;) {
+                if ((k = chaves[pos]) == 0) {
+                    chaves[lacuna] = 0;
+                    return;
+                }
+                if (Hashes.podeOcupar(lacuna, pos, Hashes.espalhar(k) & mascara)) {
+                    break;
+                }
+                pos = (pos + 1) & mascara;
+            }
+            chaves[lacuna] = k;
+        }
+    }
+
+    private void alocar(int capacidade) {
+        chaves = new int[capacidade];
+        mascara = capacidade - 1;
+        limite = Hashes.limite(capacidade);
+    }
+
+    private void crescer() {
+        int[] antigas = chaves;
+        alocar(chaves.length * 2);
+        for (int k : antigas) {
+            if (k != 0) {
+                int pos = Hashes.espalhar(k) & mascara;
+                while (chaves[pos] != 0) {
+                    pos = (pos + 1) & mascara;
+                }
+                chaves[pos] = k;
+            }
+        }
+    }
+}
@@ -0,0 +1,452 @@
+package context;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import analytics.AnaliseFuncionarios;
+import bulk.ExportacaoFuncionarios;
+import bulk.ImportacaoFuncionarios;
+import cache.EmailBloomFilter;
+import cache.FuncionarioCache;
+import cache.RegistroCargos;
+import cache.SincronizadorSnapshot;
+import control.CargoControl;
+import control.FuncionarioControl;
+import dao.CargoDAO;
+import dao.FuncionarioDAO;
+import database.MysqlDatabase;
+import event.CargoAlterado;
+import event.EventBus;
+import event.FuncionarioAlterado;
+import event.FuncionariosImportados;
+import event.EventoAlteracao.Operacao;
+import model.Cargo;
+import model.Funcionario;
+import payroll.CustoValeTransporte;
+import payroll.OrcamentoVale;
+import payroll.TabelaTarifas;
+import service.CargoService;
+import service.FuncionarioService;
+import service.SessionService;
+
+/**
+ * 🧰 Classe: AppContext
+ *
+ * 📘 <b>Contexto da aplicação</b>: monta uma única vez (e compartilha) o
+ * banco, os DAOs, os Services, os caches, as sessões, o barramento de
+ * eventos e as threads de fundo.
+ *
+ * 🎯 Objetivos:
+ * <ul>
+ * <li>Abrir uma janela não cria mais conexão, DAO ou Service novos</li>
+ * <li>Caches e sessões são os mesmos para todas as telas</li>
+ * <li>Credenciais do banco em um só lugar (propriedades de sistema)</li>
+ * <li>Encerrar tudo de forma ordenada ao sair ({@link #shutdown()})</li>
+ * </ul>
+ *
+ * 🧠 Notas de Aula:
+ * <ul>
+ * <li>Cada dependência é criada <b>sob demanda</b> (lazy), na primeira vez que
+ * alguém a pede — a tela de login não paga pela montagem de cargos</li>
+ * <li>Continua sendo injeção de dependência manual: o contexto apenas
+ * centraliza os {@code new} que antes ficavam espalhados pelos Forms</li>
+ * <li>As conexões JDBC só são abertas na primeira consulta, e vêm de um
+ * pool limitado compartilhado ({@code rh.db.pool.*}): uma exportação longa
+ * não trava as páginas da tabela</li>
+ * </ul>
+ *
+ * ⚙️ Configuração: {@code rh.db.host} (127.0.0.1), {@code rh.db.user} (root),
+ * {@code rh.db.password} (vazio), {@code rh.db.name} (gestao_rh) e
+ * {@code rh.db.port} (3306).
+ */
+public final class AppContext {
+
+    private static AppContext instance;
+
+    private final String host;
+    private final String user;
+    private final String password;
+    private final String databaseName;
+    private final int port;
+
+    // 🔒 Todos protegidos pelo lock "this" (criados sob demanda)
+    private MysqlDatabase database;
+    private RegistroCargos registroCargos;
+    private AnaliseFuncionarios analiseFuncionarios;
+    private CustoValeTransporte custoValeTransporte;
+    private SincronizadorSnapshot sincronizadorSnapshot;
+    private boolean snapshotLocalConfigurado;
+    private CargoDAO cargoDAO;
+    private CargoService cargoService;
+    private CargoControl cargoControl;
+    private FuncionarioDAO funcionarioDAO;
+    private FuncionarioService funcionarioService;
+    private FuncionarioControl funcionarioControl;
+    private SessionService sessionService;
+    private EventBus eventBus;
+    private ExecutorService executor;
+
+    private boolean encerrado;
+
+    /**
+     * 🏗️ Construtor
+     *
+     * @param host         endereço do servidor MySQL
+     * @param user         usuário de acesso
+     * @param password     senha do banco
+     * @param databaseName nome do banco de dados
+     * @param port         porta de conexão
+     */
+    public AppContext(String host, String user, String password, String databaseName, int port) {
+        System.out.println(">> AppContext.constructor()");
+        this.host = host;
+        this.user = user;
+        this.password = password;
+        this.databaseName = databaseName;
+        this.port = port;
+    }
+
+    /**
+     * 🏭 Cria o contexto a partir das propriedades de sistema.
+     */
+    public static AppContext fromSystemProperties() {
+        return new AppContext(
+                System.getProperty("rh.db.host", "127.0.0.1"),
+                System.getProperty("rh.db.user", "root"),
+                System.getProperty("rh.db.password", ""),
+                System.getProperty("rh.db.name", "gestao_rh"),
+                Integer.getInteger("rh.db.port", 3306));
+    }
+
+    /**
+     * 🔑 Retorna o contexto da aplicação, criando-o na primeira chamada.
+     */
+    public static synchronized AppContext getInstance() {
+        if (instance == null) {
+            instance = fromSystemProperties();
+        }
+        return instance;
+    }
+
+    // =====================================================
+    // 🗄️ Banco e DAOs
+    // =====================================================
+
+    /**
+     * 🏊 Pool de conexões compartilhado por todos os DAOs (e pelas threads
+     * de fundo): cada operação empresta uma conexão e a devolve ao terminar.
+     */
+    public synchronized MysqlDatabase getDatabase() {
+        verificarAtivo();
+        if (database == null) {
+            database = new MysqlDatabase(host, user, password, databaseName, port);
+        }
+        return database;
+    }
+
+    /**
+     * 🪶 Registro canônico de cargos, compartilhado pelos dois DAOs.
+     */
+    public synchronized RegistroCargos getRegistroCargos() {
+        if (registroCargos == null) {
+            registroCargos = new RegistroCargos();
+        }
+        return registroCargos;
+    }
+
+    public synchronized CargoDAO getCargoDAO() {
+        if (cargoDAO == null) {
+            cargoDAO = new CargoDAO(getDatabase(), getRegistroCargos());
+        }
+        return cargoDAO;
+    }
+
+    /**
+     * 💼 Com o cache de cargos ligado, o DAO monta o cargo do funcionário a
+     * partir da memória (sem JOIN).
+     */
+    public synchronized FuncionarioDAO getFuncionarioDAO() {
+        if (funcionarioDAO == null) {
+            CargoService cargos = getCargoService();
+            funcionarioDAO = new FuncionarioDAO(getDatabase(),
+                    cargos.isCacheHabilitado() ? cargos::resolvedorDeConsulta : null,
+                    getRegistroCargos());
+        }
+        return funcionarioDAO;
+    }
+
+    // =====================================================
+    // 🧠 Services
+    // =====================================================
+
+    public synchronized CargoService getCargoService() {
+        if (cargoService == null) {
+            cargoService = new CargoService(getCargoDAO());
+        }
+        return cargoService;
+    }
+
+    /**
+     * 👥 Service de funcionários com o filtro de emails e o cache configurados
+     * pelas propriedades de sistema. O filtro começa a ser carregado em
+     * segundo plano.
+     *
+     * 💼 O cache de funcionários guarda o cargo de cada um: ao renomear ou
+     * excluir um cargo, ele é esvaziado.
+     */
+    public synchronized FuncionarioService getFuncionarioService() {
+        if (funcionarioService == null) {
+            FuncionarioCache cache = FuncionarioCache.fromSystemProperties();
+            funcionarioService = new FuncionarioService(getFuncionarioDAO(),
+                    EmailBloomFilter.fromSystemProperties(), cache);
+            funcionarioService.recarregarFiltroSeNecessario();
+
+            if (cache != null) {
+                getEventBus().assinar(CargoAlterado.class, e -> {
+                    if (e.getOperacao() != Operacao.CRIADO) {
+                        cache.limpar();
+                    }
+                });
+            }
+        }
+        return funcionarioService;
+    }
+
+    public synchronized SessionService getSessionService() {
+        verificarAtivo();
+        if (sessionService == null) {
+            sessionService = new SessionService();
+        }
+        return sessionService;
+    }
+
+    /**
+     * 📣 Barramento onde os Controllers publicam as alterações e as telas e
+     * caches se inscrevem.
+     */
+    public synchronized EventBus getEventBus() {
+        verificarAtivo();
+        if (eventBus == null) {
+            eventBus = EventBus.fromSystemProperties();
+        }
+        return eventBus;
+    }
+
+    // =====================================================
+    // 🎛️ Controllers
+    // =====================================================
+
+    public synchronized CargoControl getCargoControl() {
+        if (cargoControl == null) {
+            cargoControl = new CargoControl(getCargoService(), getEventBus());
+        }
+        return cargoControl;
+    }
+
+    public synchronized FuncionarioControl getFuncionarioControl() {
+        if (funcionarioControl == null) {
+            funcionarioControl = new FuncionarioControl(getFuncionarioService(), getSessionService(),
+                    getEventBus());
+        }
+        return funcionarioControl;
+    }
+
+    // =====================================================
+    // 📈 Relatórios
+    // =====================================================
+
+    /**
+     * 📈 Snapshot colunar de funcionários para relatórios. A primeira
+     * consulta faz a varredura; depois ele acompanha os eventos.
+     */
+    public synchronized AnaliseFuncionarios getAnaliseFuncionarios() {
+        if (analiseFuncionarios == null) {
+            analiseFuncionarios = new AnaliseFuncionarios(getFuncionarioDAO()::forEachLinha);
+            getEventBus().assinar(FuncionarioAlterado.class, analiseFuncionarios::aplicar);
+            getEventBus().assinar(FuncionariosImportados.class, analiseFuncionarios::aplicarLote);
+        }
+        return analiseFuncionarios;
+    }
+
+    /**
+     * 🚌 Custo mensal de vale-transporte por cargo (tarifas em
+     * {@code rh.vale.*}). O primeiro cálculo faz a varredura; depois ele
+     * acompanha os eventos.
+     */
+    public synchronized CustoValeTransporte getCustoValeTransporte() {
+        if (custoValeTransporte == null) {
+            custoValeTransporte = new CustoValeTransporte(getFuncionarioDAO()::forEachLinha,
+                    TabelaTarifas.fromSystemProperties(), OrcamentoVale.fromSystemProperties());
+            getEventBus().assinar(FuncionarioAlterado.class, custoValeTransporte::aplicar);
+            getEventBus().assinar(FuncionariosImportados.class, custoValeTransporte::aplicarLote);
+        }
+        return custoValeTransporte;
+    }
+
+    // =====================================================
+    // 💾 Cópia local
+    // =====================================================
+
+    /**
+     * 💾 Cópia local (arquivo) de funcionários e cargos: a tela abre sem
+     * esperar o banco e continua consultável sem ele.
+     *
+     * @return sincronizador, ou null se desabilitado
+     *         ({@code -Drh.snapshotLocal.enabled=false})
+     */
+    public synchronized SincronizadorSnapshot getSincronizadorSnapshot() {
+        if (!snapshotLocalConfigurado) {
+            snapshotLocalConfigurado = true;
+            FuncionarioDAO funcionarios = getFuncionarioDAO();
+            CargoDAO cargos = getCargoDAO();
+            sincronizadorSnapshot = SincronizadorSnapshot.fromSystemProperties(new SincronizadorSnapshot.Origem() {
+                @Override
+                public String marcador() throws SQLException {
+                    return funcionarios.marcadorAlteracao();
+                }
+
+                @Override
+                public List<Cargo> cargos() throws SQLException {
+                    return cargos.findAll();
+                }
+
+                @Override
+                public void varrer(FuncionarioDAO.VisitanteLinha visitante) throws SQLException {
+                    funcionarios.forEachLinha(visitante);
+                }
+            });
+        }
+        return sincronizadorSnapshot;
+    }
+
+    // =====================================================
+    // 📥 Importação e exportação em lote
+    // =====================================================
+
+    /**
+     * 📥 Importação de funcionários por CSV (uma instância nova por chamada;
+     * configuração em {@code rh.importacao.*}).
+     *
+     * 🧠 Cada lote gravado atualiza o filtro de emails e o cache e publica
+     * um {@link FuncionariosImportados} (sem as senhas), que mantém em dia o
+     * snapshot de relatórios e o custo de vale-transporte. Não há um evento
+     * por linha: a tela de funcionários recarrega a lista no fim
+     * ({@code FuncionarioForm}, botão "Importar CSV...").
+     */
+    public synchronized ImportacaoFuncionarios getImportacaoFuncionarios() {
+        FuncionarioDAO funcionarios = getFuncionarioDAO();
+        FuncionarioService service = getFuncionarioService();
+        EventBus eventos = getEventBus();
+        return ImportacaoFuncionarios.fromSystemProperties(new ImportacaoFuncionarios.Gravador() {
+            @Override
+            public Set<String> emailsExistentes(List<String> emails) throws SQLException {
+                return funcionarios.emailsExistentes(emails);
+            }
+
+            @Override
+            public int[] inserir(List<Funcionario> lote) throws SQLException {
+                return funcionarios.createBatch(lote);
+            }
+        }, getCargoService()::findByNome, lote -> {
+            service.registrarImportados(lote);
+            publicarImportados(eventos, lote);
+        });
+    }
+
+    /**
+     * 📣 Publica um lote importado, com cópias dos funcionários sem a senha.
+     */
+    private static void publicarImportados(EventBus eventos, List<Funcionario> lote) {
+        List<Funcionario> semSenha = new ArrayList<>(lote.size());
+        for (Funcionario f : lote) {
+            semSenha.add(Funcionario.doBanco(f.getIdFuncionario(), f.getNomeFuncionario(), f.getEmail(),
+                    null, f.isRecebeValeTransporte(), f.getCargo()));
+        }
+        eventos.publicar(new FuncionariosImportados(semSenha));
+    }
+
+    /**
+     * 📤 Exportação de funcionários (com o cargo) em CSV ou JSON.
+     */
+    public synchronized ExportacaoFuncionarios getExportacaoFuncionarios() {
+        FuncionarioDAO funcionarios = getFuncionarioDAO();
+        return new ExportacaoFuncionarios(new ExportacaoFuncionarios.Origem() {
+            @Override
+            public int contar() throws SQLException {
+                return funcionarios.count();
+            }
+
+            @Override
+            public void varrer(FuncionarioDAO.VisitanteExportacao visitante) throws SQLException {
+                funcionarios.forEachComCargo(visitante);
+            }
+        });
+    }
+
+    // =====================================================
+    // ⚙️ Threads de fundo
+    // =====================================================
+
+    /**
+     * ⚙️ Threads compartilhadas para trabalhos de fundo das telas
+     * (ex: carga das páginas da tabela de funcionários).
+     */
+    public synchronized ExecutorService getExecutor() {
+        verificarAtivo();
+        if (executor == null) {
+            AtomicInteger contador = new AtomicInteger();
+            executor = Executors.newFixedThreadPool(
+                    Math.max(1, Integer.getInteger("rh.background.threads", 2)), r -> {
+                        Thread t = new Thread(r, "rh-background-" + contador.incrementAndGet());
+                        t.setDaemon(true);
+                        return t;
+                    });
+        }
+        return executor;
+    }
+
+    // =====================================================
+    // 🛑 Encerramento
+    // =====================================================
+
+    /**
+     * 🛑 Encerra as threads, as sessões e a conexão com o banco.
+     *
+     * 🧠 Pode ser chamado mais de uma vez (ex: pelo menu e pelo shutdown hook).
+     */
+    public synchronized void shutdown() {
+        if (encerrado) {
+            return;
+        }
+        encerrado = true;
+        System.out.println(">> AppContext.shutdown()");
+
+        if (eventBus != null) {
+            eventBus.shutdown();
+        }
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+        if (sessionService != null) {
+            sessionService.shutdown();
+        }
+        if (database != null) {
+            database.close();
+        }
+    }
+
+    public synchronized boolean isEncerrado() {
+        return encerrado;
+    }
+
+    private void verificarAtivo() {
+        if (encerrado) {
+            throw new IllegalStateException("⚠️ AppContext já foi encerrado.");
+        }
+    }
+}
@@ -0,0 +1,253 @@
+package context;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.swing.SwingUtilities;
+import javax.swing.UIManager;
+
+import database.MysqlDatabase;
+
+/**
+ * 🚀 Classe: StartupPipeline
+ *
+ * 📘 Organiza a <b>inicialização</b> da aplicação em etapas, rodando em
+ * paralelo as que não dependem umas das outras, e mede o tempo de cada uma.
+ *
+ * 🎯 Etapas:
+ * <ul>
+ * <li><b>lookAndFeel</b> — tema do sistema operacional</li>
+ * <li><b>driver</b> — carga da classe do driver JDBC</li>
+ * <li><b>servicos</b> — montagem de DAOs/Services/Controllers do {@link AppContext}</li>
+ * <li><b>conexao</b> — abre a conexão com o MySQL (depois de "driver")</li>
+ * <li><b>cargos</b> — pré-carrega o cache de cargos (depois de "conexao" e "servicos")</li>
+ * <li><b>telaInicial</b> — mostra a janela de login na EDT (depois de "lookAndFeel")</li>
+ * </ul>
+ *
+ * 🧠 Notas de Aula:
+ * <ul>
+ * <li>A janela de login aparece assim que o tema está pronto; o banco é
+ * aquecido em segundo plano enquanto o usuário digita</li>
+ * <li>Cada etapa é um {@link CompletableFuture}; as dependências são ligadas
+ * com {@code thenCompose}/{@code thenCombine}</li>
+ * <li>Uma etapa que falha (ex: MySQL fora do ar) é registrada e as que
+ * dependem dela são puladas — a tela de login abre do mesmo jeito</li>
+ * </ul>
+ *
+ * ⚙️ O relatório de tempos é impresso com o argumento {@code --startup-profile}
+ * (ou {@code -Drh.startup.profile=true}).
+ */
+public class StartupPipeline {
+
+    /** Argumento de linha de comando que liga o relatório de tempos. */
+    public static final String ARG_PERFIL = "--startup-profile";
+
+    /**
+     * ⏱️ Registro de tempo de uma etapa.
+     */
+    public static final class Etapa {
+        private final String nome;
+        private final long inicioNanos;
+        private final long fimNanos;
+        private final String thread;
+        private final String status;
+
+        private Etapa(String nome, long inicioNanos, long fimNanos, String thread, String status) {
+            this.nome = nome;
+            this.inicioNanos = inicioNanos;
+            this.fimNanos = fimNanos;
+            this.thread = thread;
+            this.status = status;
+        }
+
+        public String getNome() {
+            return nome;
+        }
+
+        /** Início em milissegundos desde a criação do pipeline. */
+        public double getInicioMillis() {
+            return inicioNanos / 1_000_000.0;
+        }
+
+        public double getDuracaoMillis() {
+            return (fimNanos - inicioNanos) / 1_000_000.0;
+        }
+
+        public String getThread() {
+            return thread;
+        }
+
+        /** "ok", "pulada" ou a mensagem de erro. */
+        public String getStatus() {
+            return status;
+        }
+
+        public boolean isOk() {
+            return "ok".equals(status);
+        }
+    }
+
+    /** ⚙️ Código de uma etapa. */
+    @FunctionalInterface
+    public interface Passo {
+        void executar() throws Exception;
+    }
+
+    private final AppContext contexto;
+    private final boolean perfil;
+    private final long t0 = System.nanoTime();
+    private final long jvmAteMainMillis = ManagementFactory.getRuntimeMXBean().getUptime();
+
+    // 🔒 Protegida pelo lock da própria lista
+    private final List<Etapa> etapas = new ArrayList<>();
+
+    private final ExecutorService executor;
+
+    /**
+     * 🏗️ Construtor
+     *
+     * @param contexto dependências da aplicação
+     * @param perfil   true para imprimir o relatório de tempos no final
+     */
+    public StartupPipeline(AppContext contexto, boolean perfil) {
+        this.contexto = contexto;
+        this.perfil = perfil;
+        AtomicInteger contador = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(3, r -> {
+            Thread t = new Thread(r, "startup-" + contador.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * 🔎 Indica se o relatório foi pedido pelos argumentos ou pela propriedade
+     * {@code rh.startup.profile}.
+     */
+    public static boolean perfilSolicitado(String[] args) {
+        if (Boolean.getBoolean("rh.startup.profile")) {
+            return true;
+        }
+        for (String a : args) {
+            if (ARG_PERFIL.equals(a)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * ▶️ Inicia as etapas.
+     *
+     * @param telaInicial abre a primeira janela (executado na EDT)
+     * @return future concluído quando todas as etapas terminarem
+     */
+    public CompletableFuture<Void> iniciar(Runnable telaInicial) {
+        System.out.println(">> StartupPipeline.iniciar()");
+
+        CompletableFuture<Boolean> lookAndFeel = etapa("lookAndFeel",
+                () -> UIManager.setLookAndFeel(UIManager.getSystemLookAndFeelClassName()));
+        CompletableFuture<Boolean> driver = etapa("driver",
+                () -> Class.forName("com.mysql.cj.jdbc.Driver"));
+        CompletableFuture<Boolean> servicos = etapa("servicos",
+                contexto::getFuncionarioControl);
+
+        CompletableFuture<Boolean> conexao = driver.thenCompose(ok -> ok
+                ? etapa("conexao", () -> {
+                    MysqlDatabase database = contexto.getDatabase();
+                    database.devolver(database.getConnection());
+                })
+                : pular("conexao"));
+        CompletableFuture<Boolean> cargos = conexao.thenCombine(servicos, (a, b) -> a && b)
+                .thenCompose(ok -> ok
+                        ? etapa("cargos", () -> contexto.getCargoService().findAll())
+                        : pular("cargos"));
+
+        // 🖥️ A tela depende só do tema (o tema falhar não impede a tela)
+        CompletableFuture<Boolean> tela = lookAndFeel.thenCompose(ok -> etapaEdt("telaInicial", telaInicial::run));
+
+        return CompletableFuture.allOf(tela, cargos).whenComplete((v, e) -> {
+            executor.shutdown();
+            if (perfil) {
+                System.out.println(relatorio());
+            }
+        });
+    }
+
+    /**
+     * 📋 Etapas concluídas até agora, na ordem em que terminaram.
+     */
+    public List<Etapa> getEtapas() {
+        synchronized (etapas) {
+            return new ArrayList<>(etapas);
+        }
+    }
+
+    /**
+     * 📊 Monta o relatório de tempos (uma linha por etapa).
+     */
+    public String relatorio() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format(Locale.ROOT, "⏱️ Perfil de inicialização (JVM até o main: %d ms)%n",
+                jvmAteMainMillis));
+        sb.append(String.format(Locale.ROOT, "  %-12s %10s %10s  %-18s %s%n",
+                "etapa", "início ms", "duração ms", "thread", "status"));
+        double fim = 0;
+        for (Etapa e : getEtapas()) {
+            sb.append(String.format(Locale.ROOT, "  %-12s %10.1f %10.1f  %-18s %s%n",
+                    e.getNome(), e.getInicioMillis(), e.getDuracaoMillis(), e.getThread(), e.getStatus()));
+            fim = Math.max(fim, e.getInicioMillis() + e.getDuracaoMillis());
+        }
+        sb.append(String.format(Locale.ROOT, "  %-12s %10s %10.1f", "total", "", fim));
+        return sb.toString();
+    }
+
+    // =====================================================
+    // 🔧 Auxiliares
+    // =====================================================
+
+    /** Roda a etapa nas threads do pipeline; nunca termina com exceção. */
+    private CompletableFuture<Boolean> etapa(String nome, Passo passo) {
+        return CompletableFuture.supplyAsync(() -> medir(nome, passo), executor);
+    }
+
+    /** Roda a etapa na EDT. */
+    private CompletableFuture<Boolean> etapaEdt(String nome, Passo passo) {
+        CompletableFuture<Boolean> f = new CompletableFuture<>();
+        SwingUtilities.invokeLater(() -> f.complete(medir(nome, passo)));
+        return f;
+    }
+
+    /** Registra uma etapa que não rodou porque uma dependência falhou. */
+    private CompletableFuture<Boolean> pular(String nome) {
+        long agora = System.nanoTime() - t0;
+        registrar(new Etapa(nome, agora, agora, "-", "pulada"));
+        return CompletableFuture.completedFuture(false);
+    }
+
+    private boolean medir(String nome, Passo passo) {
+        long inicio = System.nanoTime() - t0;
+        String status = "ok";
+        try {
+            passo.executar();
+        } catch (Exception e) {
+            String msg = String.valueOf(e.getMessage());
+            status = "erro: " + msg.split("\\R", 2)[0]; // 1ª linha da mensagem
+            System.err.println("❌ Etapa de inicialização '" + nome + "' falhou: " + e.getMessage());
+        }
+        registrar(new Etapa(nome, inicio, System.nanoTime() - t0, Thread.currentThread().getName(), status));
+        return "ok".equals(status);
+    }
+
+    private void registrar(Etapa e) {
+        synchronized (etapas) {
+            etapas.add(e);
+        }
+    }
+}
@@ -1,11 +1,12 @@
 package control;
 
 import java.sql.SQLException;
-import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import event.CargoAlterado;
+import event.EventBus;
+import event.EventoAlteracao.Operacao;
 import model.Cargo;
 import service.CargoService;
 
@@ -41,6 +42,9 @@ public class CargoControl {
     /** Serviço responsável por executar as regras de negócio relacionadas a Cargo. */
     private final CargoService cargoService;
 
+    /** Barramento de eventos: avisa as outras telas após cada gravação (pode ser null). */
+    private final EventBus eventBus;
+
     /**
      * Construtor com injeção de dependência.
      * Recebe um objeto do tipo CargoService para permitir o desacoplamento
@@ -49,8 +53,21 @@ public class CargoControl {
      * @param cargoService instância de CargoService que contém as regras de negócio
      */
     public CargoControl(CargoService cargoService) {
+        this(cargoService, null);
+    }
+
+    /**
+     * Construtor com barramento de eventos.
+     * Após cada gravação bem-sucedida é publicado um {@link CargoAlterado}, para
+     * que as telas abertas (ex: combo de cargos do FuncionarioForm) se atualizem.
+     * 
+     * @param cargoService instância de CargoService que contém as regras de negócio
+     * @param eventBus     barramento onde as alterações são publicadas
+     */
+    public CargoControl(CargoService cargoService, EventBus eventBus) {
         System.out.println(">> CargoControl.constructor()");
         this.cargoService = cargoService;
+        this.eventBus = eventBus;
     }
 
     /**
@@ -83,7 +100,8 @@ public class CargoControl {
         c.setIdCargo(novoId);
         c.setNomeCargo(nomeCargo);
 
-        // 4️⃣ Retorna o novo cargo criado
+        // 4️⃣ Avisa as telas abertas e retorna o novo cargo criado
+        publicar(new CargoAlterado(Operacao.CRIADO, novoId, c));
         return c;
     }
 
@@ -126,101 +144,75 @@ public class CargoControl {
     /**
      * Atualiza os dados de um cargo existente.
      * 
-     * - O método retorna um Map contendo o status da operação e mensagens de
-     *   retorno.
-     * - Isso é útil em APIs ou interfaces genéricas onde a resposta é serializada
-     *   (ex: JSON).
+     * - O método retorna um {@link Resultado} tipado com o status da operação,
+     *   a mensagem e, em caso de sucesso, o {@link Cargo} atualizado.
+     * - Quando a resposta precisa ser serializada (ex: JSON em uma API), use
+     *   {@link RespostaAdapter#cargo(Resultado)}.
      * 
      * @param idCargo   ID do cargo a ser atualizado
      * @param nomeCargo novo nome do cargo
-     * @return mapa contendo o status (success, message, data)
+     * @return resultado da operação (getDados() = cargo atualizado)
      */
-    public Map<String, Object> update(int idCargo, String nomeCargo) {
+    public Resultado<Cargo> update(int idCargo, String nomeCargo) {
         System.out.println(">> CargoControl.update()");
 
-        // 1️⃣ Cria um mapa que representará a resposta final da operação
-        Map<String, Object> response = new HashMap<>();
-
         try {
-            // 2️⃣ Chama o serviço para atualizar o cargo no banco
+            // 1️⃣ Chama o serviço para atualizar o cargo no banco
             boolean atualizou = cargoService.updateCargo(idCargo, nomeCargo);
 
-            // 3️⃣ Monta um mapa com os dados do cargo atualizado
-            Map<String, Object> cargoData = new HashMap<>();
-            cargoData.put("idCargo", idCargo);
-            cargoData.put("nomeCargo", nomeCargo);
-
-            // 4️⃣ Cria uma lista com esse cargo (pode haver múltiplos em outras operações)
-            List<Map<String, Object>> cargosList = new ArrayList<>();
-            cargosList.add(cargoData);
+            if (!atualizou) {
+                return Resultado.falha("Cargo não encontrado para atualização");
+            }
 
-            // 5️⃣ Cria um objeto “data” contendo essa lista
-            Map<String, Object> data = new HashMap<>();
-            data.put("cargos", cargosList);
+            // 2️⃣ Entidade afetada (a tela atualiza só a linha alterada)
+            Cargo atualizado = new Cargo(idCargo, nomeCargo);
+            publicar(new CargoAlterado(Operacao.ATUALIZADO, idCargo, atualizado));
 
-            // 6️⃣ Monta o resultado final com mensagem e sucesso
-            response.put("success", atualizou);
-            response.put("message", atualizou
-                    ? "Atualizado com sucesso"
-                    : "Cargo não encontrado para atualização");
-            response.put("data", data);
+            // 3️⃣ Retorna o resultado com mensagem e o cargo
+            return Resultado.sucesso("Atualizado com sucesso", atualizado);
 
         } catch (Exception e) {
-            // 7️⃣ Caso aconteça alguma exceção, retorna erro amigável
-            response.put("success", false);
-            response.put("message", e.getMessage());
+            // 4️⃣ Caso aconteça alguma exceção, retorna erro amigável
+            return Resultado.falha(e.getMessage());
         }
-
-        // 8️⃣ Retorna o mapa final (simulando uma resposta JSON)
-        return response;
     }
 
     /**
      * Exclui um cargo do sistema.
      * 
      * - Usa um padrão semelhante ao método update().
-     * - Retorna um mapa com informações sobre a operação.
+     * - Em caso de sucesso, getDados() traz o ID removido.
      * 
      * @param idCargo identificador do cargo a ser removido
-     * @return mapa com status e mensagem da operação
+     * @return resultado da operação
      */
-    public Map<String, Object> destroy(int idCargo) {
+    public Resultado<Integer> destroy(int idCargo) {
         System.out.println(">> CargoControl.destroy()");
 
-        // 1️⃣ Cria um mapa para montar a resposta final
-        Map<String, Object> response = new HashMap<>();
-
         try {
-            // 2️⃣ Chama o serviço para excluir o cargo pelo ID
+            // 1️⃣ Chama o serviço para excluir o cargo pelo ID
             boolean excluiu = cargoService.deleteCargo(idCargo);
 
-            // 3️⃣ Cria um mapa com os dados do cargo excluído
-            Map<String, Object> cargoData = new HashMap<>();
-            cargoData.put("idCargo", idCargo);
-
-            // 4️⃣ Adiciona esse mapa a uma lista (estrutura padrão de resposta)
-            List<Map<String, Object>> cargosList = new ArrayList<>();
-            cargosList.add(cargoData);
+            if (!excluiu) {
+                return Resultado.falha("Cargo não encontrado para exclusão");
+            }
 
-            // 5️⃣ Cria o objeto “data” que agrupa os dados da resposta
-            Map<String, Object> data = new HashMap<>();
-            data.put("cargos", cargosList);
-
-            // 6️⃣ Define se a operação foi bem-sucedida e monta mensagem
-            response.put("success", excluiu);
-            response.put("message", excluiu
-                    ? "Excluído com sucesso"
-                    : "Cargo não encontrado para exclusão");
-            response.put("data", data);
+            // 2️⃣ Avisa as telas abertas e retorna o ID removido
+            publicar(new CargoAlterado(Operacao.EXCLUIDO, idCargo, null));
+            return Resultado.sucesso("Excluído com sucesso", idCargo);
 
         } catch (Exception e) {
-            // 7️⃣ Caso ocorra erro, captura e retorna uma mensagem amigável
-            response.put("success", false);
-            response.put("message", e.getMessage());
+            // 3️⃣ Caso ocorra erro, captura e retorna uma mensagem amigável
+            return Resultado.falha(e.getMessage());
         }
-
-        // 8️⃣ Retorna o mapa final, representando a resposta da operação
-        return response;
     }
 
+    /**
+     * Publica o evento no barramento (se houver um configurado).
+     */
+    private void publicar(CargoAlterado evento) {
+        if (eventBus != null) {
+            eventBus.publicar(evento);
+        }
+    }
 }
@@ -0,0 +1,52 @@
+package control;
+
+import model.Funcionario;
+import service.SessionService;
+
+/**
+ * 🔑 Classe: DadosLogin
+ *
+ * 📘 Dados devolvidos por um login bem-sucedido: o funcionário (sem a senha)
+ * e a sessão aberta para ele.
+ *
+ * 🧠 Notas de Aula:
+ * <ul>
+ * <li>O funcionário recebido pode ser a instância compartilhada do cache
+ * (com o hash BCrypt): guardamos uma <b>cópia sem a senha</b></li>
+ * <li>A sessão é null quando o Controller não tem um {@link SessionService}</li>
+ * </ul>
+ */
+public final class DadosLogin {
+
+    private final Funcionario funcionario;
+    private final SessionService.Sessao sessao;
+
+    public DadosLogin(Funcionario funcionario, SessionService.Sessao sessao) {
+        this.funcionario = semSenha(funcionario);
+        this.sessao = sessao;
+    }
+
+    public Funcionario getFuncionario() {
+        return funcionario;
+    }
+
+    public String getNomeFuncionario() {
+        return funcionario.getNomeFuncionario();
+    }
+
+    /** Token da sessão, ou null se não houver sessão. */
+    public String getToken() {
+        return sessao != null ? sessao.getToken() : null;
+    }
+
+    /** Sessão aberta, ou null. */
+    public SessionService.Sessao getSessao() {
+        return sessao;
+    }
+
+    /** Cópia do funcionário sem a senha (dados já validados: caminho confiável). */
+    private static Funcionario semSenha(Funcionario f) {
+        return Funcionario.doBanco(f.getIdFuncionario(), f.getNomeFuncionario(), f.getEmail(),
+                null, f.isRecebeValeTransporte(), f.getCargo());
+    }
+}
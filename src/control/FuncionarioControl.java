@@ -1,14 +1,16 @@
 package control;
 
 import java.sql.SQLException;
-import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import event.EventBus;
+import event.EventoAlteracao.Operacao;
+import event.FuncionarioAlterado;
 import model.Funcionario;
 import model.Cargo;
 import service.FuncionarioService;
+import service.SessionService;
 
 /**
  * Classe responsável por controlar a lógica de requisição/resposta
@@ -37,6 +39,16 @@ public class FuncionarioControl {
      */
     private final FuncionarioService funcionarioService;
 
+    /**
+     * Serviço de sessões: emite o token após o login (pode ser null).
+     */
+    private final SessionService sessionService;
+
+    /**
+     * Barramento de eventos: avisa as outras telas após cada gravação (pode ser null).
+     */
+    private final EventBus eventBus;
+
     /**
      * Construtor com injeção de dependência.
      * Recebe um objeto de serviço (FuncionarioService) já instanciado.
@@ -44,8 +56,34 @@ public class FuncionarioControl {
      * @param funcionarioService objeto responsável pelas regras de negócio
      */
     public FuncionarioControl(FuncionarioService funcionarioService) {
+        this(funcionarioService, null);
+    }
+
+    /**
+     * Construtor com serviço de sessões.
+     * Com ele, o login devolve um token que dispensa nova verificação BCrypt.
+     *
+     * @param funcionarioService objeto responsável pelas regras de negócio
+     * @param sessionService     serviço que emite e valida tokens de sessão
+     */
+    public FuncionarioControl(FuncionarioService funcionarioService, SessionService sessionService) {
+        this(funcionarioService, sessionService, null);
+    }
+
+    /**
+     * Construtor completo, com barramento de eventos.
+     * Após cada gravação bem-sucedida é publicado um {@link FuncionarioAlterado}.
+     *
+     * @param funcionarioService objeto responsável pelas regras de negócio
+     * @param sessionService     serviço que emite e valida tokens de sessão
+     * @param eventBus           barramento onde as alterações são publicadas
+     */
+    public FuncionarioControl(FuncionarioService funcionarioService, SessionService sessionService,
+            EventBus eventBus) {
         System.out.println(">> FuncionarioControl.constructor()");
         this.funcionarioService = funcionarioService;
+        this.sessionService = sessionService;
+        this.eventBus = eventBus;
     }
 
     /**
@@ -57,7 +95,7 @@ public class FuncionarioControl {
      * - O Controller monta o objeto de retorno.
      *
      * @param data Mapa contendo os dados do novo funcionário
-     * @return Objeto Funcionario criado
+     * @return Objeto Funcionario criado (sem a senha)
      * @throws SQLException caso ocorra erro no banco de dados
      * @throws Exception    caso ocorra erro de validação ou de negócio
      */
@@ -82,15 +120,18 @@ public class FuncionarioControl {
         int novoId = funcionarioService.createFuncionario(
                 nomeFuncionario, email, senha, recebeValeTransporte, cargo);
 
-        // --- Montagem do objeto de retorno ---
+        // --- Montagem do objeto de retorno (sem a senha, como no update) ---
+        // O evento vai para todos os assinantes: a senha digitada não pode ir junto
         Funcionario f = new Funcionario();
         f.setIdFuncionario(novoId);
         f.setNomeFuncionario(nomeFuncionario);
         f.setEmail(email);
-        f.setSenha(senha);
         f.setRecebeValeTransporte(recebeValeTransporte);
         f.setCargo(cargo);
 
+        // Avisa as telas abertas
+        publicar(new FuncionarioAlterado(Operacao.CRIADO, novoId, f));
+
         // Retorna o funcionário criado
         return f;
     }
@@ -108,6 +149,43 @@ public class FuncionarioControl {
         return funcionarioService.findAll();
     }
 
+    /**
+     * Conta os funcionários cadastrados (usado pela tabela paginada).
+     *
+     * @return total de funcionários
+     * @throws SQLException caso ocorra erro ao acessar o banco
+     */
+    public int count() throws SQLException {
+        System.out.println(">> FuncionarioControl.count()");
+        return funcionarioService.count();
+    }
+
+    /**
+     * Lista uma página de funcionários (usado pela tabela paginada).
+     *
+     * @param offset posição da primeira linha
+     * @param limit  quantidade máxima de linhas
+     * @return funcionários da página
+     * @throws SQLException caso ocorra erro ao acessar o banco
+     */
+    public List<Funcionario> page(int offset, int limit) throws SQLException {
+        System.out.println(">> FuncionarioControl.page()");
+        return funcionarioService.findPage(offset, limit);
+    }
+
+    /**
+     * Pesquisa funcionários pelo nome ou email (limitado a {@code limite} resultados).
+     *
+     * @param termo  trecho digitado na pesquisa
+     * @param limite quantidade máxima de resultados
+     * @return funcionários encontrados
+     * @throws SQLException caso ocorra erro ao acessar o banco
+     */
+    public List<Funcionario> search(String termo, int limite) throws SQLException {
+        System.out.println(">> FuncionarioControl.search()");
+        return funcionarioService.search(termo, limite);
+    }
+
     /**
      * Busca um funcionário específico pelo ID.
      *
@@ -125,11 +203,17 @@ public class FuncionarioControl {
     /**
      * Atualiza os dados de um funcionário existente.
      *
-     * Este método segue o mesmo padrão de retorno dos outros controllers:
-     * retorna um Map contendo:
-     * - success (boolean)
-     * - message (mensagem de retorno)
-     * - data (dados atualizados)
+     * Retorna um {@link Resultado} tipado:
+     * - isSucesso() / getMensagem() para a tela
+     * - getDados(): o {@link Funcionario} atualizado (sem a senha), usado pela
+     *   tela para atualizar só a linha alterada
+     *
+     * Quem precisar do formato antigo (Map/JSON) usa
+     * {@link RespostaAdapter#funcionario(Resultado)}.
+     *
+     * Se a senha mudou, as sessões abertas do funcionário são encerradas
+     * (ele precisa entrar de novo); redigitar a mesma senha não derruba a
+     * sessão de ninguém.
      *
      * @param idFuncionario        ID do funcionário
      * @param nomeFuncionario      novo nome
@@ -137,90 +221,76 @@ public class FuncionarioControl {
      * @param senha                nova senha
      * @param recebeValeTransporte indica se recebe vale transporte
      * @param cargo                novo cargo associado
-     * @return Mapa com o resultado da operação
+     * @return resultado da operação
      */
-    public Map<String, Object> update(int idFuncionario, String nomeFuncionario, String email,
+    public Resultado<Funcionario> update(int idFuncionario, String nomeFuncionario, String email,
             String senha, boolean recebeValeTransporte, Cargo cargo) {
         System.out.println(">> FuncionarioControl.update()");
-        Map<String, Object> response = new HashMap<>();
 
         try {
             // --- Chamada à camada de serviço ---
-            boolean atualizou = funcionarioService.updateFuncionario(
+            FuncionarioService.Atualizacao atualizacao = funcionarioService.updateFuncionario(
                     idFuncionario, nomeFuncionario, email, senha,
                     recebeValeTransporte, cargo);
 
-            // --- Montagem do objeto de retorno (para exibição ou API) ---
-            Map<String, Object> funcionarioData = new HashMap<>();
-            funcionarioData.put("idFuncionario", idFuncionario);
-            funcionarioData.put("nomeFuncionario", nomeFuncionario);
-            funcionarioData.put("email", email);
-            funcionarioData.put("recebeValeTransporte", recebeValeTransporte);
-            funcionarioData.put("cargo", cargo != null ? cargo.getNomeCargo() : null);
+            if (!atualizacao.isAtualizado()) {
+                return Resultado.falha("Funcionário não encontrado para atualização");
+            }
 
-            // Lista para manter consistência com respostas anteriores
-            List<Map<String, Object>> funcionariosList = new ArrayList<>();
-            funcionariosList.add(funcionarioData);
+            // Senha nova: tokens emitidos com a senha antiga deixam de valer
+            if (atualizacao == FuncionarioService.Atualizacao.SENHA_ALTERADA && sessionService != null) {
+                sessionService.encerrarSessoesDoFuncionario(idFuncionario);
+            }
 
-            // Estrutura de dados principal
-            Map<String, Object> data = new HashMap<>();
-            data.put("funcionarios", funcionariosList);
+            // --- Entidade afetada (sem a senha) ---
+            Funcionario f = new Funcionario();
+            f.setIdFuncionario(idFuncionario);
+            f.setNomeFuncionario(nomeFuncionario);
+            f.setEmail(email);
+            f.setRecebeValeTransporte(recebeValeTransporte);
+            f.setCargo(cargo);
+            publicar(new FuncionarioAlterado(Operacao.ATUALIZADO, idFuncionario, f));
 
-            // --- Resposta final padronizada ---
-            response.put("success", atualizou);
-            response.put("message",
-                    atualizou ? "Atualizado com sucesso" : "Funcionário não encontrado para atualização");
-            response.put("data", data);
+            return Resultado.sucesso("Atualizado com sucesso", f);
 
         } catch (Exception e) {
             // Em caso de erro, retorna mensagem amigável
-            response.put("success", false);
-            response.put("message", e.getMessage());
+            return Resultado.falha(e.getMessage());
         }
-
-        return response;
     }
 
     /**
      * Exclui um funcionário do sistema.
      *
-     * Retorna uma estrutura de dados padronizada (Map), com status e mensagem.
+     * Em caso de sucesso, {@code getDados()} traz o ID removido (usado pela tela
+     * para remover só a linha).
      *
      * @param idFuncionario ID do funcionário a ser excluído
-     * @return Mapa com status da operação
+     * @return resultado da operação
      */
-    public Map<String, Object> destroy(int idFuncionario) {
+    public Resultado<Integer> destroy(int idFuncionario) {
         System.out.println(">> FuncionarioControl.destroy()");
-        Map<String, Object> response = new HashMap<>();
 
         try {
             // --- Chamada ao serviço ---
             boolean excluiu = funcionarioService.deleteFuncionario(idFuncionario);
 
-            // --- Montagem dos dados do funcionário removido ---
-            Map<String, Object> funcionarioData = new HashMap<>();
-            funcionarioData.put("idFuncionario", idFuncionario);
-
-            List<Map<String, Object>> funcionariosList = new ArrayList<>();
-            funcionariosList.add(funcionarioData);
+            if (!excluiu) {
+                return Resultado.falha("Funcionário não encontrado para exclusão");
+            }
 
-            Map<String, Object> data = new HashMap<>();
-            data.put("funcionarios", funcionariosList);
+            // Funcionário excluído não pode manter sessões abertas
+            if (sessionService != null) {
+                sessionService.encerrarSessoesDoFuncionario(idFuncionario);
+            }
+            publicar(new FuncionarioAlterado(Operacao.EXCLUIDO, idFuncionario, null));
 
-            // --- Resposta final ---
-            response.put("success", excluiu);
-            response.put("message", excluiu
-                    ? "Excluído com sucesso"
-                    : "Funcionário não encontrado para exclusão");
-            response.put("data", data);
+            return Resultado.sucesso("Excluído com sucesso", idFuncionario);
 
         } catch (Exception e) {
             // Tratamento de exceções
-            response.put("success", false);
-            response.put("message", e.getMessage());
+            return Resultado.falha(e.getMessage());
         }
-
-        return response;
     }
 
     /**
@@ -231,45 +301,63 @@ public class FuncionarioControl {
      *
      * @param email Email informado pelo usuário
      * @param senha Senha informada pelo usuário
-     * @return Mapa contendo sucesso, mensagem e (se válido) os dados do funcionário
+     * @return resultado com (se válido) o funcionário e o token da sessão
      */
-    public Map<String, Object> login(String email, String senha) {
+    public Resultado<DadosLogin> login(String email, String senha) {
         System.out.println(">> FuncionarioControl.login()");
-        Map<String, Object> response = new HashMap<>();
 
         try {
             // --- Chamada à camada de serviço ---
             Funcionario f = funcionarioService.login(email, senha);
 
-            if (f != null) {
-                // Login válido
-                response.put("success", true);
-                response.put("message", "Login realizado com sucesso!");
-
-                // Monta o objeto de dados do funcionário logado
-                Map<String, Object> data = new HashMap<>();
-                data.put("idFuncionario", f.getIdFuncionario());
-                data.put("nomeFuncionario", f.getNomeFuncionario());
-                data.put("email", f.getEmail());
-                data.put("recebeValeTransporte", f.isRecebeValeTransporte());
-                data.put("cargo", f.getCargo().getNomeCargo());
-
-                response.put("data", data);
-
-            } else {
+            if (f == null) {
                 // Login inválido
-                response.put("success", false);
-                response.put("message", "Email ou senha inválidos.");
+                return Resultado.falha("Email ou senha inválidos.");
             }
 
+            // Emite o token de sessão (BCrypt não precisa ser repetido)
+            SessionService.Sessao sessao = sessionService != null ? sessionService.criarSessao(f) : null;
+
+            return Resultado.sucesso("Login realizado com sucesso!", new DadosLogin(f, sessao));
+
         } catch (SQLException e) {
-            response.put("success", false);
-            response.put("message", "Erro ao acessar o banco de dados: " + e.getMessage());
+            return Resultado.falha("Erro ao acessar o banco de dados: " + e.getMessage());
         } catch (Exception e) {
-            response.put("success", false);
-            response.put("message", "Erro inesperado: " + e.getMessage());
+            return Resultado.falha("Erro inesperado: " + e.getMessage());
         }
+    }
+
+    /**
+     * Valida o token de sessão recebido no login.
+     *
+     * A verificação é feita em memória (O(1)), sem acessar o banco nem
+     * recalcular o hash da senha.
+     *
+     * @param token token devolvido por {@link #login(String, String)}
+     * @return sessão válida ou null se o token for inválido/expirado
+     */
+    public SessionService.Sessao validarSessao(String token) {
+        System.out.println(">> FuncionarioControl.validarSessao()");
+        return sessionService != null ? sessionService.validar(token) : null;
+    }
 
-        return response;
+    /**
+     * Encerra a sessão (logout).
+     *
+     * @param token token devolvido pelo login
+     * @return true se a sessão existia
+     */
+    public boolean logout(String token) {
+        System.out.println(">> FuncionarioControl.logout()");
+        return sessionService != null && sessionService.encerrar(token);
+    }
+
+    /**
+     * Publica o evento no barramento (se houver um configurado).
+     */
+    private void publicar(FuncionarioAlterado evento) {
+        if (eventBus != null) {
+            eventBus.publicar(evento);
+        }
     }
 }
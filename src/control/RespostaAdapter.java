@@ -0,0 +1,233 @@
+package control;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import model.Cargo;
+import model.Funcionario;
+
+/**
+ * 🔄 Classe: RespostaAdapter
+ *
+ * 📘 Converte um {@link Resultado} para o formato "antigo" dos Controllers:
+ * um {@code Map} com "success", "message" e "data" — ou o JSON desse mapa.
+ *
+ * 🎯 Uso: só quando o chamador realmente precisa desse formato (ex: uma API
+ * HTTP ou um log estruturado). As telas Swing usam o {@link Resultado}
+ * diretamente.
+ *
+ * 🧠 Notas de Aula:
+ * <ul>
+ * <li>Padrão <b>Adapter</b>: o Controller devolve objetos tipados; a
+ * conversão para mapas acontece na borda, sob demanda</li>
+ * <li>As chaves e a estrutura são as mesmas de antes
+ * ({@code data.funcionarios[]}, {@code data.cargos[]}...)</li>
+ * <li>{@link #paraJson(Object)} é um serializador mínimo (mapas, listas,
+ * textos, números, booleanos e null) — sem biblioteca externa</li>
+ * </ul>
+ */
+public final class RespostaAdapter {
+
+    private RespostaAdapter() {
+    }
+
+    // =====================================================
+    // 👤 Funcionário
+    // =====================================================
+
+    /**
+     * ✏️ Resposta de {@link FuncionarioControl#update}.
+     */
+    public static Map<String, Object> funcionario(Resultado<Funcionario> resultado) {
+        Map<String, Object> response = base(resultado);
+        Funcionario f = resultado.getDados();
+        if (f != null) {
+            Map<String, Object> funcionarioData = new HashMap<>();
+            funcionarioData.put("idFuncionario", f.getIdFuncionario());
+            funcionarioData.put("nomeFuncionario", f.getNomeFuncionario());
+            funcionarioData.put("email", f.getEmail());
+            funcionarioData.put("recebeValeTransporte", f.isRecebeValeTransporte());
+            funcionarioData.put("cargo", f.getCargo() != null ? f.getCargo().getNomeCargo() : null);
+            response.put("data", lista("funcionarios", funcionarioData));
+            response.put("funcionario", f);
+        }
+        return response;
+    }
+
+    /**
+     * 🗑️ Resposta de {@link FuncionarioControl#destroy}.
+     */
+    public static Map<String, Object> exclusaoFuncionario(Resultado<Integer> resultado) {
+        Map<String, Object> response = base(resultado);
+        Integer id = resultado.getDados();
+        if (id != null) {
+            Map<String, Object> funcionarioData = new HashMap<>();
+            funcionarioData.put("idFuncionario", id);
+            response.put("data", lista("funcionarios", funcionarioData));
+            response.put("idFuncionario", id);
+        }
+        return response;
+    }
+
+    /**
+     * 🔐 Resposta de {@link FuncionarioControl#login}.
+     */
+    public static Map<String, Object> login(Resultado<DadosLogin> resultado) {
+        Map<String, Object> response = base(resultado);
+        DadosLogin dados = resultado.getDados();
+        if (dados != null) {
+            Funcionario f = dados.getFuncionario();
+            Map<String, Object> data = new HashMap<>();
+            data.put("idFuncionario", f.getIdFuncionario());
+            data.put("nomeFuncionario", f.getNomeFuncionario());
+            data.put("email", f.getEmail());
+            data.put("recebeValeTransporte", f.isRecebeValeTransporte());
+            data.put("cargo", f.getCargo() != null ? f.getCargo().getNomeCargo() : null);
+            if (dados.getSessao() != null) {
+                data.put("token", dados.getSessao().getToken());
+                data.put("expiraEm", dados.getSessao().getExpiraEm());
+            }
+            response.put("data", data);
+        }
+        return response;
+    }
+
+    // =====================================================
+    // 💼 Cargo
+    // =====================================================
+
+    /**
+     * ✏️ Resposta de {@link CargoControl#update}.
+     */
+    public static Map<String, Object> cargo(Resultado<Cargo> resultado) {
+        Map<String, Object> response = base(resultado);
+        Cargo c = resultado.getDados();
+        if (c != null) {
+            Map<String, Object> cargoData = new HashMap<>();
+            cargoData.put("idCargo", c.getIdCargo());
+            cargoData.put("nomeCargo", c.getNomeCargo());
+            response.put("data", lista("cargos", cargoData));
+            response.put("cargo", c);
+        }
+        return response;
+    }
+
+    /**
+     * 🗑️ Resposta de {@link CargoControl#destroy}.
+     */
+    public static Map<String, Object> exclusaoCargo(Resultado<Integer> resultado) {
+        Map<String, Object> response = base(resultado);
+        Integer id = resultado.getDados();
+        if (id != null) {
+            Map<String, Object> cargoData = new HashMap<>();
+            cargoData.put("idCargo", id);
+            response.put("data", lista("cargos", cargoData));
+            response.put("idCargo", id);
+        }
+        return response;
+    }
+
+    // =====================================================
+    // 🧾 JSON
+    // =====================================================
+
+    /**
+     * 🧾 Serializa mapas, listas e valores simples em JSON.
+     *
+     * 🧠 Objetos que não são mapa/lista/número/booleano (ex: {@link Cargo})
+     * viram texto com {@code toString()}.
+     */
+    public static String paraJson(Object valor) {
+        StringBuilder sb = new StringBuilder();
+        escrever(sb, valor);
+        return sb.toString();
+    }
+
+    // =====================================================
+    // 🔧 Auxiliares
+    // =====================================================
+
+    private static Map<String, Object> base(Resultado<?> resultado) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", resultado.isSucesso());
+        response.put("message", resultado.getMensagem());
+        return response;
+    }
+
+    /** Monta {@code {chave: [item]}} (estrutura padrão das respostas). */
+    private static Map<String, Object> lista(String chave, Map<String, Object> item) {
+        List<Map<String, Object>> itens = new ArrayList<>();
+        itens.add(item);
+        Map<String, Object> data = new HashMap<>();
+        data.put(chave, itens);
+        return data;
+    }
+
+    private static void escrever(StringBuilder sb, Object valor) {
+        if (valor == null) {
+            sb.append("null");
+        } else if (valor instanceof Map) {
+            sb.append('{');
+            Iterator<? extends Map.Entry<?, ?>> it = ((Map<?, ?>) valor).entrySet().iterator();
+            while (it.hasNext()) {
+                Map.Entry<?, ?> e = it.next();
+                texto(sb, String.valueOf(e.getKey()));
+                sb.append(':');
+                escrever(sb, e.getValue());
+                if (it.hasNext()) {
+                    sb.append(',');
+                }
+            }
+            sb.append('}');
+        } else if (valor instanceof Collection) {
+            sb.append('[');
+            Iterator<?> it = ((Collection<?>) valor).iterator();
+            while (it.hasNext()) {
+                escrever(sb, it.next());
+                if (it.hasNext()) {
+                    sb.append(',');
+                }
+            }
+            sb.append(']');
+        } else if (valor instanceof Number || valor instanceof Boolean) {
+            sb.append(valor);
+        } else {
+            texto(sb, valor.toString());
+        }
+    }
+
+    private static void texto(StringBuilder sb, String s) {
+        sb.append('"');
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            switch (c) {
+                case '"':
+                    sb.append("\\\"");
+                    break;
+                case '\\':
+                    sb.append("\\\\");
+                    break;
+                case '\n':
+                    sb.append("\\n");
+                    break;
+                case '\r':
+                    sb.append("\\r");
+                    break;
+                case '\t':
+                    sb.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+            }
+        }
+        sb.append('"');
+    }
+}
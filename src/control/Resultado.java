@@ -0,0 +1,65 @@
+package control;
+
+/**
+ * 📦 Classe: Resultado
+ *
+ * 📘 Resposta <b>tipada e imutável</b> das ações dos Controllers (atualizar,
+ * excluir, login): diz se deu certo, traz a mensagem para o usuário e os
+ * dados produzidos.
+ *
+ * 🧠 Notas de Aula:
+ * <ul>
+ * <li>Substitui o {@code Map<String, Object>} com "success"/"message"/"data":
+ * a tela usa {@code isSucesso()} e {@code getDados()} sem casts</li>
+ * <li>Um objeto por chamada, em vez de vários {@code HashMap}s, uma
+ * {@code ArrayList} e valores "embrulhados" (boxing)</li>
+ * <li>Quem precisa do formato antigo (mapa ou JSON, ex: uma API) usa o
+ * {@link RespostaAdapter} — só nesse momento os mapas são montados</li>
+ * </ul>
+ *
+ * @param <T> tipo dos dados em caso de sucesso
+ */
+public final class Resultado<T> {
+
+    private final boolean sucesso;
+    private final String mensagem;
+    private final T dados;
+
+    private Resultado(boolean sucesso, String mensagem, T dados) {
+        this.sucesso = sucesso;
+        this.mensagem = mensagem;
+        this.dados = dados;
+    }
+
+    /**
+     * ✅ Operação concluída.
+     */
+    public static <T> Resultado<T> sucesso(String mensagem, T dados) {
+        return new Resultado<>(true, mensagem, dados);
+    }
+
+    /**
+     * ❌ Operação não realizada (não encontrado, regra violada, erro de banco...).
+     */
+    public static <T> Resultado<T> falha(String mensagem) {
+        return new Resultado<>(false, mensagem, null);
+    }
+
+    public boolean isSucesso() {
+        return sucesso;
+    }
+
+    public String getMensagem() {
+        return mensagem;
+    }
+
+    /** Dados produzidos pela operação (null em caso de falha). */
+    public T getDados() {
+        return dados;
+    }
+
+    @Override
+    public String toString() {
+        return "Resultado{sucesso=" + sucesso + ", mensagem='" + mensagem + "', dados=" + dados + "}";
+    }
+}
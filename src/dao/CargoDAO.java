@@ -1,5 +1,7 @@
 package dao;
 
+import cache.RegistroCargos;
+import database.ConsultasEmAndamento;
 import database.MysqlDatabase;
 import model.Cargo;
 
@@ -29,6 +31,8 @@ import java.util.List;
  * Controller → Service → DAO → Banco de Dados
  *
  * Nenhuma regra de negócio é implementada aqui, apenas operações CRUD.
+ *
+ * 🏊 Cada operação empresta uma conexão do pool e a devolve no finally.
  */
 public class CargoDAO {
 
@@ -38,6 +42,11 @@ public class CargoDAO {
      */
     private final MysqlDatabase database;
 
+    /**
+     * 🪶 Cargos canônicos: cada ID lido vira sempre o mesmo objeto.
+     */
+    private final RegistroCargos registro;
+
     /**
      * 🔧 Construtor com injeção de dependência.
      * Recebe uma instância de {@link MysqlDatabase} já configurada.
@@ -46,8 +55,19 @@ public class CargoDAO {
      *                         banco.
      */
     public CargoDAO(MysqlDatabase databaseInstance) {
+        this(databaseInstance, new RegistroCargos());
+    }
+
+    /**
+     * 🔧 Construtor com registro de cargos compartilhado.
+     *
+     * @param databaseInstance instância que fornece conexões MySQL.
+     * @param registro         registro canônico (o mesmo do FuncionarioDAO).
+     */
+    public CargoDAO(MysqlDatabase databaseInstance, RegistroCargos registro) {
         System.out.println(">>>> CargoDAO.constructor()");
         this.database = databaseInstance;
+        this.registro = registro;
     }
 
     /**
@@ -69,36 +89,47 @@ public class CargoDAO {
 
         // 1️⃣ Obter conexão com o banco
         Connection conn = database.getConnection();
-
-        // 2️⃣ Preparar o comando SQL com retorno de chave gerada
-        PreparedStatement stmt = conn.prepareStatement(SQL, PreparedStatement.RETURN_GENERATED_KEYS);
-        stmt.setString(1, objCargoModel.getNomeCargo());
-
-        // 3️⃣ Executar o comando
-        int affectedRows = stmt.executeUpdate();
-        if (affectedRows == 0) {
+        try {
+            // 2️⃣ Preparar o comando SQL com retorno de chave gerada
+            PreparedStatement stmt = conn.prepareStatement(SQL, PreparedStatement.RETURN_GENERATED_KEYS);
+            stmt.setString(1, objCargoModel.getNomeCargo());
+
+            // 3️⃣ Executar o comando
+            // ⚠️ Nome duplicado é recusado pelo índice nomeCargo_UNIQUE (erro 1062)
+            int affectedRows;
+            try {
+                affectedRows = stmt.executeUpdate();
+            } catch (SQLException e) {
+                stmt.close();
+                throw e;
+            }
+            if (affectedRows == 0) {
+                stmt.close();
+                throw new SQLException("❌ Falha ao inserir cargo (nenhuma linha afetada).");
+            }
+            ContadorVersoes.incrementar(conn, "Cargo");
+
+            // 4️⃣ Capturar o ID gerado automaticamente
+            ResultSet rs = stmt.getGeneratedKeys();
+            int id = -1;
+            if (rs.next()) {
+                id = rs.getInt(1);
+            }
+
+            // 5️⃣ Fechar recursos
+            rs.close();
             stmt.close();
-            throw new SQLException("❌ Falha ao inserir cargo (nenhuma linha afetada).");
-        }
 
-        // 4️⃣ Capturar o ID gerado automaticamente
-        ResultSet rs = stmt.getGeneratedKeys();
-        int id = -1;
-        if (rs.next()) {
-            id = rs.getInt(1);
-        }
-
-        // 5️⃣ Fechar recursos
-        rs.close();
-        stmt.close();
+            // 6️⃣ Validar se o ID foi obtido corretamente
+            if (id == -1) {
+                throw new SQLException("❌ Falha ao obter ID do cargo inserido.");
+            }
 
-        // 6️⃣ Validar se o ID foi obtido corretamente
-        if (id == -1) {
-            throw new SQLException("❌ Falha ao obter ID do cargo inserido.");
+            System.out.println("✅ Cargo inserido com ID: " + id);
+            return id;
+        } finally {
+            database.devolver(conn);
         }
-
-        System.out.println("✅ Cargo inserido com ID: " + id);
-        return id;
     }
 
     /**
@@ -113,15 +144,23 @@ public class CargoDAO {
         String SQL = "DELETE FROM cargo WHERE idCargo = ?;";
 
         Connection conn = database.getConnection();
-        PreparedStatement stmt = conn.prepareStatement(SQL);
-        stmt.setInt(1, objCargoModel.getIdCargo());
+        try {
+            PreparedStatement stmt = conn.prepareStatement(SQL);
+            stmt.setInt(1, objCargoModel.getIdCargo());
 
-        // Executa e retorna se alguma linha foi afetada
-        int affectedRows = stmt.executeUpdate();
-        stmt.close();
-
-        System.out.println(affectedRows > 0 ? "✅ Cargo excluído!" : "⚠️ Nenhum cargo encontrado para exclusão.");
-        return affectedRows > 0;
+            // Executa e retorna se alguma linha foi afetada
+            int affectedRows = stmt.executeUpdate();
+            stmt.close();
+            if (affectedRows > 0) {
+                registro.esquecer(objCargoModel.getIdCargo());
+                ContadorVersoes.incrementar(conn, "Cargo");
+            }
+
+            System.out.println(affectedRows > 0 ? "✅ Cargo excluído!" : "⚠️ Nenhum cargo encontrado para exclusão.");
+            return affectedRows > 0;
+        } finally {
+            database.devolver(conn);
+        }
     }
 
     /**
@@ -136,15 +175,26 @@ public class CargoDAO {
         String SQL = "UPDATE cargo SET nomeCargo = ? WHERE idCargo = ?;";
 
         Connection conn = database.getConnection();
-        PreparedStatement stmt = conn.prepareStatement(SQL);
-        stmt.setString(1, objCargoModel.getNomeCargo());
-        stmt.setInt(2, objCargoModel.getIdCargo());
-
-        int affectedRows = stmt.executeUpdate();
-        stmt.close();
-
-        System.out.println(affectedRows > 0 ? "✅ Cargo atualizado!" : "⚠️ Cargo não encontrado para atualização.");
-        return affectedRows > 0;
+        try {
+            PreparedStatement stmt = conn.prepareStatement(SQL);
+            stmt.setString(1, objCargoModel.getNomeCargo());
+            stmt.setInt(2, objCargoModel.getIdCargo());
+
+            int affectedRows;
+            try {
+                affectedRows = stmt.executeUpdate();
+            } finally {
+                stmt.close();
+            }
+            if (affectedRows > 0) {
+                ContadorVersoes.incrementar(conn, "Cargo");
+            }
+
+            System.out.println(affectedRows > 0 ? "✅ Cargo atualizado!" : "⚠️ Cargo não encontrado para atualização.");
+            return affectedRows > 0;
+        } finally {
+            database.devolver(conn);
+        }
     }
 
     /**
@@ -158,26 +208,28 @@ public class CargoDAO {
         String SQL = "SELECT * FROM cargo;";
 
         Connection conn = database.getConnection();
-        PreparedStatement stmt = conn.prepareStatement(SQL);
-        ResultSet rs = stmt.executeQuery();
-
-        // 🧱 Criação da lista que armazenará os cargos retornados
-        List<Cargo> cargos = new ArrayList<>();
-
-        // 🔁 Percorre todos os registros do banco
-        while (rs.next()) {
-            Cargo c = new Cargo();
-            c.setIdCargo(rs.getInt("idCargo"));
-            c.setNomeCargo(rs.getString("nomeCargo"));
-            cargos.add(c);
-        }
+        try {
+            PreparedStatement stmt = conn.prepareStatement(SQL);
+            ConsultasEmAndamento.registrar(stmt); // 🛑 cancelável (ver BackgroundTaskRunner)
+            ResultSet rs = stmt.executeQuery();
+
+            // 🧱 Criação da lista que armazenará os cargos retornados
+            List<Cargo> cargos = new ArrayList<>();
 
-        // 🔒 Fecha os recursos para evitar vazamento de memória
-        rs.close();
-        stmt.close();
+            // 🔁 Percorre todos os registros do banco (🪶 cargos canônicos)
+            while (rs.next()) {
+                cargos.add(registro.canonico(rs.getInt("idCargo"), rs.getString("nomeCargo")));
+            }
 
-        System.out.println("📦 Total de cargos encontrados: " + cargos.size());
-        return cargos;
+            // 🔒 Fecha os recursos para evitar vazamento de memória
+            rs.close();
+            stmt.close();
+
+            System.out.println("📦 Total de cargos encontrados: " + cargos.size());
+            return cargos;
+        } finally {
+            database.devolver(conn);
+        }
     }
 
     /**
@@ -215,33 +267,35 @@ public class CargoDAO {
 
         String SQL = "SELECT * FROM cargo WHERE " + field + " = ?;";
         Connection conn = database.getConnection();
-        PreparedStatement stmt = conn.prepareStatement(SQL);
-
-        // 🔧 Define o tipo de parâmetro dinamicamente
-        if (value instanceof Integer) {
-            stmt.setInt(1, (Integer) value);
-        } else if (value instanceof String) {
-            stmt.setString(1, (String) value);
-        } else {
+        try {
+            PreparedStatement stmt = conn.prepareStatement(SQL);
+            ConsultasEmAndamento.registrar(stmt); // 🛑 cancelável (ver BackgroundTaskRunner)
+
+            // 🔧 Define o tipo de parâmetro dinamicamente
+            if (value instanceof Integer) {
+                stmt.setInt(1, (Integer) value);
+            } else if (value instanceof String) {
+                stmt.setString(1, (String) value);
+            } else {
+                stmt.close();
+                throw new SQLException("⚠️ Tipo de valor inválido para busca.");
+            }
+
+            ResultSet rs = stmt.executeQuery();
+            List<Cargo> cargos = new ArrayList<>();
+
+            // 🔁 Converte cada linha do resultado em um objeto Cargo
+            while (rs.next()) {
+                cargos.add(registro.canonico(rs.getInt("idCargo"), rs.getString("nomeCargo")));
+            }
+
+            rs.close();
             stmt.close();
-            throw new SQLException("⚠️ Tipo de valor inválido para busca.");
-        }
 
-        ResultSet rs = stmt.executeQuery();
-        List<Cargo> cargos = new ArrayList<>();
-
-        // 🔁 Converte cada linha do resultado em um objeto Cargo
-        while (rs.next()) {
-            Cargo c = new Cargo();
-            c.setIdCargo(rs.getInt("idCargo"));
-            c.setNomeCargo(rs.getString("nomeCargo"));
-            cargos.add(c);
+            System.out.println("📦 Resultados encontrados: " + cargos.size());
+            return cargos;
+        } finally {
+            database.devolver(conn);
         }
-
-        rs.close();
-        stmt.close();
-
-        System.out.println("📦 Resultados encontrados: " + cargos.size());
-        return cargos;
     }
 }
@@ -0,0 +1,62 @@
+package dao;
+
+import database.MysqlDatabase;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+/**
+ * 🔢 Soma 1 à versão de uma tabela em {@code VersaoTabela} depois de cada
+ * comando que a altera (INSERT, UPDATE, DELETE ou um batch inteiro).
+ *
+ * 🧠 Notas de Aula:
+ * - Uma vez por <b>comando</b>, e não por linha (como faria um trigger
+ *   {@code FOR EACH ROW}): um lote de mil funcionários importados soma 1, e
+ *   não mil.
+ * - Roda depois do comando, já em autocommit: o bloqueio da linha do
+ *   contador dura só esse UPDATE, e não a transação de quem escreve.
+ * - Depois do comando (e não antes): quem lê o marcador e depois os dados
+ *   nunca guarda dados antigos com o marcador novo.
+ * - Alterações feitas fora do sistema não mudam o contador; recrie a cópia
+ *   local se o banco for alterado por outro caminho.
+ */
+final class ContadorVersoes {
+
+    /** 🏷️ true depois que a tabela VersaoTabela não foi encontrada */
+    private static volatile boolean ausente;
+
+    private ContadorVersoes() {
+    }
+
+    /**
+     * Soma 1 à versão da tabela.
+     *
+     * ⚠️ A alteração já foi gravada: uma falha aqui só é registrada no log
+     * (a cópia local demora mais para perceber a mudança).
+     *
+     * @param conn   conexão que fez a alteração
+     * @param tabela "Funcionario" ou "Cargo"
+     */
+    static void incrementar(Connection conn, String tabela) {
+        if (ausente) {
+            return;
+        }
+        try {
+            PreparedStatement stmt = conn.prepareStatement(
+                    "UPDATE VersaoTabela SET versao = versao + 1 WHERE tabela = ?;");
+            try {
+                stmt.setString(1, tabela);
+                stmt.executeUpdate();
+            } finally {
+                stmt.close();
+            }
+        } catch (SQLException e) {
+            if (MysqlDatabase.isTabelaInexistente(e)) {
+                ausente = true;
+                return;
+            }
+            System.err.println("⚠️ Falha ao atualizar a versão de " + tabela + ": " + e.getMessage());
+        }
+    }
+}
@@ -2,13 +2,21 @@ package dao;
 
 import org.mindrot.jbcrypt.BCrypt;
 
+import cache.RegistroCargos;
+import database.ConsultasEmAndamento;
 import database.MysqlDatabase;
 import model.Funcionario;
 import model.Cargo;
 
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
 
 /**
  * 💼 Classe responsável por realizar todas as operações no banco de dados
@@ -23,6 +31,12 @@ import java.util.List;
  *
  * ⚙️ Aqui ficam apenas comandos SQL (CRUD), sem regras de negócio.
  * Exemplo de regra de negócio: validação de e-mail único → Service.
+ *
+ * 🏊 Cada operação empresta uma conexão do pool ({@link MysqlDatabase}) e a
+ * devolve no {@code finally}.
+ *
+ * 🔐 As consultas de listagem <b>não leem a senha</b>: o hash só sai do banco
+ * em {@link #findParaLogin} e {@link #findSenha}.
  */
 public class FuncionarioDAO {
 
@@ -31,14 +45,62 @@ public class FuncionarioDAO {
      */
     private final MysqlDatabase database;
 
+    /**
+     * 🔗 Cria, para cada consulta, a função que resolve o {@link Cargo} pelo
+     * ID sem consultar a tabela Cargo (ex: cache de cargos). Se for null, as
+     * consultas usam JOIN.
+     */
+    private final Supplier<IntFunction<Cargo>> cargoResolver;
+
+    /**
+     * 🪶 Cargos canônicos: todos os funcionários de um cargo compartilham o
+     * mesmo objeto (em vez de um {@code new Cargo()} por linha).
+     */
+    private final RegistroCargos registroCargos;
+
+    /**
+     * 🏷️ true depois que a tabela VersaoTabela não foi encontrada: o
+     * marcador de alteração passa a usar CHECKSUM TABLE direto.
+     */
+    private volatile boolean semTabelaVersoes;
+
     /**
      * 🔧 Construtor com injeção de dependência.
      * 
      * @param databaseInstance instância que fornece conexões MySQL.
      */
     public FuncionarioDAO(MysqlDatabase databaseInstance) {
+        this(databaseInstance, null);
+    }
+
+    /**
+     * 🔧 Construtor com resolvedor de cargos.
+     * 
+     * 🧠 Com o resolvedor, as consultas leem apenas a tabela Funcionario e o
+     * cargo vem da memória (ex: {@code cargoService::resolvedorDeConsulta}).
+     * Um resolvedor novo é pedido a cada consulta, e pode guardar estado
+     * dela (ex: recarregar o cache no máximo uma vez).
+     * 
+     * @param databaseInstance instância que fornece conexões MySQL.
+     * @param cargoResolver    fábrica de funções idCargo → Cargo (pode ser null).
+     */
+    public FuncionarioDAO(MysqlDatabase databaseInstance, Supplier<IntFunction<Cargo>> cargoResolver) {
+        this(databaseInstance, cargoResolver, new RegistroCargos());
+    }
+
+    /**
+     * 🔧 Construtor completo.
+     * 
+     * @param databaseInstance instância que fornece conexões MySQL.
+     * @param cargoResolver    fábrica de funções idCargo → Cargo (pode ser null).
+     * @param registroCargos   registro canônico compartilhado com o CargoDAO.
+     */
+    public FuncionarioDAO(MysqlDatabase databaseInstance, Supplier<IntFunction<Cargo>> cargoResolver,
+            RegistroCargos registroCargos) {
         System.out.println(">>>> FuncionarioDAO.constructor()");
         this.database = databaseInstance;
+        this.cargoResolver = cargoResolver;
+        this.registroCargos = registroCargos;
     }
 
     // =========================
@@ -65,34 +127,150 @@ public class FuncionarioDAO {
         String SQL = " INSERT INTO Funcionario (nomeFuncionario, email, senha, recebeValeTransporte, Cargo_idCargo) VALUES (?, ?, ?, ?, ?);";
 
         Connection conn = database.getConnection();
-        PreparedStatement stmt = conn.prepareStatement(SQL, Statement.RETURN_GENERATED_KEYS);
+        try {
+            PreparedStatement stmt = conn.prepareStatement(SQL, Statement.RETURN_GENERATED_KEYS);
+
+            stmt.setString(1, objFuncionario.getNomeFuncionario());
+            stmt.setString(2, objFuncionario.getEmail());
+            stmt.setString(3, hashedPassword); // ⚠️ Nunca salve senhas em texto puro!
+            stmt.setBoolean(4, objFuncionario.isRecebeValeTransporte());
+            stmt.setInt(5, objFuncionario.getCargo().getIdCargo());
+
+            // ⚠️ Email duplicado é recusado pelo índice email_UNIQUE (erro 1062)
+            int affectedRows;
+            try {
+                affectedRows = stmt.executeUpdate();
+            } catch (SQLException e) {
+                stmt.close();
+                throw e;
+            }
+            if (affectedRows == 0) {
+                stmt.close();
+                throw new SQLException("❌ Falha ao inserir funcionário (nenhuma linha afetada).");
+            }
+            ContadorVersoes.incrementar(conn, "Funcionario");
+
+            // Obtém o ID gerado
+            ResultSet rs = stmt.getGeneratedKeys();
+            int id = -1;
+            if (rs.next())
+                id = rs.getInt(1);
+
+            rs.close();
+            stmt.close();
 
-        stmt.setString(1, objFuncionario.getNomeFuncionario());
-        stmt.setString(2, objFuncionario.getEmail());
-        stmt.setString(3, hashedPassword); // ⚠️ Nunca salve senhas em texto puro!
-        stmt.setBoolean(4, objFuncionario.isRecebeValeTransporte());
-        stmt.setInt(5, objFuncionario.getCargo().getIdCargo());
+            if (id == -1)
+                throw new SQLException("❌ Falha ao obter ID do funcionário inserido.");
 
-        int affectedRows = stmt.executeUpdate();
-        if (affectedRows == 0) {
-            stmt.close();
-            throw new SQLException("❌ Falha ao inserir funcionário (nenhuma linha afetada).");
+            System.out.println("✅ Funcionário inserido com ID: " + id);
+            return id;
+        } finally {
+            database.devolver(conn);
         }
+    }
 
-        // Obtém o ID gerado
-        ResultSet rs = stmt.getGeneratedKeys();
-        int id = -1;
-        if (rs.next())
-            id = rs.getInt(1);
+    // =========================
+    // 📦 CREATE EM LOTE (importação)
+    // =========================
+    /**
+     * Insere vários funcionários com um único batch JDBC.
+     *
+     * ⚠️ Diferente de {@link #create}, a senha <b>não</b> é criptografada
+     * aqui: os objetos já devem trazer o hash BCrypt (a importação
+     * criptografa em paralelo, antes de chegar ao banco).
+     *
+     * ⚙️ Com {@code rewriteBatchedStatements} o driver envia o lote como um
+     * só {@code INSERT ... VALUES (...), (...)}: um email duplicado recusa o
+     * comando inteiro (erro 1062) e nenhuma linha do lote é gravada.
+     *
+     * @param funcionarios funcionários com a senha já criptografada.
+     * @return IDs gerados, na mesma ordem da lista.
+     * @throws SQLException se ocorrer erro ao executar o comando SQL.
+     */
+    public int[] createBatch(List<Funcionario> funcionarios) throws SQLException {
+        System.out.println(">>>> FuncionarioDAO.createBatch() - " + funcionarios.size() + " funcionário(s)");
+        String SQL = " INSERT INTO Funcionario (nomeFuncionario, email, senha, recebeValeTransporte, Cargo_idCargo) VALUES (?, ?, ?, ?, ?);";
 
-        rs.close();
-        stmt.close();
+        Connection conn = database.getConnection();
+        try {
+            PreparedStatement stmt = conn.prepareStatement(SQL, Statement.RETURN_GENERATED_KEYS);
+
+            try {
+                for (Funcionario f : funcionarios) {
+                    stmt.setString(1, f.getNomeFuncionario());
+                    stmt.setString(2, f.getEmail());
+                    stmt.setString(3, f.getSenha());
+                    stmt.setBoolean(4, f.isRecebeValeTransporte());
+                    stmt.setInt(5, f.getCargo().getIdCargo());
+                    stmt.addBatch();
+                }
+                stmt.executeBatch();
+                ContadorVersoes.incrementar(conn, "Funcionario"); // uma vez por lote
+
+                // Obtém os IDs gerados (na ordem das linhas do batch)
+                int[] ids = new int[funcionarios.size()];
+                int n = 0;
+                ResultSet rs = stmt.getGeneratedKeys();
+                while (rs.next() && n < ids.length) {
+                    ids[n++] = rs.getInt(1);
+                }
+                rs.close();
+
+                if (n != ids.length)
+                    throw new SQLException("❌ Falha ao obter os IDs dos funcionários inseridos.");
+                return ids;
+            } finally {
+                stmt.close();
+            }
+        } finally {
+            database.devolver(conn);
+        }
+    }
+
+    // =========================
+    // 📧 EMAILS JÁ CADASTRADOS
+    // =========================
+    /**
+     * Verifica, com uma única consulta, quais emails da lista já estão
+     * cadastrados.
+     *
+     * @param emails emails a verificar.
+     * @return emails encontrados, em minúsculas.
+     * @throws SQLException se ocorrer erro na consulta.
+     */
+    public Set<String> emailsExistentes(List<String> emails) throws SQLException {
+        System.out.println(">>>> FuncionarioDAO.emailsExistentes() - " + emails.size() + " email(s)");
+        Set<String> encontrados = new HashSet<>();
+        if (emails.isEmpty()) {
+            return encontrados;
+        }
 
-        if (id == -1)
-            throw new SQLException("❌ Falha ao obter ID do funcionário inserido.");
+        StringBuilder SQL = new StringBuilder("SELECT email FROM Funcionario WHERE email IN (");
+        for (int i = 0; i < emails.size(); i++) {
+            SQL.append(i == 0 ? "?" : ", ?");
+        }
+        SQL.append(");");
 
-        System.out.println("✅ Funcionário inserido com ID: " + id);
-        return id;
+        Connection conn = database.getConnection();
+        try {
+            PreparedStatement stmt = conn.prepareStatement(SQL.toString());
+            ConsultasEmAndamento.registrar(stmt); // 🛑 cancelável (ver BackgroundTaskRunner)
+            try {
+                for (int i = 0; i < emails.size(); i++) {
+                    stmt.setString(i + 1, emails.get(i));
+                }
+                ResultSet rs = stmt.executeQuery();
+                while (rs.next()) {
+                    encontrados.add(rs.getString(1).toLowerCase(Locale.ROOT));
+                }
+                rs.close();
+            } finally {
+                stmt.close();
+            }
+            return encontrados;
+        } finally {
+            database.devolver(conn);
+        }
     }
 
     // =========================
@@ -110,14 +288,21 @@ public class FuncionarioDAO {
         String SQL = "DELETE FROM Funcionario WHERE idFuncionario = ?;";
 
         Connection conn = database.getConnection();
-        PreparedStatement stmt = conn.prepareStatement(SQL);
-        stmt.setInt(1, objFuncionario.getIdFuncionario());
+        try {
+            PreparedStatement stmt = conn.prepareStatement(SQL);
+            stmt.setInt(1, objFuncionario.getIdFuncionario());
 
-        int affectedRows = stmt.executeUpdate();
-        stmt.close();
-
-        System.out.println(affectedRows > 0 ? "✅ Funcionário excluído." : "⚠️ Nenhum funcionário encontrado.");
-        return affectedRows > 0;
+            int affectedRows = stmt.executeUpdate();
+            stmt.close();
+            if (affectedRows > 0) {
+                ContadorVersoes.incrementar(conn, "Funcionario");
+            }
+
+            System.out.println(affectedRows > 0 ? "✅ Funcionário excluído." : "⚠️ Nenhum funcionário encontrado.");
+            return affectedRows > 0;
+        } finally {
+            database.devolver(conn);
+        }
     }
 
     // =========================
@@ -142,20 +327,31 @@ public class FuncionarioDAO {
                    + "WHERE idFuncionario = ?;";
 
         Connection conn = database.getConnection();
-        PreparedStatement stmt = conn.prepareStatement(SQL);
-
-        stmt.setString(1, objFuncionario.getNomeFuncionario());
-        stmt.setString(2, objFuncionario.getEmail());
-        stmt.setString(3, objFuncionario.getSenha());
-        stmt.setBoolean(4, objFuncionario.isRecebeValeTransporte());
-        stmt.setInt(5, objFuncionario.getCargo().getIdCargo());
-        stmt.setInt(6, objFuncionario.getIdFuncionario());
-
-        int affectedRows = stmt.executeUpdate();
-        stmt.close();
-
-        System.out.println(affectedRows > 0 ? "✅ Funcionário atualizado." : "⚠️ Funcionário não encontrado.");
-        return affectedRows > 0;
+        try {
+            PreparedStatement stmt = conn.prepareStatement(SQL);
+
+            stmt.setString(1, objFuncionario.getNomeFuncionario());
+            stmt.setString(2, objFuncionario.getEmail());
+            stmt.setString(3, objFuncionario.getSenha());
+            stmt.setBoolean(4, objFuncionario.isRecebeValeTransporte());
+            stmt.setInt(5, objFuncionario.getCargo().getIdCargo());
+            stmt.setInt(6, objFuncionario.getIdFuncionario());
+
+            int affectedRows;
+            try {
+                affectedRows = stmt.executeUpdate();
+            } finally {
+                stmt.close();
+            }
+            if (affectedRows > 0) {
+                ContadorVersoes.incrementar(conn, "Funcionario");
+            }
+
+            System.out.println(affectedRows > 0 ? "✅ Funcionário atualizado." : "⚠️ Funcionário não encontrado.");
+            return affectedRows > 0;
+        } finally {
+            database.devolver(conn);
+        }
     }
 
     // =========================
@@ -164,7 +360,8 @@ public class FuncionarioDAO {
     /**
      * Retorna todos os funcionários cadastrados no banco.
      *
-     * 🧩 Inclui o nome e o ID do cargo, utilizando JOIN.
+     * 🧩 Inclui o nome e o ID do cargo, utilizando JOIN (ou o resolvedor de
+     * cargos, quando configurado).
      *
      * @return lista de funcionários completos.
      * @throws SQLException se ocorrer erro na consulta.
@@ -172,39 +369,404 @@ public class FuncionarioDAO {
     public List<Funcionario> findAll() throws SQLException {
         System.out.println(">>>> FuncionarioDAO.findAll()");
 
-        String SQL = 
-            "SELECT f.*, c.idCargo, c.nomeCargo " +
-            "FROM Funcionario f " +
-            "JOIN Cargo c ON f.Cargo_idCargo = c.idCargo;";
+        String SQL = selectBase() + ";";
+
+        Connection conn = database.getConnection();
+        try {
+            PreparedStatement stmt = conn.prepareStatement(SQL);
+            ConsultasEmAndamento.registrar(stmt); // 🛑 cancelável (ver BackgroundTaskRunner)
+            ResultSet rs = stmt.executeQuery();
+
+            List<Funcionario> funcionarios = new ArrayList<>();
+            IntFunction<Cargo> resolvedor = novoResolvedor();
+
+            while (rs.next()) {
+                funcionarios.add(montarFuncionario(rs, resolvedor));
+            }
+
+            rs.close();
+            stmt.close();
+
+            System.out.println("📦 Total de funcionários encontrados: " + funcionarios.size());
+            return funcionarios;
+        } finally {
+            database.devolver(conn);
+        }
+    }
+
+    // =========================
+    // 🔢 COUNT
+    // =========================
+    /**
+     * Conta quantos funcionários existem no banco.
+     *
+     * @return total de funcionários.
+     * @throws SQLException se ocorrer erro na consulta.
+     */
+    public int count() throws SQLException {
+        System.out.println(">>>> FuncionarioDAO.count()");
+        String SQL = "SELECT COUNT(*) FROM Funcionario;";
+
+        Connection conn = database.getConnection();
+        try {
+            PreparedStatement stmt = conn.prepareStatement(SQL);
+            ConsultasEmAndamento.registrar(stmt); // 🛑 cancelável (ver BackgroundTaskRunner)
+            ResultSet rs = stmt.executeQuery();
+
+            int total = rs.next() ? rs.getInt(1) : 0;
+
+            rs.close();
+            stmt.close();
+            return total;
+        } finally {
+            database.devolver(conn);
+        }
+    }
+
+    // =========================
+    // 📄 FIND PAGE
+    // =========================
+    /**
+     * Retorna uma página de funcionários, ordenada pelo ID.
+     *
+     * 🧠 A subconsulta percorre só o índice da chave primária para achar os
+     * IDs da página ("deferred join"); apenas essas linhas são lidas por
+     * completo, mesmo em deslocamentos grandes.
+     *
+     * @param offset posição da primeira linha (começa em 0).
+     * @param limit  quantidade máxima de linhas.
+     * @return funcionários da página.
+     * @throws SQLException se ocorrer erro na consulta.
+     */
+    public List<Funcionario> findPage(int offset, int limit) throws SQLException {
+        System.out.println(">>>> FuncionarioDAO.findPage() - offset: " + offset + ", limit: " + limit);
+
+        String SQL = selectBase(
+                "(SELECT idFuncionario FROM Funcionario ORDER BY idFuncionario LIMIT ?, ?) p " +
+                "JOIN Funcionario f ON f.idFuncionario = p.idFuncionario") +
+                " ORDER BY f.idFuncionario;";
+
+        Connection conn = database.getConnection();
+        try {
+            PreparedStatement stmt = conn.prepareStatement(SQL);
+            ConsultasEmAndamento.registrar(stmt); // 🛑 cancelável (ver BackgroundTaskRunner)
+            stmt.setInt(1, offset);
+            stmt.setInt(2, limit);
+            ResultSet rs = stmt.executeQuery();
+
+            List<Funcionario> funcionarios = new ArrayList<>(limit);
+            IntFunction<Cargo> resolvedor = novoResolvedor();
+            while (rs.next()) {
+                funcionarios.add(montarFuncionario(rs, resolvedor));
+            }
+
+            rs.close();
+            stmt.close();
+            return funcionarios;
+        } finally {
+            database.devolver(conn);
+        }
+    }
+
+    // =========================
+    // 🔍 SEARCH (nome ou email)
+    // =========================
+    /**
+     * Pesquisa funcionários cujo nome ou email contenha o termo informado.
+     *
+     * 🧠 O resultado é limitado para que a pesquisa enquanto se digita seja
+     * sempre rápida, mesmo com termos muito genéricos.
+     *
+     * @param termo  trecho procurado (sem diferenciar maiúsculas).
+     * @param limite quantidade máxima de resultados.
+     * @return funcionários encontrados, ordenados pelo ID.
+     * @throws SQLException se ocorrer erro na consulta.
+     */
+    public List<Funcionario> search(String termo, int limite) throws SQLException {
+        System.out.println(">>>> FuncionarioDAO.search() - Termo: " + termo + ", Limite: " + limite);
+
+        String SQL = selectBase() +
+                " WHERE f.nomeFuncionario LIKE ? OR f.email LIKE ?" +
+                " ORDER BY f.idFuncionario LIMIT ?;";
+
+        // 🛡️ Escapa os curingas do LIKE digitados pelo usuário
+        String padrao = "%" + termo.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+
+        Connection conn = database.getConnection();
+        try {
+            PreparedStatement stmt = conn.prepareStatement(SQL);
+            ConsultasEmAndamento.registrar(stmt); // 🛑 cancelável (ver BackgroundTaskRunner)
+            stmt.setString(1, padrao);
+            stmt.setString(2, padrao);
+            stmt.setInt(3, limite);
+            ResultSet rs = stmt.executeQuery();
+
+            List<Funcionario> funcionarios = new ArrayList<>();
+            IntFunction<Cargo> resolvedor = novoResolvedor();
+            while (rs.next()) {
+                funcionarios.add(montarFuncionario(rs, resolvedor));
+            }
+
+            rs.close();
+            stmt.close();
+
+            System.out.println("📦 Funcionários encontrados: " + funcionarios.size());
+            return funcionarios;
+        } finally {
+            database.devolver(conn);
+        }
+    }
+
+    // =========================
+    // 📧 STREAM DE EMAILS
+    // =========================
+    /**
+     * Percorre todos os emails cadastrados sem montar uma lista em memória.
+     *
+     * ⚙️ Usa cursor no servidor ({@code setFetchSize}) para buscar as linhas em
+     * lotes, mantendo o consumo de memória constante.
+     *
+     * 🏊 A conexão fica emprestada durante toda a varredura; as outras
+     * operações seguem usando as demais conexões do pool.
+     *
+     * @param consumer recebe cada email encontrado.
+     * @throws SQLException se ocorrer erro na consulta.
+     */
+    public void forEachEmail(Consumer<String> consumer) throws SQLException {
+        System.out.println(">>>> FuncionarioDAO.forEachEmail()");
+        String SQL = "SELECT email FROM Funcionario;";
+
+        Connection conn = database.getConnection();
+        try {
+            PreparedStatement stmt = conn.prepareStatement(SQL, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ConsultasEmAndamento.registrar(stmt); // 🛑 cancelável (ver BackgroundTaskRunner)
+            stmt.setFetchSize(MysqlDatabase.STREAM_FETCH_SIZE);
+
+            try {
+                ResultSet rs = stmt.executeQuery();
+                while (rs.next()) {
+                    consumer.accept(rs.getString(1));
+                }
+                rs.close();
+            } finally {
+                stmt.close();
+            }
+        } finally {
+            database.devolver(conn);
+        }
+    }
+
+    // =========================
+    // 📊 STREAM DE LINHAS (colunas)
+    // =========================
+    /**
+     * 🧾 Recebe as colunas de uma linha de funcionário, sem criar objetos
+     * {@link Funcionario} nem {@link Cargo}.
+     */
+    @FunctionalInterface
+    public interface VisitanteLinha {
+        void visitar(int idFuncionario, String nomeFuncionario, String email,
+                boolean recebeValeTransporte, int idCargo);
+    }
+
+    /**
+     * Percorre todos os funcionários (ordenados pelo ID) coluna a coluna.
+     *
+     * ⚙️ Mesmo cursor em lotes de {@link #forEachEmail}; a senha não é lida.
+     * Usado para montar snapshots de análise com milhões de linhas.
+     *
+     * @param visitante recebe cada linha.
+     * @throws SQLException se ocorrer erro na consulta.
+     */
+    public void forEachLinha(VisitanteLinha visitante) throws SQLException {
+        System.out.println(">>>> FuncionarioDAO.forEachLinha()");
+        String SQL = "SELECT idFuncionario, nomeFuncionario, email, recebeValeTransporte, Cargo_idCargo " +
+                     "FROM Funcionario ORDER BY idFuncionario;";
 
         Connection conn = database.getConnection();
-        PreparedStatement stmt = conn.prepareStatement(SQL);
-        ResultSet rs = stmt.executeQuery();
-
-        List<Funcionario> funcionarios = new ArrayList<>();
-
-        while (rs.next()) {
-            Funcionario f = new Funcionario();
-            f.setIdFuncionario(rs.getInt("idFuncionario"));
-            f.setNomeFuncionario(rs.getString("nomeFuncionario"));
-            f.setEmail(rs.getString("email"));
-            f.setSenha(rs.getString("senha"));
-            f.setRecebeValeTransporte(rs.getBoolean("recebeValeTransporte"));
-
-            // 🔗 Associação com Cargo
-            Cargo c = new Cargo();
-            c.setIdCargo(rs.getInt("idCargo"));
-            c.setNomeCargo(rs.getString("nomeCargo"));
-            f.setCargo(c);
-
-            funcionarios.add(f);
+        try {
+            PreparedStatement stmt = conn.prepareStatement(SQL, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ConsultasEmAndamento.registrar(stmt); // 🛑 cancelável (ver BackgroundTaskRunner)
+            stmt.setFetchSize(MysqlDatabase.STREAM_FETCH_SIZE);
+
+            try {
+                ResultSet rs = stmt.executeQuery();
+                while (rs.next()) {
+                    visitante.visitar(rs.getInt(1), rs.getString(2), rs.getString(3), rs.getBoolean(4), rs.getInt(5));
+                }
+                rs.close();
+            } finally {
+                stmt.close();
+            }
+        } finally {
+            database.devolver(conn);
         }
+    }
 
-        rs.close();
-        stmt.close();
+    // =========================
+    // 📤 STREAM PARA EXPORTAÇÃO (Funcionario JOIN Cargo)
+    // =========================
+    /**
+     * 🧾 Recebe uma linha de funcionário com o nome do cargo.
+     */
+    @FunctionalInterface
+    public interface VisitanteExportacao {
+        /** @return false para interromper a varredura (ex: exportação cancelada) */
+        boolean visitar(int idFuncionario, String nomeFuncionario, String email,
+                boolean recebeValeTransporte, int idCargo, String nomeCargo);
+    }
 
-        System.out.println("📦 Total de funcionários encontrados: " + funcionarios.size());
-        return funcionarios;
+    /**
+     * Percorre todos os funcionários (ordenados pelo ID) já com o nome do
+     * cargo, sem montar objetos {@link Funcionario}.
+     *
+     * ⚙️ Mesmo cursor em lotes de {@link #forEachEmail}: a memória não cresce
+     * com o tamanho da tabela. A senha não é lida.
+     *
+     * @param visitante recebe cada linha (e pode interromper a varredura).
+     * @throws SQLException se ocorrer erro na consulta.
+     */
+    public void forEachComCargo(VisitanteExportacao visitante) throws SQLException {
+        System.out.println(">>>> FuncionarioDAO.forEachComCargo()");
+        String SQL = "SELECT f.idFuncionario, f.nomeFuncionario, f.email, f.recebeValeTransporte, " +
+                     "c.idCargo, c.nomeCargo " +
+                     "FROM Funcionario f JOIN Cargo c ON f.Cargo_idCargo = c.idCargo " +
+                     "ORDER BY f.idFuncionario;";
+
+        Connection conn = database.getConnection();
+        try {
+            PreparedStatement stmt = conn.prepareStatement(SQL, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ConsultasEmAndamento.registrar(stmt); // 🛑 cancelável (ver BackgroundTaskRunner)
+            stmt.setFetchSize(MysqlDatabase.STREAM_FETCH_SIZE);
+
+            try {
+                ResultSet rs = stmt.executeQuery();
+                while (rs.next()) {
+                    if (!visitante.visitar(rs.getInt(1), rs.getString(2), rs.getString(3), rs.getBoolean(4),
+                            rs.getInt(5), rs.getString(6))) {
+                        break;
+                    }
+                }
+                rs.close();
+            } finally {
+                stmt.close();
+            }
+        } finally {
+            database.devolver(conn);
+        }
+    }
+
+    // =========================
+    // 🏷️ MARCADOR DE ALTERAÇÃO
+    // =========================
+    /**
+     * Calcula um marcador que muda sempre que o conteúdo das tabelas
+     * Funcionario ou Cargo muda.
+     *
+     * ⚙️ Lê os contadores da tabela {@code VersaoTabela}, incrementados pelos
+     * DAOs uma vez por comando que altera a tabela ({@link ContadorVersoes}): uma leitura
+     * pela chave primária, O(1), qualquer que seja o tamanho das tabelas.
+     * Usado para saber se uma cópia local dos dados ainda está em dia.
+     *
+     * 🐢 Em bancos criados antes dessa tabela, usa {@code CHECKSUM TABLE}
+     * (correto, mas percorre as tabelas inteiras).
+     *
+     * @return marcador no formato {@code "Funcionario=<v>;Cargo=<v>"}.
+     * @throws SQLException se ocorrer erro na consulta.
+     */
+    public String marcadorAlteracao() throws SQLException {
+        System.out.println(">>>> FuncionarioDAO.marcadorAlteracao()");
+        if (!semTabelaVersoes) {
+            try {
+                String marcador = marcadorPorVersao();
+                if (marcador != null) {
+                    return marcador;
+                }
+            } catch (SQLException e) {
+                if (!MysqlDatabase.isTabelaInexistente(e)) {
+                    throw e;
+                }
+            }
+            System.out.println("⚠️ Tabela VersaoTabela ausente: marcador via CHECKSUM TABLE (lento).");
+            semTabelaVersoes = true;
+        }
+        return marcadorPorChecksum();
+    }
+
+    /**
+     * 🔢 Marcador pelos contadores da tabela VersaoTabela.
+     *
+     * 🧠 A data de criação de cada contador entra no marcador: recriar o
+     * banco zera os contadores, mas não repete um marcador antigo.
+     *
+     * @return marcador, ou null se faltar o contador de alguma tabela
+     */
+    private String marcadorPorVersao() throws SQLException {
+        String SQL = "SELECT tabela, versao, criadoEm FROM VersaoTabela " +
+                     "WHERE tabela IN ('Funcionario', 'Cargo') ORDER BY tabela DESC;";
+
+        Connection conn = database.getConnection();
+        try {
+            PreparedStatement stmt = conn.prepareStatement(SQL);
+            ConsultasEmAndamento.registrar(stmt); // 🛑 cancelável (ver BackgroundTaskRunner)
+            try {
+                ResultSet rs = stmt.executeQuery();
+                try {
+                    StringBuilder marcador = new StringBuilder();
+                    int tabelas = 0;
+                    while (rs.next()) {
+                        if (marcador.length() > 0) {
+                            marcador.append(';');
+                        }
+                        marcador.append(rs.getString(1)).append('=').append(rs.getLong(2))
+                                .append('@').append(rs.getTimestamp(3).getTime());
+                        tabelas++;
+                    }
+                    return tabelas == 2 ? marcador.toString() : null;
+                } finally {
+                    rs.close();
+                }
+            } finally {
+                stmt.close();
+            }
+        } finally {
+            database.devolver(conn);
+        }
+    }
+
+    /**
+     * 🐢 Marcador por {@code CHECKSUM TABLE} (bancos sem VersaoTabela).
+     */
+    private String marcadorPorChecksum() throws SQLException {
+        String SQL = "CHECKSUM TABLE Funcionario, Cargo;";
+
+        Connection conn = database.getConnection();
+        try {
+            PreparedStatement stmt = conn.prepareStatement(SQL);
+            ConsultasEmAndamento.registrar(stmt); // 🛑 cancelável (ver BackgroundTaskRunner)
+            try {
+                ResultSet rs = stmt.executeQuery();
+                try {
+                    StringBuilder marcador = new StringBuilder();
+                    while (rs.next()) {
+                        String tabela = rs.getString(1);
+                        // 🧠 O nome vem qualificado pelo banco (ex: "gestao_rh.Funcionario")
+                        tabela = tabela.substring(tabela.lastIndexOf('.') + 1);
+                        if (marcador.length() > 0) {
+                            marcador.append(';');
+                        }
+                        marcador.append(tabela).append('=').append(rs.getString(2));
+                    }
+                    return marcador.toString();
+                } finally {
+                    rs.close();
+                }
+            } finally {
+                stmt.close();
+            }
+        } finally {
+            database.devolver(conn);
+        }
     }
 
     // =========================
@@ -222,6 +784,71 @@ public class FuncionarioDAO {
         return result.isEmpty() ? null : result.get(0);
     }
 
+    // =========================
+    // 🔐 SENHA (hash)
+    // =========================
+    /**
+     * Lê só o hash da senha de um funcionário (sem montar o objeto e sem
+     * passar por cache).
+     *
+     * @param idFuncionario identificador único.
+     * @return hash BCrypt, ou null se o funcionário não existir.
+     * @throws SQLException se houver erro na execução da query.
+     */
+    public String findSenha(int idFuncionario) throws SQLException {
+        System.out.println(">>>> FuncionarioDAO.findSenha()");
+        String SQL = "SELECT senha FROM Funcionario WHERE idFuncionario = ?;";
+
+        Connection conn = database.getConnection();
+        try {
+            PreparedStatement stmt = conn.prepareStatement(SQL);
+            try {
+                stmt.setInt(1, idFuncionario);
+                ResultSet rs = stmt.executeQuery();
+                try {
+                    return rs.next() ? rs.getString(1) : null;
+                } finally {
+                    rs.close();
+                }
+            } finally {
+                stmt.close();
+            }
+        } finally {
+            database.devolver(conn);
+        }
+    }
+
+    /**
+     * Busca o funcionário pelo email <b>com</b> o hash da senha, para
+     * conferir o login (sem passar por cache).
+     *
+     * @param email email informado no login.
+     * @return funcionário com a senha, ou null se o email não existir.
+     * @throws SQLException se houver erro na execução da query.
+     */
+    public Funcionario findParaLogin(String email) throws SQLException {
+        System.out.println(">>>> FuncionarioDAO.findParaLogin()");
+        String SQL = selectBase("Funcionario f", true) + " WHERE f.email = ?;";
+
+        Connection conn = database.getConnection();
+        try {
+            PreparedStatement stmt = conn.prepareStatement(SQL);
+            try {
+                stmt.setString(1, email);
+                ResultSet rs = stmt.executeQuery();
+                try {
+                    return rs.next() ? montarFuncionario(rs, novoResolvedor(), true) : null;
+                } finally {
+                    rs.close();
+                }
+            } finally {
+                stmt.close();
+            }
+        } finally {
+            database.devolver(conn);
+        }
+    }
+
     // =========================
     // 🔎 FIND BY FIELD
     // =========================
@@ -247,50 +874,120 @@ public class FuncionarioDAO {
             throw new SQLException("⚠️ Campo inválido para busca: " + field);
         }
 
-        String SQL = 
-                "SELECT f.*, c.idCargo, c.nomeCargo " +
-                "FROM Funcionario f " +
-                "JOIN Cargo c ON f.Cargo_idCargo = c.idCargo " +
-                "WHERE f." + field + " = ?;";
+        String SQL = selectBase() + " WHERE f." + field + " = ?;";
 
         Connection conn = database.getConnection();
-        PreparedStatement stmt = conn.prepareStatement(SQL);
-
-        // 🔧 Define o tipo de parâmetro dinamicamente
-        if (value instanceof Integer) {
-            stmt.setInt(1, (Integer) value);
-        } else if (value instanceof String) {
-            stmt.setString(1, (String) value);
-        } else if (value instanceof Boolean) {
-            stmt.setBoolean(1, (Boolean) value);
-        } else {
+        try {
+            PreparedStatement stmt = conn.prepareStatement(SQL);
+            ConsultasEmAndamento.registrar(stmt); // 🛑 cancelável (ver BackgroundTaskRunner)
+
+            // 🔧 Define o tipo de parâmetro dinamicamente
+            if (value instanceof Integer) {
+                stmt.setInt(1, (Integer) value);
+            } else if (value instanceof String) {
+                stmt.setString(1, (String) value);
+            } else if (value instanceof Boolean) {
+                stmt.setBoolean(1, (Boolean) value);
+            } else {
+                stmt.close();
+                throw new SQLException("⚠️ Tipo de valor inválido para busca.");
+            }
+
+            ResultSet rs = stmt.executeQuery();
+            List<Funcionario> funcionarios = new ArrayList<>();
+            IntFunction<Cargo> resolvedor = novoResolvedor();
+
+            while (rs.next()) {
+                funcionarios.add(montarFuncionario(rs, resolvedor));
+            }
+
+            rs.close();
             stmt.close();
-            throw new SQLException("⚠️ Tipo de valor inválido para busca.");
-        }
 
-        ResultSet rs = stmt.executeQuery();
-        List<Funcionario> funcionarios = new ArrayList<>();
+            System.out.println("📦 Funcionários encontrados: " + funcionarios.size());
+            return funcionarios;
+        } finally {
+            database.devolver(conn);
+        }
+    }
 
-        while (rs.next()) {
-            Funcionario f = new Funcionario();
-            f.setIdFuncionario(rs.getInt("idFuncionario"));
-            f.setNomeFuncionario(rs.getString("nomeFuncionario"));
-            f.setEmail(rs.getString("email"));
-            f.setSenha(rs.getString("senha"));
-            f.setRecebeValeTransporte(rs.getBoolean("recebeValeTransporte"));
+    // =========================
+    // 🧱 MONTAGEM DAS LINHAS
+    // =========================
+    /**
+     * Monta o início do SELECT de funcionários.
+     *
+     * 🧠 Com resolvedor de cargos não é preciso o JOIN: o nome do cargo vem
+     * da memória.
+     */
+    private String selectBase() {
+        return selectBase("Funcionario f");
+    }
 
-            Cargo c = new Cargo();
-            c.setIdCargo(rs.getInt("idCargo"));
-            c.setNomeCargo(rs.getString("nomeCargo"));
-            f.setCargo(c);
+    /**
+     * Monta o início do SELECT a partir de uma origem que expõe o alias {@code f}.
+     */
+    private String selectBase(String origem) {
+        return selectBase(origem, false);
+    }
 
-            funcionarios.add(f);
+    /**
+     * Monta o início do SELECT; a coluna senha só é lida se pedida.
+     */
+    private String selectBase(String origem, boolean comSenha) {
+        String colunas = "f.idFuncionario, f.nomeFuncionario, f.email, f.recebeValeTransporte, f.Cargo_idCargo"
+                + (comSenha ? ", f.senha" : "");
+        if (cargoResolver != null) {
+            return "SELECT " + colunas + " FROM " + origem;
         }
+        return "SELECT " + colunas + ", c.idCargo, c.nomeCargo " +
+               "FROM " + origem + " " +
+               "JOIN Cargo c ON f.Cargo_idCargo = c.idCargo";
+    }
+
+    /**
+     * Resolvedor de cargos de uma consulta (null = a consulta usa JOIN).
+     */
+    private IntFunction<Cargo> novoResolvedor() {
+        return cargoResolver != null ? cargoResolver.get() : null;
+    }
+
+    /**
+     * Converte a linha atual do {@link ResultSet} em um {@link Funcionario}.
+     *
+     * @param resolvedor resolvedor da consulta (null = nome do cargo veio do JOIN)
+     */
+    private Funcionario montarFuncionario(ResultSet rs, IntFunction<Cargo> resolvedor) throws SQLException {
+        return montarFuncionario(rs, resolvedor, false);
+    }
 
-        rs.close();
-        stmt.close();
+    /**
+     * Converte a linha atual; {@code comSenha} só quando o SELECT leu a senha.
+     */
+    private Funcionario montarFuncionario(ResultSet rs, IntFunction<Cargo> resolvedor, boolean comSenha)
+            throws SQLException {
+        // 🔗 Associação com Cargo (🪶 o mesmo objeto para todas as linhas do cargo)
+        int idCargo = rs.getInt("Cargo_idCargo");
+        Cargo c;
+        if (resolvedor == null) {
+            c = registroCargos.canonico(idCargo, rs.getString("nomeCargo"));
+        } else {
+            c = resolvedor.apply(idCargo);
+            if (c == null) {
+                c = registroCargos.get(idCargo);
+            }
+            if (c == null) {
+                c = Cargo.doBanco(idCargo, null); // cargo desconhecido: só o ID
+            }
+        }
 
-        System.out.println("📦 Funcionários encontrados: " + funcionarios.size());
-        return funcionarios;
+        // 🗄️ Caminho confiável: os dados já foram validados quando foram gravados
+        return Funcionario.doBanco(
+                rs.getInt("idFuncionario"),
+                rs.getString("nomeFuncionario"),
+                rs.getString("email"),
+                comSenha ? rs.getString("senha") : null,
+                rs.getBoolean("recebeValeTransporte"),
+                c);
     }
 }
@@ -0,0 +1,75 @@
+package database;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 🛑 Classe: ConsultasEmAndamento
+ *
+ * 📘 Guarda a consulta JDBC que cada thread está executando, para que ela
+ * possa ser <b>cancelada no servidor</b> quando o resultado deixar de
+ * interessar (ex: uma pesquisa nova substituiu a anterior).
+ *
+ * 🧠 Notas de Aula:
+ * <ul>
+ * <li>Interromper a thread ({@code SwingWorker.cancel(true)}) não adianta:
+ * uma chamada JDBC parada na leitura do socket ignora a interrupção, e a
+ * consulta velha continua ocupando a conexão e o banco</li>
+ * <li>{@link Statement#cancel()} pede ao MySQL que pare a consulta
+ * ({@code KILL QUERY}); o driver faz isso por outra conexão, por isso é
+ * chamado fora da EDT</li>
+ * <li>O DAO registra só as <b>consultas</b> (SELECT): uma gravação não é
+ * interrompida no meio</li>
+ * <li>O registro é limpo quando a conexão volta ao pool
+ * ({@link MysqlDatabase#devolver}), antes de outra thread poder usá-la</li>
+ * </ul>
+ */
+public final class ConsultasEmAndamento {
+
+    // 🗂️ Consulta em execução de cada thread
+    private static final Map<Thread, Statement> EM_ANDAMENTO = new ConcurrentHashMap<>();
+
+    private ConsultasEmAndamento() {
+    }
+
+    /**
+     * 📝 Registra a consulta que a thread atual vai executar.
+     */
+    public static void registrar(Statement stmt) {
+        EM_ANDAMENTO.put(Thread.currentThread(), stmt);
+    }
+
+    /**
+     * ✅ A thread atual terminou a sua consulta.
+     */
+    public static void concluir() {
+        EM_ANDAMENTO.remove(Thread.currentThread());
+    }
+
+    /**
+     * 🛑 Cancela, em segundo plano, a consulta que a thread estiver
+     * executando (se houver).
+     *
+     * @param thread thread que executa o trabalho substituído
+     */
+    public static void cancelar(Thread thread) {
+        if (thread == null || !EM_ANDAMENTO.containsKey(thread)) {
+            return;
+        }
+        CompletableFuture.runAsync(() -> {
+            Statement stmt = EM_ANDAMENTO.get(thread);
+            if (stmt == null) {
+                return;
+            }
+            try {
+                stmt.cancel();
+                System.out.println("🛑 Consulta cancelada no servidor (" + thread.getName() + ").");
+            } catch (SQLException e) {
+                System.err.println("⚠️ Falha ao cancelar a consulta: " + e.getMessage());
+            }
+        });
+    }
+}
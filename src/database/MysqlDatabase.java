@@ -3,20 +3,36 @@ package database;
 import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
 
 /**
- * 🧩 Classe responsável por **gerenciar a conexão com o banco de dados MySQL**.
+ * 🧩 Classe responsável por **gerenciar as conexões com o banco de dados MySQL**.
  *
  * 🔹 Esta classe utiliza o **padrão Singleton**, garantindo que exista apenas
- * uma instância de conexão ativa durante a execução da aplicação.
+ * um pool de conexões durante a execução da aplicação.
  *
  * ⚙️ Responsabilidades:
- * - Criar e manter uma única conexão JDBC.
- * - Reabrir a conexão automaticamente se ela for perdida.
+ * - Manter um <b>pool limitado</b> de conexões JDBC, abertas sob demanda.
+ * - Emprestar uma conexão por operação ({@link #getConnection()}) e
+ *   recebê-la de volta ({@link #devolver(Connection)}).
+ * - Descartar conexões perdidas e abrir outras no lugar.
  * - Centralizar a configuração do banco de dados.
  *
- * 💡 Essa classe é usada pelas classes DAO para obter conexões seguras e
- * reaproveitáveis.
+ * 🧠 Notas de Aula:
+ * - Uma conexão JDBC atende um comando por vez: com uma só conexão, uma
+ *   exportação ou importação longa fazia todas as outras consultas (páginas
+ *   da tabela, relatórios) esperarem na fila do driver.
+ * - Com o pool, cada operação usa a sua conexão; só quando todas estão
+ *   emprestadas é que uma nova operação espera (até {@code rh.db.pool.esperaMs}).
+ * - Todo DAO devolve a conexão em um {@code finally}: uma conexão esquecida
+ *   fica presa para sempre.
+ *
+ * ⚙️ Configuração: {@code rh.db.pool.tamanho} (6) e
+ * {@code rh.db.pool.esperaMs} (30000).
  */
 public class MysqlDatabase {
 
@@ -27,8 +43,24 @@ public class MysqlDatabase {
     /** Instância única da classe (Singleton) */
     private static MysqlDatabase instance;
 
-    /** Conexão ativa com o banco MySQL */
-    private Connection connection;
+    // ==============================
+    // 🏊 Pool de conexões
+    // ==============================
+
+    /** Conexões abertas e livres para empréstimo */
+    private final BlockingQueue<Connection> livres;
+
+    /** Quantidade máxima de conexões abertas ao mesmo tempo */
+    private final int tamanhoPool;
+
+    /** Tempo máximo de espera por uma conexão livre (ms) */
+    private final long esperaMillis;
+
+    /** 🔒 Conexões abertas (livres + emprestadas), protegido por "this" */
+    private int abertas;
+
+    /** true depois de {@link #close()}: novas conexões são recusadas */
+    private volatile boolean encerrado;
 
     // ==============================
     // ⚙️ Configurações do banco
@@ -55,12 +87,28 @@ public class MysqlDatabase {
      * @param port     porta de conexão (padrão: 3306)
      */
     public MysqlDatabase(String host, String user, String password, String database, int port) {
+        this(host, user, password, database, port,
+                Integer.getInteger("rh.db.pool.tamanho", 6),
+                Long.getLong("rh.db.pool.esperaMs", 30_000L));
+    }
+
+    /**
+     * Construtor com o tamanho do pool.
+     *
+     * @param tamanhoPool  máximo de conexões abertas ao mesmo tempo (mínimo 1)
+     * @param esperaMillis espera máxima por uma conexão livre
+     */
+    public MysqlDatabase(String host, String user, String password, String database, int port,
+            int tamanhoPool, long esperaMillis) {
         System.out.println("⚙️ Criando instância de MysqlDatabase...");
         this.host = host != null ? host : "127.0.0.1";
         this.user = user != null ? user : "root";
         this.password = password != null ? password : "";
         this.database = database != null ? database : "gestao_rh";
         this.port = port > 0 ? port : 3306;
+        this.tamanhoPool = Math.max(1, tamanhoPool);
+        this.esperaMillis = Math.max(0, esperaMillis);
+        this.livres = new ArrayBlockingQueue<>(this.tamanhoPool);
     }
 
     // ==============================
@@ -69,8 +117,8 @@ public class MysqlDatabase {
     /**
      * Retorna a instância única (singleton) de {@link MysqlDatabase}.
      *
-     * 🧠 Se ainda não existir uma instância, ela será criada e a conexão será
-     * aberta.
+     * 🧠 Se ainda não existir uma instância, ela será criada e a primeira
+     * conexão será aberta (e deixada livre no pool).
      *
      * @param host     endereço do servidor MySQL
      * @param user     usuário de acesso
@@ -86,7 +134,7 @@ public class MysqlDatabase {
         // Cria a instância se ainda não existir
         if (instance == null) {
             instance = new MysqlDatabase(host, user, password, database, port);
-            instance.connect(); // 🔌 Estabelece a conexão
+            instance.devolver(instance.getConnection()); // 🔌 Estabelece a conexão
         }
         return instance;
     }
@@ -95,52 +143,215 @@ public class MysqlDatabase {
     // 🔌 CONECTAR AO BANCO
     // ==============================
     /**
-     * Estabelece a conexão com o banco MySQL usando o JDBC.
+     * Abre uma nova conexão com o banco MySQL usando o JDBC.
      *
      * ⚙️ Passos:
      * 1️⃣ Monta a URL de conexão.
      * 2️⃣ Usa o DriverManager para se conectar.
      * 3️⃣ Exibe logs de sucesso ou erro.
      *
+     * @return conexão nova (ainda não contada no pool)
      * @throws SQLException caso a conexão falhe
      */
-    private void connect() throws SQLException {
-        // Verifica se a conexão ainda não existe ou foi encerrada
-        if (this.connection == null || this.connection.isClosed()) {
-            try {
-                // 🔗 Monta a URL JDBC de conexão
-                String url = "jdbc:mysql://" + host + ":" + port + "/" + database
-                        + "?useSSL=false&serverTimezone=UTC";
-
-                // 💾 Estabelece a conexão
-                this.connection = DriverManager.getConnection(url, user, password);
-                System.out.println("✅ Conectado ao MySQL com sucesso!");
-
-            } catch (SQLException e) {
-                System.err.println("❌ Falha ao conectar ao MySQL: " + e.getMessage());
-                throw e; // Relança o erro para tratamento externo
-            }
+    private Connection connect() throws SQLException {
+        try {
+            // 🔗 Monta a URL JDBC de conexão
+            // 💡 useCursorFetch permite varreduras em lotes (setFetchSize)
+            // sem bloquear a conexão para outros comandos
+            // 💡 rewriteBatchedStatements envia um batch de INSERT como um
+            // só comando com várias linhas (importação em lote)
+            String url = "jdbc:mysql://" + host + ":" + port + "/" + database
+                    + "?useSSL=false&serverTimezone=UTC&useCursorFetch=true&rewriteBatchedStatements=true";
+
+            // 💾 Estabelece a conexão
+            Connection connection = DriverManager.getConnection(url, user, password);
+            System.out.println("✅ Conectado ao MySQL com sucesso!");
+            return connection;
+
+        } catch (SQLException e) {
+            System.err.println("❌ Falha ao conectar ao MySQL: " + e.getMessage());
+            throw e; // Relança o erro para tratamento externo
         }
     }
 
     // ==============================
-    // 🔄 OBTÉM CONEXÃO ATIVA
+    // 🔄 EMPRESTA UMA CONEXÃO
     // ==============================
     /**
-     * Retorna a conexão ativa com o banco de dados.
+     * Empresta uma conexão do pool, para uma operação.
      *
-     * 🧠 Caso a conexão tenha sido fechada, ela será automaticamente reaberta.
+     * 🧠 Usa uma conexão livre; se não houver e o pool ainda não estiver
+     * cheio, abre outra; senão espera alguém devolver. Conexões livres que
+     * foram fechadas (ex: queda do servidor) são descartadas e substituídas.
      *
-     * @return objeto {@link Connection} ativo.
-     * @throws SQLException se ocorrer erro ao reconectar.
+     * ⚠️ Quem pede deve chamar {@link #devolver(Connection)} em um
+     * {@code finally}.
+     *
+     * @return objeto {@link Connection} ativo, de uso exclusivo até ser devolvido.
+     * @throws SQLException se ocorrer erro ao conectar, se o pool foi encerrado
+     *                      ou se nenhuma conexão ficou livre a tempo.
      */
     public Connection getConnection() throws SQLException {
-        // Se a conexão estiver fechada, reconecta automaticamente
-        if (this.connection == null || this.connection.isClosed()) {
-            System.out.println("⚠️ Conexão perdida. Tentando reconectar...");
-            connect();
+        long limite = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(esperaMillis);
+        while (true) {
+            verificarAberto();
+
+            Connection livre = livres.poll();
+            if (livre == null && reservarVaga()) {
+                try {
+                    return connect();
+                } catch (SQLException | RuntimeException e) {
+                    liberarVaga();
+                    throw e;
+                }
+            }
+            if (livre == null) {
+                try {
+                    long restante = limite - System.nanoTime();
+                    livre = restante > 0 ? livres.poll(restante, TimeUnit.NANOSECONDS) : null;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new SQLException("⚠️ Interrompido enquanto esperava uma conexão livre.", e);
+                }
+                if (livre == null) {
+                    throw new SQLException("⏳ Nenhuma conexão livre em " + esperaMillis + " ms (pool com "
+                            + tamanhoPool + " conexões).");
+                }
+            }
+
+            if (!livre.isClosed()) {
+                return livre;
+            }
+            System.out.println("⚠️ Conexão perdida. Abrindo outra...");
+            liberarVaga();
+        }
+    }
+
+    // ==============================
+    // ↩️ DEVOLVE A CONEXÃO
+    // ==============================
+    /**
+     * Devolve ao pool uma conexão obtida por {@link #getConnection()}.
+     *
+     * 🧠 Uma conexão fechada (ou devolvida depois de {@link #close()}) é
+     * descartada e libera a vaga. A consulta registrada pela thread em
+     * {@link ConsultasEmAndamento} deixa de ser cancelável. Aceita null, para simplificar os
+     * {@code finally}.
+     *
+     * @param conn conexão emprestada
+     */
+    public void devolver(Connection conn) {
+        if (conn == null) {
+            return;
+        }
+        ConsultasEmAndamento.concluir(); // 🛑 nada mais a cancelar nesta thread
+        try {
+            if (!encerrado && !conn.isClosed()) {
+                if (!conn.getAutoCommit()) {
+                    conn.rollback();
+                    conn.setAutoCommit(true);
+                }
+                if (livres.offer(conn)) {
+                    if (encerrado) {
+                        close(); // 🧹 close() correu junto: fecha também esta
+                    }
+                    return;
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("⚠️ Conexão descartada ao ser devolvida: " + e.getMessage());
+        }
+        fecharSilenciosamente(conn);
+        liberarVaga();
+    }
+
+    private synchronized boolean reservarVaga() {
+        if (abertas >= tamanhoPool) {
+            return false;
         }
-        return this.connection;
+        abertas++;
+        return true;
+    }
+
+    private synchronized void liberarVaga() {
+        abertas--;
+    }
+
+    private void verificarAberto() throws SQLException {
+        if (encerrado) {
+            throw new SQLException("⚠️ O pool de conexões foi encerrado.");
+        }
+    }
+
+    private static void fecharSilenciosamente(Connection conn) {
+        try {
+            conn.close();
+        } catch (SQLException e) {
+            System.err.println("❌ Falha ao fechar a conexão: " + e.getMessage());
+        }
+    }
+
+    // ==============================
+    // 🔒 FECHAR CONEXÕES
+    // ==============================
+    /**
+     * Fecha as conexões livres, ao encerrar a aplicação.
+     *
+     * 🧠 Depois disso o pool recusa novos empréstimos; as conexões ainda
+     * emprestadas são fechadas quando forem devolvidas.
+     */
+    public void close() {
+        encerrado = true;
+        List<Connection> fechar = new ArrayList<>();
+        livres.drainTo(fechar);
+        for (Connection conn : fechar) {
+            fecharSilenciosamente(conn);
+            liberarVaga();
+        }
+        System.out.println("🔌 Conexões com o MySQL encerradas.");
+    }
+
+    /** Quantidade máxima de conexões abertas ao mesmo tempo. */
+    public int getTamanhoPool() {
+        return tamanhoPool;
+    }
+
+    /** Quantidade de linhas buscadas por vez nas varreduras com cursor. */
+    public static final int STREAM_FETCH_SIZE = 1000;
+
+    // ==============================
+    // 🔑 CHAVE DUPLICADA (UNIQUE)
+    // ==============================
+
+    /** Código de erro do MySQL para violação de índice UNIQUE (ER_DUP_ENTRY). */
+    public static final int ER_DUP_ENTRY = 1062;
+
+    /**
+     * Verifica se a exceção corresponde a uma violação de índice UNIQUE.
+     *
+     * 🧠 Permite que o Service confie nas constraints do banco
+     * (ex: {@code email_UNIQUE}, {@code nomeCargo_UNIQUE}) em vez de fazer
+     * uma consulta antes de cada inserção.
+     *
+     * @param e exceção lançada pelo driver JDBC
+     * @return true se o erro for de chave duplicada
+     */
+    public static boolean isDuplicateKey(SQLException e) {
+        return e != null && e.getErrorCode() == ER_DUP_ENTRY;
+    }
+
+    /** Código de erro do MySQL para tabela inexistente (ER_NO_SUCH_TABLE). */
+    public static final int ER_NO_SUCH_TABLE = 1146;
+
+    /**
+     * Verifica se a exceção indica uma tabela que não existe (ex: banco
+     * criado antes de um recurso opcional, como a tabela VersaoTabela).
+     *
+     * @param e exceção lançada pelo driver JDBC
+     * @return true se o erro for de tabela inexistente
+     */
+    public static boolean isTabelaInexistente(SQLException e) {
+        return e != null && e.getErrorCode() == ER_NO_SUCH_TABLE;
     }
 
 }
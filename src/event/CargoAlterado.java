@@ -0,0 +1,26 @@
+package event;
+
+import model.Cargo;
+
+/**
+ * 💼 Evento: um cargo foi criado, renomeado ou excluído.
+ */
+public final class CargoAlterado extends EventoAlteracao {
+
+    private final Cargo cargo;
+
+    /**
+     * @param operacao tipo de alteração
+     * @param idCargo  ID do cargo
+     * @param cargo    dados novos (null na exclusão)
+     */
+    public CargoAlterado(Operacao operacao, int idCargo, Cargo cargo) {
+        super(operacao, idCargo);
+        this.cargo = cargo;
+    }
+
+    /** Cargo com os dados novos, ou null se foi excluído. */
+    public Cargo getCargo() {
+        return cargo;
+    }
+}
@@ -0,0 +1,190 @@
+package event;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+import javax.swing.SwingUtilities;
+
+/**
+ * 📣 Classe: EventBus
+ *
+ * 📘 Barramento de eventos <b>dentro do processo</b>: quem grava (Controllers)
+ * publica o que mudou, e quem mostra ou guarda dados (telas, caches) é avisado.
+ *
+ * 🎯 Objetivos:
+ * <ul>
+ * <li>Renomear um cargo no CargoForm atualiza o combo do FuncionarioForm aberto</li>
+ * <li>Cada janela atualiza só o que mudou, na hora em que mudou</li>
+ * <li>Quem publica não espera os assinantes (entrega assíncrona)</li>
+ * </ul>
+ *
+ * 🧠 Notas de Aula:
+ * <ul>
+ * <li>Uma única thread ("event-bus") entrega os eventos, <b>fora da EDT</b> e
+ * na ordem em que foram publicados</li>
+ * <li><b>Agrupamento</b> (coalescing): eventos publicados dentro de uma
+ * pequena janela de tempo com a mesma chave viram um só (o mais recente)</li>
+ * <li>Assinantes de tela usam {@link #assinarNaEdt} para receber na EDT</li>
+ * <li>Um assinante com erro não impede a entrega aos outros</li>
+ * </ul>
+ *
+ * ⚙️ Configuração: {@code rh.eventBus.coalesceMillis} (padrão: 50).
+ */
+public class EventBus {
+
+    /**
+     * 🎫 Assinatura ativa (usada para cancelar).
+     */
+    public static final class Assinatura<E extends EventoAlteracao> {
+        private final Class<E> tipo;
+        private final Consumer<? super E> handler;
+
+        private Assinatura(Class<E> tipo, Consumer<? super E> handler) {
+            this.tipo = tipo;
+            this.handler = handler;
+        }
+
+        private void entregar(EventoAlteracao evento) {
+            if (tipo.isInstance(evento)) {
+                handler.accept(tipo.cast(evento));
+            }
+        }
+    }
+
+    private final long janelaMillis;
+
+    // 🗂️ Assinantes (muitas leituras, poucas escritas)
+    private final List<Assinatura<?>> assinaturas = new CopyOnWriteArrayList<>();
+
+    // ⏳ Eventos aguardando entrega, por chave de agrupamento (lock "this")
+    private LinkedHashMap<String, EventoAlteracao> pendentes = new LinkedHashMap<>();
+
+    private final Thread entregador;
+    private volatile boolean ativo = true;
+
+    /**
+     * 🏗️ Construtor
+     *
+     * @param janelaMillis tempo de espera para agrupar eventos (0 = sem espera)
+     */
+    public EventBus(long janelaMillis) {
+        System.out.println(">> EventBus.constructor()");
+        this.janelaMillis = Math.max(0, janelaMillis);
+        this.entregador = new Thread(this::loop, "event-bus");
+        this.entregador.setDaemon(true);
+        this.entregador.start();
+    }
+
+    /**
+     * 🏭 Cria o barramento a partir das propriedades de sistema.
+     */
+    public static EventBus fromSystemProperties() {
+        return new EventBus(Long.getLong("rh.eventBus.coalesceMillis", 50L));
+    }
+
+    // =====================================================
+    // 📤 Publicação
+    // =====================================================
+
+    /**
+     * 📤 Publica um evento (não bloqueia).
+     */
+    public void publicar(EventoAlteracao evento) {
+        if (evento == null || !ativo) {
+            return;
+        }
+        synchronized (this) {
+            // 🔁 Remove antes de inserir: o evento vai para o fim da fila
+            pendentes.remove(evento.chaveAgrupamento());
+            pendentes.put(evento.chaveAgrupamento(), evento);
+            notifyAll();
+        }
+    }
+
+    // =====================================================
+    // 📥 Assinatura
+    // =====================================================
+
+    /**
+     * 📥 Assina os eventos de um tipo; o handler roda na thread do barramento.
+     */
+    public <E extends EventoAlteracao> Assinatura<E> assinar(Class<E> tipo, Consumer<? super E> handler) {
+        Assinatura<E> a = new Assinatura<>(tipo, handler);
+        assinaturas.add(a);
+        return a;
+    }
+
+    /**
+     * 🖥️ Assina os eventos de um tipo; o handler roda na EDT (para telas).
+     */
+    public <E extends EventoAlteracao> Assinatura<E> assinarNaEdt(Class<E> tipo, Consumer<? super E> handler) {
+        return assinar(tipo, e -> SwingUtilities.invokeLater(() -> handler.accept(e)));
+    }
+
+    /**
+     * 🚫 Cancela uma assinatura (ex: ao fechar a janela).
+     */
+    public void cancelar(Assinatura<?> assinatura) {
+        if (assinatura != null) {
+            assinaturas.remove(assinatura);
+        }
+    }
+
+    public int getQuantidadeAssinaturas() {
+        return assinaturas.size();
+    }
+
+    /**
+     * 🛑 Para a entrega (eventos pendentes são descartados).
+     */
+    public void shutdown() {
+        ativo = false;
+        entregador.interrupt();
+    }
+
+    // =====================================================
+    // 🔁 Entrega
+    // =====================================================
+
+    private void loop() {
+        while (ativo) {
+            List<EventoAlteracao> lote;
+            try {
+                lote = proximoLote();
+            } catch (InterruptedException e) {
+                return;
+            }
+            for (EventoAlteracao evento : lote) {
+                for (Assinatura<?> a : assinaturas) {
+                    try {
+                        a.entregar(evento);
+                    } catch (RuntimeException ex) {
+                        System.err.println("❌ Falha ao entregar " + evento + ": " + ex.getMessage());
+                    }
+                }
+            }
+        }
+    }
+
+    /** Espera o primeiro evento, aguarda a janela de agrupamento e esvazia a fila. */
+    private List<EventoAlteracao> proximoLote() throws InterruptedException {
+        synchronized (this) {
+            while (pendentes.isEmpty()) {
+                wait();
+            }
+        }
+        if (janelaMillis > 0) {
+            Thread.sleep(janelaMillis);
+        }
+        Map<String, EventoAlteracao> lote;
+        synchronized (this) {
+            lote = pendentes;
+            pendentes = new LinkedHashMap<>();
+        }
+        return new ArrayList<>(lote.values());
+    }
+}
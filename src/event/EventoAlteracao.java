@@ -0,0 +1,61 @@
+package event;
+
+/**
+ * 📣 Classe: EventoAlteracao
+ *
+ * 📘 Base dos eventos publicados no {@link EventBus} quando um registro é
+ * criado, atualizado ou excluído.
+ *
+ * 🧠 Notas de Aula:
+ * <ul>
+ * <li>Eventos são <b>imutáveis</b>: podem ser entregues a várias telas sem cópia</li>
+ * <li>A {@link #chaveAgrupamento()} identifica eventos "equivalentes": se dois
+ * chegarem juntos (ex: duas renomeações seguidas do mesmo cargo), só o mais
+ * recente é entregue</li>
+ * </ul>
+ */
+public abstract class EventoAlteracao {
+
+    /** ✏️ Tipo de alteração. */
+    public enum Operacao {
+        CRIADO, ATUALIZADO, EXCLUIDO
+    }
+
+    private final Operacao operacao;
+    private final int id;
+    private final long criadoEm;
+
+    protected EventoAlteracao(Operacao operacao, int id) {
+        if (operacao == null) {
+            throw new IllegalArgumentException("⚠️ operacao não pode ser nula.");
+        }
+        this.operacao = operacao;
+        this.id = id;
+        this.criadoEm = System.currentTimeMillis();
+    }
+
+    public Operacao getOperacao() {
+        return operacao;
+    }
+
+    /** ID do registro alterado. */
+    public int getId() {
+        return id;
+    }
+
+    public long getCriadoEm() {
+        return criadoEm;
+    }
+
+    /**
+     * 🔑 Chave usada para agrupar eventos equivalentes (tipo + operação + ID).
+     */
+    public String chaveAgrupamento() {
+        return getClass().getSimpleName() + ":" + operacao + ":" + id;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "{" + operacao + ", id=" + id + "}";
+    }
+}
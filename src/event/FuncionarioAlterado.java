@@ -0,0 +1,26 @@
+package event;
+
+import model.Funcionario;
+
+/**
+ * 👤 Evento: um funcionário foi cadastrado, atualizado ou excluído.
+ */
+public final class FuncionarioAlterado extends EventoAlteracao {
+
+    private final Funcionario funcionario;
+
+    /**
+     * @param operacao      tipo de alteração
+     * @param idFuncionario ID do funcionário
+     * @param funcionario   dados novos (null na exclusão)
+     */
+    public FuncionarioAlterado(Operacao operacao, int idFuncionario, Funcionario funcionario) {
+        super(operacao, idFuncionario);
+        this.funcionario = funcionario;
+    }
+
+    /** Funcionário com os dados novos, ou null se foi excluído. */
+    public Funcionario getFuncionario() {
+        return funcionario;
+    }
+}
@@ -0,0 +1,41 @@
+package event;
+
+import java.util.Collections;
+import java.util.List;
+
+import model.Funcionario;
+
+/**
+ * 📥 Evento: um lote de funcionários foi gravado pela importação em lote.
+ *
+ * 🧠 Notas de Aula:
+ * <ul>
+ * <li>Um evento por <b>lote</b> (não por linha): quem mantém agregados
+ * (relatórios, custos) aplica o lote inteiro e publica o resultado uma vez</li>
+ * <li>O ID do evento é o do primeiro funcionário do lote, então lotes
+ * diferentes nunca são agrupados entre si</li>
+ * <li>Os funcionários vêm <b>sem a senha</b></li>
+ * </ul>
+ */
+public final class FuncionariosImportados extends EventoAlteracao {
+
+    private final List<Funcionario> funcionarios;
+
+    /**
+     * @param funcionarios funcionários gravados (com o ID preenchido, sem a senha)
+     */
+    public FuncionariosImportados(List<Funcionario> funcionarios) {
+        super(Operacao.CRIADO, funcionarios.isEmpty() ? 0 : funcionarios.get(0).getIdFuncionario());
+        this.funcionarios = Collections.unmodifiableList(funcionarios);
+    }
+
+    /** Funcionários do lote, na ordem em que foram gravados. */
+    public List<Funcionario> getFuncionarios() {
+        return funcionarios;
+    }
+
+    @Override
+    public String toString() {
+        return "FuncionariosImportados{" + funcionarios.size() + " funcionários, primeiro id=" + getId() + "}";
+    }
+}
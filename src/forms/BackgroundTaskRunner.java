@@ -0,0 +1,196 @@
+package forms;
+
+import javax.swing.*;
+
+import java.awt.*;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+
+import database.ConsultasEmAndamento;
+
+/**
+ * ⏳ Classe: BackgroundTaskRunner
+ * -------------------------------------------------
+ * 📚 Executa operações demoradas (JDBC, BCrypt) fora da thread de eventos do
+ * Swing (EDT), para que a janela não congele.
+ *
+ * 🧠 Notas de Aula:
+ * - O Swing só pode ser alterado pela EDT; o trabalho pesado roda em um
+ *   {@link SwingWorker} e o resultado é aplicado de volta na EDT.
+ * - Cada tarefa tem uma <b>chave</b> (ex: "lista"). Uma nova tarefa com a
+ *   mesma chave <b>cancela</b> a anterior, cujo resultado é descartado.
+ * - Cancelar também <b>para a consulta no banco</b>: só interromper a thread
+ *   não solta uma chamada JDBC presa lendo o socket, então a consulta em
+ *   andamento da tarefa substituída é cancelada no servidor
+ *   ({@link ConsultasEmAndamento}).
+ * - Enquanto houver tarefas ativas, a barra de progresso fica visível e o
+ *   cursor indica espera.
+ *
+ * ⚠️ Todos os métodos públicos devem ser chamados na EDT.
+ */
+public class BackgroundTaskRunner {
+
+    /** ⚙️ Trabalho executado em segundo plano. */
+    @FunctionalInterface
+    public interface Trabalho<T> {
+        T executar() throws Exception;
+    }
+
+    /** ✅ Recebe o resultado na EDT. */
+    @FunctionalInterface
+    public interface Sucesso<T> {
+        void aoConcluir(T resultado);
+    }
+
+    /** ❌ Recebe o erro na EDT. */
+    @FunctionalInterface
+    public interface Falha {
+        void aoFalhar(Exception e);
+    }
+
+    /** 🧵 SwingWorker que lembra a thread em que o trabalho está rodando. */
+    private abstract static class Tarefa<T> extends SwingWorker<T, Void> {
+        private volatile Thread executando;
+
+        /** 🛑 Interrompe a thread e cancela a consulta JDBC em andamento. */
+        void interromper() {
+            cancel(true);
+            ConsultasEmAndamento.cancelar(executando);
+        }
+    }
+
+    // 🗂️ Tarefa mais recente de cada chave (acessado só pela EDT)
+    private final Map<String, Tarefa<?>> ativas = new HashMap<>();
+
+    // ⏳ Indicador de progresso e componente que recebe o cursor de espera
+    private final JProgressBar indicador;
+    private final Component alvoCursor;
+
+    /**
+     * 🏗️ Construtor
+     *
+     * @param alvoCursor componente (normalmente a janela) que mostra o cursor
+     *                   de espera
+     */
+    public BackgroundTaskRunner(Component alvoCursor) {
+        this.alvoCursor = alvoCursor;
+        this.indicador = new JProgressBar();
+        this.indicador.setIndeterminate(true);
+        this.indicador.setPreferredSize(new Dimension(120, 16));
+        this.indicador.setVisible(false);
+    }
+
+    /**
+     * ⏳ Barra de progresso a ser adicionada na tela.
+     */
+    public JProgressBar getIndicador() {
+        return indicador;
+    }
+
+    /**
+     * ▶️ Executa um trabalho em segundo plano.
+     *
+     * @param chave    identifica o tipo de tarefa; cancela a anterior de mesma chave
+     * @param trabalho código que roda fora da EDT (pode acessar o banco)
+     * @param sucesso  aplica o resultado na EDT
+     * @param falha    trata o erro na EDT
+     */
+    public <T> void executar(String chave, Trabalho<T> trabalho, Sucesso<T> sucesso, Falha falha) {
+        cancelar(chave);
+
+        Tarefa<T> worker = new Tarefa<T>() {
+            @Override
+            protected T doInBackground() throws Exception {
+                super.executando = Thread.currentThread();
+                try {
+                    return trabalho.executar();
+                } finally {
+                    super.executando = null;
+                }
+            }
+
+            @Override
+            protected void done() {
+                // 🚫 Resultado de tarefa substituída ou cancelada é ignorado
+                if (ativas.get(chave) != this) {
+                    return;
+                }
+                ativas.remove(chave);
+                atualizarIndicador();
+
+                if (isCancelled()) {
+                    return;
+                }
+                try {
+                    sucesso.aoConcluir(get());
+                } catch (ExecutionException e) {
+                    Throwable causa = e.getCause();
+                    falha.aoFalhar(causa instanceof Exception ? (Exception) causa : new Exception(causa));
+                } catch (InterruptedException | CancellationException e) {
+                    // Cancelada entre o fim do trabalho e o done(): nada a fazer
+                }
+            }
+        };
+
+        ativas.put(chave, worker);
+        atualizarIndicador();
+        worker.execute();
+    }
+
+    /**
+     * ▶️ Executa um trabalho somente se não houver outro com a mesma chave.
+     *
+     * 🧠 Usado em gravações (cadastrar/atualizar/excluir): uma gravação em
+     * andamento não é cancelada, e cliques repetidos são ignorados.
+     *
+     * @return true se a tarefa foi iniciada
+     */
+    public <T> boolean executarSeLivre(String chave, Trabalho<T> trabalho, Sucesso<T> sucesso, Falha falha) {
+        if (ativas.containsKey(chave)) {
+            return false;
+        }
+        executar(chave, trabalho, sucesso, falha);
+        return true;
+    }
+
+    /**
+     * 🛑 Cancela a tarefa ativa com a chave informada (se houver).
+     */
+    public void cancelar(String chave) {
+        Tarefa<?> anterior = ativas.remove(chave);
+        if (anterior != null) {
+            anterior.interromper();
+            atualizarIndicador();
+        }
+    }
+
+    /**
+     * 🛑 Cancela todas as tarefas (ex: ao fechar a janela).
+     */
+    public void cancelarTodas() {
+        for (Tarefa<?> w : ativas.values()) {
+            w.interromper();
+        }
+        ativas.clear();
+        atualizarIndicador();
+    }
+
+    /**
+     * ℹ️ Indica se há alguma tarefa com a chave em andamento.
+     */
+    public boolean isAtiva(String chave) {
+        return ativas.containsKey(chave);
+    }
+
+    private void atualizarIndicador() {
+        boolean ocupado = !ativas.isEmpty();
+        indicador.setVisible(ocupado);
+        if (alvoCursor != null) {
+            alvoCursor.setCursor(ocupado
+                    ? Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR)
+                    : Cursor.getDefaultCursor());
+        }
+    }
+}
@@ -2,19 +2,22 @@ package forms;
 
 import javax.swing.*;
 import javax.swing.table.DefaultTableModel;
+import javax.swing.table.TableRowSorter;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
-import java.sql.SQLException;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import context.AppContext;
 import control.CargoControl;
-import dao.CargoDAO;
-import database.MysqlDatabase;
+import event.CargoAlterado;
+import event.EventBus;
+import event.EventoAlteracao;
 import model.Cargo;
-import service.CargoService;
 
 /**
  * 🧩 Classe: CargoForm
@@ -30,9 +33,9 @@ import service.CargoService;
  * ✅ Permite:
  *  - Cadastrar, listar, atualizar e excluir cargos.
  *  - Pesquisar por ID ou nome.
- *  - Interagir com o banco de dados via MySQL.
+ *  - Usar as dependências compartilhadas do {@link AppContext}.
  */
-public class CargoForm extends JFrame {
+public class CargoForm extends JFrame implements JanelaReutilizavel {
 
     // 🧱 Campos da tela
     private JTextField txtPesquisa;
@@ -40,6 +43,13 @@ public class CargoForm extends JFrame {
     private JTextField txtNomeCargo;
     private JTable tabelaCargos;
     private DefaultTableModel tableModel;
+    private TableRowSorter<DefaultTableModel> ordenador;
+    private DestaqueRenderer destaque;
+    private JPanel painelLista;
+    private javax.swing.border.TitledBorder bordaTabela;
+
+    // ⌨️ Pesquisa enquanto digita
+    private PesquisaDigitada pesquisa;
 
     // 🔘 Botões de ação
     private JButton btnPesquisar;
@@ -51,25 +61,98 @@ public class CargoForm extends JFrame {
     // 🧩 Controlador principal (liga a view à lógica)
     private CargoControl cargoControl;
 
+    // ⏳ Executa as chamadas ao banco fora da EDT
+    private BackgroundTaskRunner tarefas;
+
+    // 🎟️ Sessão do login, conferida antes de cada gravação
+    private final SessaoUsuario sessao;
+
+    // 📣 Avisos de alterações de cargos (desta ou de outras janelas)
+    private final EventBus eventos;
+    private EventBus.Assinatura<CargoAlterado> assinaturaCargos;
+
+    // 🙈 Enquanto escondida, só anota se algum cargo mudou
+    private EventBus.Assinatura<CargoAlterado> assinaturaOculta;
+    private volatile boolean cargosDesatualizados;
+
     /**
-     * 🚀 Construtor principal.
-     * - Cria a conexão com o banco.
-     * - Instancia DAO, Service e Control.
-     * - Monta a interface e carrega os dados iniciais.
+     * 🚀 Construtor usando o contexto global da aplicação.
      */
     public CargoForm() {
-        // 🗄️ Configuração da conexão MySQL
-        MysqlDatabase database = new MysqlDatabase(
-                "127.0.0.1", "root", "", "gestao_rh", 3306);
+        this(AppContext.getInstance());
+    }
+
+    /**
+     * 🚀 Construtor sem sessão: a tela só consulta (gravações recusadas).
+     */
+    public CargoForm(AppContext contexto) {
+        this(contexto, null);
+    }
 
-        // 🔁 Injeção manual de dependências
-        CargoDAO cargoDAO = new CargoDAO(database);
-        CargoService cargoService = new CargoService(cargoDAO);
-        this.cargoControl = new CargoControl(cargoService);
+    /**
+     * 🚀 Construtor principal.
+     * - Recebe o Controller já montado pelo {@link AppContext}
+     *   (nenhuma conexão é aberta aqui).
+     * - Monta a interface e carrega os dados iniciais.
+     *
+     * @param tokenSessao token do login, conferido antes de cada gravação
+     */
+    public CargoForm(AppContext contexto, String tokenSessao) {
+        // 🔁 Dependências compartilhadas
+        this.cargoControl = contexto.getCargoControl();
+        this.sessao = new SessaoUsuario(contexto.getFuncionarioControl(), tokenSessao);
+        this.eventos = contexto.getEventBus();
 
         // 🎨 Inicializa a interface e carrega dados
+        this.tarefas = new BackgroundTaskRunner(this);
         initializeUI();
         carregarTodosCargos();
+
+        // 📣 Atualiza só a linha afetada, quando ela mudar
+        assinaturaCargos = eventos.assinarNaEdt(CargoAlterado.class, this::aoAlterarCargo);
+    }
+
+    // =====================================================
+    // ♻️ Ciclo de vida da janela
+    // =====================================================
+
+    /**
+     * 🙈 A janela foi fechada (escondida): libera o que é temporário e passa
+     * a só anotar se algum cargo mudou enquanto ela não está visível.
+     */
+    private void ocultar() {
+        System.out.println(">> CargoForm.ocultar()");
+        cargosDesatualizados |= tarefas.isAtiva("lista");
+        liberar();
+        assinaturaOculta = eventos.assinar(CargoAlterado.class, e -> cargosDesatualizados = true);
+    }
+
+    /**
+     * 🔁 Mostrada de novo pelo {@link GerenciadorJanelas}: volta a ouvir os
+     * eventos e recarrega a lista só se algum cargo mudou.
+     */
+    @Override
+    public void reexibir() {
+        System.out.println(">> CargoForm.reexibir()");
+        assinaturaCargos = eventos.assinarNaEdt(CargoAlterado.class, this::aoAlterarCargo);
+        eventos.cancelar(assinaturaOculta); // 🔁 depois de assinar: nenhum evento se perde
+        assinaturaOculta = null;
+        if (cargosDesatualizados) {
+            cargosDesatualizados = false;
+            carregarTodosCargos(); // 🔍 reaplica a pesquisa digitada
+        }
+    }
+
+    /**
+     * 🛑 Para timers e consultas e cancela as assinaturas de eventos.
+     */
+    private void liberar() {
+        pesquisa.parar();
+        tarefas.cancelarTodas();
+        eventos.cancelar(assinaturaCargos);
+        eventos.cancelar(assinaturaOculta);
+        assinaturaCargos = null;
+        assinaturaOculta = null;
     }
 
     /**
@@ -96,6 +179,19 @@ public class CargoForm extends JFrame {
         mainPanel.add(panelBotoes, BorderLayout.SOUTH);
 
         add(mainPanel);
+
+        // 🛑 Fechar esconde a janela (ver GerenciadorJanelas); descartar libera tudo
+        addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosing(WindowEvent e) {
+                ocultar();
+            }
+
+            @Override
+            public void windowClosed(WindowEvent e) {
+                liberar();
+            }
+        });
     }
 
     /**
@@ -129,19 +225,22 @@ public class CargoForm extends JFrame {
         panel.add(txtPesquisa);
         panel.add(btnPesquisar);
 
+        // ⌨️ Pesquisa enquanto digita (com debounce)
+        pesquisa = new PesquisaDigitada(txtPesquisa, PesquisaDigitada.ATRASO_PADRAO_MS, this::pesquisarCargos);
+
         // 🖱️ Botão "Pesquisar"
         btnPesquisar.addActionListener(new ActionListener() {
             @Override
             public void actionPerformed(ActionEvent e) {
-                pesquisarCargos();
+                pesquisa.pesquisarAgora();
             }
         });
 
-        // ⌨️ Enter também aciona a pesquisa
+        // ⌨️ Enter também aciona a pesquisa na hora
         txtPesquisa.addActionListener(new ActionListener() {
             @Override
             public void actionPerformed(ActionEvent e) {
-                pesquisarCargos();
+                pesquisa.pesquisarAgora();
             }
         });
 
@@ -192,7 +291,9 @@ public class CargoForm extends JFrame {
      */
     private JPanel criarPanelTabela() {
         JPanel panel = new JPanel(new BorderLayout());
-        panel.setBorder(BorderFactory.createTitledBorder("Lista de Cargos"));
+        bordaTabela = BorderFactory.createTitledBorder("Lista de Cargos");
+        panel.setBorder(bordaTabela);
+        painelLista = panel;
 
         // 🧾 Colunas da tabela
         String[] colunas = {"ID", "Nome do Cargo"};
@@ -201,11 +302,25 @@ public class CargoForm extends JFrame {
             public boolean isCellEditable(int row, int column) {
                 return false; // 🔒 Impede edição direta
             }
+
+            @Override
+            public Class<?> getColumnClass(int column) {
+                // 🔤 O nome é guardado com a chave de ordenação já calculada
+                return column == 0 ? Integer.class : ChaveOrdenacao.class;
+            }
         };
 
         tabelaCargos = new JTable(tableModel);
         tabelaCargos.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
 
+        // ↕️ Clique no cabeçalho ordena; a pesquisa vira um filtro em memória
+        ordenador = new TableRowSorter<>(tableModel);
+        tabelaCargos.setRowSorter(ordenador);
+
+        // 🖍️ Destaca o termo pesquisado no nome
+        destaque = new DestaqueRenderer();
+        tabelaCargos.getColumnModel().getColumn(1).setCellRenderer(destaque);
+
         // 🖱️ Evento de seleção
         tabelaCargos.getSelectionModel().addListSelectionListener(e -> {
             if (!e.getValueIsAdjusting()) {
@@ -242,6 +357,7 @@ public class CargoForm extends JFrame {
         panel.add(btnAtualizar);
         panel.add(btnExcluir);
         panel.add(btnLimpar);
+        panel.add(tarefas.getIndicador());
 
         // ⚙️ Ações dos botões
         btnCadastrar.addActionListener(e -> cadastrarCargo());
@@ -253,64 +369,56 @@ public class CargoForm extends JFrame {
     }
 
     /**
-     * 🔄 Carrega todos os cargos do banco.
+     * 🔄 Carrega todos os cargos do banco (em segundo plano).
      */
     private void carregarTodosCargos() {
-        try {
-            List<Cargo> cargos = cargoControl.index();
-            atualizarTabela(cargos);
-        } catch (SQLException e) {
-            JOptionPane.showMessageDialog(this,
-                    "Erro ao carregar cargos: " + e.getMessage(),
-                    "Erro",
-                    JOptionPane.ERROR_MESSAGE);
-        }
+        tarefas.executar("lista",
+                () -> prepararLinhas(cargoControl.index()), // 🔤 chaves fora da EDT
+                linhas -> {
+                    atualizarTabela(linhas);
+                    pesquisarCargos(txtPesquisa.getText().trim());
+                },
+                e -> mostrarErro("Erro ao carregar cargos: ", e));
     }
 
     /**
-     * 🔍 Pesquisa cargos por ID ou nome.
+     * 🔍 Pesquisa cargos por ID ou nome (filtro em memória).
+     *
+     * 🧠 Chamado enquanto o usuário digita. A lista de cargos é pequena e já
+     * está inteira na tabela, então a pesquisa só troca o {@link RowFilter}:
+     * o nome é comparado pela forma normalizada guardada na
+     * {@link ChaveOrdenacao} (sem acentos e sem diferenciar maiúsculas).
+     *
+     * @param termoPesquisa texto digitado (sem espaços nas pontas)
      */
-    private void pesquisarCargos() {
-        String termoPesquisa = txtPesquisa.getText().trim();
+    private void pesquisarCargos(String termoPesquisa) {
+        boolean porId = !termoPesquisa.isEmpty() && termoPesquisa.chars().allMatch(Character::isDigit);
+        String termoNormalizado = ChaveOrdenacao.normalizar(termoPesquisa);
 
         if (termoPesquisa.isEmpty()) {
-            carregarTodosCargos();
-            return;
-        }
-
-        // 🧠 Pesquisa por ID
-        try {
-            int id = Integer.parseInt(termoPesquisa);
-            Cargo cargo = cargoControl.show(id);
-            tableModel.setRowCount(0);
-            if (cargo != null) {
-                tableModel.addRow(new Object[]{cargo.getIdCargo(), cargo.getNomeCargo()});
-            } else {
-                JOptionPane.showMessageDialog(this, "Cargo não encontrado!");
-            }
-        } catch (NumberFormatException e) {
-            // 🔤 Pesquisa por nome
-            try {
-                List<Cargo> cargos = cargoControl.index();
-                List<Cargo> filtrados = new ArrayList<>();
-                for (Cargo c : cargos) {
-                    if (c.getNomeCargo().toLowerCase().contains(termoPesquisa.toLowerCase())) {
-                        filtrados.add(c);
+            ordenador.setRowFilter(null);
+        } else {
+            ordenador.setRowFilter(new RowFilter<DefaultTableModel, Integer>() {
+                @Override
+                public boolean include(Entry<? extends DefaultTableModel, ? extends Integer> linha) {
+                    ChaveOrdenacao nome = (ChaveOrdenacao) linha.getValue(1);
+                    if (porId && String.valueOf(linha.getValue(0)).equals(termoPesquisa)) {
+                        return true;
                     }
+                    return nome.contem(termoNormalizado);
                 }
-                atualizarTabela(filtrados);
-                if (filtrados.isEmpty()) {
-                    JOptionPane.showMessageDialog(this, "Nenhum cargo encontrado com o termo: " + termoPesquisa);
-                }
-            } catch (SQLException ex) {
-                JOptionPane.showMessageDialog(this,
-                        "Erro ao pesquisar cargos: " + ex.getMessage(),
-                        "Erro",
-                        JOptionPane.ERROR_MESSAGE);
-            }
-        } catch (SQLException e) {
-            // TODO Auto-generated catch block
-            e.printStackTrace();
+            });
+        }
+
+        // 🖍️ Pesquisa por ID não destaca o nome
+        destaque.setTermo(porId ? "" : termoPesquisa);
+        int encontrados = tabelaCargos.getRowCount();
+        if (termoPesquisa.isEmpty()) {
+            atualizarTituloTabela("Lista de Cargos");
+        } else {
+            atualizarTituloTabela(encontrados == 0
+                    ? "Lista de Cargos (nenhum cargo encontrado com o termo: " + termoPesquisa + ")"
+                    : "Lista de Cargos (" + encontrados + " encontrados)");
         }
     }
 
@@ -326,18 +434,18 @@ public class CargoForm extends JFrame {
 
         Map<String, Object> cargoData = new HashMap<>();
         cargoData.put("nomeCargo", nomeCargo);
-
-        try {
-            Cargo novoCargo = cargoControl.store(cargoData);
-            JOptionPane.showMessageDialog(this, "✅ Cargo cadastrado com sucesso!");
-            limparCampos();
-            carregarTodosCargos();
-        } catch (Exception e) {
-            JOptionPane.showMessageDialog(this,
-                    "Erro ao cadastrar: " + e.getMessage(),
-                    "Erro",
-                    JOptionPane.ERROR_MESSAGE);
+        if (!sessao.verificar(this)) {
+            return;
         }
+
+        tarefas.executarSeLivre("salvar",
+                () -> cargoControl.store(cargoData),
+                novoCargo -> {
+                    // ➕ A linha nova chega pelo evento CargoAlterado
+                    JOptionPane.showMessageDialog(this, "✅ Cargo cadastrado com sucesso!");
+                    limparFormulario();
+                },
+                e -> mostrarErro("Erro ao cadastrar: ", e));
     }
 
     /**
@@ -356,16 +464,21 @@ public class CargoForm extends JFrame {
         }
 
         int id = Integer.parseInt(txtId.getText());
-        Map<String, Object> response = cargoControl.update(id, nomeCargo);
-
-        if ((Boolean) response.get("success")) {
-            JOptionPane.showMessageDialog(this, "✅ " + response.get("message"));
-            limparCampos();
-            carregarTodosCargos();
-        } else {
-            JOptionPane.showMessageDialog(this, "Erro ao atualizar: " + response.get("message"),
-                    "Erro", JOptionPane.ERROR_MESSAGE);
+        if (!sessao.verificar(this)) {
+            return;
         }
+        tarefas.executarSeLivre("salvar",
+                () -> cargoControl.update(id, nomeCargo),
+                response -> {
+                    if (response.isSucesso()) {
+                        JOptionPane.showMessageDialog(this, "✅ " + response.getMensagem());
+                        limparFormulario(); // ✏️ A linha é atualizada pelo evento
+                    } else {
+                        JOptionPane.showMessageDialog(this, "Erro ao atualizar: " + response.getMensagem(),
+                                "Erro", JOptionPane.ERROR_MESSAGE);
+                    }
+                },
+                e -> mostrarErro("Erro ao atualizar: ", e));
     }
 
     /**
@@ -378,23 +491,28 @@ public class CargoForm extends JFrame {
         }
 
         int id = Integer.parseInt(txtId.getText());
+        if (!sessao.verificar(this)) {
+            return;
+        }
         int confirm = JOptionPane.showConfirmDialog(this,
                 "Tem certeza que deseja excluir este cargo?",
                 "Confirmação", JOptionPane.YES_NO_OPTION);
 
         if (confirm == JOptionPane.YES_OPTION) {
-            Map<String, Object> response = cargoControl.destroy(id);
-
-            if ((Boolean) response.get("success")) {
-                JOptionPane.showMessageDialog(this, "🗑️ " + response.get("message"));
-                limparCampos();
-                carregarTodosCargos();
-            } else {
-                JOptionPane.showMessageDialog(this,
-                        "Erro ao excluir: " + response.get("message"),
-                        "Erro",
-                        JOptionPane.ERROR_MESSAGE);
-            }
+            tarefas.executarSeLivre("salvar",
+                    () -> cargoControl.destroy(id),
+                    response -> {
+                        if (response.isSucesso()) {
+                            JOptionPane.showMessageDialog(this, "🗑️ " + response.getMensagem());
+                            limparFormulario(); // 🗑️ A linha sai pelo evento
+                        } else {
+                            JOptionPane.showMessageDialog(this,
+                                    "Erro ao excluir: " + response.getMensagem(),
+                                    "Erro",
+                                    JOptionPane.ERROR_MESSAGE);
+                        }
+                    },
+                    e -> mostrarErro("Erro ao excluir: ", e));
         }
     }
 
@@ -404,8 +522,10 @@ public class CargoForm extends JFrame {
     private void selecionarCargoDaTabela() {
         int selectedRow = tabelaCargos.getSelectedRow();
         if (selectedRow != -1) {
-            int id = (Integer) tableModel.getValueAt(selectedRow, 0);
-            String nomeCargo = (String) tableModel.getValueAt(selectedRow, 1);
+            // ↕️ Com ordenação/filtro, a linha da tela não é a linha do modelo
+            int linha = tabelaCargos.convertRowIndexToModel(selectedRow);
+            int id = (Integer) tableModel.getValueAt(linha, 0);
+            String nomeCargo = tableModel.getValueAt(linha, 1).toString();
 
             txtId.setText(String.valueOf(id));
             txtNomeCargo.setText(nomeCargo);
@@ -413,25 +533,106 @@ public class CargoForm extends JFrame {
     }
 
     /**
-     * 🧼 Limpa os campos e reseta a seleção.
+     * 🧼 Botão "Limpar": limpa os campos e a pesquisa (voltando à lista completa).
      */
     private void limparCampos() {
+        limparFormulario();
+        if (!txtPesquisa.getText().isEmpty()) {
+            pesquisa.limpar();
+            pesquisarCargos("");
+        }
+    }
+
+    /**
+     * 🧼 Limpa os campos do formulário e reseta a seleção.
+     */
+    private void limparFormulario() {
         txtId.setText("");
         txtNomeCargo.setText("");
-        txtPesquisa.setText("");
         tabelaCargos.clearSelection();
     }
 
+    /**
+     * 📣 Um cargo mudou (nesta ou em outra janela): aplica só a linha afetada.
+     *
+     * 🧠 Os métodos do DefaultTableModel disparam o evento certo:
+     * addRow → rowsInserted, setValueAt → cellUpdated, removeRow → rowsDeleted.
+     */
+    private void aoAlterarCargo(CargoAlterado e) {
+        int linha = localizarLinha(e.getId());
+        switch (e.getOperacao()) {
+            case CRIADO:
+                if (linha < 0) {
+                    tableModel.addRow(new Object[]{e.getId(), ChaveOrdenacao.de(e.getCargo().getNomeCargo())});
+                }
+                break;
+            case ATUALIZADO:
+                if (linha >= 0) {
+                    tableModel.setValueAt(ChaveOrdenacao.de(e.getCargo().getNomeCargo()), linha, 1);
+                }
+                break;
+            case EXCLUIDO:
+                if (String.valueOf(e.getId()).equals(txtId.getText())) {
+                    limparFormulario();
+                }
+                if (linha >= 0) {
+                    tableModel.removeRow(linha);
+                }
+                break;
+        }
+    }
+
+    /**
+     * 🔎 Procura a linha do cargo na tabela (-1 se não estiver listado).
+     */
+    private int localizarLinha(int idCargo) {
+        for (int i = 0; i < tableModel.getRowCount(); i++) {
+            if ((Integer) tableModel.getValueAt(i, 0) == idCargo) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 🔤 Monta as linhas da tabela com as chaves de ordenação (fora da EDT).
+     */
+    private static List<Object[]> prepararLinhas(List<Cargo> cargos) {
+        List<Object[]> linhas = new ArrayList<>(cargos.size());
+        for (Cargo cargo : cargos) {
+            linhas.add(new Object[]{cargo.getIdCargo(), ChaveOrdenacao.de(cargo.getNomeCargo())});
+        }
+        return linhas;
+    }
+
     /**
      * 🔄 Atualiza os dados na tabela.
      */
-    private void atualizarTabela(List<Cargo> cargos) {
+    private void atualizarTabela(List<Object[]> linhas) {
         tableModel.setRowCount(0);
-        for (Cargo cargo : cargos) {
-            tableModel.addRow(new Object[]{cargo.getIdCargo(), cargo.getNomeCargo()});
+        for (Object[] linha : linhas) {
+            tableModel.addRow(linha);
         }
     }
 
+    /**
+     * 🏷️ Troca o título da borda da tabela (ex: quantidade encontrada).
+     */
+    private void atualizarTituloTabela(String titulo) {
+        bordaTabela.setTitle(titulo);
+        painelLista.repaint();
+    }
+
+    /**
+     * ❌ Mostra uma mensagem de erro vinda de uma tarefa em segundo plano.
+     */
+    private void mostrarErro(String prefixo, Exception e) {
+        JOptionPane.showMessageDialog(this,
+                prefixo + e.getMessage(),
+                "Erro",
+                JOptionPane.ERROR_MESSAGE);
+    }
+
     /**
      * ▶️ Método main — ponto de entrada da aplicação Swing.
      */
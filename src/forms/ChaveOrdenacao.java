@@ -0,0 +1,101 @@
+package forms;
+
+import java.text.CollationKey;
+import java.text.Collator;
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * 🔤 Classe: ChaveOrdenacao
+ * -------------------------------------------------
+ * 📚 Texto de uma célula acompanhado das chaves já calculadas para
+ * <b>ordenar</b> e <b>filtrar</b> em português, sem diferenciar acentos nem
+ * maiúsculas ("Álvaro" = "alvaro").
+ *
+ * 🧠 Notas de Aula:
+ * - Um {@link Collator} pt-BR com força PRIMARY compara só as letras-base.
+ * - Comparar com {@code Collator.compare} a cada passo da ordenação é caro;
+ *   a {@link CollationKey} é calculada <b>uma vez por linha</b> e depois a
+ *   comparação é só de bytes.
+ * - Para o filtro, o texto é guardado já "normalizado" (sem acentos, em
+ *   minúsculas), então pesquisar vira um simples {@code contains}.
+ * - As chaves devem ser criadas fora da EDT (na mesma tarefa que busca os dados).
+ * - {@link #toString()} devolve o texto original, que é o que a tabela mostra.
+ */
+public final class ChaveOrdenacao implements Comparable<ChaveOrdenacao> {
+
+    private static final Locale PT_BR = new Locale("pt", "BR");
+
+    // 🧵 Collator não é thread-safe: um por thread
+    private static final ThreadLocal<Collator> COLLATOR = ThreadLocal.withInitial(() -> {
+        Collator c = Collator.getInstance(PT_BR);
+        c.setStrength(Collator.PRIMARY);
+        c.setDecomposition(Collator.CANONICAL_DECOMPOSITION);
+        return c;
+    });
+
+    private static final Pattern MARCAS = Pattern.compile("\\p{M}+");
+
+    /** Chave vazia (ex: funcionário sem cargo). */
+    public static final ChaveOrdenacao VAZIA = de("");
+
+    private final String texto;
+    private final CollationKey chave;
+    private final String normalizado;
+
+    private ChaveOrdenacao(String texto) {
+        this.texto = texto;
+        this.chave = COLLATOR.get().getCollationKey(texto);
+        this.normalizado = normalizar(texto);
+    }
+
+    /**
+     * 🏭 Calcula as chaves de um texto (null vira texto vazio).
+     */
+    public static ChaveOrdenacao de(String texto) {
+        return new ChaveOrdenacao(texto == null ? "" : texto);
+    }
+
+    /**
+     * 🧹 Remove acentos e passa para minúsculas ("Conceição" → "conceicao").
+     */
+    public static String normalizar(String texto) {
+        if (texto == null) {
+            return "";
+        }
+        String semAcento = MARCAS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("");
+        return semAcento.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * 🔍 Indica se o texto contém o termo (já normalizado com {@link #normalizar}).
+     */
+    public boolean contem(String termoNormalizado) {
+        return normalizado.contains(termoNormalizado);
+    }
+
+    public String getTexto() {
+        return texto;
+    }
+
+    @Override
+    public int compareTo(ChaveOrdenacao outra) {
+        return chave.compareTo(outra.chave);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof ChaveOrdenacao && texto.equals(((ChaveOrdenacao) o).texto);
+    }
+
+    @Override
+    public int hashCode() {
+        return texto.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return texto;
+    }
+}
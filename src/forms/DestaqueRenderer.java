@@ -0,0 +1,92 @@
+package forms;
+
+import javax.swing.table.DefaultTableCellRenderer;
+
+/**
+ * 🖍️ Classe: DestaqueRenderer
+ * -------------------------------------------------
+ * 📚 Renderizador de células que <b>destaca</b> o termo pesquisado dentro do
+ * texto (ex: "<b>Ana</b> Souza" ao pesquisar "ana").
+ *
+ * 🧠 Notas de Aula:
+ * - O {@code JLabel} do Swing entende HTML simples; o trecho encontrado é
+ *   envolvido em {@code <b>}.
+ * - A comparação não diferencia maiúsculas nem acentos (como o {@code LIKE}
+ *   do MySQL e o filtro com {@link ChaveOrdenacao}).
+ * - O texto da célula é "escapado" para que caracteres como {@code <} não
+ *   sejam interpretados como HTML.
+ */
+public class DestaqueRenderer extends DefaultTableCellRenderer {
+
+    private static final long serialVersionUID = 1L;
+
+    private String termo = "";
+    private String termoNormalizado = "";
+
+    /**
+     * 🔍 Define o termo a destacar (vazio = sem destaque).
+     */
+    public void setTermo(String termo) {
+        this.termo = termo == null ? "" : termo.trim();
+        this.termoNormalizado = ChaveOrdenacao.normalizar(this.termo);
+    }
+
+    public String getTermo() {
+        return termo;
+    }
+
+    @Override
+    protected void setValue(Object value) {
+        if (value == null || termo.isEmpty()) {
+            super.setValue(value);
+            return;
+        }
+
+        String texto = value.toString();
+
+        // 🔤 Sem acentos, o texto costuma ter o mesmo tamanho: as posições
+        // encontradas no texto normalizado valem para o original
+        String alvo = ChaveOrdenacao.normalizar(texto);
+        String procurado = termoNormalizado;
+        if (alvo.length() != texto.length() || procurado.isEmpty()) {
+            alvo = texto;
+            procurado = termo;
+        }
+
+        StringBuilder html = new StringBuilder("<html>");
+        int inicio = 0;
+        boolean achou = false;
+        for (int i = 0; i + procurado.length() <= alvo.length(); ) {
+            if (alvo.regionMatches(true, i, procurado, 0, procurado.length())) {
+                escapar(html, texto, inicio, i);
+                html.append("<b>");
+                escapar(html, texto, i, i + procurado.length());
+                html.append("</b>");
+                i += procurado.length();
+                inicio = i;
+                achou = true;
+            } else {
+                i++;
+            }
+        }
+
+        if (!achou) {
+            super.setValue(texto);
+            return;
+        }
+        escapar(html, texto, inicio, texto.length());
+        super.setValue(html.append("</html>").toString());
+    }
+
+    private static void escapar(StringBuilder destino, String texto, int de, int ate) {
+        for (int i = de; i < ate; i++) {
+            char c = texto.charAt(i);
+            switch (c) {
+                case '<': destino.append("&lt;"); break;
+                case '>': destino.append("&gt;"); break;
+                case '&': destino.append("&amp;"); break;
+                default: destino.append(c);
+            }
+        }
+    }
+}
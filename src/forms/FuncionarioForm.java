@@ -1,21 +1,32 @@
 package forms;
 
 import javax.swing.*;
-import javax.swing.table.DefaultTableModel;
+import javax.swing.filechooser.FileNameExtensionFilter;
+import javax.swing.table.TableRowSorter;
 import java.awt.*;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.io.File;
+import java.nio.file.Path;
 import java.sql.SQLException;
+import java.text.SimpleDateFormat;
 import java.util.*;
 import java.util.List;
 
+import bulk.ExportacaoFuncionarios;
+import bulk.ImportacaoFuncionarios;
+import bulk.ResumoImportacao;
+import cache.SincronizadorSnapshot;
+import cache.SnapshotLocal;
+import context.AppContext;
 import control.FuncionarioControl;
 import control.CargoControl;
-import dao.FuncionarioDAO;
-import dao.CargoDAO;
-import database.MysqlDatabase;
+import event.CargoAlterado;
+import event.EventBus;
+import event.EventoAlteracao;
+import event.FuncionarioAlterado;
 import model.Funcionario;
 import model.Cargo;
-import service.FuncionarioService;
-import service.CargoService;
 
 /**
  * 🧩 Classe: FuncionarioForm
@@ -34,9 +45,15 @@ import service.CargoService;
  *  - Cadastrar, listar, atualizar e excluir funcionários.
  *  - Pesquisar por nome ou e-mail.
  *  - Relacionar funcionário a um cargo existente.
- *  - Conectar ao banco MySQL.
+ *  - Usar as dependências compartilhadas do {@link AppContext}.
+ *  - Abrir a lista na hora a partir da cópia local ({@link SnapshotLocal})
+ *    e continuar consultando (somente leitura) sem o banco.
+ *  - Exportar todos os funcionários (CSV/JSON, gzip) em segundo plano,
+ *    com progresso e cancelamento.
+ *  - Importar funcionários de um CSV em segundo plano, com progresso,
+ *    cancelamento e o relatório dos erros por linha.
  */
-public class FuncionarioForm extends JFrame {
+public class FuncionarioForm extends JFrame implements JanelaReutilizavel {
 
     // 🧱 Campos do formulário
     private JTextField txtPesquisa;
@@ -49,7 +66,22 @@ public class FuncionarioForm extends JFrame {
 
     // 📋 Tabela de listagem
     private JTable tabelaFuncionarios;
-    private DefaultTableModel tableModel;
+    private FuncionarioTableModel tableModel;
+    private TableRowSorter<FuncionarioTableModel> ordenador;
+    private DestaqueRenderer destaque;
+
+    // 📋 true quando a tabela mostra a lista inteira do banco (paginada): só
+    // então um cadastro vira uma linha nova. Com resultados de pesquisa ou
+    // com a cópia local, a visão é refeita.
+    private boolean listaDoBanco;
+    private JPanel painelLista;
+    private javax.swing.border.TitledBorder bordaTabela;
+
+    // ⌨️ Pesquisa enquanto digita
+    private PesquisaDigitada pesquisa;
+
+    /** Máximo de funcionários retornados por uma pesquisa. */
+    private static final int LIMITE_PESQUISA = 500;
 
     // 🔘 Botões
     private JButton btnPesquisar;
@@ -57,42 +89,88 @@ public class FuncionarioForm extends JFrame {
     private JButton btnAtualizar;
     private JButton btnExcluir;
     private JButton btnLimpar;
+    private JButton btnExportar;
+    private JButton btnImportar;
 
     // 🧩 Controllers (ligação com a lógica)
     private FuncionarioControl funcionarioControl;
     private CargoControl cargoControl;
 
+    // 🧰 Dependências compartilhadas da aplicação
+    private final AppContext contexto;
+
+    // 📣 Avisos de alterações feitas nesta ou em outras janelas
+    private EventBus.Assinatura<CargoAlterado> assinaturaCargos;
+    private EventBus.Assinatura<FuncionarioAlterado> assinaturaFuncionarios;
+
+    // 🙈 Enquanto escondida, só anota o que ficou desatualizado
+    private EventBus.Assinatura<EventoAlteracao> assinaturaOculta;
+    private volatile boolean funcionariosDesatualizados;
+    private volatile boolean cargosDesatualizados;
+
+    // ⏳ Executa as chamadas ao banco fora da EDT
+    private BackgroundTaskRunner tarefas;
+
+    // 🎟️ Sessão do login, conferida antes de cada gravação, importação ou exportação
+    private final SessaoUsuario sessao;
+
+    // 💾 Cópia local de funcionários e cargos (null = desabilitada)
+    private final SincronizadorSnapshot sincronizador;
+    private SnapshotLocal copiaLocal;
+
+    // 🔄 true depois que a cópia foi comparada com o banco (nesta exibição)
+    private boolean sincronizado;
+
+    // 📴 true quando o banco não respondeu: lista vinda da cópia, sem gravações
+    private boolean offline;
+
+    private static final String TITULO = "Sistema de Gerenciamento de Funcionários";
+
     /**
-     * 🚀 Construtor principal da tela de funcionários.
-     * - Inicializa a conexão com o banco.
-     * - Cria instâncias de DAO, Service e Control.
-     * - Monta a interface e carrega dados iniciais.
+     * 🚀 Construtor usando o contexto global da aplicação.
      */
     public FuncionarioForm() {
-        // 🗄️ Cria conexão com o banco MySQL
-        MysqlDatabase database = new MysqlDatabase(
-                "127.0.0.1", "root", "", "gestao_rh", 3306);
+        this(AppContext.getInstance());
+    }
 
-        // ⚙️ Injeta dependências manualmente
-        CargoDAO cargoDAO = new CargoDAO(database);
-        CargoService cargoService = new CargoService(cargoDAO);
-        this.cargoControl = new CargoControl(cargoService);
+    /**
+     * 🚀 Construtor sem sessão: a tela só consulta (gravações recusadas).
+     */
+    public FuncionarioForm(AppContext contexto) {
+        this(contexto, null);
+    }
 
-        FuncionarioDAO funcionarioDAO = new FuncionarioDAO(database);
-        FuncionarioService funcionarioService = new FuncionarioService(funcionarioDAO);
-        this.funcionarioControl = new FuncionarioControl(funcionarioService);
+    /**
+     * 🚀 Construtor principal da tela de funcionários.
+     * - Recebe os Controllers já montados pelo {@link AppContext}
+     *   (nenhuma conexão é aberta aqui).
+     * - Monta a interface e carrega dados iniciais.
+     *
+     * @param tokenSessao token do login, conferido antes de cada gravação
+     */
+    public FuncionarioForm(AppContext contexto, String tokenSessao) {
+        // ⚙️ Dependências compartilhadas
+        this.contexto = contexto;
+        this.cargoControl = contexto.getCargoControl();
+        this.funcionarioControl = contexto.getFuncionarioControl();
+        this.sessao = new SessaoUsuario(funcionarioControl, tokenSessao);
+        this.sincronizador = contexto.getSincronizadorSnapshot();
 
         // 🖥️ Inicializa a interface
+        this.tarefas = new BackgroundTaskRunner(this);
         initializeUI();
         carregarTodosFuncionarios();
         carregarCargosCombo();
+
+        // 📣 Atualiza só o que mudou, quando mudou (em qualquer janela)
+        assinarEventos();
     }
 
     /**
      * 🎨 Configura toda a interface principal.
      */
     private void initializeUI() {
-        setTitle("Sistema de Gerenciamento de Funcionários");
+        setTitle(TITULO);
         //setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
         setSize(900, 650);
         setLocationRelativeTo(null);
@@ -109,6 +187,101 @@ public class FuncionarioForm extends JFrame {
         mainPanel.add(panelBotoes, BorderLayout.SOUTH);
 
         add(mainPanel);
+
+        // 🛑 Fechar esconde a janela (ver GerenciadorJanelas); descartar libera tudo
+        addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosing(WindowEvent e) {
+                ocultar();
+            }
+
+            @Override
+            public void windowClosed(WindowEvent e) {
+                liberar();
+            }
+        });
+    }
+
+    // =====================================================
+    // ♻️ Ciclo de vida da janela
+    // =====================================================
+
+    /**
+     * 🙈 A janela foi fechada (escondida): libera o que é temporário e passa
+     * a só anotar as alterações feitas enquanto ela não está visível.
+     */
+    private void ocultar() {
+        System.out.println(">> FuncionarioForm.ocultar()");
+        // ⏳ Uma carga interrompida deixa a tabela pela metade
+        funcionariosDesatualizados |= tarefas.isAtiva("lista");
+        cargosDesatualizados |= tarefas.isAtiva("cargos");
+        // 📴 Sem banco (ou comparação interrompida): ao reabrir, tenta de novo
+        funcionariosDesatualizados |= offline || tarefas.isAtiva("sincronizar");
+        liberar();
+        assinaturaOculta = contexto.getEventBus().assinar(EventoAlteracao.class, e -> {
+            if (e instanceof CargoAlterado) {
+                cargosDesatualizados = true;
+            } else {
+                funcionariosDesatualizados = true;
+            }
+        });
+    }
+
+    /**
+     * 🔁 Mostrada de novo pelo {@link GerenciadorJanelas}: volta a ouvir os
+     * eventos e recarrega somente o que mudou enquanto estava escondida.
+     */
+    @Override
+    public void reexibir() {
+        System.out.println(">> FuncionarioForm.reexibir()");
+        assinarEventos(); // 🔁 antes de cancelar a outra: nenhum evento se perde
+        contexto.getEventBus().cancelar(assinaturaOculta);
+        assinaturaOculta = null;
+
+        if (cargosDesatualizados) {
+            cargosDesatualizados = false;
+            carregarCargosCombo();
+            funcionariosDesatualizados = true; // 💼 nomes de cargo nas linhas
+        }
+        if (funcionariosDesatualizados) {
+            funcionariosDesatualizados = false;
+            recarregarLista();
+        }
+    }
+
+    /**
+     * 🛑 Para timers e consultas e cancela as assinaturas de eventos.
+     */
+    private void liberar() {
+        pesquisa.parar();
+        tarefas.cancelarTodas();
+        restaurarBotaoExportar(); // 🛑 exportação em andamento também é cancelada
+        restaurarBotaoImportar();
+        tableModel.encerrar();
+        EventBus eventos = contexto.getEventBus();
+        eventos.cancelar(assinaturaCargos);
+        eventos.cancelar(assinaturaFuncionarios);
+        eventos.cancelar(assinaturaOculta);
+        assinaturaCargos = null;
+        assinaturaFuncionarios = null;
+        assinaturaOculta = null;
+    }
+
+    private void assinarEventos() {
+        EventBus eventos = contexto.getEventBus();
+        assinaturaCargos = eventos.assinarNaEdt(CargoAlterado.class, this::aoAlterarCargo);
+        assinaturaFuncionarios = eventos.assinarNaEdt(FuncionarioAlterado.class, this::aoAlterarFuncionario);
+    }
+
+    /**
+     * 🔄 Recarrega a lista do banco mantendo a pesquisa digitada.
+     */
+    private void recarregarLista() {
+        if (txtPesquisa.getText().trim().isEmpty()) {
+            carregarTodosFuncionarios();
+            return;
+        }
+        pesquisa.pesquisarAgora();
     }
 
     /**
@@ -129,9 +302,11 @@ public class FuncionarioForm extends JFrame {
         panelPesquisa.add(txtPesquisa);
         panelPesquisa.add(btnPesquisar);
 
-        // 🖱️ Eventos de pesquisa
-        btnPesquisar.addActionListener(e -> pesquisarFuncionarios());
-        txtPesquisa.addActionListener(e -> pesquisarFuncionarios());
+        // 🖱️ Eventos de pesquisa: ao digitar (com debounce), Enter ou botão
+        pesquisa = new PesquisaDigitada(txtPesquisa, PesquisaDigitada.ATRASO_PADRAO_MS,
+                this::pesquisarFuncionarios);
+        btnPesquisar.addActionListener(e -> pesquisa.pesquisarAgora());
+        txtPesquisa.addActionListener(e -> pesquisa.pesquisarAgora());
 
         // 📝 Seção de formulário
         JPanel panelFormulario = new JPanel(new GridBagLayout());
@@ -191,17 +366,37 @@ public class FuncionarioForm extends JFrame {
      */
     private JPanel criarPanelTabela() {
         JPanel panel = new JPanel(new BorderLayout());
-        panel.setBorder(BorderFactory.createTitledBorder("Lista de Funcionários"));
+        bordaTabela = BorderFactory.createTitledBorder("Lista de Funcionários");
+        panel.setBorder(bordaTabela);
+        painelLista = panel;
 
-        String[] colunas = {"ID", "Nome", "Email", "Vale Transporte", "Cargo"};
-        tableModel = new DefaultTableModel(colunas, 0) {
-            @Override
-            public boolean isCellEditable(int row, int column) { return false; }
-        };
+        // 📄 Modelo paginado: busca as linhas conforme a rolagem
+        tableModel = new FuncionarioTableModel(contexto.getExecutor());
 
         tabelaFuncionarios = new JTable(tableModel);
         tabelaFuncionarios.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
 
+        // ↕️ Ordenação pelas chaves pré-calculadas, só nos resultados da
+        // pesquisa (no máximo LIMITE_PESQUISA linhas, já em memória). A lista
+        // completa é paginada e segue a ordem do ID: ordená-la aqui exigiria
+        // trazer todas as linhas para a memória.
+        ordenador = new TableRowSorter<FuncionarioTableModel>(tableModel) {
+            @Override
+            public void toggleSortOrder(int column) {
+                if (tableModel.isEmMemoria()) {
+                    super.toggleSortOrder(column);
+                }
+            }
+        };
+        tabelaFuncionarios.setRowSorter(ordenador);
+        tabelaFuncionarios.getTableHeader().setToolTipText(
+                "Clique para ordenar os resultados da pesquisa (a lista completa segue a ordem do ID)");
+
+        // 🖍️ Destaca o termo pesquisado no nome e no email
+        destaque = new DestaqueRenderer();
+        tabelaFuncionarios.getColumnModel().getColumn(1).setCellRenderer(destaque);
+        tabelaFuncionarios.getColumnModel().getColumn(2).setCellRenderer(destaque);
+
         // 🖱️ Evento: seleção de linha
         tabelaFuncionarios.getSelectionModel().addListSelectionListener(e -> {
             if (!e.getValueIsAdjusting()) selecionarFuncionarioDaTabela();
@@ -223,83 +418,195 @@ public class FuncionarioForm extends JFrame {
         btnAtualizar = new JButton("Atualizar");
         btnExcluir = new JButton("Excluir");
         btnLimpar = new JButton("Limpar");
+        btnExportar = new JButton("Exportar...");
+        btnImportar = new JButton("Importar CSV...");
 
         Dimension btnSize = new Dimension(120, 30);
         btnCadastrar.setPreferredSize(btnSize);
         btnAtualizar.setPreferredSize(btnSize);
         btnExcluir.setPreferredSize(btnSize);
         btnLimpar.setPreferredSize(btnSize);
+        btnExportar.setPreferredSize(btnSize);
+        btnImportar.setPreferredSize(new Dimension(140, 30)); // 📏 texto mais longo
 
         panel.add(btnCadastrar);
         panel.add(btnAtualizar);
         panel.add(btnExcluir);
         panel.add(btnLimpar);
+        panel.add(btnExportar);
+        panel.add(btnImportar);
+        panel.add(tarefas.getIndicador());
 
         // ⚙️ Define as ações
         btnCadastrar.addActionListener(e -> cadastrarFuncionario());
         btnAtualizar.addActionListener(e -> atualizarFuncionario());
         btnExcluir.addActionListener(e -> excluirFuncionario());
         btnLimpar.addActionListener(e -> limparCampos());
+        btnExportar.addActionListener(e -> exportarFuncionarios());
+        btnImportar.addActionListener(e -> importarFuncionarios());
 
         return panel;
     }
 
     /**
-     * 🔄 Carrega todos os funcionários do banco.
+     * 🔄 Carrega todos os funcionários (em segundo plano).
+     *
+     * 💾 Na primeira carga, mostra antes a cópia local (se houver) e a
+     * compara com o banco; depois, vai direto ao banco.
      */
     private void carregarTodosFuncionarios() {
-        try {
-            List<Funcionario> funcionarios = funcionarioControl.index();
-            atualizarTabela(funcionarios);
-        } catch (SQLException e) {
-            JOptionPane.showMessageDialog(this,
-                    "Erro ao carregar funcionários: " + e.getMessage(),
-                    "Erro", JOptionPane.ERROR_MESSAGE);
+        if (sincronizador == null || (sincronizado && !offline)) {
+            carregarDoBanco();
+            return;
         }
+        tarefas.executar("lista",
+                sincronizador::getLocal,
+                local -> {
+                    if (local != null) {
+                        mostrarCopiaLocal(local);
+                    }
+                    sincronizarComBanco(local);
+                },
+                e -> carregarDoBanco());
     }
 
     /**
-     * 🧠 Carrega os cargos disponíveis no comboBox.
+     * 🔄 Compara a cópia local com o banco (regravando-a se mudou).
+     *
+     * - Banco respondeu: a lista passa a vir do banco.
+     * - Banco fora do ar: a tela fica com a cópia, somente leitura.
      */
-    private void carregarCargosCombo() {
-        try {
-            List<Cargo> cargos = cargoControl.index();
-            cbCargo.removeAllItems();
-            for (Cargo c : cargos) cbCargo.addItem(c);
-        } catch (SQLException e) {
-            JOptionPane.showMessageDialog(this,
-                    "Erro ao carregar cargos: " + e.getMessage(),
-                    "Erro", JOptionPane.ERROR_MESSAGE);
+    private void sincronizarComBanco(SnapshotLocal local) {
+        tarefas.executar("sincronizar",
+                sincronizador::reconciliar,
+                regravou -> {
+                    sincronizado = true;
+                    definirOffline(false);
+                    carregarDoBanco();
+                },
+                e -> {
+                    if (!(e instanceof SQLException)) {
+                        // 💾 Falha ao gravar o arquivo: o banco está no ar
+                        System.err.println("❌ Cópia local não atualizada: " + e.getMessage());
+                        sincronizado = true;
+                        definirOffline(false);
+                        carregarDoBanco();
+                    } else if (local != null) {
+                        definirOffline(true);
+                    } else {
+                        mostrarErro("Erro ao carregar funcionários: ", e);
+                    }
+                });
+    }
+
+    /**
+     * 💾 Mostra a lista a partir da cópia local (paginada, como a do banco).
+     */
+    private void mostrarCopiaLocal(SnapshotLocal local) {
+        copiaLocal = local;
+        destaque.setTermo("");
+        ordenador.setSortKeys(null);
+        listaDoBanco = false;
+        atualizarTituloTabela("Lista de Funcionários (cópia local de "
+                + new SimpleDateFormat("dd/MM/yyyy HH:mm").format(new Date(local.getGeradoEm())) + ")");
+        tableModel.setFonte(local::pagina, local.getQuantidade());
+    }
+
+    /**
+     * 📴 Liga/desliga o modo somente leitura (banco fora do ar).
+     */
+    private void definirOffline(boolean valor) {
+        boolean mudou = offline != valor;
+        offline = valor;
+        btnCadastrar.setEnabled(!valor);
+        btnAtualizar.setEnabled(!valor);
+        btnExcluir.setEnabled(!valor);
+        btnImportar.setEnabled(!valor);
+        setTitle(valor ? TITULO + " — offline (somente leitura)" : TITULO);
+
+        // 💼 Cargos da cópia ao cair; do banco ao voltar (ou se a carga falhou)
+        if (mudou || (cbCargo.getItemCount() == 0 && !tarefas.isAtiva("cargos"))) {
+            carregarCargosCombo();
         }
     }
 
     /**
-     * 🔍 Pesquisa funcionários por nome ou e-mail.
+     * 🔄 Carrega a lista do banco.
+     *
+     * 🧠 Só o total é buscado agora; as linhas chegam em páginas conforme a
+     * tabela é rolada.
+     */
+    private void carregarDoBanco() {
+        tarefas.executar("lista",
+                funcionarioControl::count,
+                total -> {
+                    destaque.setTermo("");
+                    atualizarTituloTabela("Lista de Funcionários");
+                    // ⚠️ Ordenar linhas paginadas buscaria todas as páginas
+                    ordenador.setSortKeys(null);
+                    listaDoBanco = true;
+                    tableModel.setFonte(funcionarioControl::page, total);
+                },
+                e -> mostrarErro("Erro ao carregar funcionários: ", e));
+    }
+
+    /**
+     * 🧠 Carrega os cargos disponíveis no comboBox (em segundo plano).
+     */
+    private void carregarCargosCombo() {
+        SnapshotLocal local = offline ? copiaLocal : null;
+        tarefas.executar("cargos",
+                () -> local != null ? local.getCargos() : cargoControl.index(),
+                cargos -> {
+                    // 🔁 Mantém o cargo que estava selecionado (se ainda existir)
+                    Cargo selecionado = (Cargo) cbCargo.getSelectedItem();
+                    cbCargo.removeAllItems();
+                    for (Cargo c : cargos) cbCargo.addItem(c);
+                    cbCargo.setSelectedIndex(-1);
+                    if (selecionado != null) {
+                        selecionarCargo(selecionado.getIdCargo());
+                    }
+                },
+                e -> {
+                    // 📴 Se o banco estiver fora do ar, a sincronização recarrega da cópia local
+                    if (sincronizador == null || sincronizado) {
+                        mostrarErro("Erro ao carregar cargos: ", e);
+                    }
+                });
+    }
+
+    /**
+     * 🔍 Pesquisa funcionários por nome ou e-mail (em segundo plano).
+     *
+     * 🧠 Chamado enquanto o usuário digita. Usa a mesma chave da listagem:
+     * uma pesquisa nova cancela a anterior, e o resultado antigo é descartado.
+     * A consulta é feita no banco e limitada a {@link #LIMITE_PESQUISA} linhas.
+     *
+     * ↕️ As chaves de ordenação são calculadas aqui, uma vez por linha: ordenar
+     * os resultados depois (cabeçalho) não recalcula nada.
+     *
+     * @param termo texto digitado (sem espaços nas pontas)
      */
-    private void pesquisarFuncionarios() {
-        String termo = txtPesquisa.getText().trim();
+    private void pesquisarFuncionarios(String termo) {
         if (termo.isEmpty()) {
             carregarTodosFuncionarios();
             return;
         }
 
-        try {
-            List<Funcionario> funcionarios = funcionarioControl.index();
-            List<Funcionario> filtrados = new ArrayList<>();
-
-            for (Funcionario f : funcionarios) {
-                if (f.getNomeFuncionario().toLowerCase().contains(termo.toLowerCase()) ||
-                    f.getEmail().toLowerCase().contains(termo.toLowerCase())) {
-                    filtrados.add(f);
-                }
-            }
-
-            atualizarTabela(filtrados);
-        } catch (SQLException e) {
-            JOptionPane.showMessageDialog(this,
-                    "Erro ao pesquisar funcionários: " + e.getMessage(),
-                    "Erro", JOptionPane.ERROR_MESSAGE);
-        }
+        SnapshotLocal local = offline ? copiaLocal : null;
+        tarefas.executar("lista",
+                () -> FuncionarioTableModel.preparar(local != null
+                        ? local.pesquisar(termo, LIMITE_PESQUISA)
+                        : funcionarioControl.search(termo, LIMITE_PESQUISA)),
+                encontrados -> {
+                    destaque.setTermo(termo);
+                    atualizarTituloTabela(encontrados.size() >= LIMITE_PESQUISA
+                            ? "Lista de Funcionários (primeiros " + LIMITE_PESQUISA + " resultados)"
+                            : "Lista de Funcionários (" + encontrados.size() + " encontrados)");
+                    listaDoBanco = false;
+                    tableModel.setLinhas(encontrados);
+                },
+                e -> mostrarErro("Erro ao pesquisar funcionários: ", e));
     }
 
     /**
@@ -317,23 +624,24 @@ public class FuncionarioForm extends JFrame {
             return;
         }
 
-        try {
-            Map<String, Object> data = new HashMap<>();
-            data.put("nomeFuncionario", nome);
-            data.put("email", email);
-            data.put("senha", senha);
-            data.put("recebeValeTransporte", vale);
-            data.put("cargo", cargo);
-
-            funcionarioControl.store(data);
-            JOptionPane.showMessageDialog(this, "✅ Funcionário cadastrado com sucesso!");
-            limparCampos();
-            carregarTodosFuncionarios();
-        } catch (Exception e) {
-            JOptionPane.showMessageDialog(this,
-                    "Erro ao cadastrar: " + e.getMessage(),
-                    "Erro", JOptionPane.ERROR_MESSAGE);
+        Map<String, Object> data = new HashMap<>();
+        data.put("nomeFuncionario", nome);
+        data.put("email", email);
+        data.put("senha", senha);
+        data.put("recebeValeTransporte", vale);
+        data.put("cargo", cargo);
+        if (!sessao.verificar(this)) {
+            return;
         }
+
+        tarefas.executarSeLivre("salvar",
+                () -> funcionarioControl.store(data),
+                novo -> {
+                    // ➕ A linha nova chega pelo evento FuncionarioAlterado
+                    JOptionPane.showMessageDialog(this, "✅ Funcionário cadastrado com sucesso!");
+                    limparFormulario();
+                },
+                e -> mostrarErro("Erro ao cadastrar: ", e));
     }
 
     /**
@@ -356,17 +664,23 @@ public class FuncionarioForm extends JFrame {
             JOptionPane.showMessageDialog(this, "⚠️ Preencha todos os campos obrigatórios!");
             return;
         }
-
-        Map<String, Object> response = funcionarioControl.update(id, nome, email, senha, vale, cargo);
-        if ((Boolean) response.get("success")) {
-            JOptionPane.showMessageDialog(this, "✅ " + response.get("message"));
-            limparCampos();
-            carregarTodosFuncionarios();
-        } else {
-            JOptionPane.showMessageDialog(this,
-                    "Erro ao atualizar: " + response.get("message"),
-                    "Erro", JOptionPane.ERROR_MESSAGE);
+        if (!sessao.verificar(this)) {
+            return;
         }
+
+        tarefas.executarSeLivre("salvar",
+                () -> funcionarioControl.update(id, nome, email, senha, vale, cargo),
+                response -> {
+                    if (response.isSucesso()) {
+                        JOptionPane.showMessageDialog(this, "✅ " + response.getMensagem());
+                        limparFormulario(); // ✏️ A linha é atualizada pelo evento
+                    } else {
+                        JOptionPane.showMessageDialog(this,
+                                "Erro ao atualizar: " + response.getMensagem(),
+                                "Erro", JOptionPane.ERROR_MESSAGE);
+                    }
+                },
+                e -> mostrarErro("Erro ao atualizar: ", e));
     }
 
     /**
@@ -379,74 +693,311 @@ public class FuncionarioForm extends JFrame {
         }
 
         int id = Integer.parseInt(txtId.getText());
+        if (!sessao.verificar(this)) {
+            return;
+        }
         int confirm = JOptionPane.showConfirmDialog(this,
                 "❓ Deseja realmente excluir este funcionário?",
                 "Confirmação", JOptionPane.YES_NO_OPTION);
 
         if (confirm == JOptionPane.YES_OPTION) {
-            Map<String, Object> response = funcionarioControl.destroy(id);
-            if ((Boolean) response.get("success")) {
-                JOptionPane.showMessageDialog(this, "🗑️ " + response.get("message"));
-                limparCampos();
-                carregarTodosFuncionarios();
-            } else {
-                JOptionPane.showMessageDialog(this,
-                        "Erro ao excluir: " + response.get("message"),
-                        "Erro", JOptionPane.ERROR_MESSAGE);
-            }
+            tarefas.executarSeLivre("salvar",
+                    () -> funcionarioControl.destroy(id),
+                    response -> {
+                        if (response.isSucesso()) {
+                            JOptionPane.showMessageDialog(this, "🗑️ " + response.getMensagem());
+                            limparFormulario(); // 🗑️ A linha sai pelo evento
+                        } else {
+                            JOptionPane.showMessageDialog(this,
+                                    "Erro ao excluir: " + response.getMensagem(),
+                                    "Erro", JOptionPane.ERROR_MESSAGE);
+                        }
+                    },
+                    e -> mostrarErro("Erro ao excluir: ", e));
         }
     }
 
+    /**
+     * 📤 Exporta todos os funcionários para um arquivo (o formato vem da
+     * extensão: .csv, .json, com .gz para compactar). Clicar de novo durante
+     * a exportação cancela.
+     */
+    private void exportarFuncionarios() {
+        if (tarefas.isAtiva("exportar")) {
+            tarefas.cancelar("exportar");
+            restaurarBotaoExportar();
+            JOptionPane.showMessageDialog(this, "🛑 Exportação cancelada.");
+            return;
+        }
+        if (!sessao.verificar(this)) {
+            return;
+        }
+
+        JFileChooser seletor = new JFileChooser();
+        seletor.setDialogTitle("Exportar funcionários");
+        seletor.setFileFilter(new FileNameExtensionFilter("CSV ou JSON (.csv, .json, .gz)", "csv", "json", "gz"));
+        seletor.setSelectedFile(new File("funcionarios.csv"));
+        if (seletor.showSaveDialog(this) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+        Path destino = seletor.getSelectedFile().toPath();
+        ExportacaoFuncionarios exportacao = contexto.getExportacaoFuncionarios();
+
+        btnExportar.setText("Cancelar");
+        tarefas.executar("exportar",
+                () -> exportacao.exportar(destino, (exportadas, total) ->
+                        SwingUtilities.invokeLater(() -> mostrarProgressoExportacao(exportadas, total))),
+                linhas -> {
+                    restaurarBotaoExportar();
+                    JOptionPane.showMessageDialog(this,
+                            "✅ " + linhas + " funcionário(s) exportado(s) para " + destino);
+                },
+                e -> {
+                    restaurarBotaoExportar();
+                    mostrarErro("Erro ao exportar: ", e);
+                });
+    }
+
+    /**
+     * 📈 Mostra o percentual exportado no botão (que cancela ao ser clicado).
+     */
+    private void mostrarProgressoExportacao(long exportadas, long total) {
+        if (tarefas.isAtiva("exportar") && total > 0) {
+            btnExportar.setText("Cancelar " + (exportadas * 100 / total) + "%");
+        }
+    }
+
+    private void restaurarBotaoExportar() {
+        btnExportar.setText("Exportar...");
+    }
+
+    /**
+     * 📥 Importa funcionários de um CSV (colunas nomeFuncionario, email,
+     * senha, cargo e, opcional, recebeValeTransporte). Clicar de novo durante
+     * a importação cancela.
+     *
+     * 🧠 Cada lote é gravado de uma vez: cancelada ou com erro, os lotes já
+     * gravados ficam. Por isso a lista é recarregada em qualquer desfecho.
+     */
+    private void importarFuncionarios() {
+        if (tarefas.isAtiva("importar")) {
+            tarefas.cancelar("importar");
+            restaurarBotaoImportar();
+            recarregarLista();
+            JOptionPane.showMessageDialog(this,
+                    "🛑 Importação cancelada. Os lotes já gravados foram mantidos.");
+            return;
+        }
+        if (!sessao.verificar(this)) {
+            return;
+        }
+
+        JFileChooser seletor = new JFileChooser();
+        seletor.setDialogTitle("Importar funcionários");
+        seletor.setFileFilter(new FileNameExtensionFilter("CSV (.csv)", "csv"));
+        if (seletor.showOpenDialog(this) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+        Path origem = seletor.getSelectedFile().toPath();
+        ImportacaoFuncionarios importacao = contexto.getImportacaoFuncionarios();
+
+        btnImportar.setText("Cancelar");
+        tarefas.executar("importar",
+                () -> importacao.importar(origem, parcial ->
+                        SwingUtilities.invokeLater(() -> mostrarProgressoImportacao(parcial))),
+                resumo -> {
+                    restaurarBotaoImportar();
+                    recarregarLista();
+                    mostrarResumoImportacao(resumo);
+                },
+                e -> {
+                    restaurarBotaoImportar();
+                    recarregarLista();
+                    mostrarErro("Erro ao importar (os lotes já gravados foram mantidos): ", e);
+                });
+    }
+
+    /**
+     * 📈 Mostra o percentual lido no botão (que cancela ao ser clicado).
+     */
+    private void mostrarProgressoImportacao(ResumoImportacao parcial) {
+        if (tarefas.isAtiva("importar") && parcial.getPercentual() >= 0) {
+            btnImportar.setText("Cancelar " + parcial.getPercentual() + "%");
+        }
+    }
+
+    private void restaurarBotaoImportar() {
+        btnImportar.setText("Importar CSV...");
+    }
+
+    /**
+     * 📊 Mostra o resultado da importação e, se houver, os erros por linha.
+     */
+    private void mostrarResumoImportacao(ResumoImportacao resumo) {
+        String titulo = "✅ " + resumo.getImportadas() + " funcionário(s) importado(s), "
+                + resumo.getRejeitadas() + " linha(s) rejeitada(s).";
+        List<ResumoImportacao.ErroLinha> erros = resumo.getErros();
+        if (erros.isEmpty()) {
+            JOptionPane.showMessageDialog(this, titulo, "Importação", JOptionPane.INFORMATION_MESSAGE);
+            return;
+        }
+
+        StringBuilder relatorio = new StringBuilder();
+        for (ResumoImportacao.ErroLinha erro : erros) {
+            relatorio.append(erro).append('\n');
+        }
+        if (resumo.getRejeitadas() > erros.size()) {
+            relatorio.append("… e mais ").append(resumo.getRejeitadas() - erros.size())
+                    .append(" linha(s) rejeitada(s) não listada(s).\n");
+        }
+        JTextArea area = new JTextArea(relatorio.toString(), 15, 60);
+        area.setEditable(false);
+        area.setCaretPosition(0);
+
+        JPanel painel = new JPanel(new BorderLayout(5, 5));
+        painel.add(new JLabel(titulo), BorderLayout.NORTH);
+        painel.add(new JScrollPane(area), BorderLayout.CENTER);
+        JOptionPane.showMessageDialog(this, painel, "Importação", JOptionPane.WARNING_MESSAGE);
+    }
+
     /**
      * 🖱️ Ao clicar na tabela, preenche o formulário com os dados selecionados.
      */
     private void selecionarFuncionarioDaTabela() {
         int row = tabelaFuncionarios.getSelectedRow();
-        if (row != -1) {
-            txtId.setText(String.valueOf(tableModel.getValueAt(row, 0)));
-            txtNome.setText((String) tableModel.getValueAt(row, 1));
-            txtEmail.setText((String) tableModel.getValueAt(row, 2));
-            chkValeTransporte.setSelected((Boolean) tableModel.getValueAt(row, 3));
+        if (row < 0) {
+            return;
+        }
+        // ↕️ Com ordenação/filtro, a linha da tela não é a linha do modelo
+        Funcionario f = tableModel.getFuncionarioAt(tabelaFuncionarios.convertRowIndexToModel(row));
+        if (f != null) {
+            txtId.setText(String.valueOf(f.getIdFuncionario()));
+            txtNome.setText(f.getNomeFuncionario());
+            txtEmail.setText(f.getEmail());
+            chkValeTransporte.setSelected(f.isRecebeValeTransporte());
 
             // 🔄 Seleciona o cargo correto no comboBox
-            String nomeCargo = (String) tableModel.getValueAt(row, 4);
-            for (int i = 0; i < cbCargo.getItemCount(); i++) {
-                if (cbCargo.getItemAt(i).getNomeCargo().equals(nomeCargo)) {
-                    cbCargo.setSelectedIndex(i);
-                    break;
-                }
+            if (f.getCargo() != null) {
+                selecionarCargo(f.getCargo().getIdCargo());
+            }
+        }
+    }
+
+    /**
+     * 💼 Seleciona no comboBox o cargo com o ID informado.
+     */
+    private void selecionarCargo(int idCargo) {
+        for (int i = 0; i < cbCargo.getItemCount(); i++) {
+            if (cbCargo.getItemAt(i).getIdCargo() == idCargo) {
+                cbCargo.setSelectedIndex(i);
+                return;
             }
         }
     }
 
+    // =====================================================
+    // 📣 Eventos (recebidos na EDT)
+    // =====================================================
+
+    /**
+     * 💼 Um cargo mudou: recarrega o combo (do cache) e, se foi renomeado,
+     * troca o nome nas linhas carregadas.
+     */
+    private void aoAlterarCargo(CargoAlterado e) {
+        carregarCargosCombo();
+        if (e.getOperacao() == CargoAlterado.Operacao.ATUALIZADO) {
+            tableModel.atualizarCargo(e.getCargo());
+        }
+    }
+
+    /**
+     * 👤 Um funcionário mudou: aplica só a linha afetada.
+     *
+     * 🧠 Linhas novas só entram na lista inteira do banco; resultados de
+     * pesquisa e a cópia local são refeitos, para não mostrar quem não
+     * atende à pesquisa.
+     */
+    private void aoAlterarFuncionario(FuncionarioAlterado e) {
+        switch (e.getOperacao()) {
+            case CRIADO:
+                if (listaDoBanco) {
+                    tableModel.inserirFuncionario(e.getFuncionario());
+                } else {
+                    refazerVisaoAtual();
+                }
+                break;
+            case ATUALIZADO:
+                // Se a linha não estiver carregada, virá do banco ao rolar
+                tableModel.atualizarFuncionario(e.getFuncionario());
+                break;
+            case EXCLUIDO:
+                if (String.valueOf(e.getId()).equals(txtId.getText())) {
+                    limparFormulario();
+                }
+                if (tableModel.removerFuncionario(e.getId()) || tableModel.isEmMemoria()) {
+                    break; // 🔍 Removida, ou fora dos resultados da pesquisa
+                }
+                if (listaDoBanco) {
+                    // Lista paginada sem a linha carregada: a posição é desconhecida
+                    recarregarLista();
+                } else {
+                    refazerVisaoAtual(); // 💾 cópia local
+                }
+                break;
+        }
+    }
+
+    /**
+     * 🔁 Refaz a pesquisa atual (ou, na cópia local, volta a comparar com o
+     * banco), mantendo o que o usuário digitou.
+     */
+    private void refazerVisaoAtual() {
+        if (!txtPesquisa.getText().trim().isEmpty()) {
+            pesquisa.pesquisarAgora();
+        } else if (!tarefas.isAtiva("lista") && !tarefas.isAtiva("sincronizar")) {
+            carregarTodosFuncionarios();
+        }
+    }
+
     /**
-     * 🧼 Limpa os campos e reseta a seleção da tabela.
+     * 🧼 Botão "Limpar": limpa os campos e a pesquisa (voltando à lista completa).
      */
     private void limparCampos() {
+        limparFormulario();
+        if (!txtPesquisa.getText().isEmpty()) {
+            pesquisa.limpar();
+            carregarTodosFuncionarios();
+        }
+    }
+
+    /**
+     * 🧼 Limpa os campos do formulário e reseta a seleção da tabela.
+     */
+    private void limparFormulario() {
         txtId.setText("");
         txtNome.setText("");
         txtEmail.setText("");
         txtSenha.setText("");
         chkValeTransporte.setSelected(false);
         cbCargo.setSelectedIndex(-1);
-        txtPesquisa.setText("");
         tabelaFuncionarios.clearSelection();
     }
 
     /**
-     * 🔄 Atualiza a tabela com a lista de funcionários.
+     * 🏷️ Troca o título da borda da tabela (ex: quantidade encontrada).
      */
-    private void atualizarTabela(List<Funcionario> funcionarios) {
-        tableModel.setRowCount(0);
-        for (Funcionario f : funcionarios) {
-            tableModel.addRow(new Object[]{
-                    f.getIdFuncionario(),
-                    f.getNomeFuncionario(),
-                    f.getEmail(),
-                    f.isRecebeValeTransporte(),
-                    f.getCargo() != null ? f.getCargo().getNomeCargo() : ""
-            });
-        }
+    private void atualizarTituloTabela(String titulo) {
+        bordaTabela.setTitle(titulo);
+        painelLista.repaint();
+    }
+
+    /**
+     * ❌ Mostra uma mensagem de erro vinda de uma tarefa em segundo plano.
+     */
+    private void mostrarErro(String prefixo, Exception e) {
+        JOptionPane.showMessageDialog(this,
+                prefixo + e.getMessage(),
+                "Erro", JOptionPane.ERROR_MESSAGE);
     }
 
     /**
@@ -0,0 +1,582 @@
+package forms;
+
+import javax.swing.*;
+import javax.swing.table.AbstractTableModel;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+import collections.IntIntMap;
+import collections.IntSet;
+import model.Cargo;
+import model.Funcionario;
+
+/**
+ * 📋 Classe: FuncionarioTableModel
+ * -------------------------------------------------
+ * 📚 Modelo da tabela de funcionários que carrega as linhas <b>sob demanda</b>,
+ * em páginas, conforme o usuário rola a tabela.
+ *
+ * 🧠 Notas de Aula:
+ * - O modelo conhece apenas o <b>total</b> de linhas; cada página é buscada
+ *   quando alguma linha dela fica visível.
+ * - Enquanto a página não chega, a linha mostra um marcador ("…").
+ * - Se a busca falhar, a linha mostra um aviso ({@link #ERRO}) e a página só
+ *   é pedida de novo depois de uma espera que dobra a cada falha seguida:
+ *   com o banco fora do ar, o repaint não vira um laço de consultas.
+ * - Apenas algumas páginas ficam em memória (LRU); as vizinhas da página
+ *   visível são buscadas antes (prefetch), deixando a rolagem suave.
+ * - A busca roda fora da EDT; o resultado é aplicado na EDT com
+ *   {@code fireTableRowsUpdated}.
+ * - Depois de cadastrar/atualizar/excluir, a tela aplica só a <b>diferença</b>
+ *   ({@link #inserirFuncionario}, {@link #atualizarFuncionario},
+ *   {@link #removerFuncionario}) em vez de recarregar a tabela inteira.
+ * - Cada linha guarda as {@link ChaveOrdenacao chaves de ordenação} de nome,
+ *   email e cargo, calculadas fora da EDT ({@link #preparar}). Ordenar ou
+ *   filtrar com {@code TableRowSorter} não recalcula nada.
+ * - Ordenar/filtrar exige as linhas em memória ({@link #isEmMemoria()}): a
+ *   tela só ordena resultados de pesquisa (limitados). A lista completa fica
+ *   paginada, com memória limitada, qualquer que seja o tamanho da tabela.
+ * - No modo em memória, a linha de cada ID fica em um {@link IntIntMap}
+ *   (sem boxing); ele é refeito só depois de uma exclusão ou troca de lista.
+ *
+ * ⚠️ Os métodos públicos devem ser chamados na EDT (exceto {@link #preparar}).
+ */
+public class FuncionarioTableModel extends AbstractTableModel {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 🔁 Origem das páginas (normalmente o banco).
+     */
+    @FunctionalInterface
+    public interface Fonte {
+        List<Funcionario> pagina(int offset, int limite) throws Exception;
+    }
+
+    /**
+     * 📄 Linha da tabela: o funcionário e suas chaves de ordenação.
+     */
+    public static final class Linha {
+        private final Funcionario funcionario;
+        private final ChaveOrdenacao nome;
+        private final ChaveOrdenacao email;
+        private final ChaveOrdenacao cargo;
+
+        private Linha(Funcionario f) {
+            this.funcionario = f;
+            this.nome = ChaveOrdenacao.de(f.getNomeFuncionario());
+            this.email = ChaveOrdenacao.de(f.getEmail());
+            this.cargo = f.getCargo() != null ? ChaveOrdenacao.de(f.getCargo().getNomeCargo()) : ChaveOrdenacao.VAZIA;
+        }
+
+        public Funcionario getFuncionario() {
+            return funcionario;
+        }
+
+        /** 🔍 Indica se nome ou email contêm o termo (já normalizado). */
+        public boolean contem(String termoNormalizado) {
+            return nome.contem(termoNormalizado) || email.contem(termoNormalizado);
+        }
+    }
+
+    /** Linhas por página. */
+    public static final int TAMANHO_PAGINA = 200;
+
+    /** Páginas mantidas em memória (as menos usadas são descartadas). */
+    public static final int MAX_PAGINAS = 25;
+
+    /** Texto mostrado enquanto a linha não foi carregada. */
+    public static final String CARREGANDO = "…";
+
+    /** Texto mostrado quando a página não pôde ser carregada. */
+    public static final String ERRO = "⚠️ falha ao carregar (nova tentativa em instantes)";
+
+    /** Espera antes de pedir de novo uma página que falhou (dobra a cada falha). */
+    private static final int ESPERA_INICIAL_MS = 2_000;
+    private static final int ESPERA_MAXIMA_MS = 60_000;
+
+    /** A partir deste tamanho, as chaves são calculadas em paralelo. */
+    private static final int LIMITE_PARALELO = 5_000;
+
+    private static final ChaveOrdenacao CHAVE_CARREGANDO = ChaveOrdenacao.de(CARREGANDO);
+    private static final ChaveOrdenacao CHAVE_ERRO = ChaveOrdenacao.de(ERRO);
+
+    private static final String[] COLUNAS = {"ID", "Nome", "Email", "Vale Transporte", "Cargo"};
+    private static final Class<?>[] TIPOS = {Integer.class, ChaveOrdenacao.class, ChaveOrdenacao.class,
+            Boolean.class, ChaveOrdenacao.class};
+
+    // 🗂️ Páginas carregadas (LRU por ordem de acesso)
+    private final LinkedHashMap<Integer, List<Linha>> paginas =
+            new LinkedHashMap<Integer, List<Linha>>(MAX_PAGINAS, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Integer, List<Linha>> eldest) {
+                    return size() > MAX_PAGINAS;
+                }
+            };
+
+    /** ❌ Página cuja busca falhou: quantas vezes seguidas e até quando esperar. */
+    private static final class Falha {
+        final int tentativas;
+        final long esperarAte;
+
+        Falha(int tentativas, long esperarAte) {
+            this.tentativas = tentativas;
+            this.esperarAte = esperarAte;
+        }
+    }
+
+    // ⏳ Páginas com busca em andamento
+    private final IntSet pendentes = new IntSet();
+
+    // ❌ Páginas cuja última busca falhou (poucas: só as visíveis são pedidas)
+    private final Map<Integer, Falha> falhas = new HashMap<>();
+
+    // ⚙️ Threads que buscam as páginas
+    private final ExecutorService executor;
+    private final boolean executorProprio;
+
+    private Fonte fonte = (offset, limite) -> Collections.emptyList();
+    private int total;
+
+    // 💾 Linhas em memória (lista completa ou pesquisa); null no modo paginado
+    private List<Linha> lista = new ArrayList<>();
+
+    // 🔢 Índice idFuncionario → linha do modo em memória (null = refazer na
+    // próxima busca)
+    private IntIntMap posicoes;
+
+    // 🔢 Muda a cada troca de fonte: respostas de fontes antigas são ignoradas
+    private int geracao;
+
+    // 🔢 Muda a cada alteração aplicada: uma página buscada antes dela pode
+    // estar desatualizada e não é guardada
+    private int revisao;
+
+    /**
+     * 🏗️ Construtor com threads próprias de carga.
+     */
+    public FuncionarioTableModel() {
+        this.executor = Executors.newFixedThreadPool(2, r -> {
+            Thread t = new Thread(r, "funcionario-page-loader");
+            t.setDaemon(true);
+            return t;
+        });
+        this.executorProprio = true;
+    }
+
+    /**
+     * 🏗️ Construtor com threads compartilhadas (ex: {@code AppContext.getExecutor()}).
+     *
+     * @param executor threads usadas na carga das páginas (não são encerradas
+     *                 por {@link #encerrar()})
+     */
+    public FuncionarioTableModel(ExecutorService executor) {
+        this.executor = executor;
+        this.executorProprio = false;
+    }
+
+    // =====================================================
+    // 🔁 Troca de fonte
+    // =====================================================
+
+    /**
+     * 🔤 Calcula as chaves de ordenação das linhas.
+     *
+     * ⚠️ Pode ser chamado (e deve, para listas grandes) fora da EDT.
+     */
+    public static List<Linha> preparar(List<Funcionario> funcionarios) {
+        if (funcionarios.size() >= LIMITE_PARALELO) {
+            return funcionarios.parallelStream().map(Linha::new).collect(Collectors.toList());
+        }
+        List<Linha> linhas = new ArrayList<>(funcionarios.size());
+        for (Funcionario f : funcionarios) {
+            linhas.add(new Linha(f));
+        }
+        return linhas;
+    }
+
+    /**
+     * 🔄 Modo paginado: define a origem das páginas e o total de linhas.
+     *
+     * @param novaFonte origem das páginas
+     * @param novoTotal quantidade total de linhas
+     */
+    public void setFonte(Fonte novaFonte, int novoTotal) {
+        this.lista = null;
+        this.posicoes = null;
+        this.fonte = novaFonte;
+        this.total = Math.max(0, novoTotal);
+        this.geracao++;
+        this.paginas.clear();
+        this.pendentes.clear();
+        this.falhas.clear();
+        fireTableDataChanged();
+    }
+
+    /**
+     * 💾 Modo em memória: mostra linhas já preparadas com {@link #preparar}.
+     */
+    public void setLinhas(List<Linha> linhas) {
+        this.lista = new ArrayList<>(linhas);
+        this.posicoes = null;
+        this.total = lista.size();
+        this.geracao++;
+        this.paginas.clear();
+        this.pendentes.clear();
+        this.falhas.clear();
+        fireTableDataChanged();
+    }
+
+    /**
+     * 📋 Mostra uma lista pequena já carregada (as chaves são calculadas aqui).
+     */
+    public void setLista(List<Funcionario> funcionarios) {
+        setLinhas(preparar(funcionarios));
+    }
+
+    /**
+     * 💾 Indica se todas as linhas estão em memória (pode ordenar/filtrar).
+     */
+    public boolean isEmMemoria() {
+        return lista != null;
+    }
+
+    /**
+     * 🛑 Encerra as threads de carga (ao descartar a tela) e ignora as
+     * páginas que ainda estiverem chegando.
+     */
+    public void encerrar() {
+        geracao++;
+        pendentes.clear();
+        falhas.clear();
+        if (executorProprio) {
+            executor.shutdownNow();
+        }
+    }
+
+    // =====================================================
+    // ✏️ Alterações pontuais (delta)
+    // =====================================================
+
+    /**
+     * ➕ Acrescenta um funcionário recém-cadastrado no fim da tabela.
+     *
+     * 🧠 A listagem é ordenada pelo ID e o novo ID é o maior, então a linha
+     * entra no final sem deslocar as outras.
+     */
+    public void inserirFuncionario(Funcionario funcionario) {
+        if (localizar(funcionario.getIdFuncionario()) >= 0) {
+            return; // 🔁 Já listado (ex: tabela recarregada depois do cadastro)
+        }
+        revisao++;
+        int linha = total;
+        if (lista != null) {
+            lista.add(new Linha(funcionario));
+            if (posicoes != null) {
+                posicoes.put(funcionario.getIdFuncionario(), linha);
+            }
+        } else {
+            List<Linha> ultima = paginas.get(linha / TAMANHO_PAGINA);
+            if (ultima != null && linha % TAMANHO_PAGINA == ultima.size()) {
+                ultima = new ArrayList<>(ultima);
+                ultima.add(new Linha(funcionario));
+                paginas.put(linha / TAMANHO_PAGINA, ultima);
+            }
+        }
+        total++;
+        fireTableRowsInserted(linha, linha);
+    }
+
+    /**
+     * ✏️ Substitui a linha do funcionário (se estiver carregada).
+     *
+     * @return true se a linha foi encontrada
+     */
+    public boolean atualizarFuncionario(Funcionario funcionario) {
+        int linha = localizar(funcionario.getIdFuncionario());
+        if (linha < 0) {
+            return false;
+        }
+        revisao++;
+        if (lista != null) {
+            lista.set(linha, new Linha(funcionario));
+        } else {
+            int numero = linha / TAMANHO_PAGINA;
+            List<Linha> pagina = new ArrayList<>(paginas.get(numero));
+            pagina.set(linha % TAMANHO_PAGINA, new Linha(funcionario));
+            paginas.put(numero, pagina);
+        }
+        fireTableRowsUpdated(linha, linha);
+        return true;
+    }
+
+    /**
+     * 🗑️ Remove a linha do funcionário (se estiver carregada).
+     *
+     * 🧠 No modo paginado, as linhas seguintes sobem uma posição: a página
+     * afetada e as posteriores são descartadas e buscadas de novo quando
+     * ficarem visíveis.
+     *
+     * @return true se a linha foi encontrada
+     */
+    public boolean removerFuncionario(int idFuncionario) {
+        int linha = localizar(idFuncionario);
+        if (linha < 0) {
+            return false;
+        }
+        revisao++;
+        if (lista != null) {
+            lista.remove(linha);
+            posicoes = null; // ↕️ As linhas seguintes subiram uma posição
+        } else {
+            int afetada = linha / TAMANHO_PAGINA;
+            paginas.keySet().removeIf(numero -> numero >= afetada);
+            pendentes.removeIf(numero -> numero >= afetada);
+            falhas.keySet().removeIf(numero -> numero >= afetada);
+        }
+        total--;
+        fireTableRowsDeleted(linha, linha);
+        return true;
+    }
+
+    /**
+     * 💼 Atualiza o cargo (ex: renomeado) nas linhas já carregadas.
+     *
+     * 🧠 Páginas ainda não carregadas já virão do banco com o nome novo.
+     */
+    public void atualizarCargo(Cargo cargo) {
+        revisao++;
+        int primeira = Integer.MAX_VALUE;
+        int ultima = -1;
+        if (lista != null) {
+            for (int i = 0; i < lista.size(); i++) {
+                Linha nova = trocarCargo(lista.get(i), cargo);
+                if (nova != null) {
+                    lista.set(i, nova);
+                    primeira = Math.min(primeira, i);
+                    ultima = i;
+                }
+            }
+        } else {
+            for (Map.Entry<Integer, List<Linha>> e : paginas.entrySet()) {
+                List<Linha> pagina = e.getValue();
+                for (int i = 0; i < pagina.size(); i++) {
+                    Linha nova = trocarCargo(pagina.get(i), cargo);
+                    if (nova != null) {
+                        pagina.set(i, nova);
+                        int linha = e.getKey() * TAMANHO_PAGINA + i;
+                        primeira = Math.min(primeira, linha);
+                        ultima = Math.max(ultima, linha);
+                    }
+                }
+            }
+        }
+        if (ultima >= 0) {
+            fireTableRowsUpdated(primeira, ultima);
+        }
+    }
+
+    /**
+     * Linha nova com o cargo trocado, ou null se o cargo da linha é outro.
+     *
+     * 🧠 Troca numa <b>cópia</b>: o funcionário da linha pode ser o mesmo
+     * objeto guardado no cache e usado por outras telas.
+     */
+    private static Linha trocarCargo(Linha l, Cargo cargo) {
+        Funcionario f = l.funcionario;
+        if (f.getCargo() != null && f.getCargo().getIdCargo() == cargo.getIdCargo()) {
+            return new Linha(f.comCargo(cargo));
+        }
+        return null;
+    }
+
+    /** Procura a linha do funcionário nas linhas já carregadas (-1 se não achar). */
+    private int localizar(int idFuncionario) {
+        if (lista != null) {
+            if (posicoes == null) {
+                posicoes = new IntIntMap(lista.size());
+                for (int i = 0; i < lista.size(); i++) {
+                    posicoes.put(lista.get(i).funcionario.getIdFuncionario(), i);
+                }
+            }
+            return posicoes.get(idFuncionario, -1);
+        }
+        for (Map.Entry<Integer, List<Linha>> e : paginas.entrySet()) {
+            List<Linha> pagina = e.getValue();
+            for (int i = 0; i < pagina.size(); i++) {
+                if (pagina.get(i).funcionario.getIdFuncionario() == idFuncionario) {
+                    return e.getKey() * TAMANHO_PAGINA + i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    // =====================================================
+    // 📋 AbstractTableModel
+    // =====================================================
+
+    @Override
+    public int getRowCount() {
+        return total;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return COLUNAS.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return COLUNAS[column];
+    }
+
+    @Override
+    public Class<?> getColumnClass(int column) {
+        return TIPOS[column];
+    }
+
+    @Override
+    public boolean isCellEditable(int row, int column) {
+        return false;
+    }
+
+    @Override
+    public Object getValueAt(int row, int column) {
+        Linha l = getLinhaAt(row);
+        if (l == null) {
+            if (column != 1) {
+                return null;
+            }
+            return falhas.containsKey(row / TAMANHO_PAGINA) ? CHAVE_ERRO : CHAVE_CARREGANDO;
+        }
+        switch (column) {
+            case 0: return l.funcionario.getIdFuncionario();
+            case 1: return l.nome;
+            case 2: return l.email;
+            case 3: return l.funcionario.isRecebeValeTransporte();
+            case 4: return l.cargo;
+            default: return null;
+        }
+    }
+
+    // =====================================================
+    // 🔎 Acesso às linhas
+    // =====================================================
+
+    /**
+     * 🔍 Retorna o funcionário da linha (índice do modelo), ou null se a
+     * página ainda não chegou (nesse caso a busca é disparada).
+     */
+    public Funcionario getFuncionarioAt(int row) {
+        Linha l = getLinhaAt(row);
+        return l != null ? l.funcionario : null;
+    }
+
+    /**
+     * 📄 Retorna a linha (índice do modelo), ou null se ainda não carregada.
+     */
+    public Linha getLinhaAt(int row) {
+        if (row < 0 || row >= total) {
+            return null;
+        }
+        if (lista != null) {
+            return lista.get(row);
+        }
+        int numero = row / TAMANHO_PAGINA;
+        List<Linha> pagina = paginas.get(numero);
+        if (pagina == null) {
+            // 🌐 Busca a página e as vizinhas
+            solicitarPagina(numero);
+            solicitarPagina(numero + 1);
+            solicitarPagina(numero - 1);
+            return null;
+        }
+        int indice = row % TAMANHO_PAGINA;
+        return indice < pagina.size() ? pagina.get(indice) : null;
+    }
+
+    private void solicitarPagina(int numero) {
+        if (numero < 0 || (long) numero * TAMANHO_PAGINA >= total
+                || paginas.containsKey(numero) || pendentes.contains(numero)) {
+            return;
+        }
+        Falha falha = falhas.get(numero);
+        if (falha != null && System.currentTimeMillis() < falha.esperarAte) {
+            return; // ⏱️ Falhou há pouco: aguarda antes de tentar de novo
+        }
+        pendentes.add(numero);
+
+        Fonte origem = this.fonte;
+        int geracaoPedido = this.geracao;
+        int revisaoPedido = this.revisao;
+        int offset = numero * TAMANHO_PAGINA;
+
+        executor.execute(() -> {
+            List<Linha> carregada;
+            try {
+                // 🔤 As chaves de ordenação também são calculadas aqui, fora da EDT
+                carregada = preparar(origem.pagina(offset, TAMANHO_PAGINA));
+            } catch (Exception e) {
+                System.err.println("❌ Falha ao carregar página " + numero + ": " + e.getMessage());
+                carregada = null;
+            }
+
+            List<Linha> resultado = carregada;
+            SwingUtilities.invokeLater(() -> {
+                if (geracaoPedido != geracao) {
+                    return; // 🚫 Fonte trocada enquanto a página era buscada
+                }
+                pendentes.remove(numero);
+                int ultima = Math.min(total, offset + TAMANHO_PAGINA) - 1;
+                if (resultado == null) {
+                    registrarFalha(numero, offset, ultima);
+                    return;
+                }
+                falhas.remove(numero);
+                if (revisaoPedido == revisao) {
+                    paginas.put(numero, resultado);
+                }
+                // ✏️ Se houve alteração durante a busca, a página não é guardada
+                // e o repaint a pede de novo
+                if (offset <= ultima) {
+                    fireTableRowsUpdated(offset, ultima);
+                }
+            });
+        });
+    }
+
+    /**
+     * ❌ Marca a página como falha (as linhas mostram {@link #ERRO}) e agenda
+     * um repaint para depois da espera, que pede a página de novo se ela
+     * ainda estiver visível.
+     */
+    private void registrarFalha(int numero, int offset, int ultima) {
+        Falha anterior = falhas.get(numero);
+        int tentativas = anterior != null ? anterior.tentativas + 1 : 1;
+        int espera = (int) Math.min(ESPERA_MAXIMA_MS, (long) ESPERA_INICIAL_MS << Math.min(tentativas - 1, 16));
+        falhas.put(numero, new Falha(tentativas, System.currentTimeMillis() + espera));
+        if (offset > ultima) {
+            return;
+        }
+        fireTableRowsUpdated(offset, ultima);
+
+        int geracaoFalha = this.geracao;
+        // ⏱️ Um pouco depois do fim da espera, para a nova busca não ser recusada
+        Timer novaTentativa = new Timer(espera + 100, e -> {
+            if (geracaoFalha == geracao && falhas.containsKey(numero) && offset < total) {
+                fireTableRowsUpdated(offset, Math.min(total, offset + TAMANHO_PAGINA) - 1);
+            }
+        });
+        novaTentativa.setRepeats(false);
+        novaTentativa.start();
+    }
+}
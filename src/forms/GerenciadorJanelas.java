@@ -0,0 +1,74 @@
+package forms;
+
+import javax.swing.JFrame;
+import java.awt.Frame;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * 🪟 Classe: GerenciadorJanelas
+ * -------------------------------------------------
+ * 📚 Mantém <b>uma instância</b> de cada tela aberta pelo menu do
+ * {@link MainForm}.
+ *
+ * 🎯 Objetivos:
+ * - Clicar de novo em "Cargos" traz a mesma janela para frente, com os
+ *   campos e a pesquisa preservados (sem montar a tela nem recarregar tudo).
+ * - Fechar a janela só a esconde (HIDE_ON_CLOSE); ao reaparecer, ela recarrega
+ *   apenas o que ficou desatualizado ({@link JanelaReutilizavel#reexibir()}).
+ * - {@link #fecharTodas()} descarta as janelas e libera seus recursos.
+ *
+ * 🧠 Notas de Aula:
+ * - Usado somente na EDT (não precisa de sincronização).
+ * - Uma janela descartada ({@code isDisplayable() == false}) é recriada.
+ */
+public class GerenciadorJanelas {
+
+    private final Map<Class<? extends JFrame>, JFrame> janelas = new LinkedHashMap<>();
+
+    /**
+     * 📂 Mostra a janela do tipo pedido, criando-a só na primeira vez.
+     *
+     * @param tipo    classe da tela (chave da instância única)
+     * @param fabrica cria a tela quando ainda não existe
+     * @return a janela mostrada
+     */
+    public <T extends JFrame> T mostrar(Class<T> tipo, Supplier<T> fabrica) {
+        System.out.println(">> GerenciadorJanelas.mostrar(" + tipo.getSimpleName() + ")");
+        JFrame janela = janelas.get(tipo);
+
+        if (janela == null || !janela.isDisplayable()) {
+            // 🆕 Primeira vez (ou janela descartada): cria e registra
+            janela = fabrica.get();
+            janela.setDefaultCloseOperation(JFrame.HIDE_ON_CLOSE);
+            janelas.put(tipo, janela);
+        } else if (!janela.isVisible() && janela instanceof JanelaReutilizavel) {
+            // ♻️ Estava escondida: atualiza só o que mudou
+            ((JanelaReutilizavel) janela).reexibir();
+        }
+
+        // 🔼 Restaura se estiver minimizada e traz para frente
+        int estado = janela.getExtendedState();
+        if ((estado & Frame.ICONIFIED) != 0) {
+            janela.setExtendedState(estado & ~Frame.ICONIFIED);
+        }
+        janela.setVisible(true);
+        janela.toFront();
+        return tipo.cast(janela);
+    }
+
+    /**
+     * 🗑️ Descarta todas as janelas (ex: ao fechar a tela principal).
+     */
+    public void fecharTodas() {
+        System.out.println(">> GerenciadorJanelas.fecharTodas()");
+        List<JFrame> abertas = new ArrayList<>(janelas.values());
+        janelas.clear();
+        for (JFrame janela : abertas) {
+            janela.dispose(); // 🔔 dispara windowClosed → a tela libera os recursos
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package forms;
+
+/**
+ * ♻️ Interface: JanelaReutilizavel
+ * -------------------------------------------------
+ * 📚 Tela que pode ser escondida e mostrada de novo pelo
+ * {@link GerenciadorJanelas}, em vez de ser recriada a cada clique no menu.
+ *
+ * 🧠 Notas de Aula:
+ * - Ao fechar (HIDE_ON_CLOSE), a tela libera o que é temporário (timers,
+ *   consultas em andamento, assinaturas de eventos) e só anota o que mudou
+ *   enquanto estava escondida.
+ * - Ao reaparecer, {@link #reexibir()} recarrega <b>somente</b> os dados
+ *   desatualizados; campos, pesquisa e posição continuam como estavam.
+ * - Ao ser descartada ({@code dispose}), a tela libera tudo de vez.
+ */
+public interface JanelaReutilizavel {
+
+    /**
+     * 🔁 Chamado antes de mostrar de novo uma janela que estava escondida.
+     */
+    void reexibir();
+}
@@ -1,14 +1,13 @@
 package forms;
 
+import context.AppContext;
+import control.DadosLogin;
 import control.FuncionarioControl;
-import dao.FuncionarioDAO;
-import database.MysqlDatabase;
-import service.FuncionarioService;
+import control.Resultado;
 
 import javax.swing.*;
 
 import java.awt.*;
-import java.util.Map;
 
 /**
  * 🧑‍💼 LoginForm
@@ -34,17 +33,31 @@ public class LoginForm extends JFrame {
     // 🎛️ Controller responsável pelo login
     private FuncionarioControl funcionarioControl;
 
+    // 🧰 Dependências compartilhadas (repassadas à tela principal)
+    private final AppContext contexto;
+
+    // ⏳ Executa o login (banco + BCrypt) fora da EDT
+    private BackgroundTaskRunner tarefas;
+
     /**
-     * 🚀 Construtor — Inicializa dependências e interface
+     * 🚀 Construtor usando o contexto global da aplicação.
      */
     public LoginForm() {
-        // ⚙️ Configuração do banco
-        MysqlDatabase database = new MysqlDatabase("127.0.0.1", "root", "", "gestao_rh", 3306);
-        FuncionarioDAO funcionarioDAO = new FuncionarioDAO(database);
-        FuncionarioService funcionarioService = new FuncionarioService(funcionarioDAO);
-        this.funcionarioControl = new FuncionarioControl(funcionarioService);
+        this(AppContext.getInstance());
+    }
+
+    /**
+     * 🚀 Construtor — Inicializa dependências e interface
+     *
+     * 🌸 O {@link AppContext} já dispara a carga do filtro de emails em
+     * segundo plano (logins com email inexistente deixam de ir ao banco).
+     */
+    public LoginForm(AppContext contexto) {
+        this.contexto = contexto;
+        this.funcionarioControl = contexto.getFuncionarioControl();
 
         // 🧩 Inicializa interface
+        this.tarefas = new BackgroundTaskRunner(this);
         initializeUI();
     }
 
@@ -101,6 +114,11 @@ public class LoginForm extends JFrame {
         btnLogin.setBounds(190, 190, 120, 35);
         getContentPane().add(btnLogin);
 
+        // ⏳ Indicador de progresso do login
+        JProgressBar indicador = tarefas.getIndicador();
+        indicador.setBounds(190, 235, 120, 10);
+        getContentPane().add(indicador);
+
         // 🖱️ Ação do botão
         btnLogin.addActionListener(e -> realizarLogin());
     }
@@ -117,23 +135,33 @@ public class LoginForm extends JFrame {
             return;
         }
 
-        Map<String, Object> response = funcionarioControl.login(email, senha);
+        // ⏳ Banco + BCrypt em segundo plano; cliques repetidos são ignorados
+        tarefas.executarSeLivre("login",
+                () -> funcionarioControl.login(email, senha),
+                this::concluirLogin,
+                e -> JOptionPane.showMessageDialog(this, e.getMessage(), "Erro", JOptionPane.ERROR_MESSAGE));
+    }
 
-        if ((Boolean) response.get("success")) {
-            JOptionPane.showMessageDialog(this, response.get("message"), "Sucesso", JOptionPane.INFORMATION_MESSAGE);
+    /**
+     * ✅ Trata a resposta do login (executado na EDT)
+     */
+    private void concluirLogin(Resultado<DadosLogin> response) {
+        if (response.isSucesso()) {
+            JOptionPane.showMessageDialog(this, response.getMensagem(), "Sucesso", JOptionPane.INFORMATION_MESSAGE);
 
-            Map<String, Object> data = (Map<String, Object>) response.get("data");
-            String nomeFuncionario = (String) data.get("nomeFuncionario");
+            String nomeFuncionario = response.getDados().getNomeFuncionario();
+            String token = response.getDados().getToken();
 
             System.out.println("Usuário logado: " + nomeFuncionario);
 
-            MainForm main = new MainForm(nomeFuncionario);
+            // 🎟️ A tela principal recebe o token da sessão (sem repetir BCrypt)
+            MainForm main = new MainForm(nomeFuncionario, token, contexto);
             main.setVisible(true);
 
             // Fecha o login (opcional)
             // this.dispose();
         } else {
-            JOptionPane.showMessageDialog(this, response.get("message"), "Erro", JOptionPane.ERROR_MESSAGE);
+            JOptionPane.showMessageDialog(this, response.getMensagem(), "Erro", JOptionPane.ERROR_MESSAGE);
         }
     }
 
@@ -5,16 +5,56 @@ import javax.swing.*;
 
 import java.awt.*;
 import java.awt.event.ActionEvent;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+
+import context.AppContext;
 
 public class MainForm extends JFrame {
 
+    // 🎟️ Token da sessão aberta no login (null quando aberto sem login)
+    private final String tokenSessao;
+
+    // 🧰 Dependências compartilhadas com as telas abertas pelo menu
+    private final AppContext contexto;
+
+    // 🪟 Uma instância de cada tela do menu (reaproveitada a cada clique)
+    private final GerenciadorJanelas janelas = new GerenciadorJanelas();
+
     public MainForm(String nomeUsuario) {
+        this(nomeUsuario, null);
+    }
+
+    public MainForm(String nomeUsuario, String tokenSessao) {
+        this(nomeUsuario, tokenSessao, AppContext.getInstance());
+    }
+
+    public MainForm(String nomeUsuario, String tokenSessao, AppContext contexto) {
+        this.tokenSessao = tokenSessao;
+        this.contexto = contexto;
         setTitle("Sistema RH - Usuário: " + nomeUsuario);
         setExtendedState(JFrame.MAXIMIZED_BOTH);
         setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
 
         // Menu
         setJMenuBar(createMenuBar());
+
+        // 🗑️ Ao sair, descarta as telas abertas pelo menu
+        addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosing(WindowEvent e) {
+                janelas.fecharTodas();
+            }
+        });
+    }
+
+    /**
+     * 🎟️ Token da sessão do usuário logado. As telas de cadastro o
+     * conferem ({@link SessaoUsuario}) antes de cada gravação, sem pedir a
+     * senha novamente; sem token (tela aberta sem login) elas só consultam.
+     */
+    public String getTokenSessao() {
+        return tokenSessao;
     }
 
     private JMenuBar createMenuBar() {
@@ -40,20 +80,41 @@ public class MainForm extends JFrame {
         menuCadastro.add(menuFuncionario);
 
         menuBar.add(menuCadastro);
+
+        JMenu menuRelatorios = new JMenu("Relatórios");
+
+        JMenuItem menuPorCargo = new JMenuItem(new AbstractAction("Funcionários por cargo") {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                abrirRelatoriosForm();
+            }
+        });
+
+        JMenuItem menuVale = new JMenuItem(new AbstractAction("Custo de vale-transporte") {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                abrirRelatoriosForm().mostrarValeTransporte();
+            }
+        });
+
+        menuRelatorios.add(menuPorCargo);
+        menuRelatorios.add(menuVale);
+
+        menuBar.add(menuRelatorios);
         return menuBar;
     }
 
     private void abrirCargoForm() {
-        // Apenas cria e exibe o JFrame
-        CargoForm cargoForm = new CargoForm();
-        cargoForm.setVisible(true);
-        cargoForm.toFront();
+        // Cria só no primeiro clique; depois reexibe a mesma janela
+        janelas.mostrar(CargoForm.class, () -> new CargoForm(contexto, tokenSessao));
     }
 
     private void abrirFuncionarioForm() {
-        FuncionarioForm funcionarioForm = new FuncionarioForm();
-        funcionarioForm.setVisible(true);
-        funcionarioForm.toFront();
+        janelas.mostrar(FuncionarioForm.class, () -> new FuncionarioForm(contexto, tokenSessao));
+    }
+
+    private RelatoriosForm abrirRelatoriosForm() {
+        return janelas.mostrar(RelatoriosForm.class, () -> new RelatoriosForm(contexto));
     }
 
     // Main para testar
@@ -0,0 +1,101 @@
+package forms;
+
+import javax.swing.*;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+
+import java.util.function.Consumer;
+
+/**
+ * ⌨️ Classe: PesquisaDigitada
+ * -------------------------------------------------
+ * 📚 Liga um campo de texto a uma pesquisa que roda <b>enquanto o usuário
+ * digita</b>, sem precisar apertar Enter.
+ *
+ * 🧠 Notas de Aula:
+ * - <b>Debounce</b>: cada tecla reinicia um {@link Timer}; a pesquisa só
+ *   dispara depois de uma pausa na digitação (padrão: 250 ms).
+ * - O {@link javax.swing.Timer} executa na EDT, então a ação pode mexer na tela.
+ * - Se o termo não mudou desde a última pesquisa (ex: apagar e redigitar a
+ *   mesma letra), nada é feito.
+ * - Cancelar a consulta antiga é papel de quem pesquisa (ex: a chave "lista"
+ *   do {@link BackgroundTaskRunner}).
+ *
+ * ⚠️ Deve ser criada e usada na EDT.
+ */
+public class PesquisaDigitada {
+
+    /** Pausa padrão na digitação antes de pesquisar. */
+    public static final int ATRASO_PADRAO_MS = 250;
+
+    private final JTextField campo;
+    private final Consumer<String> acao;
+    private final Timer timer;
+
+    // 🔁 Último termo enviado para a pesquisa
+    private String ultimoTermo = "";
+
+    /**
+     * 🏗️ Construtor
+     *
+     * @param campo    campo de pesquisa
+     * @param atrasoMs pausa na digitação antes de pesquisar
+     * @param acao     recebe o termo (já sem espaços nas pontas), na EDT
+     */
+    public PesquisaDigitada(JTextField campo, int atrasoMs, Consumer<String> acao) {
+        this.campo = campo;
+        this.acao = acao;
+        this.timer = new Timer(atrasoMs, e -> executar(false));
+        this.timer.setRepeats(false);
+
+        campo.getDocument().addDocumentListener(new DocumentListener() {
+            @Override
+            public void insertUpdate(DocumentEvent e) {
+                timer.restart();
+            }
+
+            @Override
+            public void removeUpdate(DocumentEvent e) {
+                timer.restart();
+            }
+
+            @Override
+            public void changedUpdate(DocumentEvent e) {
+                // Mudança de atributos (não de texto): ignorada
+            }
+        });
+    }
+
+    /**
+     * ▶️ Pesquisa imediatamente (Enter ou botão "Pesquisar").
+     */
+    public void pesquisarAgora() {
+        timer.stop();
+        executar(true);
+    }
+
+    /**
+     * 🧼 Limpa o campo sem disparar uma nova pesquisa.
+     */
+    public void limpar() {
+        campo.setText("");
+        timer.stop();
+        ultimoTermo = "";
+    }
+
+    /**
+     * 🛑 Descarta a pesquisa agendada (ex: ao fechar a janela).
+     */
+    public void parar() {
+        timer.stop();
+    }
+
+    private void executar(boolean forcar) {
+        String termo = campo.getText().trim();
+        if (!forcar && termo.equals(ultimoTermo)) {
+            return;
+        }
+        ultimoTermo = termo;
+        acao.accept(termo);
+    }
+}
@@ -0,0 +1,354 @@
+package forms;
+
+import javax.swing.*;
+import javax.swing.table.DefaultTableModel;
+import java.awt.*;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.util.Locale;
+
+import analytics.AnaliseFuncionarios;
+import analytics.SnapshotFuncionarios;
+import collections.IntIntMap;
+import collections.IntObjectMap;
+import context.AppContext;
+import control.CargoControl;
+import model.Cargo;
+import payroll.CustoValeTransporte;
+import payroll.Dinheiro;
+import payroll.OrcamentoExcedidoException;
+import payroll.OrcamentoVale;
+import payroll.ResumoCustoVale;
+
+/**
+ * 📊 Classe: RelatoriosForm
+ * ----------------------------------------
+ * 📚 Tela de relatórios (camada View), aberta pelo menu "Relatórios".
+ *
+ * ✅ Relatórios:
+ *  - Funcionários por cargo: quantidade e quantos recebem vale-transporte,
+ *    calculados sobre o snapshot colunar da {@link AnaliseFuncionarios}.
+ *  - Custo de vale-transporte: custo mensal por cargo e total
+ *    ({@link CustoValeTransporte}), conferido com o orçamento; se ele
+ *    estourar ({@link OrcamentoExcedidoException}), a tela avisa.
+ *
+ * 🧠 Notas de Aula:
+ *  - O snapshot acompanha os cadastros pelos eventos: montar o relatório não
+ *    vai ao banco (só a primeira vez, para a varredura).
+ *  - "Recarregar do banco" refaz a varredura (ex: depois de alterações
+ *    feitas por outro cliente).
+ *  - As contagens rodam fora da EDT ({@link BackgroundTaskRunner}).
+ */
+public class RelatoriosForm extends JFrame implements JanelaReutilizavel {
+
+    private static final long serialVersionUID = 1L;
+
+    // 📋 Aba "Funcionários por cargo"
+    private DefaultTableModel modeloPorCargo;
+    private JLabel lblResumoPorCargo;
+
+    // 🚌 Aba "Custo de vale-transporte"
+    private DefaultTableModel modeloVale;
+    private JLabel lblResumoVale;
+    private JPanel abaVale;
+
+    // 🗂️ Abas dos relatórios
+    private JTabbedPane abas;
+
+    // 🧩 Dependências
+    private final AnaliseFuncionarios analise;
+    private final CustoValeTransporte custoVale;
+    private final CargoControl cargoControl;
+
+    // ⏳ Executa as consultas fora da EDT
+    private final BackgroundTaskRunner tarefas;
+
+    /**
+     * 📋 Linhas já montadas de um relatório (calculadas fora da EDT).
+     */
+    private static final class Tabela {
+        final Object[][] linhas;
+        final String resumo;
+        final String aviso; // ⚠️ null = nada a avisar
+
+        Tabela(Object[][] linhas, String resumo) {
+            this(linhas, resumo, null);
+        }
+
+        Tabela(Object[][] linhas, String resumo, String aviso) {
+            this.linhas = linhas;
+            this.resumo = resumo;
+            this.aviso = aviso;
+        }
+    }
+
+    /**
+     * 🚀 Construtor usando o contexto global da aplicação.
+     */
+    public RelatoriosForm() {
+        this(AppContext.getInstance());
+    }
+
+    /**
+     * 🚀 Construtor principal: monta as abas e carrega os relatórios.
+     */
+    public RelatoriosForm(AppContext contexto) {
+        this.analise = contexto.getAnaliseFuncionarios();
+        this.custoVale = contexto.getCustoValeTransporte();
+        this.cargoControl = contexto.getCargoControl();
+        this.tarefas = new BackgroundTaskRunner(this);
+        initializeUI();
+        carregarPorCargo(false);
+        carregarVale(false, true);
+    }
+
+    /**
+     * 🚌 Mostra a aba de vale-transporte e confere o orçamento (avisando se
+     * ele estourou). Chamado pelo menu "Custo de vale-transporte".
+     */
+    public void mostrarValeTransporte() {
+        abas.setSelectedComponent(abaVale);
+        carregarVale(false, true);
+    }
+
+    /**
+     * 🔁 Mostrada de novo: o snapshot já acompanhou os eventos, então basta
+     * recontar (sem ir ao banco).
+     */
+    @Override
+    public void reexibir() {
+        System.out.println(">> RelatoriosForm.reexibir()");
+        carregarPorCargo(false);
+        carregarVale(false, false);
+    }
+
+    /**
+     * 🎨 Monta a janela com uma aba por relatório.
+     */
+    private void initializeUI() {
+        setTitle("Relatórios");
+        setSize(800, 500);
+        setLocationRelativeTo(null);
+
+        abas = new JTabbedPane();
+        abas.addTab("Funcionários por cargo", criarAbaPorCargo());
+        abaVale = criarAbaVale();
+        abas.addTab("Custo de vale-transporte", abaVale);
+
+        JPanel mainPanel = new JPanel(new BorderLayout(10, 10));
+        mainPanel.setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
+        mainPanel.add(abas, BorderLayout.CENTER);
+
+        // ⏳ Um indicador para todas as abas
+        JPanel panelIndicador = new JPanel(new FlowLayout(FlowLayout.RIGHT, 0, 0));
+        panelIndicador.add(tarefas.getIndicador());
+        mainPanel.add(panelIndicador, BorderLayout.SOUTH);
+        add(mainPanel);
+
+        // 🛑 Fechar esconde a janela; consultas em andamento são canceladas
+        addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosing(WindowEvent e) {
+                tarefas.cancelarTodas();
+            }
+
+            @Override
+            public void windowClosed(WindowEvent e) {
+                tarefas.cancelarTodas();
+            }
+        });
+    }
+
+    // =====================================================
+    // 💼 Funcionários por cargo
+    // =====================================================
+
+    private JPanel criarAbaPorCargo() {
+        modeloPorCargo = novoModelo("ID", "Cargo", "Funcionários", "Com vale-transporte", "% com vale");
+        lblResumoPorCargo = new JLabel(" ");
+
+        JButton btnAtualizar = new JButton("Atualizar");
+        btnAtualizar.addActionListener(e -> carregarPorCargo(false));
+        JButton btnRecarregar = new JButton("Recarregar do banco");
+        btnRecarregar.addActionListener(e -> carregarPorCargo(true));
+
+        return montarAba(modeloPorCargo, lblResumoPorCargo, btnAtualizar, btnRecarregar);
+    }
+
+    /**
+     * 📊 Conta os funcionários por cargo no snapshot (em segundo plano).
+     *
+     * @param doBanco true = refaz a varredura antes de contar
+     */
+    private void carregarPorCargo(boolean doBanco) {
+        tarefas.executar("porCargo",
+                () -> {
+                    if (doBanco) {
+                        analise.recarregar();
+                    }
+                    return montarPorCargo(analise.getSnapshot(), nomesDosCargos());
+                },
+                tabela -> preencher(modeloPorCargo, lblResumoPorCargo, tabela),
+                e -> mostrarErro("Erro ao montar o relatório por cargo: ", e));
+    }
+
+    private static Tabela montarPorCargo(SnapshotFuncionarios snapshot, IntObjectMap<String> nomes) {
+        IntIntMap porCargo = snapshot.contarPorCargo(snapshot.todos());
+        IntIntMap comVale = snapshot.contarValePorCargo();
+
+        int[] cargos = porCargo.chaves();
+        Object[][] linhas = new Object[cargos.length][];
+        int totalVale = 0;
+        for (int i = 0; i < cargos.length; i++) {
+            int idCargo = cargos[i];
+            int quantidade = porCargo.get(idCargo, 0);
+            int vale = comVale.get(idCargo, 0);
+            totalVale += vale;
+            linhas[i] = new Object[]{idCargo, nomeOuId(nomes, idCargo), quantidade, vale, percentual(vale, quantidade)};
+        }
+        return new Tabela(linhas, snapshot.getQuantidade() + " funcionários, " + totalVale
+                + " com vale-transporte (" + percentual(totalVale, snapshot.getQuantidade()) + ")");
+    }
+
+    // =====================================================
+    // 🚌 Custo de vale-transporte
+    // =====================================================
+
+    private JPanel criarAbaVale() {
+        modeloVale = novoModelo("ID", "Cargo", "Beneficiários", "Regra", "Custo mensal", "Limite", "Situação");
+        lblResumoVale = new JLabel(" ");
+
+        JButton btnVerificar = new JButton("Verificar orçamento");
+        btnVerificar.addActionListener(e -> carregarVale(false, true));
+        JButton btnRecalcular = new JButton("Recalcular do banco");
+        btnRecalcular.addActionListener(e -> carregarVale(true, true));
+
+        return montarAba(modeloVale, lblResumoVale, btnVerificar, btnRecalcular);
+    }
+
+    /**
+     * 🚌 Calcula o custo por cargo e confere o orçamento (em segundo plano).
+     *
+     * @param doBanco true = refaz a varredura antes de calcular
+     * @param avisar  true = mostra um aviso se o orçamento estourou
+     */
+    private void carregarVale(boolean doBanco, boolean avisar) {
+        tarefas.executar("vale",
+                () -> {
+                    if (doBanco) {
+                        custoVale.recalcular();
+                    }
+                    IntObjectMap<String> nomes = nomesDosCargos();
+                    try {
+                        return montarVale(custoVale.verificarOrcamento(), nomes, null);
+                    } catch (OrcamentoExcedidoException e) {
+                        return montarVale(e.getResumo(), nomes, e.getMessage());
+                    }
+                },
+                tabela -> {
+                    preencher(modeloVale, lblResumoVale, tabela);
+                    lblResumoVale.setForeground(tabela.aviso != null ? Color.RED : UIManager.getColor("Label.foreground"));
+                    if (tabela.aviso != null && avisar) {
+                        JOptionPane.showMessageDialog(this, tabela.aviso,
+                                "Orçamento de vale-transporte", JOptionPane.WARNING_MESSAGE);
+                    }
+                },
+                e -> mostrarErro("Erro ao calcular o vale-transporte: ", e));
+    }
+
+    private static Tabela montarVale(ResumoCustoVale resumo, IntObjectMap<String> nomes, String aviso) {
+        Object[][] linhas = new Object[resumo.getCargos().size()][];
+        int i = 0;
+        for (ResumoCustoVale.CustoCargo c : resumo.getCargos()) {
+            linhas[i++] = new Object[]{c.getIdCargo(), nomeOuId(nomes, c.getIdCargo()), c.getBeneficiarios(),
+                    c.getRegra().toString(), Dinheiro.formatar(c.getCustoMensal()), limite(c.getLimite()),
+                    c.isExcedido() ? "⚠️ Excedido" : "OK"};
+        }
+        String texto = resumo.getBeneficiarios() + " beneficiários, total "
+                + Dinheiro.formatar(resumo.getCustoTotal()) + " por mês (limite "
+                + limite(resumo.getLimiteTotal()) + ")";
+        if (aviso != null) {
+            texto = "⚠️ Orçamento excedido — " + texto;
+        }
+        return new Tabela(linhas, texto, aviso);
+    }
+
+    private static String limite(long centavos) {
+        return centavos == OrcamentoVale.SEM_LIMITE ? "sem limite" : Dinheiro.formatar(centavos);
+    }
+
+    // =====================================================
+    // 🔧 Auxiliares
+    // =====================================================
+
+    /** Nomes dos cargos por ID (do cache de cargos). */
+    private IntObjectMap<String> nomesDosCargos() throws Exception {
+        IntObjectMap<String> nomes = new IntObjectMap<>();
+        for (Cargo c : cargoControl.index()) {
+            nomes.put(c.getIdCargo(), c.getNomeCargo());
+        }
+        return nomes;
+    }
+
+    private static String nomeOuId(IntObjectMap<String> nomes, int idCargo) {
+        String nome = nomes.get(idCargo);
+        return nome != null ? nome : "(cargo " + idCargo + ")";
+    }
+
+    private static String percentual(int parte, int total) {
+        return total == 0 ? "-" : String.format(new Locale("pt", "BR"), "%.1f%%", 100.0 * parte / total);
+    }
+
+    /** Tabela somente leitura; colunas numéricas ordenam como números. */
+    private static DefaultTableModel novoModelo(String... colunas) {
+        return new DefaultTableModel(colunas, 0) {
+            @Override
+            public boolean isCellEditable(int row, int column) {
+                return false;
+            }
+
+            @Override
+            public Class<?> getColumnClass(int column) {
+                return getRowCount() > 0 && getValueAt(0, column) != null
+                        ? getValueAt(0, column).getClass()
+                        : Object.class;
+            }
+        };
+    }
+
+    /** Tabela no centro; resumo e botões embaixo. */
+    private JPanel montarAba(DefaultTableModel modelo, JLabel resumo, JButton... botoes) {
+        JTable tabela = new JTable(modelo);
+        tabela.setAutoCreateRowSorter(true);
+
+        JPanel rodape = new JPanel(new BorderLayout(10, 0));
+        JPanel panelBotoes = new JPanel(new FlowLayout(FlowLayout.RIGHT));
+        for (JButton b : botoes) {
+            panelBotoes.add(b);
+        }
+        rodape.add(resumo, BorderLayout.CENTER);
+        rodape.add(panelBotoes, BorderLayout.EAST);
+
+        JPanel aba = new JPanel(new BorderLayout(10, 10));
+        aba.add(new JScrollPane(tabela), BorderLayout.CENTER);
+        aba.add(rodape, BorderLayout.SOUTH);
+        return aba;
+    }
+
+    private static void preencher(DefaultTableModel modelo, JLabel resumo, Tabela tabela) {
+        modelo.setRowCount(0);
+        for (Object[] linha : tabela.linhas) {
+            modelo.addRow(linha);
+        }
+        resumo.setText(tabela.resumo);
+    }
+
+    /**
+     * ❌ Mostra uma mensagem de erro vinda de uma tarefa em segundo plano.
+     */
+    private void mostrarErro(String prefixo, Exception e) {
+        JOptionPane.showMessageDialog(this,
+                prefixo + e.getMessage(),
+                "Erro", JOptionPane.ERROR_MESSAGE);
+    }
+}
@@ -0,0 +1,58 @@
+package forms;
+
+import java.awt.Component;
+
+import javax.swing.JOptionPane;
+
+import control.FuncionarioControl;
+import service.SessionService;
+
+/**
+ * 🎟️ Classe: SessaoUsuario
+ *
+ * 📘 Sessão do usuário logado, conferida pelas telas antes de cada ação que
+ * exige autenticação (cadastrar, alterar, excluir, importar, exportar).
+ *
+ * 🧠 Notas de Aula:
+ * <ul>
+ * <li>A conferência é a do token emitido no login
+ * ({@link FuncionarioControl#validarSessao(String)}): O(1), em memória, sem
+ * banco e sem BCrypt — pode rodar na EDT</li>
+ * <li>Cada conferência renova o tempo de inatividade da sessão</li>
+ * <li>Sessão expirada, encerrada (ex: a senha do usuário foi trocada) ou
+ * ausente (tela aberta sem login) → a ação é recusada com um aviso</li>
+ * </ul>
+ */
+final class SessaoUsuario {
+
+    private final FuncionarioControl funcionarioControl;
+    private final String token;
+
+    /**
+     * @param funcionarioControl controller que valida os tokens
+     * @param token              token do login (null = tela aberta sem login)
+     */
+    SessaoUsuario(FuncionarioControl funcionarioControl, String token) {
+        this.funcionarioControl = funcionarioControl;
+        this.token = token;
+    }
+
+    /**
+     * ✅ Confere a sessão; se não valer mais, avisa o usuário.
+     *
+     * @param pai janela sobre a qual o aviso aparece
+     * @return true se a ação pode continuar
+     */
+    boolean verificar(Component pai) {
+        SessionService.Sessao sessao = funcionarioControl.validarSessao(token);
+        if (sessao != null) {
+            return true;
+        }
+        JOptionPane.showMessageDialog(pai,
+                token == null
+                        ? "⚠️ Entre no sistema para alterar os dados."
+                        : "⚠️ Sua sessão expirou ou foi encerrada. Entre novamente para continuar.",
+                "Sessão", JOptionPane.WARNING_MESSAGE);
+        return false;
+    }
+}
@@ -18,6 +18,9 @@ package model;
  * <li>Os atributos são privados ➜ respeitando o princípio de
  * <b>encapsulamento</b></li>
  * <li>O acesso é feito por meio de <b>getters</b> e <b>setters</b></li>
+ * <li>🔒 Cargos lidos do banco ({@link #doBanco}) são compartilhados por
+ * todas as linhas, caches e eventos (🪶 Flyweight): são <b>somente
+ * leitura</b> e os setters recusam alterações</li>
  * </ul>
  */
 public class Cargo {
@@ -25,6 +28,7 @@ public class Cargo {
     // 🧱 Atributos privados — boa prática de encapsulamento
     private int idCargo; // 🔑 Identificador único do cargo
     private String nomeCargo; // 🏷️ Nome descritivo do cargo
+    private boolean somenteLeitura; // 🔒 true = instância compartilhada (doBanco)
 
     /**
      * 🏗️ Construtor padrão (sem parâmetros)
@@ -49,6 +53,36 @@ public class Cargo {
         // System.out.println("🆕 Cargo criado com parâmetros.");
     }
 
+    /**
+     * 🗄️ Fábrica <b>confiável</b> para linhas lidas do banco de dados.
+     * 
+     * ✏️ Atribui os campos direto, sem repetir as validações dos setters
+     * (o nome já foi validado e aparado quando foi gravado).
+     * 
+     * ⚠️ Use somente nos DAOs; dados digitados pelo usuário passam pelos setters.
+     * 
+     * 🔒 O objeto criado é <b>somente leitura</b>: ele é compartilhado, e um
+     * setter chamado por engano renomearia o cargo em todas as linhas.
+     * Para alterar, crie um {@code new Cargo(...)}.
+     * 
+     * @param idCargo   ID do cargo
+     * @param nomeCargo Nome do cargo, como está no banco
+     */
+    public static Cargo doBanco(int idCargo, String nomeCargo) {
+        Cargo c = new Cargo();
+        c.idCargo = idCargo;
+        c.nomeCargo = nomeCargo;
+        c.somenteLeitura = true;
+        return c;
+    }
+
+    /**
+     * 🔒 Indica se o objeto é compartilhado (lido do banco) e não aceita alterações.
+     */
+    public boolean isSomenteLeitura() {
+        return somenteLeitura;
+    }
+
     /**
      * 📤 Getter para <b>idCargo</b>
      * 
@@ -66,8 +100,10 @@ public class Cargo {
      * 
      * @param idCargo número inteiro positivo representando o ID do cargo
      * @throws IllegalArgumentException se o valor não for válido
+     * @throws IllegalStateException    se o cargo for somente leitura
      */
     public void setIdCargo(int idCargo) {
+        verificarAlteravel();
         if (idCargo <= 0) {
             throw new IllegalArgumentException("⚠️ idCargo deve ser maior que zero.");
         }
@@ -95,8 +131,10 @@ public class Cargo {
      * 
      * @param nomeCargo Nome do cargo
      * @throws IllegalArgumentException se o valor for inválido
+     * @throws IllegalStateException    se o cargo for somente leitura
      */
     public void setNomeCargo(String nomeCargo) {
+        verificarAlteravel();
         if (nomeCargo == null) {
             throw new IllegalArgumentException("⚠️ nomeCargo não pode ser nulo.");
         }
@@ -114,6 +152,16 @@ public class Cargo {
         this.nomeCargo = nomeTrimmed;
     }
 
+    /**
+     * 🔒 Recusa alterações em cargos compartilhados.
+     */
+    private void verificarAlteravel() {
+        if (somenteLeitura) {
+            throw new IllegalStateException("⚠️ Cargo " + idCargo
+                    + " é compartilhado (lido do banco) e não pode ser alterado; crie um novo Cargo.");
+        }
+    }
+
     /**
      * 🧾 Sobrescrita do método toString()
      * 
@@ -55,6 +55,38 @@ public class Funcionario {
         this.setCargo(cargo);
     }
 
+    /**
+     * 🔒 Construtor interno do caminho confiável (não cria o Cargo padrão).
+     */
+    private Funcionario(Cargo cargo) {
+        this.cargo = cargo;
+    }
+
+    /**
+     * 🗄️ Fábrica <b>confiável</b> para linhas lidas do banco de dados.
+     * 
+     * 🧠 Notas de Aula:
+     * <ul>
+     *   <li>Os dados já passaram pelos setters quando foram gravados, então
+     *   aqui os campos são atribuídos direto: sem {@code trim}, sem checar
+     *   tamanho e formato de novo</li>
+     *   <li>Carregar 1 milhão de linhas deixa de repetir 1 milhão de validações
+     *   (ver {@code benchmark.ModeloConfiavelBenchmark})</li>
+     *   <li>⚠️ Use <b>somente</b> nos DAOs. Dados digitados pelo usuário devem
+     *   passar pelo construtor completo ou pelos setters</li>
+     * </ul>
+     */
+    public static Funcionario doBanco(int idFuncionario, String nomeFuncionario, String email,
+                                      String senha, boolean recebeValeTransporte, Cargo cargo) {
+        Funcionario f = new Funcionario(cargo);
+        f.idFuncionario = idFuncionario;
+        f.nomeFuncionario = nomeFuncionario;
+        f.email = email;
+        f.senha = senha;
+        f.recebeValeTransporte = recebeValeTransporte;
+        return f;
+    }
+
     // =====================================================
     // 🧩 GETTERS e SETTERS — com regras de domínio e validações
     // =====================================================
@@ -225,6 +257,30 @@ public class Funcionario {
     // 🧾 Métodos auxiliares
     // =====================================================
 
+    /**
+     * 📑 Retorna uma <b>cópia</b> do funcionário sem a senha.
+     *
+     * 🧠 Usada pelo cache e pelo login: objetos compartilhados ou entregues
+     * às telas não carregam o hash, e quem altera a cópia não altera o
+     * original.
+     */
+    public Funcionario semSenha() {
+        return doBanco(idFuncionario, nomeFuncionario, email, null, recebeValeTransporte, cargo);
+    }
+
+    /**
+     * 📑 Retorna uma <b>cópia</b> do funcionário com outro cargo.
+     *
+     * 🧠 O original não é alterado: ele pode estar compartilhado (ex: no
+     * cache de funcionários) e ser lido por outras telas ao mesmo tempo.
+     */
+    public Funcionario comCargo(Cargo novoCargo) {
+        if (novoCargo == null) {
+            throw new IllegalArgumentException("⚠️ cargo não pode ser nulo.");
+        }
+        return doBanco(idFuncionario, nomeFuncionario, email, senha, recebeValeTransporte, novoCargo);
+    }
+
     /**
      * 🪪 Retorna uma representação textual do funcionário.
      * 
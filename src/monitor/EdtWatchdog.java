@@ -0,0 +1,261 @@
+package monitor;
+
+import java.awt.AWTEvent;
+import java.awt.EventQueue;
+import java.awt.Toolkit;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * 🐕 Classe: EdtWatchdog
+ *
+ * 📘 Vigia da <b>EDT</b> (a thread que desenha a tela): mede quanto tempo cada
+ * evento leva para ser tratado e, quando passa do limite, registra <b>o que</b>
+ * estava travando a tela.
+ *
+ * 🎯 Objetivos:
+ * <ul>
+ * <li>Ter prova concreta de congelamentos da interface</li>
+ * <li>Identificar a chamada culpada (ex: "FuncionarioControl.index" ou
+ * "BCrypt.checkpw") em vez de só "a tela travou"</li>
+ * </ul>
+ *
+ * 🧠 Notas de Aula:
+ * <ul>
+ * <li>Uma {@link EventQueue} própria é empilhada sobre a do sistema
+ * ({@code push}); ela só anota o início e o fim de cada {@code dispatchEvent}</li>
+ * <li>Uma thread separada ("edt-watchdog") olha periodicamente o evento em
+ * andamento; se ele já passou do limite, captura a pilha da EDT
+ * <b>enquanto</b> ela está travada</li>
+ * <li>A operação é o frame mais externo de {@code control.} (a entrada) e o
+ * mais interno de {@code dao.}/{@code service.}/BCrypt (onde o tempo é gasto)</li>
+ * <li>Diálogos modais rodam um laço de eventos dentro do evento que os abriu;
+ * o tempo com o diálogo aberto <b>não</b> conta como travamento</li>
+ * <li>Registrar e gravar em disco acontece na thread do vigia, nunca na EDT</li>
+ * </ul>
+ *
+ * ⚙️ Configuração: {@code rh.edtWatchdog.enabled} (true),
+ * {@code rh.edtWatchdog.limiteMillis} (100), {@code rh.edtWatchdog.historico}
+ * (500), {@code rh.edtWatchdog.arquivo} (logs/edt-travamentos.log; vazio = só
+ * memória), {@code rh.edtWatchdog.arquivoMaxKb} (1024) e
+ * {@code rh.edtWatchdog.arquivosMantidos} (3).
+ */
+public class EdtWatchdog {
+
+    /**
+     * ⏱️ Um {@code dispatchEvent} em andamento.
+     */
+    private static final class Despacho {
+        final Thread thread;
+        final AWTEvent evento;
+        final long inicio = System.nanoTime();
+        volatile long aninhadoEm;          // início do 1º evento de um laço modal
+        volatile StackTraceElement[] pilha; // capturada pelo vigia
+
+        Despacho(Thread thread, AWTEvent evento) {
+            this.thread = thread;
+            this.evento = evento;
+        }
+    }
+
+    /**
+     * 📥 Fila de eventos que anota início e fim de cada despacho.
+     */
+    private final class FilaMonitorada extends EventQueue {
+        @Override
+        protected void dispatchEvent(AWTEvent evento) {
+            Despacho anterior = atual;
+            if (anterior != null && anterior.aninhadoEm == 0) {
+                anterior.aninhadoEm = System.nanoTime(); // 🪟 laço modal
+            }
+            Despacho d = new Despacho(Thread.currentThread(), evento);
+            atual = d;
+            try {
+                super.dispatchEvent(evento);
+            } finally {
+                atual = anterior;
+                finalizar(d);
+            }
+        }
+    }
+
+    private final long limiteNanos;
+    private final long intervaloMillis;
+    private final RegistroTravamentos registro;
+
+    // 🔁 Evento em andamento na EDT (escrito pela EDT, lido pelo vigia)
+    private volatile Despacho atual;
+
+    // 📨 Travamentos terminados aguardando registro pelo vigia
+    private final ConcurrentLinkedQueue<Travamento> terminados = new ConcurrentLinkedQueue<>();
+
+    private Thread vigia;
+    private volatile boolean ativo;
+
+    /**
+     * 🏗️ Construtor
+     *
+     * @param limiteMillis duração a partir da qual um evento é travamento
+     * @param registro     onde os travamentos são guardados
+     */
+    public EdtWatchdog(long limiteMillis, RegistroTravamentos registro) {
+        System.out.println(">> EdtWatchdog.constructor()");
+        if (limiteMillis <= 0) {
+            throw new IllegalArgumentException("⚠️ O limite de travamento deve ser positivo.");
+        }
+        this.limiteNanos = limiteMillis * 1_000_000L;
+        this.intervaloMillis = Math.max(5, limiteMillis / 4);
+        this.registro = registro;
+    }
+
+    /**
+     * 🏭 Cria o vigia a partir das propriedades de sistema (null = desligado).
+     */
+    public static EdtWatchdog fromSystemProperties() {
+        if (!Boolean.parseBoolean(System.getProperty("rh.edtWatchdog.enabled", "true"))) {
+            System.out.println("🐕 EdtWatchdog desabilitado.");
+            return null;
+        }
+        String caminho = System.getProperty("rh.edtWatchdog.arquivo", "logs/edt-travamentos.log").trim();
+        Path arquivo = caminho.isEmpty() ? null : Paths.get(caminho);
+        RegistroTravamentos registro = new RegistroTravamentos(
+                Integer.getInteger("rh.edtWatchdog.historico", 500),
+                arquivo,
+                Long.getLong("rh.edtWatchdog.arquivoMaxKb", 1024L) * 1024L,
+                Integer.getInteger("rh.edtWatchdog.arquivosMantidos", 3));
+        return new EdtWatchdog(Long.getLong("rh.edtWatchdog.limiteMillis", 100L), registro);
+    }
+
+    /**
+     * ▶️ Empilha a fila monitorada e inicia a thread do vigia.
+     */
+    public synchronized void instalar() {
+        if (ativo) {
+            return;
+        }
+        System.out.println(">> EdtWatchdog.instalar()");
+        ativo = true;
+        Toolkit.getDefaultToolkit().getSystemEventQueue().push(new FilaMonitorada());
+        vigia = new Thread(this::vigiar, "edt-watchdog");
+        vigia.setDaemon(true);
+        vigia.start();
+    }
+
+    /**
+     * 🛑 Para o vigia (a fila continua instalada, mas não registra mais nada).
+     */
+    public synchronized void parar() {
+        if (!ativo) {
+            return;
+        }
+        ativo = false;
+        vigia.interrupt();
+        drenar();
+    }
+
+    public RegistroTravamentos getRegistro() {
+        return registro;
+    }
+
+    // =====================================================
+    // 🔁 Vigia
+    // =====================================================
+
+    private void vigiar() {
+        while (ativo) {
+            try {
+                Thread.sleep(intervaloMillis);
+            } catch (InterruptedException e) {
+                return;
+            }
+            Despacho d = atual;
+            if (d != null && d.pilha == null && d.aninhadoEm == 0
+                    && System.nanoTime() - d.inicio >= limiteNanos) {
+                // 📸 A EDT está travada agora: a pilha mostra o culpado
+                d.pilha = d.thread.getStackTrace();
+            }
+            drenar();
+        }
+    }
+
+    private void drenar() {
+        Travamento t;
+        while ((t = terminados.poll()) != null) {
+            registro.registrar(t);
+        }
+    }
+
+    /** Chamado na EDT ao fim de cada evento: só enfileira, não faz I/O. */
+    private void finalizar(Despacho d) {
+        if (!ativo) {
+            return;
+        }
+        long fim = d.aninhadoEm != 0 ? d.aninhadoEm : System.nanoTime();
+        long duracao = fim - d.inicio;
+        if (duracao < limiteNanos) {
+            return;
+        }
+        StackTraceElement[] pilha = d.pilha;
+        terminados.add(new Travamento(System.currentTimeMillis(), duracao / 1_000_000.0,
+                atribuir(pilha), d.evento.getClass().getSimpleName(), pilha));
+    }
+
+    // =====================================================
+    // 🏷️ Atribuição
+    // =====================================================
+
+    /**
+     * 🏷️ Descobre a operação pela pilha da EDT.
+     *
+     * 🧠 A pilha vem do frame mais interno para o mais externo. A entrada é o
+     * frame de {@code control.} mais externo; o bloqueio é o frame mais
+     * interno de DAO, Service ou BCrypt.
+     *
+     * @return ex: "FuncionarioControl.index → FuncionarioDAO.findAll"
+     */
+    static String atribuir(StackTraceElement[] pilha) {
+        if (pilha == null || pilha.length == 0) {
+            return "(pilha não capturada)";
+        }
+        String entrada = null;
+        String bloqueio = null;
+        String tela = null;
+        for (StackTraceElement f : pilha) {
+            String classe = f.getClassName();
+            if (f.getMethodName().startsWith("lambda$")) {
+                continue;
+            }
+            if (classe.startsWith("control.")) {
+                entrada = nome(f); // 🔁 continua: fica o mais externo
+            } else if (classe.startsWith("org.mindrot.jbcrypt.")) {
+                // 🔒 Dentro do BCrypt interessa o método público (ex: checkpw)
+                if (bloqueio == null || bloqueio.startsWith("BCrypt.")) {
+                    bloqueio = nome(f);
+                }
+            } else if (bloqueio == null && (classe.startsWith("dao.") || classe.startsWith("service."))) {
+                bloqueio = nome(f);
+            } else if (tela == null && classe.startsWith("forms.")) {
+                tela = nome(f);
+            }
+        }
+        if (entrada != null && bloqueio != null) {
+            return entrada + " → " + bloqueio;
+        }
+        if (entrada != null || bloqueio != null) {
+            return entrada != null ? entrada : bloqueio;
+        }
+        return tela != null ? tela : "(outro)";
+    }
+
+    /** "control.FuncionarioControl" + "index" → "FuncionarioControl.index". */
+    private static String nome(StackTraceElement f) {
+        String classe = f.getClassName();
+        classe = classe.substring(classe.lastIndexOf('.') + 1);
+        int interna = classe.indexOf('$');
+        if (interna > 0) {
+            classe = classe.substring(0, interna);
+        }
+        return classe + "." + f.getMethodName();
+    }
+}
@@ -0,0 +1,203 @@
+package monitor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 📒 Classe: RegistroTravamentos
+ *
+ * 📘 Guarda os travamentos da EDT e resume por operação: quantos foram e os
+ * percentis de duração (p50, p95, p99, máximo).
+ *
+ * 🎯 Objetivos:
+ * <ul>
+ * <li>Provar quais chamadas ainda bloqueiam a tela, e quanto</li>
+ * <li>Manter memória limitada mesmo em sessões longas</li>
+ * </ul>
+ *
+ * 🧠 Notas de Aula:
+ * <ul>
+ * <li>Os últimos N travamentos ficam num <b>buffer circular</b> (o mais antigo
+ * sai quando chega um novo); os percentis são calculados sobre ele</li>
+ * <li>As contagens por operação valem para a sessão inteira</li>
+ * <li>Opcionalmente cada travamento vai para um arquivo que é
+ * <b>rotacionado</b> ao passar do tamanho máximo (arquivo.1, arquivo.2, ...)</li>
+ * </ul>
+ */
+public class RegistroTravamentos {
+
+    /** Linhas da pilha gravadas no arquivo por travamento. */
+    private static final int LINHAS_PILHA = 25;
+
+    private final int capacidade;
+    private final Path arquivo;
+    private final long arquivoMaxBytes;
+    private final int arquivosMantidos;
+
+    // 🔒 Todos protegidos pelo lock "this"
+    private final ArrayDeque<Travamento> recentes;
+    private final Map<String, Integer> contagens = new HashMap<>();
+    private int total;
+
+    /**
+     * 🏗️ Construtor
+     *
+     * @param capacidade       quantos travamentos manter em memória
+     * @param arquivo          arquivo de log (null = só memória)
+     * @param arquivoMaxBytes  tamanho que dispara a rotação
+     * @param arquivosMantidos quantos arquivos antigos manter
+     */
+    public RegistroTravamentos(int capacidade, Path arquivo, long arquivoMaxBytes, int arquivosMantidos) {
+        if (capacidade <= 0) {
+            throw new IllegalArgumentException("⚠️ A capacidade do registro deve ser positiva.");
+        }
+        this.capacidade = capacidade;
+        this.recentes = new ArrayDeque<>(capacidade);
+        this.arquivo = arquivo;
+        this.arquivoMaxBytes = arquivoMaxBytes;
+        this.arquivosMantidos = Math.max(1, arquivosMantidos);
+    }
+
+    /**
+     * ➕ Registra um travamento (na memória e, se configurado, no arquivo).
+     *
+     * 🧠 Chamado pela thread do vigia, nunca pela EDT: gravar em disco aqui
+     * não trava a tela.
+     */
+    public void registrar(Travamento t) {
+        synchronized (this) {
+            if (recentes.size() == capacidade) {
+                recentes.removeFirst();
+            }
+            recentes.addLast(t);
+            contagens.merge(t.getOperacao(), 1, Integer::sum);
+            total++;
+        }
+        if (arquivo != null) {
+            gravar(t);
+        }
+    }
+
+    public synchronized int getTotal() {
+        return total;
+    }
+
+    /**
+     * 📋 Travamentos em memória, do mais antigo ao mais recente.
+     */
+    public synchronized List<Travamento> getRecentes() {
+        return new ArrayList<>(recentes);
+    }
+
+    /**
+     * 📊 Resumo por operação (da que mais travou para a que menos travou).
+     */
+    public String relatorio() {
+        List<Travamento> amostra;
+        Map<String, Integer> porOperacao;
+        int totalGeral;
+        synchronized (this) {
+            amostra = new ArrayList<>(recentes);
+            porOperacao = new HashMap<>(contagens);
+            totalGeral = total;
+        }
+
+        // 🗂️ Durações recentes agrupadas por operação
+        Map<String, List<Double>> duracoes = new LinkedHashMap<>();
+        for (Travamento t : amostra) {
+            duracoes.computeIfAbsent(t.getOperacao(), k -> new ArrayList<>()).add(t.getDuracaoMillis());
+        }
+
+        List<Map.Entry<String, Integer>> ordem = new ArrayList<>(porOperacao.entrySet());
+        ordem.sort((a, b) -> b.getValue() - a.getValue());
+
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format(Locale.ROOT, "🧊 Travamentos da EDT: %d (percentis sobre os últimos %d)%n",
+                totalGeral, amostra.size()));
+        sb.append(String.format(Locale.ROOT, "  %-50s %6s %9s %9s %9s %9s%n",
+                "operação", "qtd", "p50 ms", "p95 ms", "p99 ms", "máx ms"));
+        for (Map.Entry<String, Integer> e : ordem) {
+            double[] d = ordenadas(duracoes.get(e.getKey()));
+            sb.append(String.format(Locale.ROOT, "  %-50s %6d %9.1f %9.1f %9.1f %9.1f%n",
+                    e.getKey(), e.getValue(),
+                    percentil(d, 50), percentil(d, 95), percentil(d, 99), percentil(d, 100)));
+        }
+        return sb.toString().stripTrailing();
+    }
+
+    // =====================================================
+    // 🔧 Auxiliares
+    // =====================================================
+
+    private static double[] ordenadas(List<Double> valores) {
+        if (valores == null) {
+            return new double[0];
+        }
+        double[] d = new double[valores.size()];
+        for (int i = 0; i < d.length; i++) {
+            d[i] = valores.get(i);
+        }
+        Arrays.sort(d);
+        return d;
+    }
+
+    /** Percentil pelo método "nearest-rank" (0 se não houver amostra). */
+    static double percentil(double[] ordenadas, int p) {
+        if (ordenadas.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(p / 100.0 * ordenadas.length);
+        return ordenadas[Math.max(0, Math.min(ordenadas.length, rank) - 1)];
+    }
+
+    private synchronized void gravar(Travamento t) {
+        try {
+            Path pasta = arquivo.toAbsolutePath().getParent();
+            if (pasta != null) {
+                Files.createDirectories(pasta);
+            }
+            if (Files.exists(arquivo) && Files.size(arquivo) >= arquivoMaxBytes) {
+                rotacionar();
+            }
+            try (Writer w = Files.newBufferedWriter(arquivo, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                w.write(String.format(Locale.ROOT, "%s  %.1f ms  %s  (%s)%n",
+                        Instant.ofEpochMilli(t.getMomento()), t.getDuracaoMillis(), t.getOperacao(), t.getEvento()));
+                StackTraceElement[] pilha = t.getPilha();
+                for (int i = 0; i < Math.min(LINHAS_PILHA, pilha.length); i++) {
+                    w.write("    at " + pilha[i] + System.lineSeparator());
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("❌ Não foi possível gravar o log de travamentos: " + e.getMessage());
+        }
+    }
+
+    /** arquivo.(n-1) → arquivo.n, ..., arquivo → arquivo.1 (o mais antigo é descartado). */
+    private void rotacionar() throws IOException {
+        for (int i = arquivosMantidos; i >= 1; i--) {
+            Path origem = i == 1 ? arquivo : irmao(i - 1);
+            if (Files.exists(origem)) {
+                Files.move(origem, irmao(i), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+    }
+
+    private Path irmao(int n) {
+        return arquivo.resolveSibling(arquivo.getFileName() + "." + n);
+    }
+}
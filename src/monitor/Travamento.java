@@ -0,0 +1,60 @@
+package monitor;
+
+/**
+ * 🧊 Classe: Travamento
+ *
+ * 📘 Registro de um evento da EDT que demorou mais que o limite (a tela ficou
+ * "congelada" durante esse tempo).
+ *
+ * 🧠 Notas de Aula:
+ * <ul>
+ * <li>{@code operacao} é a chamada que estava bloqueando a EDT, descoberta
+ * pela pilha (ex: "FuncionarioControl.index → FuncionarioDAO.findAll")</li>
+ * <li>A pilha é capturada <b>durante</b> o travamento pelo vigia; se o evento
+ * terminar antes da captura, ela fica vazia</li>
+ * </ul>
+ */
+public final class Travamento {
+
+    private final long momento;
+    private final double duracaoMillis;
+    private final String operacao;
+    private final String evento;
+    private final StackTraceElement[] pilha;
+
+    public Travamento(long momento, double duracaoMillis, String operacao, String evento,
+            StackTraceElement[] pilha) {
+        this.momento = momento;
+        this.duracaoMillis = duracaoMillis;
+        this.operacao = operacao;
+        this.evento = evento;
+        this.pilha = pilha == null ? new StackTraceElement[0] : pilha;
+    }
+
+    /** Fim do travamento (epoch em milissegundos). */
+    public long getMomento() {
+        return momento;
+    }
+
+    public double getDuracaoMillis() {
+        return duracaoMillis;
+    }
+
+    public String getOperacao() {
+        return operacao;
+    }
+
+    /** Tipo do evento AWT que travou (ex: "ActionEvent"). */
+    public String getEvento() {
+        return evento;
+    }
+
+    public StackTraceElement[] getPilha() {
+        return pilha.clone();
+    }
+
+    @Override
+    public String toString() {
+        return String.format(java.util.Locale.ROOT, "Travamento{%.1f ms, %s, %s}", duracaoMillis, operacao, evento);
+    }
+}
@@ -0,0 +1,345 @@
+package payroll;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import collections.IntIntMap;
+import dao.FuncionarioDAO;
+import event.EventoAlteracao.Operacao;
+import event.FuncionarioAlterado;
+import event.FuncionariosImportados;
+import model.Funcionario;
+import payroll.ResumoCustoVale.CustoCargo;
+
+/**
+ * 🚌 Classe: CustoValeTransporte
+ *
+ * 📘 Calcula o custo mensal de vale-transporte da empresa, como numa folha
+ * de pagamento: quem recebe o benefício × regra de tarifa do seu cargo
+ * ({@link TabelaTarifas}), somado por cargo e no total, e comparado com o
+ * {@link OrcamentoVale}.
+ *
+ * 🎯 Objetivos:
+ * <ul>
+ * <li>Calcular sobre milhões de funcionários sem carregar objetos
+ * {@link Funcionario}</li>
+ * <li>Refletir cadastros, alterações e exclusões sem varrer tudo de novo</li>
+ * <li>Avisar com {@link OrcamentoExcedidoException} quando o orçamento estoura</li>
+ * </ul>
+ *
+ * 🧠 Notas de Aula:
+ * <ul>
+ * <li>A varredura lê as linhas em streaming e guarda só os beneficiários,
+ * em dois {@code int[]} (idFuncionario e idCargo)</li>
+ * <li>A contagem por cargo roda em paralelo por blocos (como
+ * {@code SnapshotFuncionarios.contarPorCargo}); as regras são aplicadas
+ * uma vez por cargo: o custo de um funcionário só depende do cargo</li>
+ * <li>Depois, cada evento só move um funcionário de cargo (ou entra/sai do
+ * benefício) e recalcula os cargos afetados: O(cargos), não O(funcionários)</li>
+ * <li>Mesmo protocolo da {@code AnaliseFuncionarios}: lock "this" para o
+ * estado, varredura fora do lock e eventos adiados durante ela</li>
+ * <li>A importação em lote avisa com um {@link FuncionariosImportados} por
+ * lote ({@link #aplicarLote}): um resumo novo por lote, não por linha</li>
+ * </ul>
+ */
+public class CustoValeTransporte {
+
+    /**
+     * 🔁 Origem da varredura (normalmente {@code FuncionarioDAO::forEachLinha}).
+     */
+    @FunctionalInterface
+    public interface Fonte {
+        void varrer(FuncionarioDAO.VisitanteLinha visitante) throws SQLException;
+    }
+
+    /** Beneficiários por bloco na contagem paralela. */
+    private static final int BLOCO = 64 * 1024;
+
+    private final Fonte fonte;
+    private final TabelaTarifas tarifas;
+    private final OrcamentoVale orcamento;
+
+    private volatile ResumoCustoVale resumo;
+
+    // 🔒 Protegidos pelo lock "this"
+    private IntIntMap cargoDoBeneficiario; // idFuncionario → idCargo (só quem recebe vale)
+    private IntIntMap beneficiariosPorCargo;
+    private boolean carregando;
+    private final List<FuncionarioAlterado> adiados = new ArrayList<>();
+    private long versao;
+
+    // 🔒 Uma varredura por vez
+    private final Object lockCarga = new Object();
+
+    /**
+     * 🏗️ Construtor
+     *
+     * @param fonte     origem das linhas
+     * @param tarifas   regra de cada cargo
+     * @param orcamento limites (null = sem orçamento)
+     */
+    public CustoValeTransporte(Fonte fonte, TabelaTarifas tarifas, OrcamentoVale orcamento) {
+        System.out.println(">> CustoValeTransporte.constructor()");
+        this.fonte = fonte;
+        this.tarifas = tarifas;
+        this.orcamento = orcamento;
+    }
+
+    /**
+     * 🧾 Resumo atual (calcula na primeira chamada).
+     */
+    public ResumoCustoVale getResumo() throws SQLException {
+        if (resumo == null) {
+            synchronized (lockCarga) {
+                // 🔁 Outra thread pode ter calculado enquanto esperávamos
+                if (resumo == null) {
+                    recalcular();
+                }
+            }
+        }
+        return resumo;
+    }
+
+    /**
+     * 🎯 Resumo atual, conferido com o orçamento.
+     *
+     * @throws OrcamentoExcedidoException se o total ou algum cargo passou do limite
+     */
+    public ResumoCustoVale verificarOrcamento() throws SQLException, OrcamentoExcedidoException {
+        System.out.println(">> CustoValeTransporte.verificarOrcamento()");
+        ResumoCustoVale atual = getResumo();
+        if (atual.isDentroDoOrcamento()) {
+            return atual;
+        }
+
+        StringBuilder msg = new StringBuilder("⚠️ Orçamento de vale-transporte excedido:");
+        if (atual.isTotalExcedido()) {
+            msg.append("\n- Total: ").append(Dinheiro.formatar(atual.getCustoTotal()))
+                    .append(" (limite ").append(Dinheiro.formatar(atual.getLimiteTotal())).append(")");
+        }
+        for (CustoCargo c : atual.getCargosExcedidos()) {
+            msg.append("\n- Cargo ").append(c.getIdCargo()).append(": ")
+                    .append(Dinheiro.formatar(c.getCustoMensal()))
+                    .append(" (limite ").append(Dinheiro.formatar(c.getLimite())).append(")");
+        }
+        throw new OrcamentoExcedidoException(msg.toString(), atual);
+    }
+
+    /**
+     * 🔄 Refaz o cálculo com uma varredura completa da tabela.
+     */
+    public ResumoCustoVale recalcular() throws SQLException {
+        synchronized (lockCarga) {
+            System.out.println(">> CustoValeTransporte.recalcular()");
+            synchronized (this) {
+                carregando = true;
+            }
+
+            Beneficiarios lidos = new Beneficiarios();
+            long inicio = System.nanoTime();
+            try {
+                fonte.varrer(lidos::acrescentar);
+            } catch (SQLException | RuntimeException e) {
+                // ❌ Mantém o cálculo antigo (com os eventos recebidos nesse meio-tempo)
+                synchronized (this) {
+                    carregando = false;
+                    if (cargoDoBeneficiario != null) {
+                        reaplicarAdiados();
+                        publicar();
+                    }
+                    adiados.clear();
+                }
+                throw e;
+            }
+
+            IntIntMap porCargo = lidos.contarPorCargo();
+            IntIntMap cargos = lidos.indexar();
+
+            synchronized (this) {
+                cargoDoBeneficiario = cargos;
+                beneficiariosPorCargo = porCargo;
+                carregando = false;
+                reaplicarAdiados();
+                publicar();
+            }
+            System.out.printf("🚌 Vale-transporte: %d beneficiários, %s em %.1f ms%n",
+                    resumo.getBeneficiarios(), Dinheiro.formatar(resumo.getCustoTotal()),
+                    (System.nanoTime() - inicio) / 1_000_000.0);
+            return resumo;
+        }
+    }
+
+    /**
+     * 📣 Aplica uma alteração (assinante do EventBus).
+     */
+    public synchronized void aplicar(FuncionarioAlterado e) {
+        if (carregando) {
+            adiados.add(e); // ⏳ será aplicado depois da varredura
+            return;
+        }
+        if (cargoDoBeneficiario == null) {
+            return; // ainda não calculado: a primeira varredura já trará a alteração
+        }
+        if (aplicarNoEstado(e)) {
+            publicar();
+        }
+    }
+
+    /**
+     * 📥 Aplica um lote da importação em lote (assinante do EventBus): as
+     * linhas entram todas e o resultado é publicado uma vez por lote.
+     */
+    public synchronized void aplicarLote(FuncionariosImportados lote) {
+        boolean mudou = false;
+        for (Funcionario f : lote.getFuncionarios()) {
+            FuncionarioAlterado e = new FuncionarioAlterado(Operacao.CRIADO, f.getIdFuncionario(), f);
+            if (carregando) {
+                adiados.add(e); // ⏳ será aplicado depois da varredura
+            } else if (cargoDoBeneficiario != null) {
+                mudou |= aplicarNoEstado(e);
+            }
+        }
+        if (mudou) {
+            publicar();
+        }
+    }
+
+    // =====================================================
+    // 🔧 Auxiliares (chamados com o lock "this")
+    // =====================================================
+
+    private void reaplicarAdiados() {
+        for (FuncionarioAlterado e : adiados) {
+            aplicarNoEstado(e);
+        }
+        adiados.clear();
+    }
+
+    /** @return true se o custo mudou */
+    private boolean aplicarNoEstado(FuncionarioAlterado e) {
+        final int ausente = -1;
+        int anterior = cargoDoBeneficiario.get(e.getId(), ausente);
+        int novo = ausente;
+
+        switch (e.getOperacao()) {
+            case CRIADO:
+            case ATUALIZADO:
+                Funcionario f = e.getFuncionario();
+                if (f == null) {
+                    return false;
+                }
+                if (f.isRecebeValeTransporte()) {
+                    novo = f.getCargo() != null ? f.getCargo().getIdCargo() : 0;
+                }
+                break;
+            case EXCLUIDO:
+                break;
+            default:
+                return false;
+        }
+        if (anterior == novo) {
+            return false; // 🔁 nada mudou para o vale (ex: só trocou o nome)
+        }
+
+        if (anterior != ausente) {
+            cargoDoBeneficiario.remove(e.getId());
+            if (beneficiariosPorCargo.incrementar(anterior, -1) <= 0) {
+                beneficiariosPorCargo.remove(anterior);
+            }
+        }
+        if (novo != ausente) {
+            cargoDoBeneficiario.put(e.getId(), novo);
+            beneficiariosPorCargo.incrementar(novo, 1);
+        }
+        return true;
+    }
+
+    /** Aplica as regras por cargo e publica um resumo novo. */
+    private void publicar() {
+        int[] ids = beneficiariosPorCargo.chaves();
+        CustoCargo[] cargos = new CustoCargo[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            int idCargo = ids[i];
+            cargos[i] = new CustoCargo(idCargo, beneficiariosPorCargo.get(idCargo, 0), tarifas.regra(idCargo),
+                    orcamento != null ? orcamento.limite(idCargo) : OrcamentoVale.SEM_LIMITE);
+        }
+        resumo = new ResumoCustoVale(cargos,
+                orcamento != null ? orcamento.getLimiteTotal() : OrcamentoVale.SEM_LIMITE, ++versao);
+    }
+
+    // =====================================================
+    // 📦 Beneficiários lidos na varredura (colunas primitivas)
+    // =====================================================
+
+    private static final class Beneficiarios {
+
+        private int[] ids = new int[1024];
+        private int[] cargos = new int[1024];
+        private int tamanho;
+
+        void acrescentar(int idFuncionario, String nome, String email, boolean recebeVale, int idCargo) {
+            if (!recebeVale) {
+                return;
+            }
+            if (tamanho == ids.length) {
+                ids = Arrays.copyOf(ids, tamanho * 2);
+                cargos = Arrays.copyOf(cargos, tamanho * 2);
+            }
+            ids[tamanho] = idFuncionario;
+            cargos[tamanho] = idCargo;
+            tamanho++;
+        }
+
+        /**
+         * 🔢 Beneficiários por cargo: cada bloco conta num {@code int[]}
+         * próprio (indexado pelo idCargo) e no fim os arrays são somados.
+         */
+        IntIntMap contarPorCargo() {
+            int maxCargo = 0;
+            for (int i = 0; i < tamanho; i++) {
+                maxCargo = Math.max(maxCargo, cargos[i]);
+            }
+            int tamanhoContagem = maxCargo + 1;
+            int blocos = (tamanho + BLOCO - 1) / BLOCO;
+
+            int[] total = IntStream.range(0, blocos).parallel()
+                    .mapToObj(b -> {
+                        int[] parcial = new int[tamanhoContagem];
+                        int fim = Math.min(tamanho, (b + 1) * BLOCO);
+                        for (int i = b * BLOCO; i < fim; i++) {
+                            parcial[cargos[i]]++;
+                        }
+                        return parcial;
+                    })
+                    .reduce(Beneficiarios::somar)
+                    .orElse(new int[0]);
+
+            IntIntMap porCargo = new IntIntMap();
+            for (int idCargo = 0; idCargo < total.length; idCargo++) {
+                if (total[idCargo] > 0) {
+                    porCargo.put(idCargo, total[idCargo]);
+                }
+            }
+            return porCargo;
+        }
+
+        /** idFuncionario → idCargo, para as alterações incrementais. */
+        IntIntMap indexar() {
+            IntIntMap indice = new IntIntMap(tamanho);
+            for (int i = 0; i < tamanho; i++) {
+                indice.put(ids[i], cargos[i]);
+            }
+            return indice;
+        }
+
+        private static int[] somar(int[] a, int[] b) {
+            for (int i = 0; i < a.length; i++) {
+                a[i] += b[i];
+            }
+            return a;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package payroll;
+
+import java.math.BigDecimal;
+import java.util.Locale;
+
+import collections.IntObjectMap;
+
+/**
+ * 💰 Classe: Dinheiro
+ *
+ * 📘 Conversões de valores em reais. Os cálculos usam <b>centavos</b> em
+ * {@code long}: somas exatas (sem os arredondamentos do {@code double}) e
+ * sem criar objetos.
+ */
+public final class Dinheiro {
+
+    private static final Locale BRASIL = new Locale("pt", "BR");
+
+    private Dinheiro() {
+    }
+
+    /**
+     * 🔢 Converte reais ("4.40" ou "4,40") em centavos.
+     *
+     * @throws IllegalArgumentException valor inválido ou com mais de 2 casas
+     */
+    public static long centavos(String reais) {
+        try {
+            return new BigDecimal(reais.trim().replace(',', '.')).movePointRight(2).longValueExact();
+        } catch (ArithmeticException | NumberFormatException e) {
+            throw new IllegalArgumentException("⚠️ Valor em reais inválido: " + reais);
+        }
+    }
+
+    /**
+     * 🏷️ Formata centavos como moeda (ex: {@code R$ 1.234,56}).
+     */
+    public static String formatar(long centavos) {
+        return String.format(BRASIL, "R$ %,.2f", BigDecimal.valueOf(centavos, 2));
+    }
+
+    /**
+     * 📋 Lê valores por cargo no formato {@code "idCargo=reais;..."}
+     * (ex: {@code "3=5.00;7=4.40"}).
+     *
+     * @return idCargo → centavos (vazio se o texto for null ou vazio)
+     */
+    static IntObjectMap<Long> porCargo(String texto) {
+        IntObjectMap<Long> valores = new IntObjectMap<>();
+        if (texto == null || texto.trim().isEmpty()) {
+            return valores;
+        }
+        for (String par : texto.split(";")) {
+            if (par.trim().isEmpty()) {
+                continue;
+            }
+            int igual = par.indexOf('=');
+            if (igual < 0) {
+                throw new IllegalArgumentException("⚠️ Esperado idCargo=valor: " + par);
+            }
+            try {
+                valores.put(Integer.parseInt(par.substring(0, igual).trim()), centavos(par.substring(igual + 1)));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("⚠️ idCargo inválido: " + par);
+            }
+        }
+        return valores;
+    }
+}
@@ -0,0 +1,37 @@
+package payroll;
+
+/**
+ * 💸 Exceção: OrcamentoExcedidoException
+ *
+ * 📘 Exceção <b>verificada</b> de domínio (como a
+ * {@code SaldoInsuficienteException}): o custo mensal de vale-transporte
+ * passou do orçamento — no total ou em algum cargo.
+ *
+ * 🧠 Quem chama é obrigado a tratar (ex: avisar o RH), e o
+ * {@link ResumoCustoVale} que causou o erro vai junto para mostrar os
+ * detalhes.
+ */
+public class OrcamentoExcedidoException extends Exception {
+
+    private static final long serialVersionUID = 1L;
+
+    private final transient ResumoCustoVale resumo;
+
+    public OrcamentoExcedidoException(String msg) {
+        this(msg, null);
+    }
+
+    /**
+     * @param msg    mensagem para o usuário
+     * @param resumo cálculo em que o orçamento foi excedido
+     */
+    public OrcamentoExcedidoException(String msg, ResumoCustoVale resumo) {
+        super(msg);
+        this.resumo = resumo;
+    }
+
+    /** Cálculo em que o orçamento foi excedido (pode ser null). */
+    public ResumoCustoVale getResumo() {
+        return resumo;
+    }
+}
@@ -0,0 +1,58 @@
+package payroll;
+
+import collections.IntObjectMap;
+
+/**
+ * 🎯 Classe: OrcamentoVale
+ *
+ * 📘 Limites mensais de gasto com vale-transporte: um total e,
+ * opcionalmente, um por cargo (em centavos).
+ *
+ * ⚙️ Configuração ({@link #fromSystemProperties()}): {@code rh.vale.orcamento}
+ * (total, em reais) e {@code rh.vale.orcamentosPorCargo}
+ * ({@code "idCargo=reais;..."}).
+ */
+public final class OrcamentoVale {
+
+    /** Valor usado quando não há limite. */
+    public static final long SEM_LIMITE = -1;
+
+    private final long limiteTotal;
+    private final IntObjectMap<Long> porCargo;
+
+    /**
+     * @param limiteTotal limite do total, em centavos ({@link #SEM_LIMITE} = sem limite)
+     * @param porCargo    idCargo → limite em centavos (pode ser null)
+     */
+    public OrcamentoVale(long limiteTotal, IntObjectMap<Long> porCargo) {
+        this.limiteTotal = limiteTotal < 0 ? SEM_LIMITE : limiteTotal;
+        this.porCargo = porCargo != null ? porCargo : new IntObjectMap<>();
+    }
+
+    /**
+     * 🏭 Cria o orçamento a partir das propriedades de sistema.
+     *
+     * @return orçamento, ou null se nenhum limite foi configurado
+     */
+    public static OrcamentoVale fromSystemProperties() {
+        String total = System.getProperty("rh.vale.orcamento");
+        IntObjectMap<Long> porCargo = Dinheiro.porCargo(System.getProperty("rh.vale.orcamentosPorCargo"));
+        if ((total == null || total.trim().isEmpty()) && porCargo.isEmpty()) {
+            return null;
+        }
+        return new OrcamentoVale(total == null || total.trim().isEmpty() ? SEM_LIMITE : Dinheiro.centavos(total),
+                porCargo);
+    }
+
+    public long getLimiteTotal() {
+        return limiteTotal;
+    }
+
+    /**
+     * 🔍 Limite do cargo, em centavos ({@link #SEM_LIMITE} se não houver).
+     */
+    public long limite(int idCargo) {
+        Long limite = porCargo.get(idCargo);
+        return limite != null ? limite : SEM_LIMITE;
+    }
+}
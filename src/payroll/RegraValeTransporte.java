@@ -0,0 +1,68 @@
+package payroll;
+
+/**
+ * 🚌 Classe: RegraValeTransporte
+ *
+ * 📘 Regra de tarifa de um cargo: quanto custa, por mês, o vale-transporte
+ * de <b>um</b> funcionário que o recebe.
+ *
+ * 🧮 Custo mensal = tarifa × viagens por dia × dias úteis no mês.
+ *
+ * 🧠 Imutável; valores em centavos (veja {@link Dinheiro}).
+ */
+public final class RegraValeTransporte {
+
+    private final long tarifa;
+    private final int viagensPorDia;
+    private final int diasUteis;
+
+    /**
+     * @param tarifa        tarifa de uma viagem, em centavos
+     * @param viagensPorDia viagens por dia (ex: 2 = ida e volta)
+     * @param diasUteis     dias úteis no mês
+     */
+    public RegraValeTransporte(long tarifa, int viagensPorDia, int diasUteis) {
+        if (tarifa < 0) {
+            throw new IllegalArgumentException("⚠️ A tarifa não pode ser negativa.");
+        }
+        if (viagensPorDia <= 0 || diasUteis <= 0 || diasUteis > 31) {
+            throw new IllegalArgumentException("⚠️ Viagens por dia e dias úteis (até 31) devem ser positivos.");
+        }
+        this.tarifa = tarifa;
+        this.viagensPorDia = viagensPorDia;
+        this.diasUteis = diasUteis;
+    }
+
+    public long getTarifa() {
+        return tarifa;
+    }
+
+    public int getViagensPorDia() {
+        return viagensPorDia;
+    }
+
+    public int getDiasUteis() {
+        return diasUteis;
+    }
+
+    /**
+     * 💰 Custo mensal de um funcionário, em centavos.
+     */
+    public long getCustoMensal() {
+        return tarifa * viagensPorDia * diasUteis;
+    }
+
+    /**
+     * 💰 Custo mensal de {@code beneficiarios} funcionários, em centavos.
+     *
+     * @throws ArithmeticException se o valor não couber em um {@code long}
+     */
+    public long custoMensal(int beneficiarios) {
+        return Math.multiplyExact(getCustoMensal(), (long) beneficiarios);
+    }
+
+    @Override
+    public String toString() {
+        return Dinheiro.formatar(tarifa) + " × " + viagensPorDia + " viagens × " + diasUteis + " dias";
+    }
+}
@@ -0,0 +1,172 @@
+package payroll;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 🧾 Classe: ResumoCustoVale
+ *
+ * 📘 Resultado <b>imutável</b> de um cálculo de vale-transporte: custo
+ * mensal por cargo, total geral e comparação com o orçamento.
+ *
+ * 🧠 Valores em centavos (use {@link Dinheiro#formatar} para exibir). Pode
+ * ser lido por várias threads sem lock; cada recálculo publica um novo.
+ */
+public final class ResumoCustoVale {
+
+    /**
+     * 💼 Custo de um cargo.
+     */
+    public static final class CustoCargo {
+
+        private final int idCargo;
+        private final int beneficiarios;
+        private final RegraValeTransporte regra;
+        private final long custoMensal;
+        private final long limite;
+
+        CustoCargo(int idCargo, int beneficiarios, RegraValeTransporte regra, long limite) {
+            this.idCargo = idCargo;
+            this.beneficiarios = beneficiarios;
+            this.regra = regra;
+            this.custoMensal = regra.custoMensal(beneficiarios);
+            this.limite = limite;
+        }
+
+        public int getIdCargo() {
+            return idCargo;
+        }
+
+        /** Funcionários do cargo que recebem vale-transporte. */
+        public int getBeneficiarios() {
+            return beneficiarios;
+        }
+
+        public RegraValeTransporte getRegra() {
+            return regra;
+        }
+
+        /** Custo mensal do cargo, em centavos. */
+        public long getCustoMensal() {
+            return custoMensal;
+        }
+
+        /** Limite do cargo, em centavos ({@link OrcamentoVale#SEM_LIMITE} se não houver). */
+        public long getLimite() {
+            return limite;
+        }
+
+        public boolean isExcedido() {
+            return limite != OrcamentoVale.SEM_LIMITE && custoMensal > limite;
+        }
+
+        @Override
+        public String toString() {
+            return "cargo " + idCargo + ": " + beneficiarios + " × (" + regra + ") = "
+                    + Dinheiro.formatar(custoMensal)
+                    + (limite != OrcamentoVale.SEM_LIMITE ? " (limite " + Dinheiro.formatar(limite) + ")" : "");
+        }
+    }
+
+    private final CustoCargo[] cargos;
+    private final long custoTotal;
+    private final int beneficiarios;
+    private final long limiteTotal;
+    private final long versao;
+    private final long geradoEm = System.currentTimeMillis();
+
+    /**
+     * @param cargos      custos por cargo, em ordem de idCargo
+     * @param limiteTotal limite do total ({@link OrcamentoVale#SEM_LIMITE} se não houver)
+     * @param versao      muda a cada recálculo
+     */
+    ResumoCustoVale(CustoCargo[] cargos, long limiteTotal, long versao) {
+        long total = 0;
+        int pessoas = 0;
+        for (CustoCargo c : cargos) {
+            total = Math.addExact(total, c.custoMensal);
+            pessoas += c.beneficiarios;
+        }
+        this.cargos = cargos;
+        this.custoTotal = total;
+        this.beneficiarios = pessoas;
+        this.limiteTotal = limiteTotal;
+        this.versao = versao;
+    }
+
+    /** Custos por cargo (só cargos com beneficiários), em ordem de idCargo. */
+    public List<CustoCargo> getCargos() {
+        return Collections.unmodifiableList(Arrays.asList(cargos));
+    }
+
+    /**
+     * 🔍 Custo de um cargo, ou null se ninguém do cargo recebe vale.
+     */
+    public CustoCargo getCargo(int idCargo) {
+        int lo = 0;
+        int hi = cargos.length - 1;
+        while (lo <= hi) {
+            int meio = (lo + hi) >>> 1;
+            int id = cargos[meio].idCargo;
+            if (id == idCargo) {
+                return cargos[meio];
+            }
+            if (id < idCargo) {
+                lo = meio + 1;
+            } else {
+                hi = meio - 1;
+            }
+        }
+        return null;
+    }
+
+    /** Custo mensal total, em centavos. */
+    public long getCustoTotal() {
+        return custoTotal;
+    }
+
+    /** Total de funcionários que recebem vale-transporte. */
+    public int getBeneficiarios() {
+        return beneficiarios;
+    }
+
+    public long getLimiteTotal() {
+        return limiteTotal;
+    }
+
+    public boolean isTotalExcedido() {
+        return limiteTotal != OrcamentoVale.SEM_LIMITE && custoTotal > limiteTotal;
+    }
+
+    /** Cargos acima do próprio limite. */
+    public List<CustoCargo> getCargosExcedidos() {
+        List<CustoCargo> excedidos = new ArrayList<>();
+        for (CustoCargo c : cargos) {
+            if (c.isExcedido()) {
+                excedidos.add(c);
+            }
+        }
+        return excedidos;
+    }
+
+    /** Total e todos os cargos dentro do orçamento. */
+    public boolean isDentroDoOrcamento() {
+        return !isTotalExcedido() && getCargosExcedidos().isEmpty();
+    }
+
+    public long getVersao() {
+        return versao;
+    }
+
+    public long getGeradoEm() {
+        return geradoEm;
+    }
+
+    @Override
+    public String toString() {
+        return "ResumoCustoVale{versao=" + versao + ", beneficiarios=" + beneficiarios
+                + ", cargos=" + cargos.length + ", total=" + Dinheiro.formatar(custoTotal) + "}";
+    }
+}
@@ -0,0 +1,59 @@
+package payroll;
+
+import collections.IntObjectMap;
+
+/**
+ * 🗂️ Classe: TabelaTarifas
+ *
+ * 📘 Regra de vale-transporte de cada cargo, com uma regra padrão para os
+ * cargos sem regra própria.
+ *
+ * ⚙️ Configuração ({@link #fromSystemProperties()}):
+ * {@code rh.vale.tarifa} (4.40), {@code rh.vale.viagensPorDia} (2),
+ * {@code rh.vale.diasUteis} (22) e {@code rh.vale.tarifasPorCargo}
+ * ({@code "idCargo=tarifa;..."}, mesmas viagens e dias da padrão).
+ */
+public final class TabelaTarifas {
+
+    private final RegraValeTransporte padrao;
+    private final IntObjectMap<RegraValeTransporte> porCargo;
+
+    /**
+     * @param padrao   regra dos cargos sem regra própria
+     * @param porCargo idCargo → regra (não altere depois de entregar)
+     */
+    public TabelaTarifas(RegraValeTransporte padrao, IntObjectMap<RegraValeTransporte> porCargo) {
+        if (padrao == null) {
+            throw new IllegalArgumentException("⚠️ A regra padrão é obrigatória.");
+        }
+        this.padrao = padrao;
+        this.porCargo = porCargo != null ? porCargo : new IntObjectMap<>();
+    }
+
+    /**
+     * 🏭 Cria a tabela a partir das propriedades de sistema.
+     */
+    public static TabelaTarifas fromSystemProperties() {
+        int viagens = Integer.getInteger("rh.vale.viagensPorDia", 2);
+        int dias = Integer.getInteger("rh.vale.diasUteis", 22);
+        RegraValeTransporte padrao = new RegraValeTransporte(
+                Dinheiro.centavos(System.getProperty("rh.vale.tarifa", "4.40")), viagens, dias);
+
+        IntObjectMap<RegraValeTransporte> porCargo = new IntObjectMap<>();
+        Dinheiro.porCargo(System.getProperty("rh.vale.tarifasPorCargo"))
+                .forEach((idCargo, tarifa) -> porCargo.put(idCargo, new RegraValeTransporte(tarifa, viagens, dias)));
+        return new TabelaTarifas(padrao, porCargo);
+    }
+
+    /**
+     * 🔍 Regra do cargo (a padrão, se ele não tiver uma própria).
+     */
+    public RegraValeTransporte regra(int idCargo) {
+        RegraValeTransporte regra = porCargo.get(idCargo);
+        return regra != null ? regra : padrao;
+    }
+
+    public RegraValeTransporte getPadrao() {
+        return padrao;
+    }
+}
@@ -2,7 +2,11 @@ package service;
 
 import java.sql.SQLException;
 import java.util.List;
+import java.util.function.IntFunction;
+
+import cache.CargoCache;
 import dao.CargoDAO;
+import database.MysqlDatabase;
 import model.Cargo;
 
 /**
@@ -30,14 +34,19 @@ public class CargoService {
     // 🔗 Dependência para acesso ao banco (DAO)
     private final CargoDAO cargoDAO;
 
+    // 💼 Cache de cargos (dados de referência) — null = desabilitado
+    private final CargoCache cargoCache;
+
     /**
      * 🏗️ Construtor com Injeção de Dependência
      * 
      * 💡 Permite trocar a implementação do DAO sem alterar a lógica do serviço.
+     * O cache é configurado pelas propriedades {@code rh.cargoCache.*}.
      */
     public CargoService(CargoDAO cargoDAODependency) {
         System.out.println(">> CargoService.constructor()");
         this.cargoDAO = cargoDAODependency;
+        this.cargoCache = CargoCache.fromSystemProperties(cargoDAODependency::findAll);
     }
 
     // =====================================================
@@ -50,8 +59,8 @@ public class CargoService {
      * 🧠 Lógica:
      * <ol>
      *   <li>Valida o nome do cargo (regra de domínio no model)</li>
-     *   <li>Verifica se já existe outro com o mesmo nome</li>
      *   <li>Chama o DAO para inserir no banco</li>
+     *   <li>Se o índice <code>nomeCargo_UNIQUE</code> recusar, informa duplicidade</li>
      * </ol>
      *
      * @param nomeCargo Nome do cargo
@@ -66,14 +75,17 @@ public class CargoService {
         Cargo cargo = new Cargo();
         cargo.setNomeCargo(nomeCargo);
 
-        // 🔎 Verifica duplicidade
-        List<Cargo> resultado = cargoDAO.findByField("nomeCargo", nomeCargo);
-        if (!resultado.isEmpty()) {
-            throw new Exception("⚠️ Cargo já existe: " + nomeCargo);
+        // 💾 Persiste no banco via DAO (o UNIQUE garante a unicidade do nome)
+        try {
+            int id = cargoDAO.create(cargo);
+            invalidarCache();
+            return id;
+        } catch (SQLException e) {
+            if (MysqlDatabase.isDuplicateKey(e)) {
+                throw new Exception("⚠️ Cargo já existe: " + cargo.getNomeCargo());
+            }
+            throw e;
         }
-
-        // 💾 Persiste no banco via DAO
-        return cargoDAO.create(cargo);
     }
 
     /**
@@ -84,6 +96,9 @@ public class CargoService {
      */
     public List<Cargo> findAll() throws SQLException {
         System.out.println(">>> CargoService.findAll()");
+        if (cargoCache != null) {
+            return cargoCache.getAll();
+        }
         return cargoDAO.findAll();
     }
 
@@ -93,7 +108,7 @@ public class CargoService {
      * 🧠 Lógica:
      * <ul>
      *   <li>Valida o ID (regra de domínio no model)</li>
-     *   <li>Consulta no banco via DAO</li>
+     *   <li>Consulta o cache (ou o banco via DAO, se o cache estiver desligado)</li>
      * </ul>
      *
      * @param idCargo ID do cargo
@@ -106,9 +121,103 @@ public class CargoService {
         Cargo cargo = new Cargo();
         cargo.setIdCargo(idCargo); // Validação de domínio aplicada
 
+        if (cargoCache != null) {
+            // 🔄 Pode ter sido criado por outro cliente: recarrega no máximo
+            // uma vez por snapshot
+            return cargoCache.getByIdOuRecarregar(cargo.getIdCargo());
+        }
         return cargoDAO.findById(cargo.getIdCargo());
     }
 
+    /**
+     * 🏷️ Busca um cargo pelo nome (sem diferenciar maiúsculas/minúsculas).
+     *
+     * @param nomeCargo Nome do cargo
+     * @return Objeto Cargo encontrado, ou <code>null</code> se não existir
+     * @throws SQLException Se houver falha de acesso ao banco
+     */
+    public Cargo findByNome(String nomeCargo) throws SQLException {
+        System.out.println(">>> CargoService.findByNome()");
+
+        if (cargoCache != null) {
+            return cargoCache.getByNome(nomeCargo);
+        }
+        List<Cargo> resultado = cargoDAO.findByField("nomeCargo", nomeCargo);
+        return resultado.isEmpty() ? null : resultado.get(0);
+    }
+
+    // =====================================================
+    // 💼 Cache de cargos
+    // =====================================================
+
+    /**
+     * 🔗 Resolve o cargo de um funcionário pelo ID, sem lançar exceção.
+     *
+     * ⚡ Chamado uma vez por linha: lê o cache direto, sem log, sem criar
+     * objetos e sem recarregar (veja {@link #resolvedorDeConsulta()}).
+     *
+     * @param idCargo ID do cargo
+     * @return cargo do cache, ou null se não existir, o cache estiver
+     *         desligado ou o banco falhar
+     */
+    public Cargo resolverCargo(int idCargo) {
+        if (cargoCache == null || idCargo <= 0) {
+            return null;
+        }
+        try {
+            return cargoCache.getById(idCargo);
+        } catch (SQLException e) {
+            System.err.println("❌ Falha ao resolver cargo " + idCargo + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * 🔗 Resolvedor para <b>uma</b> consulta do {@code FuncionarioDAO}
+     * (ex: {@code new FuncionarioDAO(db, cargoService::resolvedorDeConsulta)}).
+     *
+     * 🧠 Um ID desconhecido (cargo criado por outro cliente) recarrega o
+     * cache no máximo uma vez por consulta; os demais IDs desconhecidos
+     * voltam null e o DAO monta o cargo só com o ID.
+     */
+    public IntFunction<Cargo> resolvedorDeConsulta() {
+        return new IntFunction<Cargo>() {
+            private boolean recarregou;
+
+            @Override
+            public Cargo apply(int idCargo) {
+                Cargo cargo = resolverCargo(idCargo);
+                if (cargo == null && idCargo > 0 && cargoCache != null && !recarregou) {
+                    recarregou = true;
+                    try {
+                        cargoCache.recarregar();
+                    } catch (SQLException e) {
+                        System.err.println("❌ Falha ao recarregar cargos: " + e.getMessage());
+                        return null;
+                    }
+                    cargo = resolverCargo(idCargo);
+                }
+                return cargo;
+            }
+        };
+    }
+
+    /**
+     * 🧹 Descarta o cache de cargos (chamado após toda escrita).
+     */
+    public void invalidarCache() {
+        if (cargoCache != null) {
+            cargoCache.invalidar();
+        }
+    }
+
+    /**
+     * ℹ️ Indica se o cache de cargos está habilitado.
+     */
+    public boolean isCacheHabilitado() {
+        return cargoCache != null;
+    }
+
     /**
      * ✏️ Atualiza os dados de um cargo existente.
      * 
@@ -116,13 +225,14 @@ public class CargoService {
      * <ol>
      *   <li>Valida o ID e o nome (regras de domínio)</li>
      *   <li>Chama o DAO para atualizar</li>
+     *   <li>Traduz violação de <code>nomeCargo_UNIQUE</code> em erro de negócio</li>
      * </ol>
      *
      * @param idCargo ID do cargo a ser atualizado
      * @param nomeCargo Novo nome do cargo
      * @return true se atualizado com sucesso
      * @throws SQLException Erro de conexão ou execução no banco
-     * @throws Exception Se o nome do cargo for inválido
+     * @throws Exception Se o nome do cargo for inválido ou já existir
      */
     public boolean updateCargo(int idCargo, String nomeCargo) throws SQLException, Exception {
         System.out.println(">>> CargoService.updateCargo()");
@@ -131,7 +241,16 @@ public class CargoService {
         cargo.setIdCargo(idCargo);
         cargo.setNomeCargo(nomeCargo);
 
-        return cargoDAO.update(cargo);
+        try {
+            boolean atualizou = cargoDAO.update(cargo);
+            invalidarCache();
+            return atualizou;
+        } catch (SQLException e) {
+            if (MysqlDatabase.isDuplicateKey(e)) {
+                throw new Exception("⚠️ Cargo já existe: " + cargo.getNomeCargo());
+            }
+            throw e;
+        }
     }
 
     /**
@@ -153,6 +272,8 @@ public class CargoService {
         Cargo cargo = new Cargo();
         cargo.setIdCargo(idCargo);
 
-        return cargoDAO.delete(cargo);
+        boolean excluiu = cargoDAO.delete(cargo);
+        invalidarCache();
+        return excluiu;
     }
 }
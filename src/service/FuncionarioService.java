@@ -1,11 +1,16 @@
 package service;
 
 import java.sql.SQLException;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.mindrot.jbcrypt.BCrypt;
 
+import cache.EmailBloomFilter;
+import cache.FuncionarioCache;
 import dao.FuncionarioDAO;
+import database.MysqlDatabase;
 import model.Funcionario;
 import model.Cargo;
 
@@ -31,17 +36,68 @@ import model.Cargo;
  */
 public class FuncionarioService {
 
+    /**
+     * ✏️ Resultado de {@link #updateFuncionario}.
+     */
+    public enum Atualizacao {
+        /** Nenhum funcionário com o ID informado */
+        NAO_ENCONTRADO,
+        /** Dados atualizados; a senha continua a mesma */
+        ATUALIZADO,
+        /** Dados atualizados com uma senha diferente da anterior */
+        SENHA_ALTERADA;
+
+        public boolean isAtualizado() {
+            return this != NAO_ENCONTRADO;
+        }
+    }
+
     // 🔗 Dependência DAO (injeção de dependência)
     private final FuncionarioDAO funcionarioDAO;
 
+    // 🌸 Filtro de emails cadastrados (opcional — null = desabilitado)
+    private final EmailBloomFilter emailFilter;
+
+    // 👥 Cache de funcionários por ID/email (opcional — null = desabilitado)
+    private final FuncionarioCache funcionarioCache;
+
+    // 🔒 Evita duas recargas simultâneas do filtro
+    private final AtomicBoolean recarregandoFiltro = new AtomicBoolean(false);
+
     /**
      * 🏗️ Construtor com injeção de dependência.
      * 
+     * 💡 O cache de funcionários segue as propriedades {@code rh.funcionarioCache.*}.
+     * 
      * @param funcionarioDAODependency Instância de {@link FuncionarioDAO}.
      */
     public FuncionarioService(FuncionarioDAO funcionarioDAODependency) {
+        this(funcionarioDAODependency, null, FuncionarioCache.fromSystemProperties());
+    }
+
+    /**
+     * 🏗️ Construtor com filtro de emails.
+     * 
+     * @param funcionarioDAODependency Instância de {@link FuncionarioDAO}.
+     * @param emailFilterDependency    Filtro de Bloom dos emails (pode ser null).
+     */
+    public FuncionarioService(FuncionarioDAO funcionarioDAODependency, EmailBloomFilter emailFilterDependency) {
+        this(funcionarioDAODependency, emailFilterDependency, FuncionarioCache.fromSystemProperties());
+    }
+
+    /**
+     * 🏗️ Construtor completo.
+     * 
+     * @param funcionarioDAODependency  Instância de {@link FuncionarioDAO}.
+     * @param emailFilterDependency     Filtro de Bloom dos emails (pode ser null).
+     * @param funcionarioCacheDependency Cache de funcionários (pode ser null).
+     */
+    public FuncionarioService(FuncionarioDAO funcionarioDAODependency, EmailBloomFilter emailFilterDependency,
+                              FuncionarioCache funcionarioCacheDependency) {
         System.out.println(">> FuncionarioService.constructor()");
         this.funcionarioDAO = funcionarioDAODependency;
+        this.emailFilter = emailFilterDependency;
+        this.funcionarioCache = funcionarioCacheDependency;
     }
 
     // ============================================================
@@ -54,9 +110,9 @@ public class FuncionarioService {
      * 🧠 Lógica:
      * <ol>
      *   <li>Valida os atributos via setters do Model (regras de domínio)</li>
-     *   <li>Verifica se já existe funcionário com o mesmo email</li>
      *   <li>Criptografa a senha com <b>BCrypt</b></li>
      *   <li>Envia para o DAO persistir no banco</li>
+     *   <li>Se o índice <code>email_UNIQUE</code> recusar, informa duplicidade</li>
      * </ol>
      * 
      * @param nomeFuncionario Nome completo do funcionário
@@ -82,14 +138,41 @@ public class FuncionarioService {
         funcionario.setRecebeValeTransporte(recebeValeTransporte);
         funcionario.setCargo(cargo);
 
-        // 🔍 Verifica duplicidade de email
-        List<Funcionario> resultado = funcionarioDAO.findByField("email", email);
-        if (!resultado.isEmpty()) {
-            throw new Exception("⚠️ Já existe um funcionário com este email: " + email);
+        // 💾 Persiste no banco via DAO (o UNIQUE garante a unicidade do email)
+        try {
+            int id = funcionarioDAO.create(funcionario);
+            if (emailFilter != null) {
+                emailFilter.add(funcionario.getEmail());
+            }
+            if (funcionarioCache != null) {
+                funcionarioCache.invalidarEmail(funcionario.getEmail());
+            }
+            return id;
+        } catch (SQLException e) {
+            if (MysqlDatabase.isDuplicateKey(e)) {
+                throw new Exception("⚠️ Já existe um funcionário com este email: " + funcionario.getEmail());
+            }
+            throw e;
         }
+    }
 
-        // 💾 Persiste no banco via DAO
-        return funcionarioDAO.create(funcionario);
+    /**
+     * 📥 Atualiza o filtro de emails e o cache depois de uma importação em
+     * lote (os funcionários já foram gravados pelo
+     * {@link bulk.ImportacaoFuncionarios}).
+     *
+     * @param importados funcionários gravados no lote
+     */
+    public void registrarImportados(List<Funcionario> importados) {
+        System.out.println(">>> FuncionarioService.registrarImportados() - " + importados.size() + " funcionário(s)");
+        for (Funcionario funcionario : importados) {
+            if (emailFilter != null) {
+                emailFilter.add(funcionario.getEmail());
+            }
+            if (funcionarioCache != null) {
+                funcionarioCache.invalidarEmail(funcionario.getEmail());
+            }
+        }
     }
 
     /**
@@ -103,6 +186,52 @@ public class FuncionarioService {
         return funcionarioDAO.findAll();
     }
 
+    /**
+     * 🔢 Retorna a quantidade de funcionários cadastrados.
+     * 
+     * @return Total de funcionários
+     * @throws SQLException Se ocorrer erro de conexão
+     */
+    public int count() throws SQLException {
+        System.out.println(">>> FuncionarioService.count()");
+        return funcionarioDAO.count();
+    }
+
+    /**
+     * 📄 Retorna uma página de funcionários, ordenada pelo ID.
+     * 
+     * @param offset Posição da primeira linha (começa em 0)
+     * @param limit Quantidade máxima de linhas
+     * @return Funcionários da página
+     * @throws SQLException Se ocorrer erro de conexão
+     */
+    public List<Funcionario> findPage(int offset, int limit) throws SQLException {
+        System.out.println(">>> FuncionarioService.findPage()");
+        if (offset < 0 || limit <= 0) {
+            throw new IllegalArgumentException("⚠️ Página inválida: offset=" + offset + ", limit=" + limit);
+        }
+        return funcionarioDAO.findPage(offset, limit);
+    }
+
+    /**
+     * 🔎 Pesquisa funcionários pelo nome ou email (pesquisa enquanto se digita).
+     * 
+     * @param termo Trecho procurado (sem diferenciar maiúsculas)
+     * @param limite Quantidade máxima de resultados
+     * @return Funcionários encontrados (lista vazia para termo em branco)
+     * @throws SQLException Se ocorrer erro de conexão
+     */
+    public List<Funcionario> search(String termo, int limite) throws SQLException {
+        System.out.println(">>> FuncionarioService.search()");
+        if (limite <= 0) {
+            throw new IllegalArgumentException("⚠️ Limite de pesquisa inválido: " + limite);
+        }
+        if (termo == null || termo.trim().isEmpty()) {
+            return Collections.emptyList();
+        }
+        return funcionarioDAO.search(termo.trim(), limite);
+    }
+
     /**
      * 🔍 Busca um funcionário específico pelo ID.
      * 
@@ -116,6 +245,9 @@ public class FuncionarioService {
         Funcionario funcionario = new Funcionario();
         funcionario.setIdFuncionario(idFuncionario); // 🔒 Validação de domínio
 
+        if (funcionarioCache != null) {
+            return funcionarioCache.getById(funcionario.getIdFuncionario(), funcionarioDAO::findById);
+        }
         return funcionarioDAO.findById(funcionario.getIdFuncionario());
     }
 
@@ -125,7 +257,8 @@ public class FuncionarioService {
      * 🧠 Lógica:
      * <ul>
      *   <li>Valida dados via model</li>
-     *   <li>Criptografa senha nova (se informada)</li>
+     *   <li>Confere a senha informada com o hash gravado: se for a mesma,
+     *       o hash atual é mantido; senão, a senha nova é criptografada</li>
      *   <li>Chama o DAO para persistir as alterações</li>
      * </ul>
      * 
@@ -135,12 +268,14 @@ public class FuncionarioService {
      * @param senha Nova senha
      * @param recebeValeTransporte Novo valor para vale-transporte
      * @param cargo Novo cargo
-     * @return true se atualizado com sucesso
+     * @return se atualizou e se a senha mudou (quem chama decide, por
+     *         exemplo, encerrar as sessões abertas)
      * @throws SQLException Erro de banco de dados
+     * @throws Exception Se o novo email já pertencer a outro funcionário
      */
-    public boolean updateFuncionario(int idFuncionario, String nomeFuncionario, String email, String senha,
+    public Atualizacao updateFuncionario(int idFuncionario, String nomeFuncionario, String email, String senha,
                                      boolean recebeValeTransporte, Cargo cargo)
-            throws SQLException {
+            throws SQLException, Exception {
         System.out.println(">>> FuncionarioService.updateFuncionario()");
 
         Funcionario funcionario = new Funcionario();
@@ -148,12 +283,37 @@ public class FuncionarioService {
         funcionario.setNomeFuncionario(nomeFuncionario);
         funcionario.setEmail(email);
 
-        // 🔐 Atualiza a senha (criptografada)
-        funcionario.setSenha(BCrypt.hashpw(senha, BCrypt.gensalt()));
+        // 🔐 Mesma senha → mantém o hash; senha nova → novo hash
+        String hashAtual = funcionarioDAO.findSenha(idFuncionario);
+        if (hashAtual == null) {
+            return Atualizacao.NAO_ENCONTRADO;
+        }
+        boolean senhaAlterada = !senhaConfere(senha, hashAtual);
+        funcionario.setSenha(senhaAlterada ? BCrypt.hashpw(senha, BCrypt.gensalt()) : hashAtual);
         funcionario.setRecebeValeTransporte(recebeValeTransporte);
         funcionario.setCargo(cargo);
 
-        return funcionarioDAO.update(funcionario);
+        try {
+            boolean atualizou = funcionarioDAO.update(funcionario);
+            if (funcionarioCache != null) {
+                funcionarioCache.invalidar(idFuncionario);
+                funcionarioCache.invalidarEmail(funcionario.getEmail());
+            }
+            if (atualizou && emailFilter != null) {
+                // ✉️ O email antigo pode ter deixado de existir
+                emailFilter.add(funcionario.getEmail());
+                emailFilter.registrarRemocao();
+            }
+            if (!atualizou) {
+                return Atualizacao.NAO_ENCONTRADO;
+            }
+            return senhaAlterada ? Atualizacao.SENHA_ALTERADA : Atualizacao.ATUALIZADO;
+        } catch (SQLException e) {
+            if (MysqlDatabase.isDuplicateKey(e)) {
+                throw new Exception("⚠️ Já existe um funcionário com este email: " + funcionario.getEmail());
+            }
+            throw e;
+        }
     }
 
     /**
@@ -169,7 +329,15 @@ public class FuncionarioService {
         Funcionario funcionario = new Funcionario();
         funcionario.setIdFuncionario(idFuncionario);
 
-        return funcionarioDAO.delete(funcionario);
+        boolean excluiu = funcionarioDAO.delete(funcionario);
+        if (funcionarioCache != null) {
+            funcionarioCache.invalidar(idFuncionario);
+        }
+        if (excluiu && emailFilter != null) {
+            emailFilter.registrarRemocao();
+            recarregarFiltroSeNecessario();
+        }
+        return excluiu;
     }
 
     // ============================================================
@@ -197,10 +365,88 @@ public class FuncionarioService {
      */
     public Funcionario findByEmail(String email) throws SQLException {
         System.out.println(">>> FuncionarioService.findByEmail()");
-        List<Funcionario> result = funcionarioDAO.findByField("email", email);
+        if (funcionarioCache != null) {
+            return funcionarioCache.getByEmail(email, e -> {
+                List<Funcionario> result = buscarPorEmail(e);
+                return result.isEmpty() ? null : result.get(0);
+            });
+        }
+        List<Funcionario> result = buscarPorEmail(email);
         return result.isEmpty() ? null : result.get(0);
     }
 
+    // ============================================================
+    // 🌸 Filtro de emails (Bloom)
+    // ============================================================
+
+    /**
+     * 🌸 Busca por email consultando antes o filtro de Bloom.
+     * 
+     * 🧠 Se o filtro garantir que o email não existe, o banco não é acessado.
+     */
+    private List<Funcionario> buscarPorEmail(String email) throws SQLException {
+        if (emailFilter != null) {
+            recarregarFiltroSeNecessario();
+            if (!emailFilter.mightContain(email)) {
+                return Collections.emptyList(); // 🚀 Negativo definitivo
+            }
+        }
+
+        List<Funcionario> result = funcionarioDAO.findByField("email", email);
+        if (result.isEmpty() && emailFilter != null && emailFilter.isPronto()) {
+            emailFilter.registrarFalsoPositivo();
+        }
+        return result;
+    }
+
+    /**
+     * 🔄 Carrega o filtro de emails com uma varredura completa do banco.
+     * 
+     * @throws SQLException Se a varredura falhar
+     */
+    public void carregarFiltroEmails() throws SQLException {
+        if (emailFilter != null) {
+            emailFilter.reconstruir(funcionarioDAO::forEachEmail);
+        }
+    }
+
+    /**
+     * ♻️ Dispara a recarga do filtro em segundo plano quando ele estiver
+     * desatualizado (exclusões acumuladas ou idade máxima atingida).
+     */
+    public void recarregarFiltroSeNecessario() {
+        if (emailFilter == null || !emailFilter.precisaReconstruir()
+                || !recarregandoFiltro.compareAndSet(false, true)) {
+            return;
+        }
+
+        Thread t = new Thread(() -> {
+            try {
+                carregarFiltroEmails();
+            } catch (SQLException e) {
+                System.err.println("❌ Falha ao carregar filtro de emails: " + e.getMessage());
+            } finally {
+                recarregandoFiltro.set(false);
+            }
+        }, "email-filter-loader");
+        t.setDaemon(true);
+        t.start();
+    }
+
+    /**
+     * 📊 Retorna o cache de funcionários (para métricas), ou null se desabilitado.
+     */
+    public FuncionarioCache getFuncionarioCache() {
+        return funcionarioCache;
+    }
+
+    /**
+     * 📊 Retorna o filtro de emails (para métricas), ou null se desabilitado.
+     */
+    public EmailBloomFilter getEmailFilter() {
+        return emailFilter;
+    }
+
     // ============================================================
     // 🔐 Autenticação (Login)
     // ============================================================
@@ -210,9 +456,10 @@ public class FuncionarioService {
      * 
      * 🧠 Lógica:
      * <ol>
-     *   <li>Busca o funcionário pelo email</li>
+     *   <li>Busca o funcionário pelo email, junto com o hash (direto no
+     *   banco: o cache não guarda senhas)</li>
      *   <li>Verifica a senha informada com o hash armazenado via <b>BCrypt</b></li>
-     *   <li>Retorna o funcionário autenticado ou null se inválido</li>
+     *   <li>Retorna o funcionário autenticado (sem o hash) ou null se inválido</li>
      * </ol>
      * 
      * @param email Email do funcionário
@@ -223,21 +470,40 @@ public class FuncionarioService {
     public Funcionario login(String email, String senha) throws SQLException {
         System.out.println(">>> FuncionarioService.login()");
 
-        // 🔎 Busca funcionário pelo email
-        List<Funcionario> lista = funcionarioDAO.findByField("email", email);
+        // 🔎 Busca funcionário pelo email (o filtro evita o banco se não existir)
+        if (emailFilter != null) {
+            recarregarFiltroSeNecessario();
+            if (!emailFilter.mightContain(email)) {
+                return null; // ❌ Email não encontrado
+            }
+        }
+        Funcionario f = funcionarioDAO.findParaLogin(email);
 
-        if (lista == null || lista.isEmpty()) {
+        if (f == null) {
+            if (emailFilter != null && emailFilter.isPronto()) {
+                emailFilter.registrarFalsoPositivo();
+            }
             return null; // ❌ Email não encontrado
         }
 
-        Funcionario f = lista.get(0);
         System.out.println("🔐 Verificando senha criptografada...");
 
         // ✅ Verifica senha com BCrypt
         if (BCrypt.checkpw(senha, f.getSenha())) {
-            return f; // Login bem-sucedido 🎉
+            return f.semSenha(); // Login bem-sucedido 🎉 (o hash não sai daqui)
         } else {
             return null; // Senha incorreta ⚠️
         }
     }
+
+    /**
+     * 🔐 Confere a senha com o hash BCrypt gravado (hash inválido = não confere).
+     */
+    private static boolean senhaConfere(String senha, String hash) {
+        try {
+            return BCrypt.checkpw(senha, hash);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
 }
@@ -0,0 +1,221 @@
+package service;
+
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import model.Funcionario;
+
+/**
+ * 🎟️ Classe: SessionService
+ *
+ * 📘 Camada de <b>Serviço</b> responsável pelas sessões de usuários autenticados.
+ *
+ * 🎯 Objetivos:
+ * <ul>
+ *   <li>Emitir um <b>token opaco</b> após o login (BCrypt é verificado uma única vez)</li>
+ *   <li>Validar o token em O(1) nas operações seguintes, sem novo hash de senha</li>
+ *   <li>Expirar sessões por tempo total e por inatividade</li>
+ * </ul>
+ *
+ * 🧠 Notas de Aula:
+ * <ul>
+ *   <li>O token é aleatório (SecureRandom, 256 bits): não carrega dados do usuário</li>
+ *   <li>As sessões ficam em um {@link ConcurrentHashMap} (consulta O(1), segura entre threads)</li>
+ *   <li>Uma tarefa em segundo plano remove as sessões ociosas/expiradas</li>
+ * </ul>
+ *
+ * ⚙️ Configuração: {@code rh.session.ttlMinutes} (padrão: 480) e
+ * {@code rh.session.idleMinutes} (padrão: 30).
+ */
+public class SessionService {
+
+    /**
+     * 🎟️ Sessão de um funcionário autenticado.
+     */
+    public static final class Sessao {
+        private final String token;
+        private final int idFuncionario;
+        private final String nomeFuncionario;
+        private final long criadaEm;
+        private final long expiraEm;
+        private volatile long ultimoAcesso;
+
+        private Sessao(String token, Funcionario funcionario, long agora, long ttlMillis) {
+            this.token = token;
+            this.idFuncionario = funcionario.getIdFuncionario();
+            this.nomeFuncionario = funcionario.getNomeFuncionario();
+            this.criadaEm = agora;
+            this.expiraEm = agora + ttlMillis;
+            this.ultimoAcesso = agora;
+        }
+
+        public String getToken() {
+            return token;
+        }
+
+        public int getIdFuncionario() {
+            return idFuncionario;
+        }
+
+        public String getNomeFuncionario() {
+            return nomeFuncionario;
+        }
+
+        public long getCriadaEm() {
+            return criadaEm;
+        }
+
+        public long getExpiraEm() {
+            return expiraEm;
+        }
+
+        public long getUltimoAcesso() {
+            return ultimoAcesso;
+        }
+    }
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    // 🗄️ Armazenamento das sessões: token → sessão
+    private final Map<String, Sessao> sessoes = new ConcurrentHashMap<>();
+
+    private final long ttlMillis;
+    private final long idleMillis;
+
+    // 🧹 Limpeza periódica das sessões vencidas
+    private final ScheduledExecutorService limpeza;
+
+    /**
+     * 🏗️ Construtor com configuração pelas propriedades de sistema.
+     */
+    public SessionService() {
+        this(Long.getLong("rh.session.ttlMinutes", 480L) * 60_000L,
+                Long.getLong("rh.session.idleMinutes", 30L) * 60_000L);
+    }
+
+    /**
+     * 🏗️ Construtor
+     *
+     * @param ttlMillis  duração máxima de uma sessão
+     * @param idleMillis tempo máximo sem uso antes de a sessão expirar
+     */
+    public SessionService(long ttlMillis, long idleMillis) {
+        System.out.println(">> SessionService.constructor()");
+        if (ttlMillis <= 0 || idleMillis <= 0) {
+            throw new IllegalArgumentException("⚠️ Tempos de sessão devem ser maiores que zero.");
+        }
+        this.ttlMillis = ttlMillis;
+        this.idleMillis = idleMillis;
+
+        this.limpeza = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "session-sweeper");
+            t.setDaemon(true);
+            return t;
+        });
+        long intervalo = Math.max(1_000L, Math.min(idleMillis, 60_000L));
+        limpeza.scheduleWithFixedDelay(this::removerExpiradas, intervalo, intervalo, TimeUnit.MILLISECONDS);
+    }
+
+    // ============================================================
+    // 🎟️ Ciclo de vida da sessão
+    // ============================================================
+
+    /**
+     * ➕ Cria uma sessão para um funcionário já autenticado.
+     *
+     * @param funcionario Funcionário autenticado (senha já verificada)
+     * @return Sessão criada, com o token
+     */
+    public Sessao criarSessao(Funcionario funcionario) {
+        System.out.println(">>> SessionService.criarSessao()");
+        if (funcionario == null) {
+            throw new IllegalArgumentException("⚠️ funcionario não pode ser nulo.");
+        }
+
+        byte[] bytes = new byte[32];
+        RANDOM.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        Sessao sessao = new Sessao(token, funcionario, System.currentTimeMillis(), ttlMillis);
+        sessoes.put(token, sessao);
+        return sessao;
+    }
+
+    /**
+     * ✅ Valida um token e renova o tempo de inatividade.
+     *
+     * @param token Token recebido no login
+     * @return Sessão válida, ou null se o token for desconhecido ou expirado
+     */
+    public Sessao validar(String token) {
+        if (token == null) {
+            return null;
+        }
+        Sessao sessao = sessoes.get(token);
+        if (sessao == null) {
+            return null;
+        }
+
+        long agora = System.currentTimeMillis();
+        if (expirada(sessao, agora)) {
+            sessoes.remove(token, sessao);
+            return null;
+        }
+        sessao.ultimoAcesso = agora;
+        return sessao;
+    }
+
+    /**
+     * 🚪 Encerra a sessão (logout).
+     *
+     * @return true se a sessão existia
+     */
+    public boolean encerrar(String token) {
+        return token != null && sessoes.remove(token) != null;
+    }
+
+    /**
+     * 🚪 Encerra todas as sessões de um funcionário (ex: após exclusão ou troca de senha).
+     */
+    public void encerrarSessoesDoFuncionario(int idFuncionario) {
+        sessoes.values().removeIf(s -> s.getIdFuncionario() == idFuncionario);
+    }
+
+    /**
+     * 🧹 Remove as sessões expiradas ou ociosas.
+     */
+    public void removerExpiradas() {
+        long agora = System.currentTimeMillis();
+        Iterator<Sessao> it = sessoes.values().iterator();
+        while (it.hasNext()) {
+            if (expirada(it.next(), agora)) {
+                it.remove();
+            }
+        }
+    }
+
+    /**
+     * 🛑 Encerra a tarefa de limpeza e todas as sessões.
+     */
+    public void shutdown() {
+        limpeza.shutdownNow();
+        sessoes.clear();
+    }
+
+    /**
+     * 📊 Quantidade de sessões ativas.
+     */
+    public int getSessoesAtivas() {
+        return sessoes.size();
+    }
+
+    private boolean expirada(Sessao sessao, long agora) {
+        return agora >= sessao.expiraEm || agora - sessao.ultimoAcesso >= idleMillis;
+    }
+}